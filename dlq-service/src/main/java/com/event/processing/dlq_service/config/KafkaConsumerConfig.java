@@ -1,6 +1,7 @@
 package com.event.processing.dlq_service.config;
 
 import com.event.processing.dlq_service.domain.dto.DeadLetterQueueEventDTO;
+import com.event.processing.dlq_service.monitoring.KafkaConsumerMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
@@ -10,6 +11,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
 import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 
@@ -64,12 +66,14 @@ public class KafkaConsumerConfig {
 
   /**
    * Creates a consumer factory for DeadLetterQueueEventDTO messages.
-   * Configures the deserializers and consumer properties.
+   * Configures the deserializers and consumer properties, and binds the Kafka
+   * client metrics of every consumer it creates to the meter registry.
    *
+   * @param consumerMetrics Metrics of the listener containers' consumers
    * @return Configured ConsumerFactory instance
    */
   @Bean
-  public ConsumerFactory<String, DeadLetterQueueEventDTO> consumerFactory() {
+  public ConsumerFactory<String, DeadLetterQueueEventDTO> consumerFactory(KafkaConsumerMetrics consumerMetrics) {
     Map<String, Object> props = new HashMap<>();
     props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
     props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
@@ -85,24 +89,33 @@ public class KafkaConsumerConfig {
     log.info("Creating Kafka Consumer Factory with Group ID: {}, Max Poll Records: {}, Enable Auto Commit: {}",
         groupId, maxPollRecords, enableAutoCommit);
 
-    return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(),
-        new JsonDeserializer<>(DeadLetterQueueEventDTO.class, false));
+    DefaultKafkaConsumerFactory<String, DeadLetterQueueEventDTO> consumerFactory = new DefaultKafkaConsumerFactory<>(
+        props, new StringDeserializer(), new JsonDeserializer<>(DeadLetterQueueEventDTO.class, false));
+    consumerMetrics.bind(consumerFactory);
+    return consumerFactory;
   }
 
   /**
    * Creates and configures the Kafka Listener Container Factory.
-   * Sets up batch processing, concurrency, and acknowledgment mode.
+   * Sets up batch processing, concurrency, and acknowledgment mode, and counts
+   * partition assignment changes.
    *
+   * @param consumerFactory The consumer factory of the listener containers
+   * @param consumerMetrics Metrics of the listener containers' consumers
    * @return Configured ConcurrentKafkaListenerContainerFactory instance
    */
   @Bean
-  public ConcurrentKafkaListenerContainerFactory<String, DeadLetterQueueEventDTO> kafkaListenerContainerFactory() {
+  public ConcurrentKafkaListenerContainerFactory<String, DeadLetterQueueEventDTO> kafkaListenerContainerFactory(
+      ConsumerFactory<String, DeadLetterQueueEventDTO> consumerFactory, KafkaConsumerMetrics consumerMetrics) {
     ConcurrentKafkaListenerContainerFactory<String, DeadLetterQueueEventDTO> factory = new ConcurrentKafkaListenerContainerFactory<>();
-    factory.setConsumerFactory(consumerFactory());
+    factory.setConsumerFactory(consumerFactory);
     factory.setBatchListener(true); // Enable batch processing
     factory.setConcurrency(concurrency);
     factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
     factory.getContainerProperties().setPollTimeout(pollTimeout);
+    factory.getContainerProperties().setConsumerRebalanceListener(
+        consumerMetrics.rebalanceListener(new ConsumerAwareRebalanceListener() {
+        }));
 
     log.info(
         "Initializing Kafka Batch Listener Factory with Concurrency: {}, Poll Timeout: {}, Ack Mode: MANUAL_IMMEDIATE",
@@ -24,6 +24,11 @@ public final class MetricConstants {
   public static final String DLQ_MESSAGES_BATCH_FAILED = "dlq.messages.batch.failed";
   public static final String DLQ_MESSAGES_BATCH_SIZE = "dlq.messages.batch.size";
   public static final String DLQ_MESSAGES_BATCH_PROCESSING_TIME = "dlq.messages.batch.processing_time";
+  // Kafka consumer metrics
+  public static final String KAFKA_CONSUMER_PARTITION_RECORDS = "kafka.consumer.partition.records";
+  public static final String KAFKA_CONSUMER_POLL_TO_ACK = "kafka.consumer.poll.to.ack";
+  public static final String KAFKA_CONSUMER_REBALANCE_COUNT = "kafka.consumer.rebalance";
+  public static final String KAFKA_CONSUMER_ASSIGNED_PARTITIONS = "kafka.consumer.assigned.partitions";
   // Webhook event metrics
   public static final String WEBHOOK_EVENTS_PUBLISHED = "webhook.events.published";
   public static final String WEBHOOK_EVENTS_PUBLISH_FAILED = "webhook.events.publish_failed";
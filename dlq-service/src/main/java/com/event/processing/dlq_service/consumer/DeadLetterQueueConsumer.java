@@ -2,6 +2,7 @@ package com.event.processing.dlq_service.consumer;
 
 import com.event.processing.dlq_service.constants.MetricConstants;
 import com.event.processing.dlq_service.domain.dto.DeadLetterQueueEventDTO;
+import com.event.processing.dlq_service.monitoring.KafkaConsumerMetrics;
 import com.event.processing.dlq_service.service.DeadLetterQueueEventProcessor;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
@@ -27,6 +28,7 @@ import java.util.List;
 public class DeadLetterQueueConsumer {
   private final DeadLetterQueueEventProcessor dlqProcessor;
   private final MeterRegistry meterRegistry;
+  private final KafkaConsumerMetrics consumerMetrics;
 
   /**
    * Consumes batches of messages from the dead letter queue topic.
@@ -42,6 +44,8 @@ public class DeadLetterQueueConsumer {
       containerFactory = "kafkaListenerContainerFactory"
   )
   public void consumeBatch(List<ConsumerRecord<String, DeadLetterQueueEventDTO>> records, Acknowledgment acknowledgment) {
+    long polledAt = System.nanoTime();
+    consumerMetrics.recordPolled(records);
     try {
       long startTime = System.currentTimeMillis();
       log.info("Received batch of {} DLQ records from Kafka", records.size());
@@ -81,6 +85,7 @@ public class DeadLetterQueueConsumer {
 
       // Acknowledge the batch after processing
       acknowledgment.acknowledge();
+      consumerMetrics.recordAcknowledged(polledAt, "batch");
     } catch (Exception e) {
       log.error("Error processing DLQ batch: {}", e.getMessage(), e);
       meterRegistry.counter(MetricConstants.DLQ_MESSAGES_BATCH_FAILED).increment();
@@ -88,6 +93,7 @@ public class DeadLetterQueueConsumer {
       // In case of error, we can choose to acknowledge the batch anyway to move forward,
       // or not acknowledge to retry the entire batch. Here we acknowledge to avoid getting stuck.
       acknowledgment.acknowledge();
+      consumerMetrics.recordAcknowledged(polledAt, "batch");
     }
   }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.event.processing.dlq_service.consumer;
 
+import com.event.processing.dlq_service.constants.MetricConstants;
 import com.event.processing.dlq_service.domain.dto.DeadLetterQueueEventDTO;
+import com.event.processing.dlq_service.monitoring.KafkaConsumerMetrics;
 import com.event.processing.dlq_service.service.DeadLetterQueueEventProcessor;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
@@ -40,7 +42,7 @@ class DeadLetterQueueConsumerTest {
   @BeforeEach
   void setUp() {
     meterRegistry = new SimpleMeterRegistry();
-    consumer = new DeadLetterQueueConsumer(dlqProcessor, meterRegistry);
+    consumer = new DeadLetterQueueConsumer(dlqProcessor, meterRegistry, new KafkaConsumerMetrics(meterRegistry));
   }
 
   @Test
@@ -66,6 +68,28 @@ class DeadLetterQueueConsumerTest {
     assertEquals("event-2", capturedEvents.get(1).getEventId());
   }
 
+  @Test
+  void consumeBatch_shouldRecordRecordsPerPartitionAndPollToAckLatency() {
+    // Arrange
+    String topic = "test-topic";
+    List<ConsumerRecord<String, DeadLetterQueueEventDTO>> records = Arrays.asList(
+        createConsumerRecord(topic, 0, 0, "key-1", createEvent("event-1", "account-1", "type-1", "error-1")),
+        createConsumerRecord(topic, 0, 1, "key-2", createEvent("event-2", "account-2", "type-2", "error-2")),
+        createConsumerRecord(topic, 1, 0, "key-3", createEvent("event-3", "account-3", "type-3", "error-3"))
+    );
+
+    // Act
+    consumer.consumeBatch(records, acknowledgment);
+
+    // Assert
+    assertEquals(2.0, meterRegistry.get(MetricConstants.KAFKA_CONSUMER_PARTITION_RECORDS)
+        .tags("topic", topic, "partition", "0").counter().count());
+    assertEquals(1.0, meterRegistry.get(MetricConstants.KAFKA_CONSUMER_PARTITION_RECORDS)
+        .tags("topic", topic, "partition", "1").counter().count());
+    assertEquals(1, meterRegistry.get(MetricConstants.KAFKA_CONSUMER_POLL_TO_ACK)
+        .tag("mode", "batch").timer().count());
+  }
+
   @Test
   void consumeBatch_shouldHandleEmptyBatch() {
     // Arrange
@@ -1,8 +1,10 @@
 package com.event.processing.notifier.application;
 
-import com.event.processing.notifier.domain.dto.BaseEventDTO;
+import com.event.processing.notifier.domain.dto.SerializedPayload;
 import com.event.processing.notifier.domain.dto.WebhookEventDTO;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Interface defining the contract for webhook event processing.
  * This interface provides a method to process webhook events and deliver them
@@ -13,6 +15,7 @@ import com.event.processing.notifier.domain.dto.WebhookEventDTO;
  * - Support for different event types
  * - Webhook URL management
  * - Payload transformation
+ * - Batched delivery for webhooks that accept arrays
  *
  * @author LongLe
  * @version 1.0
@@ -21,15 +24,43 @@ public interface WebhookEventProcessing {
   /**
    * Processes a webhook event and delivers it to the specified URL.
    * This method handles:
-   * - Event validation and processing
-   * - Payload transformation
+   * - Event processing
    * - Webhook delivery
    * - Error handling and reporting
+   * <p>
+   * The caller has already checked the event for duplicates, usually together
+   * with the rest of its group. No per-event duplicate check is made, and the
+   * caller is asked to mark the event as processed instead of it being marked
+   * here, so that the marks of a group can be written together. The returned
+   * future completes once the outcome of the delivery, including any retries,
+   * is known; failures are handled and logged, so it does not complete
+   * exceptionally.
+   *
+   * @param eventId        The unique identifier of the event being processed
+   * @param eventPayload   The original webhook event payload
+   * @param url            The destination URL for the webhook
+   * @param webhookPayload The transformed payload, serialized once
+   * @return Future completing with true if the caller should mark the event
+   * as processed
+   */
+  CompletableFuture<Boolean> processChecked(String eventId, WebhookEventDTO eventPayload, String url,
+                                            SerializedPayload webhookPayload);
+
+  /**
+   * Processes a webhook event of a webhook that accepts batches. The caller
+   * has already checked the event for duplicates; it is added to the
+   * webhook's pending batch instead of being sent on its own.
+   * The returned future completes once the outcome of the event's batch is
+   * known and has been recorded; failures are handled and logged, so it does
+   * not complete exceptionally.
    *
    * @param eventId        The unique identifier of the event being processed
    * @param eventPayload   The original webhook event payload
+   * @param webhookId      The webhook the event is sent to
    * @param url            The destination URL for the webhook
-   * @param webhookPayload The transformed payload to be sent in the webhook
+   * @param webhookPayload The transformed payload, serialized once
+   * @return Future that completes when the event has been handled
    */
-  void process(String eventId, WebhookEventDTO eventPayload, String url, BaseEventDTO webhookPayload);
+  CompletableFuture<Void> processBatched(String eventId, WebhookEventDTO eventPayload, String webhookId, String url,
+                                         SerializedPayload webhookPayload);
 }
@@ -1,20 +1,25 @@
 package com.event.processing.notifier.application.impl;
 
 import com.event.processing.notifier.application.WebhookEventProcessing;
-import com.event.processing.notifier.domain.dto.BaseEventDTO;
+import com.event.processing.notifier.domain.dto.SerializedPayload;
+import com.event.processing.notifier.domain.dto.WebhookBatchItemDTO;
 import com.event.processing.notifier.domain.dto.WebhookEventDTO;
+import com.event.processing.notifier.monitoring.LogArguments;
 import com.event.processing.notifier.producer.EventProducer;
 import com.event.processing.notifier.service.DeduplicationService;
+import com.event.processing.notifier.service.DeferredEventService;
+import com.event.processing.notifier.service.WebhookBatchService;
 import com.event.processing.notifier.service.WebhookService;
+import com.event.processing.notifier.util.DeduplicationProperties;
+import com.event.processing.notifier.util.DeferralProperties;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static com.event.processing.notifier.util.PromeTheusMetricContants.WEBHOOK_EXECUTION_COUNT;
 
@@ -22,8 +27,11 @@ import static com.event.processing.notifier.util.PromeTheusMetricContants.WEBHOO
  * Implementation of WebhookEventProcessing that provides fairness-aware event
  * processing.
  * This class ensures fair processing of webhook events by implementing:
- * - Deduplication to prevent duplicate processing
- * - Event processing with delivery retries
+ * - Deduplication to prevent duplicate processing, with the duplicate check
+ *   left to the caller's batch lookup
+ * - Optional atomic claims that close the check-then-act race between workers
+ * - Event processing with non-blocking delivery retries
+ * - Batched delivery with per-event outcome tracking
  * <p>
  * Key features:
  * - Duplicate event detection and handling
@@ -49,11 +57,31 @@ public class WebhookEventFairnessProcessingImpl implements WebhookEventProcessin
    */
   private final WebhookService webhookService;
 
+  /**
+   * Service collecting events of batching webhooks into batched requests.
+   */
+  private final WebhookBatchService webhookBatchService;
+
   /**
    * Producer for republishing events.
    */
   private final EventProducer eventProducer;
 
+  /**
+   * Configuration selecting between check and claim deduplication.
+   */
+  private final DeduplicationProperties deduplicationProperties;
+
+  /**
+   * Service parking events claimed by another worker until its lease expires.
+   */
+  private final DeferredEventService deferredEventService;
+
+  /**
+   * Configuration switching deferral on or off.
+   */
+  private final DeferralProperties deferralProperties;
+
   /**
    * Kafka topic name for webhook events.
    * Configurable via application properties.
@@ -62,45 +90,192 @@ public class WebhookEventFairnessProcessingImpl implements WebhookEventProcessin
   private String webhookEventTopic;
 
   /**
-   * Processes a webhook event with fairness guarantees.
-   * This method:
-   * - Checks for duplicate events
-   * - Handles webhook delivery with retries
-   * - Manages event state and logging
+   * Processes an event the caller has already found not to be processed.
+   * In check mode there is no per-event duplicate check, and a delivered
+   * event is left for the caller to mark, so the marks of a whole group can
+   * be written in one round trip. In claim mode the event is claimed and its
+   * claim settled here, since the claim is what keeps concurrent workers
+   * apart.
+   * <p>
+   * Only the first delivery attempt is started on the calling thread; the
+   * returned future completes once later attempts, if any, have finished.
    *
    * @param eventId        The unique identifier of the event
    * @param eventPayload   The webhook event payload
    * @param url            The destination URL for the webhook
    * @param webhookPayload The transformed payload to be sent
+   * @return Future completing with true if the caller should mark the event
+   * as processed
    */
   @Override
-  public void process(String eventId, WebhookEventDTO eventPayload, String url, BaseEventDTO webhookPayload) {
-    log.info("Processing event: {}", eventId);
+  @LogArguments
+  public CompletableFuture<Boolean> processChecked(String eventId, WebhookEventDTO eventPayload, String url,
+                                                   SerializedPayload webhookPayload) {
+    log.debug("Processing checked event: {}", eventId);
+
+    if (deduplicationProperties.getMode() == DeduplicationProperties.Mode.CLAIM) {
+      return processWithClaim(eventId, eventPayload, url, webhookPayload).thenApply(ignored -> false);
+    }
+    return deliverChecked(eventId, eventPayload, url, webhookPayload);
+  }
+
+  /**
+   * Delivers an event without any deduplication step.
+   *
+   * @param eventId        The unique identifier of the event
+   * @param eventPayload   The webhook event payload
+   * @param url            The destination URL for the webhook
+   * @param webhookPayload The transformed payload to be sent
+   * @return Future completing with true if the event was delivered
+   */
+  private CompletableFuture<Boolean> deliverChecked(String eventId, WebhookEventDTO eventPayload, String url,
+                                                    SerializedPayload webhookPayload) {
+    return deliver(eventId, eventPayload, url, webhookPayload)
+        .handle((ignored, ex) -> {
+          if (ex == null) {
+            log.debug("Successfully processed event: {}", eventId);
+            return true;
+          }
+          log.error("Failed to process event {}: {}", eventId, ex.getMessage(), ex);
+          return false;
+        });
+  }
+
+  /**
+   * Processes an event under a processing lease.
+   * The event is delivered only if the claim succeeds; the claim is promoted to
+   * processed on success, as long as this worker still holds it, and released
+   * if the event was not delivered. If another worker holds the claim, the
+   * event is deferred until that lease has expired, so it is looked at again
+   * once that worker has finished or given up.
+   *
+   * @param eventId        The unique identifier of the event
+   * @param eventPayload   The webhook event payload
+   * @param url            The destination URL for the webhook
+   * @param webhookPayload The transformed payload to be sent
+   * @return Future that completes when the event has been handled
+   */
+  private CompletableFuture<Void> processWithClaim(String eventId, WebhookEventDTO eventPayload, String url,
+                                                   SerializedPayload webhookPayload) {
+    switch (deduplicationService.tryClaim(eventId)) {
+      case ALREADY_PROCESSED -> {
+        log.warn("Skipping duplicate event: {}", eventId);
+        return CompletableFuture.completedFuture(null);
+      }
+      case IN_PROGRESS -> {
+        deferClaimedElsewhere(eventId, eventPayload);
+        return CompletableFuture.completedFuture(null);
+      }
+      case CLAIMED -> log.debug("Claimed event {}", eventId);
+    }
 
-    if (isDuplicate(eventId))
-      return;
+    return deliver(eventId, eventPayload, url, webhookPayload)
+        .handle((ignored, ex) -> {
+          if (ex == null) {
+            if (deduplicationService.completeClaim(eventId)) {
+              log.debug("Successfully processed event: {}", eventId);
+            }
+          } else {
+            deduplicationService.releaseClaim(eventId);
+            log.error("Failed to process event {}: {}", eventId, ex.getMessage(), ex);
+          }
+          return null;
+        });
+  }
 
+  /**
+   * Starts the delivery of an event, turning a failure to start it into a
+   * failed future.
+   *
+   * @param eventId        The unique identifier of the event
+   * @param eventPayload   The webhook event payload
+   * @param url            The destination URL for the webhook
+   * @param webhookPayload The transformed payload to be sent
+   * @return Future that completes when the delivery has finished
+   */
+  private CompletableFuture<Void> deliver(String eventId, WebhookEventDTO eventPayload, String url,
+                                          SerializedPayload webhookPayload) {
     try {
       meterRegistry.counter(WEBHOOK_EXECUTION_COUNT).increment();
-      webhookService.processWithRetry(eventId, eventPayload, url, webhookPayload);
-      deduplicationService.markProcessed(eventId);
-      log.info("Successfully processed event: {}", eventId);
+      return webhookService.processWithRetry(eventId, eventPayload, url, webhookPayload);
     } catch (Exception e) {
-      log.error("Failed to process event {}: {}", eventId, e.getMessage(), e);
+      return CompletableFuture.failedFuture(e);
     }
   }
 
   /**
-   * Checks if an event is a duplicate and should be skipped.
+   * Processes an event of a webhook that accepts batches.
+   * The caller has already checked the event for duplicates, so only claim
+   * mode has a per-event step here: the event is claimed as for single
+   * events. The delivered
+   * batch marks all of its events as processed at once, so only failures are
+   * handled per event here: claims are released so the events can be
+   * processed again.
+   *
+   * @param eventId        The unique identifier of the event
+   * @param eventPayload   The webhook event payload
+   * @param webhookId      The webhook the event is sent to
+   * @param url            The destination URL for the webhook
+   * @param webhookPayload The transformed payload to be sent
+   * @return Future that completes when the event has been handled
+   */
+  @Override
+  @LogArguments
+  public CompletableFuture<Void> processBatched(String eventId, WebhookEventDTO eventPayload, String webhookId,
+                                                String url, SerializedPayload webhookPayload) {
+    log.debug("Processing event: {} in a batch", eventId);
+    boolean claimMode = deduplicationProperties.getMode() == DeduplicationProperties.Mode.CLAIM;
+
+    if (claimMode) {
+      switch (deduplicationService.tryClaim(eventId)) {
+        case ALREADY_PROCESSED -> {
+          log.warn("Skipping duplicate event: {}", eventId);
+          return CompletableFuture.completedFuture(null);
+        }
+        case IN_PROGRESS -> {
+          deferClaimedElsewhere(eventId, eventPayload);
+          return CompletableFuture.completedFuture(null);
+        }
+        case CLAIMED -> log.debug("Claimed event {}", eventId);
+      }
+    }
+
+    meterRegistry.counter(WEBHOOK_EXECUTION_COUNT).increment();
+    return webhookBatchService.add(webhookId, url, new WebhookBatchItemDTO(eventId, eventPayload, webhookPayload))
+        .handle((ignored, ex) -> {
+          if (ex == null) {
+            log.debug("Successfully processed event: {} in a batch", eventId);
+            return null;
+          }
+          if (claimMode) {
+            deduplicationService.releaseClaim(eventId);
+          }
+          log.error("Failed to process event {} in a batch: {}", eventId, ex.getMessage(), ex);
+          return null;
+        });
+  }
+
+  /**
+   * Parks an event claimed by another worker for the lease duration, after
+   * which the lease has either been promoted or expired. Republishing it right
+   * away would bring it back while the lease is still held, over and over. If
+   * deferral is disabled or fails, the event is republished immediately under
+   * its account ID, like the records it was consumed from.
    *
-   * @param eventId The unique identifier of the event to check
-   * @return true if the event is a duplicate, false otherwise
+   * @param eventId      The unique identifier of the event
+   * @param eventPayload The webhook event payload
    */
-  private boolean isDuplicate(String eventId) {
-    if (deduplicationService.isDuplicate(eventId)) {
-      log.warn("Skipping duplicate event: {}", eventId);
-      return true;
+  private void deferClaimedElsewhere(String eventId, WebhookEventDTO eventPayload) {
+    if (deferralProperties.isEnabled()) {
+      try {
+        deferredEventService.defer(List.of(eventPayload), deduplicationProperties.getLeaseDuration());
+        log.warn("Event {} is being processed by another worker, deferring it until the lease expires", eventId);
+        return;
+      } catch (Exception e) {
+        log.error("Failed to defer event {} claimed by another worker, republishing it", eventId, e);
+      }
     }
-    return false;
+    log.warn("Event {} is being processed by another worker, republishing", eventId);
+    eventProducer.publish(webhookEventTopic, eventPayload.getAccountId(), eventPayload);
   }
 }
@@ -0,0 +1,310 @@
+package com.event.processing.notifier.client;
+
+import com.event.processing.notifier.util.DeliveryExecutorProperties;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit of one destination host that adapts to the host's
+ * observed latency.
+ * The limit follows a gradient: a slowly moving long-term average of the
+ * round trip time serves as the host's baseline, and each sample moves the
+ * limit towards limit * baseline / sample plus a small headroom of
+ * sqrt(limit). While the host answers near its baseline the limit grows, and
+ * when queueing on the receiver's side makes it slower the limit shrinks.
+ * Timeouts and I/O failures additionally cut the limit multiplicatively.
+ * <p>
+ * Callers over the limit are parked for a bounded time, and only a bounded
+ * number of them; the rest are shed immediately, so a slow receiver can only
+ * hold a few threads. Asynchronous callers are not parked at all: they get a
+ * future that a released permit completes.
+ * <p>
+ * Key features:
+ * - Latency gradient with smoothing
+ * - Multiplicative decrease on dropped requests
+ * - No growth while the host is not using its limit
+ * - Bounded parking of callers over the limit
+ * - Non-blocking acquisition for asynchronous callers
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+class AdaptiveConcurrencyLimit {
+
+  /**
+   * Weight of a new sample in the long-term round trip time, roughly an
+   * average over the last 500 samples.
+   */
+  private static final double LONG_RTT_ALPHA = 2.0 / 501;
+
+  /**
+   * Smallest and largest factor a single sample can apply to the limit.
+   */
+  private static final double MIN_GRADIENT = 0.5;
+  private static final double MAX_GRADIENT = 1.0;
+
+  /**
+   * Ratio of long-term to sample round trip time above which the long-term
+   * average is pulled down faster, so that the baseline recovers after a
+   * period of high latency.
+   */
+  private static final double BASELINE_DECAY_THRESHOLD = 2.0;
+  private static final double BASELINE_DECAY = 0.95;
+
+  private final DeliveryExecutorProperties.AdaptiveLimit settings;
+  private final int maxLimit;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition permitReleased = lock.newCondition();
+  private final Deque<CompletableFuture<Acquisition>> waiters = new ArrayDeque<>();
+
+  private double limit;
+  private double longRttNanos;
+  private int inFlight;
+  private int parked;
+
+  AdaptiveConcurrencyLimit(DeliveryExecutorProperties properties) {
+    this.settings = properties.getAdaptive();
+    this.maxLimit = properties.getMaxConcurrencyPerHost();
+    this.limit = settings.isEnabled()
+        ? Math.max(settings.getMinLimit(), Math.min(settings.getInitialLimit(), maxLimit))
+        : maxLimit;
+  }
+
+  /**
+   * Outcome of an attempt to acquire a permit.
+   */
+  enum Acquisition {
+    /**
+     * A permit was acquired and must be released.
+     */
+    ACQUIRED,
+    /**
+     * Too many callers were already parked, so the caller was shed.
+     */
+    QUEUE_FULL,
+    /**
+     * The caller was parked but no permit became available in time.
+     */
+    TIMEOUT
+  }
+
+  /**
+   * Acquires a permit, parking the caller for at most timeoutNanos if the
+   * limit is reached and fewer than maxParked callers are parked already.
+   *
+   * @param timeoutNanos How long to wait for a permit
+   * @param maxParked    How many callers may wait for a permit at once
+   * @return The outcome of the attempt
+   * @throws InterruptedException if the caller was interrupted while parked
+   */
+  Acquisition acquire(long timeoutNanos, int maxParked) throws InterruptedException {
+    lock.lock();
+    try {
+      if (inFlight < currentLimit()) {
+        inFlight++;
+        return Acquisition.ACQUIRED;
+      }
+      if (parked + waiters.size() >= maxParked) {
+        return Acquisition.QUEUE_FULL;
+      }
+
+      parked++;
+      try {
+        long remaining = timeoutNanos;
+        while (inFlight >= currentLimit()) {
+          if (remaining <= 0) {
+            return Acquisition.TIMEOUT;
+          }
+          remaining = permitReleased.awaitNanos(remaining);
+        }
+        inFlight++;
+        return Acquisition.ACQUIRED;
+      } finally {
+        parked--;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Acquires a permit without blocking the caller. If the limit is reached
+   * and fewer than maxParked callers wait already, the returned future is
+   * completed by the release that frees a permit for it, on the releasing
+   * thread, or with TIMEOUT after timeoutNanos.
+   *
+   * @param timeoutNanos How long to wait for a permit
+   * @param maxParked    How many callers may wait for a permit at once
+   * @return A future of the outcome of the attempt
+   */
+  CompletableFuture<Acquisition> acquireAsync(long timeoutNanos, int maxParked) {
+    CompletableFuture<Acquisition> waiter;
+    lock.lock();
+    try {
+      if (inFlight < currentLimit()) {
+        inFlight++;
+        return CompletableFuture.completedFuture(Acquisition.ACQUIRED);
+      }
+      if (parked + waiters.size() >= maxParked) {
+        return CompletableFuture.completedFuture(Acquisition.QUEUE_FULL);
+      }
+      waiter = new CompletableFuture<>();
+      waiters.add(waiter);
+    } finally {
+      lock.unlock();
+    }
+
+    waiter.completeOnTimeout(Acquisition.TIMEOUT, timeoutNanos, TimeUnit.NANOSECONDS)
+        .thenAccept(acquisition -> {
+          if (acquisition == Acquisition.TIMEOUT) {
+            lock.lock();
+            try {
+              waiters.remove(waiter);
+            } finally {
+              lock.unlock();
+            }
+          }
+        });
+    return waiter;
+  }
+
+  /**
+   * Releases a permit and feeds the request's outcome into the limit.
+   *
+   * @param rttNanos Round trip time of the request
+   * @param dropped  Whether the request timed out or failed on I/O
+   */
+  void release(long rttNanos, boolean dropped) {
+    List<CompletableFuture<Acquisition>> granted;
+    lock.lock();
+    try {
+      int before = currentLimit();
+      int inFlightAtSample = inFlight;
+      inFlight--;
+      if (settings.isEnabled()) {
+        update(rttNanos, dropped, inFlightAtSample);
+      }
+      granted = grantWaiters();
+      if (currentLimit() > before) {
+        permitReleased.signalAll();
+      } else if (inFlight < currentLimit()) {
+        permitReleased.signal();
+      }
+    } finally {
+      lock.unlock();
+    }
+    complete(granted);
+  }
+
+  /**
+   * Hands the free permits to waiting asynchronous callers. Must be called
+   * while holding the lock; the returned waiters are completed after it is
+   * released, so that their requests do not start under the lock.
+   *
+   * @return The waiters that were given a permit
+   */
+  private List<CompletableFuture<Acquisition>> grantWaiters() {
+    List<CompletableFuture<Acquisition>> granted = new ArrayList<>();
+    while (inFlight < currentLimit() && !waiters.isEmpty()) {
+      CompletableFuture<Acquisition> waiter = waiters.poll();
+      if (!waiter.isDone()) {
+        inFlight++;
+        granted.add(waiter);
+      }
+    }
+    return granted;
+  }
+
+  /**
+   * Completes the granted waiters, returning the permit of any that timed
+   * out in the meantime so it goes to the next waiter.
+   *
+   * @param granted The waiters that were given a permit
+   */
+  private void complete(List<CompletableFuture<Acquisition>> granted) {
+    for (CompletableFuture<Acquisition> waiter : granted) {
+      if (!waiter.complete(Acquisition.ACQUIRED)) {
+        List<CompletableFuture<Acquisition>> regranted;
+        lock.lock();
+        try {
+          inFlight--;
+          regranted = grantWaiters();
+          if (inFlight < currentLimit()) {
+            permitReleased.signal();
+          }
+        } finally {
+          lock.unlock();
+        }
+        complete(regranted);
+      }
+    }
+  }
+
+  private void update(long rttNanos, boolean dropped, int inFlightAtSample) {
+    if (dropped) {
+      limit = Math.max(settings.getMinLimit(), limit * settings.getBackoffRatio());
+      return;
+    }
+    if (rttNanos <= 0) {
+      return;
+    }
+
+    if (longRttNanos == 0) {
+      longRttNanos = rttNanos;
+    } else {
+      longRttNanos += (rttNanos - longRttNanos) * LONG_RTT_ALPHA;
+      if (longRttNanos / rttNanos > BASELINE_DECAY_THRESHOLD) {
+        longRttNanos *= BASELINE_DECAY;
+      }
+    }
+
+    double gradient = Math.max(MIN_GRADIENT,
+        Math.min(MAX_GRADIENT, settings.getRttTolerance() * longRttNanos / rttNanos));
+    double target = limit * gradient + Math.sqrt(limit);
+    if (inFlightAtSample < limit / 2) {
+      // The host is not using its limit, so a fast answer says nothing about more load
+      target = Math.min(limit, target);
+    }
+    double smoothed = limit * (1 - settings.getSmoothing()) + target * settings.getSmoothing();
+    limit = Math.max(settings.getMinLimit(), Math.min(maxLimit, smoothed));
+  }
+
+  private int currentLimit() {
+    return Math.max(1, (int) limit);
+  }
+
+  /**
+   * Returns the current limit.
+   *
+   * @return The number of concurrent requests currently allowed
+   */
+  int getLimit() {
+    lock.lock();
+    try {
+      return currentLimit();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of requests in flight.
+   *
+   * @return The number of acquired permits
+   */
+  int getInFlight() {
+    lock.lock();
+    try {
+      return inFlight;
+    } finally {
+      lock.unlock();
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package com.event.processing.notifier.client;
+
+import com.event.processing.notifier.domain.dto.SerializedPayload;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Interface extending WebhookClient with non-blocking delivery.
+ * Implementations send the webhook without holding the calling thread while
+ * waiting for the receiver's response.
+ * <p>
+ * Key features:
+ * - Non-blocking webhook delivery
+ * - Future-based success/failure reporting
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+public interface AsyncWebhookClient extends WebhookClient {
+  /**
+   * Sends a webhook notification to the specified URL without blocking.
+   *
+   * @param url     The destination URL for the webhook notification
+   * @param payload The serialized event payload to be sent as the request body
+   * @return Future completing with true if the receiver answered with a 2xx
+   * status, false for any other status, or exceptionally if the request failed
+   */
+  CompletableFuture<Boolean> sendWebhookAsync(String url, SerializedPayload payload);
+}
@@ -0,0 +1,215 @@
+package com.event.processing.notifier.client;
+
+import com.event.processing.notifier.util.DeliveryExecutorProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static com.event.processing.notifier.util.PromeTheusMetricContants.WEBHOOK_HOST_CONCURRENCY_IN_FLIGHT;
+import static com.event.processing.notifier.util.PromeTheusMetricContants.WEBHOOK_HOST_CONCURRENCY_LIMIT;
+import static com.event.processing.notifier.util.PromeTheusMetricContants.WEBHOOK_HOST_CONCURRENCY_REJECTED_COUNT;
+
+/**
+ * Caps the number of concurrent webhook deliveries per destination host.
+ * Each host gets its own limit, which adapts to the latency the host shows:
+ * it grows while the host answers at its usual speed and shrinks when the
+ * host slows down or times out. A slow receiver therefore holds only a few
+ * delivery threads, and deliveries to other receivers keep their throughput.
+ * <p>
+ * Deliveries over the limit wait for a permit for a bounded time, and only a
+ * bounded number of them per host; the rest are rejected right away and go
+ * through the regular retry path. Asynchronous deliveries wait without a
+ * thread: they are started by the delivery that releases their permit.
+ * <p>
+ * Destination hosts are chosen by customers, so the per-host limits live in
+ * a bounded cache. Hosts without deliveries for the idle timeout, and the
+ * least used hosts beyond the maximum number of tracked hosts, are
+ * forgotten together with their host-tagged metrics.
+ * <p>
+ * Key features:
+ * - One adaptive limit per destination host
+ * - Latency and failure feedback from every delivery
+ * - Bounded wait and bounded number of waiting deliveries
+ * - Metrics for limits, in-flight deliveries and rejected deliveries
+ * - Bounded number of tracked hosts and host-tagged metrics
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class HostConcurrencyLimiter {
+
+  private static final List<String> HOST_METERS = List.of(WEBHOOK_HOST_CONCURRENCY_LIMIT,
+      WEBHOOK_HOST_CONCURRENCY_IN_FLIGHT, WEBHOOK_HOST_CONCURRENCY_REJECTED_COUNT);
+
+  private final DeliveryExecutorProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final Cache<String, AdaptiveConcurrencyLimit> limitsByHost;
+
+  public HostConcurrencyLimiter(DeliveryExecutorProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    this.limitsByHost = Caffeine.newBuilder()
+        .maximumSize(properties.getMaxTrackedHosts())
+        .expireAfterAccess(properties.getHostIdleTimeout())
+        // Evict on the calling thread, so a host's meters are gone before it can be tracked again
+        .executor(Runnable::run)
+        .evictionListener((String host, AdaptiveConcurrencyLimit limit, RemovalCause cause) -> removeMeters(host))
+        .build();
+  }
+
+  /**
+   * Runs the given call while holding a permit for the host of the URL.
+   *
+   * @param url  The destination URL of the call
+   * @param call The call to run
+   * @param <T>  The result type of the call
+   * @return The result of the call
+   * @throws RejectedExecutionException if no permit became available in time
+   */
+  public <T> T execute(String url, Supplier<T> call) {
+    AdaptiveConcurrencyLimit limit = acquire(url);
+    long start = System.nanoTime();
+    Throwable failure = null;
+    try {
+      return call.get();
+    } catch (RuntimeException | Error e) {
+      failure = e;
+      throw e;
+    } finally {
+      limit.release(System.nanoTime() - start, isDropped(failure));
+    }
+  }
+
+  /**
+   * Starts the given asynchronous call once a permit for the host of the URL
+   * is held. The calling thread never waits: over the limit, the call is
+   * started later by the thread releasing a permit. The permit is released
+   * when the call's future completes.
+   *
+   * @param url  The destination URL of the call
+   * @param call The call to start
+   * @param <T>  The result type of the call
+   * @return The future of the call, failing with RejectedExecutionException
+   * if no permit became available in time
+   */
+  public <T> CompletableFuture<T> executeAsync(String url, Supplier<CompletableFuture<T>> call) {
+    String host = hostOf(url);
+    AdaptiveConcurrencyLimit limit = limitsByHost.get(host, this::createLimit);
+
+    return limit.acquireAsync(properties.getAcquireTimeout().toNanos(), properties.getMaxQueuedPerHost())
+        .thenCompose(acquisition -> {
+          if (acquisition != AdaptiveConcurrencyLimit.Acquisition.ACQUIRED) {
+            return CompletableFuture.failedFuture(rejected(host, limit, acquisition));
+          }
+          long start = System.nanoTime();
+          try {
+            return call.get().whenComplete((result, ex) -> limit.release(System.nanoTime() - start, isDropped(ex)));
+          } catch (RuntimeException e) {
+            limit.release(System.nanoTime() - start, isDropped(e));
+            return CompletableFuture.failedFuture(e);
+          }
+        });
+  }
+
+  private AdaptiveConcurrencyLimit acquire(String url) {
+    String host = hostOf(url);
+    AdaptiveConcurrencyLimit limit = limitsByHost.get(host, this::createLimit);
+
+    AdaptiveConcurrencyLimit.Acquisition acquisition;
+    try {
+      acquisition = limit.acquire(properties.getAcquireTimeout().toNanos(), properties.getMaxQueuedPerHost());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      acquisition = AdaptiveConcurrencyLimit.Acquisition.TIMEOUT;
+    }
+
+    if (acquisition != AdaptiveConcurrencyLimit.Acquisition.ACQUIRED) {
+      throw rejected(host, limit, acquisition);
+    }
+    return limit;
+  }
+
+  private RejectedExecutionException rejected(String host, AdaptiveConcurrencyLimit limit,
+                                              AdaptiveConcurrencyLimit.Acquisition acquisition) {
+    String reason = acquisition == AdaptiveConcurrencyLimit.Acquisition.QUEUE_FULL ? "queue_full" : "timeout";
+    meterRegistry.counter(WEBHOOK_HOST_CONCURRENCY_REJECTED_COUNT, "host", host, "reason", reason).increment();
+    log.debug("Rejected delivery to host {} ({}), limit {}", host, reason, limit.getLimit());
+    return new RejectedExecutionException("Too many concurrent deliveries to host " + host);
+  }
+
+  private AdaptiveConcurrencyLimit createLimit(String host) {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(properties);
+    Gauge.builder(WEBHOOK_HOST_CONCURRENCY_LIMIT, limit, AdaptiveConcurrencyLimit::getLimit)
+        .description("Current concurrency limit of a destination host")
+        .tag("host", host)
+        .register(meterRegistry);
+    Gauge.builder(WEBHOOK_HOST_CONCURRENCY_IN_FLIGHT, limit, AdaptiveConcurrencyLimit::getInFlight)
+        .description("Deliveries in flight to a destination host")
+        .tag("host", host)
+        .register(meterRegistry);
+    return limit;
+  }
+
+  /**
+   * Removes the host-tagged metrics of a host whose limit was evicted.
+   *
+   * @param host The evicted host
+   */
+  private void removeMeters(String host) {
+    HOST_METERS.forEach(name -> meterRegistry.find(name).tag("host", host).meters()
+        .forEach(meterRegistry::remove));
+    log.debug("Stopped tracking host {}", host);
+  }
+
+  /**
+   * Checks whether a failed call indicates an overloaded receiver, which is a
+   * timeout or an I/O failure anywhere in the cause chain. Receivers answering
+   * with an error status were reachable, so their latency still counts as a
+   * regular sample.
+   *
+   * @param failure The failure of the call, or null if it succeeded
+   * @return true if the call counts as dropped, false otherwise
+   */
+  static boolean isDropped(Throwable failure) {
+    for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+      if (cause instanceof IOException || cause instanceof TimeoutException) {
+        return true;
+      }
+      if (cause.getCause() == cause) {
+        break;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Extracts the host of a URL, falling back to the URL itself when it cannot
+   * be parsed.
+   *
+   * @param url The URL
+   * @return The host used as the limiter key
+   */
+  static String hostOf(String url) {
+    try {
+      String host = URI.create(url).getHost();
+      return host != null ? host : url;
+    } catch (IllegalArgumentException e) {
+      log.debug("Could not parse host of url {}", url);
+      return url;
+    }
+  }
+}
@@ -1,6 +1,6 @@
 package com.event.processing.notifier.client;
 
-import com.event.processing.notifier.domain.dto.BaseEventDTO;
+import com.event.processing.notifier.domain.dto.SerializedPayload;
 
 /**
  * Interface defining the contract for webhook delivery functionality.
@@ -23,8 +23,8 @@ public interface WebhookClient {
    * and reports the success or failure of the delivery.
    *
    * @param url     The destination URL for the webhook notification
-   * @param payload The event payload to be sent in the webhook
+   * @param payload The serialized event payload to be sent as the request body
    * @return true if the webhook was successfully delivered, false otherwise
    */
-  boolean sendWebhook(String url, BaseEventDTO payload);
+  boolean sendWebhook(String url, SerializedPayload payload);
 }
\ No newline at end of file
@@ -0,0 +1,117 @@
+package com.event.processing.notifier.client;
+
+import com.event.processing.notifier.domain.dto.SerializedPayload;
+import com.event.processing.notifier.util.WebhookClientProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Non-blocking implementation of WebhookClient built on the JDK HttpClient.
+ * Requests are sent asynchronously over the shared webhook HttpClient, which
+ * keeps a pool of keep-alive connections per receiver and multiplexes requests
+ * over HTTP/2 where the receiver supports it.
+ * <p>
+ * Key features:
+ * - Non-blocking HTTP POST-based webhook delivery
+ * - Per-host connection reuse and HTTP/2 multiplexing
+ * - Configurable connect and read timeouts
+ * - Per-host concurrency cap
+ * - Pre-serialized request bodies written as-is
+ * - Request headers carried by the payload, such as signatures
+ * - Request bodies compressed once, before the first attempt, if the
+ *   webhook asks for it
+ * - Per-attempt logs at DEBUG, the final outcome is logged by the caller
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "webhook.client.type", havingValue = "http")
+public class WebhookHttpClient implements AsyncWebhookClient {
+
+  private final HttpClient webhookHttpClient;
+  private final WebhookClientProperties properties;
+  private final HostConcurrencyLimiter hostConcurrencyLimiter;
+
+  /**
+   * Sends a webhook notification and waits for the result.
+   * Delegates to {@link #sendWebhookAsync(String, SerializedPayload)}.
+   *
+   * @param webhookUrl The destination URL for the webhook notification
+   * @param payload    The serialized event payload to be sent as the request body
+   * @return true if the webhook was successfully delivered (2xx status code),
+   * false otherwise
+   */
+  @Override
+  public boolean sendWebhook(String webhookUrl, SerializedPayload payload) {
+    try {
+      return sendWebhookAsync(webhookUrl, payload).join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw ex;
+    }
+  }
+
+  /**
+   * Sends a webhook notification using a non-blocking HTTP POST.
+   * The pre-serialized payload bytes are used as the request body as they are,
+   * or the body encoded for the webhook if there is one.
+   *
+   * @param webhookUrl The destination URL for the webhook notification
+   * @param payload    The serialized event payload to be sent as the request body
+   * @return Future completing with true for a 2xx response, false otherwise
+   */
+  @Override
+  public CompletableFuture<Boolean> sendWebhookAsync(String webhookUrl, SerializedPayload payload) {
+    log.debug("Sending webhook event asynchronously: url {}", webhookUrl);
+
+    HttpRequest request;
+    try {
+      HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(webhookUrl))
+          .timeout(properties.getReadTimeout())
+          .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+          .POST(HttpRequest.BodyPublishers.ofByteArray(payload.getBody()));
+      payload.getHeaders().forEach(builder::header);
+      if (payload.getBodyEncoding() != null) {
+        builder.header(HttpHeaders.CONTENT_ENCODING, payload.getBodyEncoding().getHeaderValue());
+      }
+      request = builder.build();
+    } catch (IllegalArgumentException ex) {
+      log.debug("Webhook request could not be built: {}, Error: {}", webhookUrl, ex.getMessage(), ex);
+      return CompletableFuture.failedFuture(ex);
+    }
+
+    return hostConcurrencyLimiter.executeAsync(webhookUrl,
+            () -> webhookHttpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()))
+        .thenApply(response -> {
+          boolean success = response.statusCode() >= 200 && response.statusCode() < 300;
+          if (success) {
+            log.debug("Webhook success: {}, Status: {}", webhookUrl, response.statusCode());
+          } else {
+            log.debug("Webhook rejected: {}, Status: {}, Response: {}", webhookUrl, response.statusCode(),
+                response.body());
+          }
+          return success;
+        })
+        .whenComplete((result, ex) -> {
+          if (ex != null) {
+            log.debug("Webhook failed: {}, Error: {}", webhookUrl, ex.getMessage());
+          }
+        });
+  }
+}
@@ -1,8 +1,11 @@
 package com.event.processing.notifier.client;
 
-import com.event.processing.notifier.domain.dto.BaseEventDTO;
+import com.event.processing.notifier.domain.dto.SerializedPayload;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
@@ -19,6 +22,12 @@ import org.springframework.web.client.RestClient;
  * - Response status code validation
  * - Detailed logging of requests and responses
  * - Exception handling and propagation
+ * - Per-host concurrency cap
+ * - Pre-serialized request bodies written as-is
+ * - Request headers carried by the payload, such as signatures
+ * - Request bodies compressed once, before the first attempt, if the
+ *   webhook asks for it
+ * - Per-attempt logs at DEBUG, the final outcome is logged by the caller
  *
  * @author LongLe
  * @version 1.0
@@ -26,6 +35,7 @@ import org.springframework.web.client.RestClient;
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "webhook.client.type", havingValue = "rest", matchIfMissing = true)
 public class WebhookRestClient implements WebhookClient {
 
   /**
@@ -34,35 +44,50 @@ public class WebhookRestClient implements WebhookClient {
    */
   private final RestClient restClient;
 
+  /**
+   * Limits the number of concurrent requests per destination host.
+   */
+  private final HostConcurrencyLimiter hostConcurrencyLimiter;
+
   /**
    * Sends a webhook notification using HTTP POST.
    * This method:
    * - Logs the webhook request details
-   * - Sends the payload to the specified URL
+   * - Sends the pre-serialized payload bytes to the specified URL, bypassing
+   *   Jackson, as the body encoded for the webhook if there is one
    * - Validates the response status code
    * - Logs the response or any errors
    *
    * @param webhookUrl The destination URL for the webhook notification
-   * @param payload    The event payload to be sent in the webhook
+   * @param payload    The serialized event payload to be sent as the request body
    * @return true if the webhook was successfully delivered (2xx status code),
    * false otherwise
    * @throws Exception if the webhook delivery fails
    */
   @Override
-  public boolean sendWebhook(String webhookUrl, BaseEventDTO payload) {
-    log.info("Sending webhook event: url {} payload {}", webhookUrl, payload);
+  public boolean sendWebhook(String webhookUrl, SerializedPayload payload) {
+    log.debug("Sending webhook event: url {} payload {}", webhookUrl, payload);
 
     try {
-      ResponseEntity<String> response = restClient.post()
-          .uri(webhookUrl)
-          .body(payload)
-          .retrieve()
-          .toEntity(String.class);
+      ResponseEntity<String> response = hostConcurrencyLimiter.execute(webhookUrl, () -> {
+        RestClient.RequestBodySpec request = restClient.post()
+            .uri(webhookUrl)
+            .contentType(MediaType.APPLICATION_JSON);
+        payload.getHeaders().forEach(request::header);
+        if (payload.getBodyEncoding() != null) {
+          request.header(HttpHeaders.CONTENT_ENCODING, payload.getBodyEncoding().getHeaderValue());
+        }
+        return request
+            .body(payload.getBody())
+            .retrieve()
+            .toEntity(String.class);
+      });
 
-      log.info("Webhook success: {}, Response: {}", webhookUrl, response.getBody());
+      log.debug("Webhook success: {}, Response: {}", webhookUrl, response.getBody());
       return response.getStatusCode().is2xxSuccessful();
     } catch (Exception ex) {
-      log.error("Webhook failed: {}, Error: {}", webhookUrl, ex.getMessage(), ex);
+      // Attempts may be retried, the final outcome is logged once by the caller
+      log.debug("Webhook failed: {}, Error: {}", webhookUrl, ex.getMessage(), ex);
       throw ex;
     }
   }
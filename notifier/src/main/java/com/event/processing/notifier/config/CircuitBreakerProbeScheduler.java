@@ -0,0 +1,109 @@
+package com.event.processing.notifier.config;
+
+import com.event.processing.notifier.service.DelayedTaskScheduler;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.core.registry.EntryAddedEvent;
+import io.github.resilience4j.core.registry.EntryRemovedEvent;
+import io.github.resilience4j.core.registry.EntryReplacedEvent;
+import io.github.resilience4j.core.registry.RegistryEventConsumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves open circuit breakers to half-open on the shared timing wheel.
+ * Without it, an open circuit only notices that its wait duration has passed
+ * on the next call, and until then reports itself as open; with one breaker
+ * per destination URL, idle destinations would stay open indefinitely. Each
+ * transition to open schedules one timer, replacing the timer of an earlier
+ * open period of the same breaker, and the timer moves the breaker to
+ * half-open so that the next deliveries act as probes.
+ * <p>
+ * Registered with the circuit breaker registry as a registry event consumer,
+ * so breakers created on demand for new URLs are covered as well.
+ * <p>
+ * Key features:
+ * - Half-open transitions on time, independent of traffic
+ * - One timer per open breaker on the shared timing wheel
+ * - Falls back to the lazy transition if no timer can be scheduled
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CircuitBreakerProbeScheduler implements RegistryEventConsumer<CircuitBreaker> {
+
+  private final DelayedTaskScheduler delayedTaskScheduler;
+  private final Map<String, DelayedTaskScheduler.Timeout> probes = new ConcurrentHashMap<>();
+
+  @Override
+  public void onEntryAddedEvent(EntryAddedEvent<CircuitBreaker> entryAddedEvent) {
+    watch(entryAddedEvent.getAddedEntry());
+  }
+
+  @Override
+  public void onEntryRemovedEvent(EntryRemovedEvent<CircuitBreaker> entryRemoveEvent) {
+    cancelProbe(entryRemoveEvent.getRemovedEntry().getName());
+  }
+
+  @Override
+  public void onEntryReplacedEvent(EntryReplacedEvent<CircuitBreaker> entryReplacedEvent) {
+    cancelProbe(entryReplacedEvent.getOldEntry().getName());
+    watch(entryReplacedEvent.getNewEntry());
+  }
+
+  private void watch(CircuitBreaker circuitBreaker) {
+    if (circuitBreaker.getCircuitBreakerConfig().isAutomaticTransitionFromOpenToHalfOpenEnabled()) {
+      // Resilience4j already schedules the transition for this breaker
+      return;
+    }
+    circuitBreaker.getEventPublisher().onStateTransition(event -> {
+      if (event.getStateTransition().getToState() == CircuitBreaker.State.OPEN) {
+        scheduleProbe(circuitBreaker);
+      }
+    });
+  }
+
+  private void scheduleProbe(CircuitBreaker circuitBreaker) {
+    long waitMillis = circuitBreaker.getCircuitBreakerConfig().getWaitIntervalFunctionInOpenState().apply(1);
+    try {
+      DelayedTaskScheduler.Timeout probe = delayedTaskScheduler.schedule(() -> toHalfOpen(circuitBreaker),
+          waitMillis, TimeUnit.MILLISECONDS);
+      DelayedTaskScheduler.Timeout previous = probes.put(circuitBreaker.getName(), probe);
+      if (previous != null) {
+        previous.cancel();
+      }
+    } catch (RejectedExecutionException e) {
+      log.warn("Could not schedule half-open probe for circuit breaker {}, it moves on its next call: {}",
+          circuitBreaker.getName(), e.getMessage());
+    }
+  }
+
+  private void toHalfOpen(CircuitBreaker circuitBreaker) {
+    probes.remove(circuitBreaker.getName());
+    if (circuitBreaker.getState() != CircuitBreaker.State.OPEN) {
+      return;
+    }
+    try {
+      circuitBreaker.transitionToHalfOpenState();
+      log.info("Circuit breaker {} is half-open, next calls probe the destination", circuitBreaker.getName());
+    } catch (RuntimeException e) {
+      // A concurrent call may have moved the breaker on already
+      log.debug("Circuit breaker {} did not move to half-open: {}", circuitBreaker.getName(), e.getMessage());
+    }
+  }
+
+  private void cancelProbe(String name) {
+    DelayedTaskScheduler.Timeout probe = probes.remove(name);
+    if (probe != null) {
+      probe.cancel();
+    }
+  }
+}
@@ -1,18 +1,25 @@
 package com.event.processing.notifier.config;
 
+import com.event.processing.notifier.consumer.OffsetCommitTracker;
 import com.event.processing.notifier.domain.dto.WebhookEventDTO;
+import com.event.processing.notifier.monitoring.KafkaConsumerMetrics;
+import com.event.processing.notifier.util.ConsumerPipelineProperties;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -28,6 +35,8 @@ import java.util.Map;
  * - Configurable concurrency
  * - JSON deserialization for WebhookEventDTO
  * - Configurable poll timeout and max records per poll
+ * - Rebalance and idle hooks for the pipelined consumer mode
+ * - Kafka client, throughput and rebalance metrics for every consumer
  *
  * @author LongLe
  * @version 1.0
@@ -81,12 +90,14 @@ public class KafkaConsumerConfig {
   /**
    * Creates and configures the Kafka ConsumerFactory.
    * Sets up deserializers and consumer properties for processing WebhookEventDTO
-   * messages.
+   * messages. The Kafka client metrics of every consumer it creates, among
+   * them the per-partition lag, are bound to the meter registry.
    *
+   * @param consumerMetrics Metrics of the listener containers' consumers
    * @return Configured ConsumerFactory instance
    */
   @Bean
-  public ConsumerFactory<String, WebhookEventDTO> consumerFactory() {
+  public ConsumerFactory<String, WebhookEventDTO> consumerFactory(KafkaConsumerMetrics consumerMetrics) {
     Map<String, Object> props = new HashMap<>();
     props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
     props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
@@ -101,25 +112,52 @@ public class KafkaConsumerConfig {
     log.info("Creating Kafka Consumer Factory with Group ID: {}, Max Poll Records: {}, Enable Auto Commit: {}",
         groupId, maxPollRecords, enableAutoCommit);
 
-    return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(),
-        new JsonDeserializer<>(WebhookEventDTO.class, false));
+    DefaultKafkaConsumerFactory<String, WebhookEventDTO> consumerFactory = new DefaultKafkaConsumerFactory<>(props,
+        new StringDeserializer(), new JsonDeserializer<>(WebhookEventDTO.class, false));
+    consumerMetrics.bind(consumerFactory);
+    return consumerFactory;
   }
 
   /**
    * Creates and configures the Kafka Listener Container Factory.
    * Sets up batch processing, concurrency, and acknowledgment mode.
+   * Partition assignment changes are counted. In pipelined mode it also
+   * commits completed offsets before partitions are revoked and publishes idle
+   * events so that offsets are committed while no records arrive.
    *
+   * @param consumerFactory     The consumer factory of the listener containers
+   * @param pipelineProperties  Configuration of the pipelined consumer mode
+   * @param offsetCommitTracker Tracker of out-of-order completed offsets
+   * @param consumerMetrics     Metrics of the listener containers' consumers
    * @return Configured ConcurrentKafkaListenerContainerFactory instance
    */
   @Bean
-  public ConcurrentKafkaListenerContainerFactory<String, WebhookEventDTO> kafkaListenerContainerFactory() {
+  public ConcurrentKafkaListenerContainerFactory<String, WebhookEventDTO> kafkaListenerContainerFactory(
+      ConsumerFactory<String, WebhookEventDTO> consumerFactory, ConsumerPipelineProperties pipelineProperties,
+      OffsetCommitTracker offsetCommitTracker, KafkaConsumerMetrics consumerMetrics) {
     ConcurrentKafkaListenerContainerFactory<String, WebhookEventDTO> factory = new ConcurrentKafkaListenerContainerFactory<>();
-    factory.setConsumerFactory(consumerFactory());
+    factory.setConsumerFactory(consumerFactory);
     factory.setBatchListener(true); // Enable batch processing
     factory.setConcurrency(concurrency);
     factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
     factory.getContainerProperties().setPollTimeout(pollTimeout);
 
+    ConsumerAwareRebalanceListener rebalanceListener = new ConsumerAwareRebalanceListener() {
+    };
+    if (pipelineProperties.isEnabled()) {
+      factory.getContainerProperties().setIdleEventInterval(pipelineProperties.getIdleCommitInterval().toMillis());
+      rebalanceListener = new ConsumerAwareRebalanceListener() {
+        @Override
+        public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+          offsetCommitTracker.commitReady(consumer);
+          offsetCommitTracker.revoke(partitions);
+        }
+      };
+      log.info("Pipelined consumption enabled with max {} pending records", pipelineProperties.getMaxPendingRecords());
+    }
+
+    factory.getContainerProperties().setConsumerRebalanceListener(consumerMetrics.rebalanceListener(rebalanceListener));
+
     log.info(
         "Initializing Kafka Batch Listener Factory with Concurrency: {}, Poll Timeout: {}, Ack Mode: MANUAL_IMMEDIATE",
         concurrency, pollTimeout);
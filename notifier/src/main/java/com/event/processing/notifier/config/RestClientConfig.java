@@ -1,9 +1,13 @@
 package com.event.processing.notifier.config;
 
+import com.event.processing.notifier.util.WebhookClientProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
+import java.net.http.HttpClient;
+
 /**
  * Configuration class for REST client settings.
  * This class provides configuration for the RestClient used in the application
@@ -11,6 +15,9 @@ import org.springframework.web.client.RestClient;
  * <p>
  * Key features:
  * - Singleton RestClient instance
+ * - Shared JDK HttpClient with pooled keep-alive connections
+ * - HTTP/2 negotiation with HTTP/1.1 fallback
+ * - Configurable connect and read timeouts
  * - Thread-safe configuration
  * - Spring-managed bean lifecycle
  *
@@ -20,14 +27,38 @@ import org.springframework.web.client.RestClient;
 @Configuration
 public class RestClientConfig {
 
+  /**
+   * Creates the JDK HttpClient shared by all webhook clients.
+   * The client keeps a pool of keep-alive connections per receiver and
+   * negotiates HTTP/2 when enabled, falling back to HTTP/1.1.
+   *
+   * @param properties Configuration properties for the webhook client
+   * @return Configured HttpClient instance
+   */
+  @Bean
+  public HttpClient webhookHttpClient(WebhookClientProperties properties) {
+    return HttpClient.newBuilder()
+        .version(properties.isHttp2Enabled() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+        .connectTimeout(properties.getConnectTimeout())
+        .followRedirects(HttpClient.Redirect.NEVER)
+        .build();
+  }
+
   /**
    * Creates and configures a RestClient instance for making HTTP requests.
-   * The RestClient is configured as a singleton bean and is thread-safe.
+   * The RestClient is configured as a singleton bean and is thread-safe, and
+   * runs on the shared webhook HttpClient with the configured read timeout.
    *
+   * @param webhookHttpClient The shared webhook HttpClient
+   * @param properties        Configuration properties for the webhook client
    * @return Configured RestClient instance
    */
   @Bean
-  public RestClient restClient() {
-    return RestClient.create();
+  public RestClient restClient(HttpClient webhookHttpClient, WebhookClientProperties properties) {
+    JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(webhookHttpClient);
+    requestFactory.setReadTimeout(properties.getReadTimeout());
+    return RestClient.builder()
+        .requestFactory(requestFactory)
+        .build();
   }
-}
\ No newline at end of file
+}
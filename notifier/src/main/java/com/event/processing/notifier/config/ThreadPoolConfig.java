@@ -1,10 +1,16 @@
 package com.event.processing.notifier.config;
 
+import com.event.processing.notifier.util.DeliveryExecutorProperties;
 import com.event.processing.notifier.util.KafkaConsumerThreadPoolProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import java.util.concurrent.Executor;
+
 /**
  * Configuration class for thread pool settings.
  * This class configures the thread pool used for Kafka consumer message
@@ -17,10 +23,12 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
  * - Configurable queue capacity
  * - Named thread prefix for better monitoring
  * - Automatic thread pool initialization
+ * - Optional virtual thread executor for webhook deliveries
  *
  * @author LongLe
  * @version 1.0
  */
+@Slf4j
 @Configuration
 public class ThreadPoolConfig {
 
@@ -45,4 +53,30 @@ public class ThreadPoolConfig {
     return executor;
   }
 
+  /**
+   * Creates the executor that webhook deliveries run on.
+   * In VIRTUAL mode every delivery gets its own virtual thread and concurrency
+   * is bounded per destination host instead of by a thread count; this needs
+   * a Java 21 runtime (see the java21 Maven profile). The fair delivery
+   * scheduler then leaves in-flight deliveries unbounded unless
+   * scheduler.fair.workers is set. In PLATFORM mode deliveries share the
+   * kafkaConsumerExecutor pool, and the scheduler caps them at its maximum
+   * size.
+   *
+   * @param properties            Configuration properties for the delivery executor
+   * @param kafkaConsumerExecutor The shared consumer thread pool
+   * @return Executor for webhook deliveries
+   */
+  @Bean(name = "webhookDeliveryExecutor")
+  public Executor webhookDeliveryExecutor(DeliveryExecutorProperties properties,
+                                          @Qualifier("kafkaConsumerExecutor") ThreadPoolTaskExecutor kafkaConsumerExecutor) {
+    if (properties.getMode() == DeliveryExecutorProperties.Mode.VIRTUAL) {
+      SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("WebhookDelivery-");
+      executor.setVirtualThreads(true);
+      log.info("Webhook deliveries run on virtual threads, max {} concurrent deliveries per host",
+          properties.getMaxConcurrencyPerHost());
+      return executor;
+    }
+    return kafkaConsumerExecutor::execute;
+  }
 }
@@ -1,6 +1,7 @@
 package com.event.processing.notifier.consumer;
 
 import com.event.processing.notifier.domain.dto.WebhookEventDTO;
+import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.support.Acknowledgment;
 
@@ -32,6 +33,9 @@ public interface EventConsumer {
    *                       process
    * @param acknowledgment Acknowledgment object to mark successful processing of
    *                       the batch
+   * @param consumer       The underlying consumer, used to commit offsets when
+   *                       records complete out of order
    */
-  void consume(List<ConsumerRecord<String, WebhookEventDTO>> records, Acknowledgment acknowledgment);
+  void consume(List<ConsumerRecord<String, WebhookEventDTO>> records, Acknowledgment acknowledgment,
+               Consumer<?, ?> consumer);
 }
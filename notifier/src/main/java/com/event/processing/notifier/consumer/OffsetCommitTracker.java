@@ -0,0 +1,233 @@
+package com.event.processing.notifier.consumer;
+
+import com.event.processing.notifier.util.ConsumerPipelineProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.event.processing.notifier.util.PromeTheusMetricContants.KAFKA_PIPELINE_COMMIT_COUNT;
+import static com.event.processing.notifier.util.PromeTheusMetricContants.KAFKA_PIPELINE_PENDING_RECORDS;
+
+/**
+ * Tracks out-of-order record completion for the pipelined consumer mode.
+ * Records are registered on the poll thread in offset order and completed on
+ * delivery threads in any order. For each partition the committable offset is
+ * the lowest offset still in progress, or one past the highest registered
+ * offset when nothing is in progress, so a commit never skips an unfinished
+ * record.
+ * <p>
+ * Key features:
+ * - Per-partition contiguous completion tracking
+ * - Commits issued on the poll thread only
+ * - Bound on pending records, enforced by pausing the assigned partitions
+ * - Cleanup of revoked partitions
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class OffsetCommitTracker {
+
+  private final ConsumerPipelineProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final Map<TopicPartition, PartitionState> partitions = new ConcurrentHashMap<>();
+  private final AtomicInteger pending = new AtomicInteger();
+  private final KafkaListenerEndpointRegistry listenerRegistry;
+
+  /**
+   * Guards the paused partitions, so that pausing and resuming do not
+   * interleave.
+   */
+  private final Object capacityLock = new Object();
+  private final Set<TopicPartition> pausedPartitions = new HashSet<>();
+  private boolean paused;
+
+  public OffsetCommitTracker(ConsumerPipelineProperties properties, MeterRegistry meterRegistry,
+                             KafkaListenerEndpointRegistry listenerRegistry) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    this.listenerRegistry = listenerRegistry;
+    Gauge.builder(KAFKA_PIPELINE_PENDING_RECORDS, pending, AtomicInteger::get).register(meterRegistry);
+  }
+
+  /**
+   * Pauses the partitions assigned to the listener containers while the
+   * number of pending records is at or above the configured bound. The
+   * consumers keep polling, so they stay in the group, but receive no records
+   * until {@link #complete} or {@link #revoke} resumes them. Partitions
+   * assigned after the pause are paused on the next call.
+   */
+  public void pauseIfOverCapacity() {
+    synchronized (capacityLock) {
+      if (pending.get() < properties.getMaxPendingRecords()) {
+        return;
+      }
+      if (!paused) {
+        log.info("{} records pending, pausing consumption", pending.get());
+      }
+      paused = true;
+      for (MessageListenerContainer container : listenerRegistry.getAllListenerContainers()) {
+        container.getAssignedPartitions().stream()
+            .filter(pausedPartitions::add)
+            .forEach(container::pausePartition);
+      }
+    }
+  }
+
+  /**
+   * Resumes the paused partitions once the pending records dropped to half of
+   * the configured bound, which keeps consumption from flapping at the bound.
+   */
+  private void resumeIfBelowCapacity() {
+    synchronized (capacityLock) {
+      if (!paused || pending.get() > properties.getMaxPendingRecords() / 2) {
+        return;
+      }
+      paused = false;
+      log.info("{} records pending, resuming consumption", pending.get());
+      // Also resumes partitions revoked meanwhile, so they are not paused when assigned again
+      for (MessageListenerContainer container : listenerRegistry.getAllListenerContainers()) {
+        pausedPartitions.forEach(container::resumePartition);
+      }
+      pausedPartitions.clear();
+    }
+  }
+
+  /**
+   * Registers a record as dispatched but not yet completed.
+   * Must be called on the poll thread in offset order per partition.
+   *
+   * @param partition The partition of the record
+   * @param offset    The offset of the record
+   */
+  public void register(TopicPartition partition, long offset) {
+    partitions.computeIfAbsent(partition, tp -> new PartitionState()).register(offset);
+    pending.incrementAndGet();
+  }
+
+  /**
+   * Marks a record as completed. Completing an unknown or already completed
+   * record is a no-op, so callers may complete defensively.
+   *
+   * @param partition The partition of the record
+   * @param offset    The offset of the record
+   */
+  public void complete(TopicPartition partition, long offset) {
+    PartitionState state = partitions.get(partition);
+    if (state != null && state.complete(offset)) {
+      pending.decrementAndGet();
+      resumeIfBelowCapacity();
+    }
+  }
+
+  /**
+   * Commits the committable offsets of all partitions assigned to the given
+   * consumer that advanced since the last commit.
+   * Must be called on the consumer's poll thread.
+   *
+   * @param consumer The Kafka consumer owning the partitions
+   */
+  public void commitReady(Consumer<?, ?> consumer) {
+    Set<TopicPartition> assignment = consumer.assignment();
+    Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+    assignment.forEach(tp -> {
+      PartitionState state = partitions.get(tp);
+      if (state != null) {
+        long offset = state.takeCommittable();
+        if (offset >= 0) {
+          offsets.put(tp, new OffsetAndMetadata(offset));
+        }
+      }
+    });
+
+    if (offsets.isEmpty()) {
+      return;
+    }
+
+    try {
+      consumer.commitSync(offsets);
+      meterRegistry.counter(KAFKA_PIPELINE_COMMIT_COUNT).increment();
+      log.debug("Committed offsets {}", offsets);
+    } catch (Exception e) {
+      log.error("Failed to commit offsets {}", offsets, e);
+      offsets.keySet().forEach(tp -> partitions.get(tp).resetCommitted());
+    }
+  }
+
+  /**
+   * Forgets the state of revoked partitions. Records of these partitions that
+   * are still in flight will be redelivered to the new owner and are no longer
+   * counted as pending here.
+   *
+   * @param revoked The revoked partitions
+   */
+  public void revoke(Collection<TopicPartition> revoked) {
+    revoked.forEach(tp -> {
+      PartitionState state = partitions.remove(tp);
+      if (state != null) {
+        pending.addAndGet(-state.clear());
+      }
+    });
+    resumeIfBelowCapacity();
+  }
+
+  /**
+   * Completion state of a single partition.
+   */
+  private static final class PartitionState {
+    private final TreeSet<Long> inProgress = new TreeSet<>();
+    private long highestRegistered = -1;
+    private long lastCommitted = -1;
+
+    private synchronized void register(long offset) {
+      inProgress.add(offset);
+      highestRegistered = Math.max(highestRegistered, offset);
+    }
+
+    private synchronized boolean complete(long offset) {
+      return inProgress.remove(offset);
+    }
+
+    /**
+     * Returns the next offset to commit if it advanced since the last commit,
+     * or -1 otherwise.
+     */
+    private synchronized long takeCommittable() {
+      if (highestRegistered < 0) {
+        return -1;
+      }
+      long committable = inProgress.isEmpty() ? highestRegistered + 1 : inProgress.first();
+      if (committable <= lastCommitted) {
+        return -1;
+      }
+      lastCommitted = committable;
+      return committable;
+    }
+
+    private synchronized void resetCommitted() {
+      lastCommitted = -1;
+    }
+
+    private synchronized int clear() {
+      int dropped = inProgress.size();
+      inProgress.clear();
+      return dropped;
+    }
+  }
+}
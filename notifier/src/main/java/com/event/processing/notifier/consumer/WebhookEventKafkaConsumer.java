@@ -1,30 +1,52 @@
 package com.event.processing.notifier.consumer;
 
 import com.event.processing.notifier.application.WebhookEventProcessing;
-import com.event.processing.notifier.domain.dto.BaseEventDTO;
+import com.event.processing.notifier.domain.dto.EnrichedEventDTO;
+import com.event.processing.notifier.domain.dto.SerializedPayload;
 import com.event.processing.notifier.domain.dto.WebhookEventDTO;
 import com.event.processing.notifier.domain.service.WebhookEventService;
+import com.event.processing.notifier.monitoring.EventLatencyRecorder;
+import com.event.processing.notifier.monitoring.KafkaConsumerMetrics;
 import com.event.processing.notifier.producer.EventProducer;
+import com.event.processing.notifier.service.DeduplicationService;
+import com.event.processing.notifier.service.DeferredEventService;
+import com.event.processing.notifier.service.DeliveryScheduler;
 import com.event.processing.notifier.service.RateLimiterService;
+import com.event.processing.notifier.util.ConsumerPipelineProperties;
+import com.event.processing.notifier.util.DeferralProperties;
+import com.event.processing.notifier.util.WebhookBatchingProperties;
+import io.micrometer.core.annotation.Timed;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
+import static com.event.processing.notifier.util.PromeTheusMetricContants.KAFKA_BATCH_IN_FLIGHT;
 import static com.event.processing.notifier.util.PromeTheusMetricContants.KAFKA_EVENT_COUNT;
 import static com.event.processing.notifier.util.PromeTheusMetricContants.METRIC_KAFKA_BATCH_PROCESSING_TIME;
 
@@ -38,10 +60,17 @@ import static com.event.processing.notifier.util.PromeTheusMetricContants.METRIC
  * Key features:
  * - Batch processing of webhook events
  * - Parallel processing using thread pool
+ * - Fair per-account delivery ordering through the delivery scheduler
  * - Event grouping by type
+ * - Batch duplicate filtering before rate limiting and DB access
+ * - Deferral of rate-limited events until their account's budget reopens
  * - Performance monitoring with metrics
+ * - Per-partition throughput and poll-to-acknowledgment latency
  * - Error handling and logging
  * - Manual acknowledgment support
+ * - Optional pipelined mode with out-of-order offset commits
+ * - Batched delivery for webhooks that accept arrays
+ * - Acknowledgment only once pending delivery retries have finished
  *
  * @author LongLe
  * @version 1.0
@@ -58,6 +87,15 @@ public class WebhookEventKafkaConsumer implements EventConsumer {
   private final ThreadPoolTaskExecutor kafkaConsumerExecutor;
   private final RateLimiterService rateLimiterService;
   private final EventProducer eventProducer;
+  private final DeliveryScheduler deliveryScheduler;
+  private final OffsetCommitTracker offsetCommitTracker;
+  private final ConsumerPipelineProperties pipelineProperties;
+  private final DeduplicationService deduplicationService;
+  private final DeferredEventService deferredEventService;
+  private final DeferralProperties deferralProperties;
+  private final WebhookBatchingProperties batchingProperties;
+  private final EventLatencyRecorder eventLatencyRecorder;
+  private final KafkaConsumerMetrics consumerMetrics;
 
   @Value("${spring.kafka.topic.webhook-event.name:webhook-events}")
   private String topic;
@@ -67,17 +105,33 @@ public class WebhookEventKafkaConsumer implements EventConsumer {
    * Events are grouped by type and processed in parallel using a thread pool.
    * Processing includes fetching webhook URLs and payloads, and sending
    * notifications.
+   * <p>
+   * In batch mode the listener waits for the whole batch before acknowledging
+   * it, including retries that are still scheduled for its events; delivery
+   * threads are free while those retries wait. In pipelined mode it only dispatches the batch and returns, and
+   * completed offsets are committed on later polls.
    *
    * @param records        List of Kafka consumer records containing webhook
    *                       events
    * @param acknowledgment Acknowledgment object to mark successful processing
+   * @param consumer       The Kafka consumer that polled the records
    */
   @KafkaListener(
       topics = "${spring.kafka.topic.webhook-event.name:webhook-events}",
       groupId = "${spring.kafka.consumer.group-id:dlq-event-processing-group}",
       containerFactory = "kafkaListenerContainerFactory")
   @Override
-  public void consume(List<ConsumerRecord<String, WebhookEventDTO>> records, Acknowledgment acknowledgment) {
+  @Timed(value = KAFKA_BATCH_IN_FLIGHT, longTask = true,
+      description = "Polled batches whose listener call has not returned yet")
+  public void consume(List<ConsumerRecord<String, WebhookEventDTO>> records, Acknowledgment acknowledgment,
+                      Consumer<?, ?> consumer) {
+    long polledAt = System.nanoTime();
+    consumerMetrics.recordPolled(records);
+    if (pipelineProperties.isEnabled()) {
+      consumePipelined(records, consumer, polledAt);
+      return;
+    }
+
     meterRegistry.counter(KAFKA_EVENT_COUNT).increment(records.size());
     Timer batchProcessingTimer = meterRegistry.timer(METRIC_KAFKA_BATCH_PROCESSING_TIME);
     batchProcessingTimer.record(() -> {
@@ -91,39 +145,176 @@ public class WebhookEventKafkaConsumer implements EventConsumer {
       Map<String, List<ConsumerRecord<String, WebhookEventDTO>>> eventsByType = groupEventsByType(records);
 
       List<CompletableFuture<Void>> futures = eventsByType.entrySet().stream()
-          .map(entry -> CompletableFuture.runAsync(() -> processEventGroup(entry.getKey(), entry.getValue()),
-              kafkaConsumerExecutor))
+          .map(entry -> dispatchEventGroup(entry.getKey(), entry.getValue()))
           .toList();
 
       CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
-          .thenRun(() -> acknowledge(acknowledgment, records.size()))
+          .thenRun(() -> acknowledge(acknowledgment, records.size(), polledAt))
           .join(); // Ensure we wait before acknowledging
     });
   }
 
   /**
-   * Groups consumer records by their event type for batch processing.
+   * Pipelined variant of {@link #consume}. Commits the offsets completed since
+   * the previous poll, then registers and dispatches the new records without
+   * waiting for them. If too many records are pending, consumption is paused
+   * until enough of them completed; the poll thread never blocks.
+   * <p>
+   * A group whose processing fails as a whole, for example because its
+   * enrichment failed or the thread pool rejected it, is not completed but
+   * republished, see {@link #republishFailedGroup}.
+   *
+   * @param records  List of Kafka consumer records containing webhook events
+   * @param consumer The Kafka consumer that polled the records
+   * @param polledAt The {@link System#nanoTime()} at which the poll returned
+   */
+  private void consumePipelined(List<ConsumerRecord<String, WebhookEventDTO>> records, Consumer<?, ?> consumer,
+                                long polledAt) {
+    meterRegistry.counter(KAFKA_EVENT_COUNT).increment(records.size());
+    offsetCommitTracker.commitReady(consumer);
+
+    if (records.isEmpty()) {
+      return;
+    }
+
+    records.forEach(record ->
+        offsetCommitTracker.register(new TopicPartition(record.topic(), record.partition()), record.offset()));
+    offsetCommitTracker.pauseIfOverCapacity();
+
+    log.info("Dispatching {} events", records.size());
+    groupEventsByType(records).forEach((eventType, eventGroup) ->
+        dispatchEventGroup(eventType, eventGroup)
+            .whenComplete((result, ex) -> {
+              if (ex != null) {
+                republishFailedGroup(eventType, eventGroup, ex);
+                return;
+              }
+              eventGroup.forEach(this::onRecordCompleted);
+              consumerMetrics.recordAcknowledged(polledAt, "pipelined");
+            }));
+  }
+
+  /**
+   * Republishes the records of a group whose processing failed as a whole in
+   * pipelined mode, so that committing their offsets does not drop them.
+   * A record's offset is only completed once the broker has acknowledged its
+   * republication. A record that could not be republished holds back the
+   * committed offset of its partition, so it is consumed again after a
+   * restart or rebalance.
+   *
+   * @param eventType  The type of events in the group
+   * @param eventGroup The consumer records of the failed group
+   * @param ex         The exception that failed the group
+   */
+  private void republishFailedGroup(String eventType, List<ConsumerRecord<String, WebhookEventDTO>> eventGroup,
+                                    Throwable ex) {
+    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+    log.error("Processing failed for {} events of type {}, republishing them: {}", eventGroup.size(), eventType,
+        cause.getMessage());
+    for (ConsumerRecord<String, WebhookEventDTO> event : eventGroup) {
+      try {
+        eventProducer.publish(topic, event.key(), event.value())
+            .thenRun(() -> onRecordCompleted(event));
+      } catch (Exception e) {
+        log.error("Failed to republish event {}, its offset is not committed", event.key(), e);
+      }
+    }
+  }
+
+  /**
+   * Commits completed offsets while no records arrive, so that the committed
+   * position does not lag behind when traffic stops. Idle events are published
+   * on the consumer thread, which makes committing from here safe.
+   *
+   * @param event The idle event published by the listener container
+   */
+  @EventListener
+  public void onContainerIdle(ListenerContainerIdleEvent event) {
+    if (pipelineProperties.isEnabled()) {
+      offsetCommitTracker.commitReady(event.getConsumer());
+    }
+  }
+
+  /**
+   * Runs the processing of an event group on the thread pool.
+   *
+   * @param eventType  The type of events being processed
+   * @param eventGroup List of consumer records for the event type
+   * @return Future that completes when every event of the group is done
+   */
+  private CompletableFuture<Void> dispatchEventGroup(String eventType,
+                                                     List<ConsumerRecord<String, WebhookEventDTO>> eventGroup) {
+    return CompletableFuture.supplyAsync(() -> processEventGroup(eventType, eventGroup), kafkaConsumerExecutor)
+        .thenCompose(deliveries -> deliveries);
+  }
+
+  /**
+   * Marks a record as completed for offset tracking in pipelined mode.
+   * Records can be completed more than once; only the first call counts.
+   *
+   * @param record The completed consumer record
+   */
+  private void onRecordCompleted(ConsumerRecord<String, WebhookEventDTO> record) {
+    if (pipelineProperties.isEnabled()) {
+      offsetCommitTracker.complete(new TopicPartition(record.topic(), record.partition()), record.offset());
+    }
+  }
+
+  /**
+   * Groups consumer records by their event type for batch processing. Also
+   * copies each record's produce timestamp header onto its event.
    *
    * @param records List of consumer records to group
    * @return Map of event types to their corresponding consumer records
    */
   private Map<String, List<ConsumerRecord<String, WebhookEventDTO>>> groupEventsByType(
       List<ConsumerRecord<String, WebhookEventDTO>> records) {
+    records.forEach(this::readProducedAt);
     return records.stream()
         .collect(Collectors.groupingBy(record -> record.value().getEventType()));
   }
 
+  /**
+   * Sets the time the event was first produced from the record's produce
+   * timestamp header. Records without a readable header keep no produce time
+   * and are left out of the latency histograms that depend on it.
+   *
+   * @param record The consumer record to read the header of
+   */
+  private void readProducedAt(ConsumerRecord<String, WebhookEventDTO> record) {
+    Header header = record.headers().lastHeader(EventProducer.PRODUCED_AT_HEADER);
+    if (header == null || header.value() == null) {
+      return;
+    }
+    try {
+      record.value().setProducedAt(Long.parseLong(new String(header.value(), StandardCharsets.US_ASCII)));
+    } catch (NumberFormatException e) {
+      log.debug("Ignoring unreadable produce timestamp of event {}", record.key());
+    }
+  }
+
   /**
    * Processes a group of events of the same type.
-   * Fetches webhook URLs and payloads for the events and initiates batch
-   * processing after checking for rate limits in batches.
+   * Drops events that were already processed, then fetches webhook URLs and
+   * payloads for the events in one enrichment call and initiates batch
+   * processing after checking for rate limits in batches. Each account gets as many events through as its
+   * remaining budget allows, oldest first, and only the excess is deferred.
+   * If the enrichment call fails, the group fails instead of completing, so
+   * its records are not acknowledged as if they had been delivered.
    *
    * @param eventType  The type of events being processed
    * @param eventGroup List of consumer records for the event type
+   * @return Future that completes when all deliveries of the group are done
    */
-  private void processEventGroup(String eventType, List<ConsumerRecord<String, WebhookEventDTO>> eventGroup) {
+  private CompletableFuture<Void> processEventGroup(String eventType, List<ConsumerRecord<String, WebhookEventDTO>> eventGroup) {
+    List<ConsumerRecord<String, WebhookEventDTO>> freshEvents = filterDuplicates(eventGroup);
+    if (freshEvents.isEmpty()) {
+      log.info("No events to process after duplicate checks");
+      return CompletableFuture.completedFuture(null);
+    }
+
     // Group events by account ID for batch rate limit checking
-    Map<String, List<ConsumerRecord<String, WebhookEventDTO>>> eventsByAccount = eventGroup.stream()
+    Map<String, List<ConsumerRecord<String, WebhookEventDTO>>> eventsByAccount = freshEvents.stream()
         .collect(Collectors.groupingBy(record -> record.value().getAccountId()));
 
     // Perform batch rate limit checks and filter events
@@ -131,86 +322,225 @@ public class WebhookEventKafkaConsumer implements EventConsumer {
     
     eventsByAccount.forEach((accountId, accountEvents) -> {
       int eventCount = accountEvents.size();
-      if (rateLimiterService.areEventsAllowed(accountId, eventCount)) {
-        allowedEvents.addAll(accountEvents);
-      } else {
-        // Republish rate-limited events back to Kafka
-        log.warn("Rate limited {} events for account {}", eventCount, accountId);
-        accountEvents.forEach(event -> 
-            eventProducer.publish(topic, event.key(), event.value()));
+      int allowedCount = rateLimiterService.countAllowedEvents(accountId, eventCount);
+      allowedEvents.addAll(accountEvents.subList(0, allowedCount));
+      if (allowedCount < eventCount) {
+        log.warn("Rate limited {} of {} events for account {}", eventCount - allowedCount, eventCount, accountId);
+        deferRateLimited(accountId, accountEvents.subList(allowedCount, eventCount));
       }
     });
 
     // If there are no allowed events after rate limiting, return early
     if (allowedEvents.isEmpty()) {
       log.info("No events to process after rate limiting checks");
-      return;
+      return CompletableFuture.completedFuture(null);
     }
 
     // Continue with regular processing for allowed events
-    Map<String, BaseEventDTO> payloadMap;
-    Map<String, String> webhookUrlMap;
+    Map<String, EnrichedEventDTO> enrichedEvents;
+    long enrichmentStart = System.currentTimeMillis();
+    long enrichmentStartNanos = System.nanoTime();
     try {
       Set<String> allowedEventIds = allowedEvents.stream()
           .map(record -> record.value().getEventId())
           .collect(Collectors.toSet());
-      
-      payloadMap = webhookEventService.getPayloads(eventType, allowedEventIds);
-      webhookUrlMap = webhookEventService.getWebhookUrls(eventType, allowedEventIds);
+
+      enrichedEvents = webhookEventService.enrich(eventType, allowedEventIds);
     } catch (Exception e) {
       log.error("Failed to fetch event data from DB for event type: {}", eventType, e);
-      return;
+      throw new CompletionException(e);
+    }
+    List<WebhookEventDTO> allowedPayloads = allowedEvents.stream().map(ConsumerRecord::value).toList();
+    eventLatencyRecorder.recordEnrichment(eventType, allowedPayloads, System.nanoTime() - enrichmentStartNanos);
+    allowedPayloads.forEach(event -> eventLatencyRecorder.recordQueueing(event, enrichmentStart));
+
+    return processBatch(allowedEvents, enrichedEvents);
+  }
+
+  /**
+   * Parks rate-limited events until the account's budget reopens. If deferral
+   * is disabled or fails, the events are republished to Kafka immediately.
+   *
+   * @param accountId The account ID the events belong to
+   * @param events    The rate-limited consumer records
+   */
+  private void deferRateLimited(String accountId, List<ConsumerRecord<String, WebhookEventDTO>> events) {
+    if (deferralProperties.isEnabled()) {
+      try {
+        deferredEventService.defer(accountId, events.stream().map(ConsumerRecord::value).toList());
+        return;
+      } catch (Exception e) {
+        log.error("Failed to defer rate-limited events for account {}, republishing them", accountId, e);
+      }
+    }
+    events.forEach(event -> eventProducer.publish(topic, event.key(), event.value()));
+  }
+
+  /**
+   * Removes events that were already processed, using one batch lookup for the
+   * whole group. This is the only duplicate check the events get before they
+   * are delivered; if the lookup fails, each event is checked on its own
+   * instead.
+   *
+   * @param eventGroup List of consumer records to filter
+   * @return The records that have not been processed yet
+   */
+  private List<ConsumerRecord<String, WebhookEventDTO>> filterDuplicates(
+      List<ConsumerRecord<String, WebhookEventDTO>> eventGroup) {
+    Set<String> duplicates;
+    try {
+      duplicates = deduplicationService.findDuplicates(eventGroup.stream()
+          .map(record -> record.value().getEventId())
+          .toList());
+    } catch (Exception e) {
+      log.error("Batch duplicate check failed, falling back to per-event checks", e);
+      return eventGroup.stream()
+          .filter(record -> !isDuplicate(record.value().getEventId()))
+          .toList();
+    }
+
+    if (duplicates.isEmpty()) {
+      return eventGroup;
     }
+    log.warn("Skipping {} duplicate events", duplicates.size());
+    return eventGroup.stream()
+        .filter(record -> !duplicates.contains(record.value().getEventId()))
+        .toList();
+  }
 
-    processBatch(allowedEvents, webhookUrlMap, payloadMap);
+  /**
+   * Checks a single event for duplicates. An event whose check fails is kept,
+   * since a duplicate delivery is preferable to a lost one.
+   *
+   * @param eventId The unique identifier of the event to check
+   * @return true if the event is a duplicate and should be skipped
+   */
+  private boolean isDuplicate(String eventId) {
+    try {
+      if (deduplicationService.isDuplicate(eventId)) {
+        log.warn("Skipping duplicate event: {}", eventId);
+        return true;
+      }
+    } catch (Exception e) {
+      log.error("Duplicate check failed for event {}, processing it", eventId, e);
+    }
+    return false;
   }
 
   /**
-   * Processes a batch of events asynchronously using the thread pool.
-   * Each event is processed in parallel with performance monitoring.
+   * Processes a batch of events asynchronously through the delivery scheduler.
+   * Each event is queued under its account so that deliveries are dispatched in
+   * fair order across accounts. Events rejected because their account queue is
+   * full are republished to Kafka.
+   * <p>
+   * Events of webhooks with batching enabled are still queued fairly, but
+   * their task only adds them to the webhook's pending batch; they complete
+   * once the batch has been delivered.
+   * <p>
+   * Events delivered on their own are marked as processed together, with one
+   * round trip once every event of the batch is done.
    *
-   * @param records       List of consumer records to process
-   * @param webhookUrlMap Map of event IDs to their webhook URLs
-   * @param payloadMap    Map of event IDs to their payloads
+   * @param records        List of consumer records to process
+   * @param enrichedEvents Map of event IDs to their webhook URLs and payloads
+   * @return Future that completes when every event of the batch is done
    */
-  private void processBatch(
+  private CompletableFuture<Void> processBatch(
       List<ConsumerRecord<String, WebhookEventDTO>> records,
-      Map<String, String> webhookUrlMap,
-      Map<String, BaseEventDTO> payloadMap) {
+      Map<String, EnrichedEventDTO> enrichedEvents) {
 
+    Queue<String> deliveredEventIds = new ConcurrentLinkedQueue<>();
     List<CompletableFuture<Void>> eventFutures = records.stream()
-        .map(event -> CompletableFuture.supplyAsync(
-                () -> processSingleEvent(event, webhookUrlMap, payloadMap), kafkaConsumerExecutor)
-            .exceptionally(ex -> handleProcessingFailure(event.key(), ex)))
+        .map(event -> dispatchEvent(event, enrichedEvents, deliveredEventIds)
+            .exceptionally(ex -> handleProcessingFailure(event, ex))
+            .whenComplete((result, ex) -> onRecordCompleted(event)))
         .toList();
 
-    // Ensure all events are processed before moving forward
-    CompletableFuture.allOf(eventFutures.toArray(new CompletableFuture[0])).join();
+    return CompletableFuture.allOf(eventFutures.toArray(new CompletableFuture[0]))
+        .whenComplete((result, ex) -> markProcessed(deliveredEventIds));
+  }
+
+  /**
+   * Marks the delivered events of a batch as processed in one round trip.
+   *
+   * @param eventIds The unique identifiers of the delivered events
+   */
+  private void markProcessed(Collection<String> eventIds) {
+    if (eventIds.isEmpty()) {
+      return;
+    }
+    try {
+      deduplicationService.markAllProcessed(List.copyOf(eventIds));
+    } catch (Exception e) {
+      log.error("Failed to mark {} delivered events as processed", eventIds.size(), e);
+    }
+  }
+
+  /**
+   * Queues the delivery of one event with the delivery scheduler, either on
+   * its own or through the batch of its webhook.
+   * The scheduled task only starts the delivery: it returns once the first
+   * attempt has been started, or once the event has joined its batch, which
+   * frees the delivery worker while the receiver answers and while retries
+   * wait. Retries are queued with the
+   * delivery scheduler under the same account when they are due. The returned future
+   * completes when the event is done, including pending retries, so batch
+   * acknowledgments and pipelined offset commits never cover an event that
+   * is still waiting for its next attempt.
+   *
+   * @param event             The consumer record to deliver
+   * @param enrichedEvents    Map of event IDs to their webhook URLs and payloads
+   * @param deliveredEventIds Collects the events to mark as processed
+   * @return Future that completes when the event is done
+   */
+  private CompletableFuture<Void> dispatchEvent(ConsumerRecord<String, WebhookEventDTO> event,
+                                                Map<String, EnrichedEventDTO> enrichedEvents,
+                                                Queue<String> deliveredEventIds) {
+    String accountId = event.value().getAccountId();
+    EnrichedEventDTO enrichedEvent = enrichedEvents.get(event.value().getEventId());
+    boolean batched = batchingProperties.isEnabled() && enrichedEvent != null && enrichedEvent.batchingEnabled();
+
+    CompletableFuture<Void> done = new CompletableFuture<>();
+    return deliveryScheduler.submit(accountId, () ->
+            (batched
+                ? processBatchedEvent(event, enrichedEvent)
+                : processSingleEvent(event, enrichedEvents, deliveredEventIds))
+                .whenComplete((result, ex) -> done.complete(null)))
+        .thenCompose(ignored -> done);
   }
 
   /**
    * Handles processing failures for individual events.
-   * Logs the error and returns null to allow batch processing to continue.
+   * Republishes events the scheduler rejected, logs any other error and returns
+   * null to allow batch processing to continue.
    *
-   * @param eventId The ID of the event that failed processing
-   * @param ex      The exception that occurred during processing
+   * @param event The consumer record that failed processing
+   * @param ex    The exception that occurred during processing
    * @return null to allow batch processing to continue
    */
-  private Void handleProcessingFailure(String eventId, Throwable ex) {
-    log.error("Processing failed for event {}: {}", eventId, ex.getMessage());
+  private Void handleProcessingFailure(ConsumerRecord<String, WebhookEventDTO> event, Throwable ex) {
+    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+    if (cause instanceof RejectedExecutionException) {
+      log.warn("Delivery queue full, republishing event {}", event.key());
+      eventProducer.publish(topic, event.key(), event.value());
+      return null;
+    }
+    log.error("Processing failed for event {}: {}", event.key(), cause.getMessage());
     return null;
   }
 
   /**
    * Acknowledges the successful processing of a batch of records.
-   * Logs success or failure of the acknowledgment process.
+   * Logs success or failure of the acknowledgment process and records the
+   * time since the batch was polled.
    *
    * @param acknowledgment The acknowledgment object to use
    * @param recordCount    The number of records being acknowledged
+   * @param polledAt       The {@link System#nanoTime()} at which the poll returned
    */
-  private void acknowledge(Acknowledgment acknowledgment, int recordCount) {
+  private void acknowledge(Acknowledgment acknowledgment, int recordCount, long polledAt) {
     try {
       acknowledgment.acknowledge();
+      consumerMetrics.recordAcknowledged(polledAt, "batch");
       log.info("Acknowledged {} events", recordCount);
     } catch (Exception e) {
       log.error("Failed to acknowledge Kafka offsets", e);
@@ -219,18 +549,19 @@ public class WebhookEventKafkaConsumer implements EventConsumer {
 
   /**
    * Processes a single webhook event.
-   * Validates the event data and sends the webhook notification.
-   * Includes performance monitoring for the processing time.
+   * Validates the event data and starts sending the webhook notification.
+   * The event was already checked for duplicates with its group; once it has
+   * been delivered it is added to the events to mark as processed.
    *
-   * @param event         The consumer record containing the event
-   * @param webhookUrlMap Map of event IDs to their webhook URLs
-   * @param payloadMap    Map of event IDs to their payloads
-   * @return null after processing is complete
+   * @param event             The consumer record containing the event
+   * @param enrichedEvents    Map of event IDs to their webhook URLs and payloads
+   * @param deliveredEventIds Collects the events to mark as processed
+   * @return Future that completes when the event has been handled
    */
-  private Void processSingleEvent(
+  private CompletableFuture<Void> processSingleEvent(
       ConsumerRecord<String, WebhookEventDTO> event,
-      Map<String, String> webhookUrlMap,
-      Map<String, BaseEventDTO> payloadMap) {
+      Map<String, EnrichedEventDTO> enrichedEvents,
+      Queue<String> deliveredEventIds) {
 
     log.debug("Receive event key: {}", event.key());
     String eventId = event.value().getEventId();
@@ -238,24 +569,54 @@ public class WebhookEventKafkaConsumer implements EventConsumer {
 
     if (eventPayload == null) {
       log.warn("Skipping event {} due to missing payload", eventId);
-      return null;
+      return CompletableFuture.completedFuture(null);
     }
 
-    String url = webhookUrlMap.get(eventId);
-    BaseEventDTO webhookPayload = payloadMap.get(eventId);
+    EnrichedEventDTO enrichedEvent = enrichedEvents.get(eventId);
+    String url = enrichedEvent != null ? enrichedEvent.webhookUrl() : null;
+    SerializedPayload webhookPayload = enrichedEvent != null ? enrichedEvent.body() : null;
 
     if (url == null || webhookPayload == null) {
-      log.warn("Skipping event {} due to missing webhook data (URL: {}, Payload: {})", eventId, url, webhookPayload);
-      return null;
+      log.warn("Skipping event {} due to missing webhook data (URL: {}, Payload present: {})", eventId, url,
+          webhookPayload != null);
+      return CompletableFuture.completedFuture(null);
     }
 
     try {
-      eventProcessingService.process(eventId, eventPayload, url, webhookPayload);
-      log.debug("Successfully processed event {}", eventId);
+      return eventProcessingService.processChecked(eventId, eventPayload, url, webhookPayload)
+          .thenAccept(markAsProcessed -> {
+            if (markAsProcessed) {
+              deliveredEventIds.add(eventId);
+            }
+          });
     } catch (Exception e) {
       log.error("Failed to process event {}", eventId, e);
+      return CompletableFuture.completedFuture(null);
     }
+  }
 
-    return null;
+  /**
+   * Adds a single webhook event to the pending batch of its webhook.
+   *
+   * @param event         The consumer record containing the event
+   * @param enrichedEvent The event's webhook URL and serialized payload
+   * @return Future that completes when the event's batch has been handled
+   */
+  private CompletableFuture<Void> processBatchedEvent(ConsumerRecord<String, WebhookEventDTO> event,
+                                                      EnrichedEventDTO enrichedEvent) {
+    String eventId = event.value().getEventId();
+    if (enrichedEvent.body() == null) {
+      log.warn("Skipping event {} due to missing webhook data (URL: {}, Payload present: false)", eventId,
+          enrichedEvent.webhookUrl());
+      return CompletableFuture.completedFuture(null);
+    }
+
+    try {
+      return eventProcessingService.processBatched(eventId, event.value(), enrichedEvent.webhookId(),
+          enrichedEvent.webhookUrl(), enrichedEvent.body());
+    } catch (Exception e) {
+      log.error("Failed to process event {}", eventId, e);
+      return CompletableFuture.completedFuture(null);
+    }
   }
 }
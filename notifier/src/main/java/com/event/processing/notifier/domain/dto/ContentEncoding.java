@@ -0,0 +1,35 @@
+package com.event.processing.notifier.domain.dto;
+
+/**
+ * Compression applied to webhook request bodies, named after the value of
+ * the Content-Encoding header it is sent with.
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+public enum ContentEncoding {
+  /**
+   * Gzip, understood by practically every HTTP server.
+   */
+  GZIP("gzip"),
+  /**
+   * Zstandard, faster and usually smaller than gzip, for receivers that
+   * support it.
+   */
+  ZSTD("zstd");
+
+  private final String headerValue;
+
+  ContentEncoding(String headerValue) {
+    this.headerValue = headerValue;
+  }
+
+  /**
+   * Returns the value of the Content-Encoding header for this encoding.
+   *
+   * @return The header value
+   */
+  public String getHeaderValue() {
+    return headerValue;
+  }
+}
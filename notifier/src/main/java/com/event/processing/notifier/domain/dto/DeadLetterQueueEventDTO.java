@@ -1,5 +1,6 @@
 package com.event.processing.notifier.domain.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -57,4 +58,12 @@ public class DeadLetterQueueEventDTO {
      */
     @JsonProperty("failure_reason")
     private String failureReason;
+
+    /**
+     * The webhook payload that could not be delivered, if known.
+     * Written as the raw JSON that was sent to the receiver.
+     */
+    @JsonProperty("payload")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private SerializedPayload payload;
 }
\ No newline at end of file
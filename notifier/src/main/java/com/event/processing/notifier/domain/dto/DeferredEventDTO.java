@@ -0,0 +1,48 @@
+package com.event.processing.notifier.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a rate-limited event parked for later re-admission.
+ * <p>
+ * The DTO includes:
+ * - The deferred webhook event
+ * - The time the event was deferred
+ * - The time the event was first produced, kept for latency metrics
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DeferredEventDTO {
+  /**
+   * The webhook event that was rate-limited.
+   * Mapped to 'event' in JSON.
+   */
+  @JsonProperty("event")
+  private WebhookEventDTO event;
+
+  /**
+   * Epoch milliseconds at which the event was deferred.
+   * Mapped to 'deferred_at' in JSON.
+   */
+  @JsonProperty("deferred_at")
+  private long deferredAt;
+
+  /**
+   * Epoch milliseconds at which the event was first produced, or null if
+   * unknown. The event itself does not serialize it.
+   * Mapped to 'produced_at' in JSON.
+   */
+  @JsonProperty("produced_at")
+  private Long producedAt;
+
+  public DeferredEventDTO(WebhookEventDTO event, long deferredAt) {
+    this(event, deferredAt, event.getProducedAt());
+  }
+}
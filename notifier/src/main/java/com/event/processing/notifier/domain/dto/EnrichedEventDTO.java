@@ -0,0 +1,72 @@
+package com.event.processing.notifier.domain.dto;
+
+/**
+ * Record class for an event enriched for delivery.
+ * This record carries everything needed to deliver an event: the webhook it
+ * goes to, its enriched payload and, once serialized, the request body.
+ * <p>
+ * The record includes:
+ * - Webhook post URL and identifier
+ * - Enriched event payload
+ * - Serialized request body
+ * - Batching and compression settings of the webhook
+ * <p>
+ * Uses Java record feature for immutable data transfer.
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+public record EnrichedEventDTO(
+    /**
+     * URL where the event should be posted.
+     */
+    String webhookUrl,
+
+    /**
+     * Identifier of the webhook the event is posted to.
+     */
+    String webhookId,
+
+    /**
+     * Enriched payload of the event.
+     */
+    BaseEventDTO payload,
+
+    /**
+     * Payload serialized once for delivery, or null until it is serialized.
+     */
+    SerializedPayload body,
+
+    /**
+     * Whether the webhook accepts several events per request.
+     */
+    boolean batchingEnabled,
+
+    /**
+     * Compression of the request body, or null to send it uncompressed.
+     */
+    ContentEncoding compression) {
+
+  public EnrichedEventDTO(String webhookUrl, String webhookId, BaseEventDTO payload) {
+    this(webhookUrl, webhookId, payload, null, false, null);
+  }
+
+  public EnrichedEventDTO(String webhookUrl, String webhookId, BaseEventDTO payload, boolean batchingEnabled,
+                          ContentEncoding compression) {
+    this(webhookUrl, webhookId, payload, null, batchingEnabled, compression);
+  }
+
+  public EnrichedEventDTO(String webhookUrl, String webhookId, BaseEventDTO payload, SerializedPayload body) {
+    this(webhookUrl, webhookId, payload, body, false, null);
+  }
+
+  /**
+   * Returns a copy of this event carrying the given serialized payload.
+   *
+   * @param body The serialized payload
+   * @return The enriched event with its serialized payload
+   */
+  public EnrichedEventDTO withBody(SerializedPayload body) {
+    return new EnrichedEventDTO(webhookUrl, webhookId, payload, body, batchingEnabled, compression);
+  }
+}
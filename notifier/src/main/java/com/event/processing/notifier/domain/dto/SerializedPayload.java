@@ -0,0 +1,278 @@
+package com.event.processing.notifier.domain.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Webhook payload serialized to JSON once, when the event is enriched.
+ * Every delivery attempt and the dead letter queue hand-off reuse the same
+ * bytes, so retries do not run Jackson again and all attempts send a
+ * byte-identical body.
+ * <p>
+ * Instances are immutable: the bytes are never modified after construction
+ * and are only handed out as a read-only buffer or a copy, except to the
+ * webhook clients, which pass them straight to the HTTP request.
+ * <p>
+ * Headers derived from the bytes, such as a signature, travel with them so
+ * that they are computed once as well. So does the compression the
+ * destination asks for. The content itself is always the uncompressed JSON;
+ * the request body is encoded from it once, before the first delivery
+ * attempt, and carried alongside it, so retries resend the encoded body
+ * without compressing it again.
+ * <p>
+ * When the payload itself is written as part of another JSON document, such
+ * as a dead letter queue record, the bytes are embedded as raw JSON.
+ * <p>
+ * Payloads delivered together are joined into a JSON array directly from
+ * their bytes, without serializing the events again.
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+public final class SerializedPayload implements JsonSerializable {
+
+  private final byte[] content;
+  private final Map<String, String> headers;
+  private final ContentEncoding contentEncoding;
+  private final byte[] encodedBody;
+  private final ContentEncoding bodyEncoding;
+
+  private SerializedPayload(byte[] content, Map<String, String> headers, ContentEncoding contentEncoding) {
+    this(content, headers, contentEncoding, null, null);
+  }
+
+  private SerializedPayload(byte[] content, Map<String, String> headers, ContentEncoding contentEncoding,
+                            byte[] encodedBody, ContentEncoding bodyEncoding) {
+    this.content = content;
+    this.headers = headers;
+    this.contentEncoding = contentEncoding;
+    this.encodedBody = encodedBody;
+    this.bodyEncoding = bodyEncoding;
+  }
+
+  /**
+   * Creates a serialized payload from JSON bytes produced elsewhere. The bytes
+   * are copied, so later changes to the array do not affect the payload.
+   *
+   * @param content The JSON bytes
+   * @return The serialized payload
+   */
+  public static SerializedPayload copyOf(byte[] content) {
+    return new SerializedPayload(content.clone(), Map.of(), null);
+  }
+
+  /**
+   * Serializes a payload to JSON. The bytes produced by the mapper are owned
+   * by the returned instance and are not copied again.
+   *
+   * @param objectMapper The mapper used to serialize the payload
+   * @param payload      The payload to serialize
+   * @return The serialized payload
+   * @throws JsonProcessingException if the payload cannot be serialized
+   */
+  public static SerializedPayload of(ObjectMapper objectMapper, Object payload) throws JsonProcessingException {
+    return new SerializedPayload(objectMapper.writeValueAsBytes(payload), Map.of(), null);
+  }
+
+  /**
+   * Joins serialized payloads into one JSON array. The bytes of each payload
+   * are copied once into the array; their headers are not carried over. The
+   * elements are expected to go to the same webhook, so the array takes the
+   * content encoding of the first element.
+   *
+   * @param elements The payloads to join, in array order
+   * @return The serialized JSON array
+   */
+  public static SerializedPayload arrayOf(List<SerializedPayload> elements) {
+    long contentSize = 0;
+    for (SerializedPayload element : elements) {
+      contentSize += element.content.length;
+    }
+
+    byte[] array = new byte[Math.toIntExact(arraySize(elements.size(), contentSize))];
+    int position = 0;
+    array[position++] = '[';
+    for (int i = 0; i < elements.size(); i++) {
+      if (i > 0) {
+        array[position++] = ',';
+      }
+      byte[] element = elements.get(i).content;
+      System.arraycopy(element, 0, array, position, element.length);
+      position += element.length;
+    }
+    array[position] = ']';
+    return new SerializedPayload(array, Map.of(), elements.isEmpty() ? null : elements.get(0).contentEncoding);
+  }
+
+  /**
+   * Returns the size in bytes of the JSON array that {@link #arrayOf(List)}
+   * would produce for elements of the given total size.
+   *
+   * @param count       The number of elements
+   * @param contentSize The total size of the elements in bytes
+   * @return The size of the array in bytes
+   */
+  public static long arraySize(int count, long contentSize) {
+    return contentSize + Math.max(count - 1, 0) + 2;
+  }
+
+  /**
+   * Returns the serialized bytes without copying them. Only meant for handing
+   * the body to an HTTP client; callers must not modify the returned array.
+   *
+   * @return The shared serialized bytes
+   */
+  public byte[] getContent() {
+    return content;
+  }
+
+  /**
+   * Returns a payload with the same bytes and the given request headers.
+   * The bytes and any encoded body are shared, not copied.
+   *
+   * @param headers The headers to send along with the payload
+   * @return The payload with the given headers
+   */
+  public SerializedPayload withHeaders(Map<String, String> headers) {
+    return new SerializedPayload(content, Map.copyOf(headers), contentEncoding, encodedBody, bodyEncoding);
+  }
+
+  /**
+   * Returns a payload with the same bytes and headers that is to be sent
+   * with the given compression. The bytes are shared, not copied; an encoded
+   * body is dropped, since it may have been encoded differently.
+   *
+   * @param contentEncoding The compression to apply when sending, or null for
+   *                        none
+   * @return The payload with the given content encoding
+   */
+  public SerializedPayload withContentEncoding(ContentEncoding contentEncoding) {
+    return new SerializedPayload(content, headers, contentEncoding);
+  }
+
+  /**
+   * Returns a payload with the same bytes, headers and requested compression
+   * that carries the request body encoded from them. The body is owned by the
+   * returned instance and is not copied.
+   *
+   * @param encodedBody  The bytes to send, compressed or the content itself
+   * @param bodyEncoding The compression applied to the body, or null if it
+   *                     is uncompressed
+   * @return The payload with the encoded body
+   */
+  public SerializedPayload withEncodedBody(byte[] encodedBody, ContentEncoding bodyEncoding) {
+    return new SerializedPayload(content, headers, contentEncoding, encodedBody, bodyEncoding);
+  }
+
+  /**
+   * Returns whether the request body has already been encoded.
+   *
+   * @return true if the payload carries an encoded body
+   */
+  public boolean isEncoded() {
+    return encodedBody != null;
+  }
+
+  /**
+   * Returns the request body without copying it: the encoded body if there
+   * is one, the content otherwise. Only meant for handing the body to an
+   * HTTP client; callers must not modify the returned array.
+   *
+   * @return The shared bytes to send
+   */
+  public byte[] getBody() {
+    return encodedBody != null ? encodedBody : content;
+  }
+
+  /**
+   * Returns the compression applied to the request body.
+   *
+   * @return The content encoding of the body, or null if it is sent
+   * uncompressed
+   */
+  public ContentEncoding getBodyEncoding() {
+    return bodyEncoding;
+  }
+
+  /**
+   * Returns the compression the destination asks for.
+   *
+   * @return The content encoding to send the payload with, or null to send it
+   * uncompressed
+   */
+  public ContentEncoding getContentEncoding() {
+    return contentEncoding;
+  }
+
+  /**
+   * Returns the request headers to send along with the payload.
+   *
+   * @return The unmodifiable headers, empty if there are none
+   */
+  public Map<String, String> getHeaders() {
+    return headers;
+  }
+
+  /**
+   * Returns the serialized bytes as a read-only buffer.
+   *
+   * @return A read-only view of the serialized bytes
+   */
+  public ByteBuffer asReadOnlyBuffer() {
+    return ByteBuffer.wrap(content).asReadOnlyBuffer();
+  }
+
+  /**
+   * Returns the size of the serialized payload in bytes.
+   *
+   * @return The number of bytes
+   */
+  public int size() {
+    return content.length;
+  }
+
+  @Override
+  public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+    gen.writeRawValue(toString());
+  }
+
+  @Override
+  public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+      throws IOException {
+    serialize(gen, serializers);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return this == o || o instanceof SerializedPayload other
+        && Arrays.equals(content, other.content) && headers.equals(other.headers)
+        && contentEncoding == other.contentEncoding;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(Arrays.hashCode(content), headers, contentEncoding);
+  }
+
+  /**
+   * Returns the serialized payload as a JSON string.
+   *
+   * @return The JSON text of the payload
+   */
+  @Override
+  public String toString() {
+    return new String(content, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,33 @@
+package com.event.processing.notifier.domain.dto;
+
+/**
+ * Record class for an event waiting in a webhook batch.
+ * This record represents one event of a batched request, kept with its own
+ * payload so that it can be reported and dead-lettered on its own.
+ * <p>
+ * The record includes:
+ * - Event identifier
+ * - Webhook event as consumed from Kafka
+ * - Serialized event payload
+ * <p>
+ * Uses Java record feature for immutable data transfer.
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+public record WebhookBatchItemDTO(
+    /**
+     * Identifier of the event.
+     */
+    String eventId,
+
+    /**
+     * The webhook event as consumed from Kafka.
+     */
+    WebhookEventDTO event,
+
+    /**
+     * Payload of the event, serialized once for delivery.
+     */
+    SerializedPayload payload) {
+}
@@ -1,7 +1,7 @@
 package com.event.processing.notifier.domain.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
@@ -15,6 +15,7 @@ import lombok.NoArgsConstructor;
  * - Event identification
  * - Event type classification
  * - Associated account information
+ * - Produce time, taken from the record header rather than the JSON body
  * <p>
  * Uses Lombok annotations for reducing boilerplate code and Jackson annotations
  * for JSON property mapping.
@@ -24,7 +25,6 @@ import lombok.NoArgsConstructor;
  */
 @Data
 @EqualsAndHashCode
-@AllArgsConstructor
 @NoArgsConstructor
 public class WebhookEventDTO {
   /**
@@ -47,4 +47,19 @@ public class WebhookEventDTO {
    */
   @JsonProperty("account_id")
   private String accountId;
+
+  /**
+   * Epoch milliseconds at which the producer published the event, or null if
+   * the record carried no produce timestamp header. Travels in the header, not
+   * in the JSON body, and is not part of the event's identity.
+   */
+  @JsonIgnore
+  @EqualsAndHashCode.Exclude
+  private Long producedAt;
+
+  public WebhookEventDTO(String eventId, String eventType, String accountId) {
+    this.eventId = eventId;
+    this.eventType = eventType;
+    this.accountId = accountId;
+  }
 }
@@ -0,0 +1,39 @@
+package com.event.processing.notifier.domain.dto;
+
+/**
+ * Record class for webhook post URL information.
+ * This record represents a webhook together with the settings that decide how
+ * events are delivered to its post URL.
+ * <p>
+ * The record includes:
+ * - Webhook identifier
+ * - Webhook post URL
+ * - Batching flag
+ * - Request body compression
+ * <p>
+ * Uses Java record feature for immutable data transfer.
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+public record WebhookPostUrlDTO(
+    /**
+     * Identifier of the webhook.
+     */
+    String webhookId,
+
+    /**
+     * URL where events of the webhook should be posted.
+     */
+    String postUrl,
+
+    /**
+     * Whether events of the webhook are delivered in batches.
+     */
+    boolean batchingEnabled,
+
+    /**
+     * Compression of request bodies sent to the webhook, or null for none.
+     */
+    ContentEncoding compression) {
+}
@@ -0,0 +1,27 @@
+package com.event.processing.notifier.domain.dto;
+
+/**
+ * Record class for webhook signing secret information.
+ * This record represents the mapping between a webhook and the secret its
+ * payloads are signed with.
+ * <p>
+ * The record includes:
+ * - Webhook identifier
+ * - Signing secret
+ * <p>
+ * Uses Java record feature for immutable data transfer.
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+public record WebhookSecretDTO(
+    /**
+     * Identifier of the webhook.
+     */
+    String webhookId,
+
+    /**
+     * Secret used to sign payloads sent to the webhook.
+     */
+    String signingSecret) {
+}
@@ -1,5 +1,6 @@
 package com.event.processing.notifier.domain.entity;
 
+import com.event.processing.notifier.domain.dto.ContentEncoding;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -13,6 +14,9 @@ import lombok.EqualsAndHashCode;
  * - Unique webhook identification
  * - Webhook name for display purposes
  * - Post URL for event delivery
+ * - Optional secret for signing payloads
+ * - Opt-in batching of several events per request
+ * - Optional compression of request bodies
  * - Audit information inheritance
  * <p>
  * Uses JPA annotations for database mapping and Lombok annotations
@@ -46,4 +50,26 @@ public class Webhook extends BaseEntity {
    */
   @Column
   private String postUrl;
+
+  /**
+   * Shared secret used to sign payloads sent to this webhook with
+   * HMAC-SHA256. Payloads are sent unsigned when no secret is set.
+   */
+  @Column
+  private String signingSecret;
+
+  /**
+   * Whether events of this webhook may be coalesced into JSON arrays and
+   * delivered several per request. Only for receivers that accept arrays.
+   */
+  @Column
+  private boolean batchingEnabled;
+
+  /**
+   * Compression applied to request bodies sent to this webhook, or null to
+   * send them uncompressed. Only for receivers that accept the encoding.
+   */
+  @Column
+  @Enumerated(EnumType.STRING)
+  private ContentEncoding compression;
 }
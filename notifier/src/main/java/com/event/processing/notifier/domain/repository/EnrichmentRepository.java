@@ -0,0 +1,61 @@
+package com.event.processing.notifier.domain.repository;
+
+import com.event.processing.notifier.domain.dto.SegmentDTO;
+import com.event.processing.notifier.domain.dto.SubscriberEventDTO;
+import com.event.processing.notifier.domain.dto.WebhookPostUrlDTO;
+import com.event.processing.notifier.domain.dto.WebhookSecretDTO;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Read-only queries used to enrich webhook events before delivery.
+ * Implementations return DTOs directly, either through JPA projections or
+ * through plain JDBC.
+ * <p>
+ * Key features:
+ * - Subscriber event lookup with subscriber information
+ * - Segment lookup by subscriber IDs
+ * - Webhook post URL lookups
+ * - Webhook signing secret lookups
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+public interface EnrichmentRepository {
+  /**
+   * Fetches subscriber events with their associated subscriber information.
+   *
+   * @param eventIds Set of event IDs to fetch events for
+   * @return List of SubscriberEventDTO objects without segments
+   */
+  List<SubscriberEventDTO> fetchEventsWithoutSegments(Set<String> eventIds);
+
+  /**
+   * Fetches segments associated with the given subscriber IDs.
+   *
+   * @param subscriberIds Set of subscriber IDs to fetch segments for
+   * @return List of SegmentDTO objects containing segment information
+   */
+  List<SegmentDTO> fetchSegments(Set<String> subscriberIds);
+
+  /**
+   * Fetches post URLs and delivery settings for the given webhook IDs.
+   *
+   * @param webhookIds Webhook IDs to fetch post URLs for
+   * @return List of WebhookPostUrlDTO objects containing webhook IDs, post
+   * URLs, batching flags and compression settings
+   */
+  List<WebhookPostUrlDTO> findPostUrlsByIds(Collection<String> webhookIds);
+
+  /**
+   * Fetches signing secrets for the given webhook IDs. Webhooks without a
+   * secret are not returned.
+   *
+   * @param webhookIds Webhook IDs to fetch signing secrets for
+   * @return List of WebhookSecretDTO objects containing webhook IDs and
+   * signing secrets
+   */
+  List<WebhookSecretDTO> findSigningSecretsByIds(Collection<String> webhookIds);
+}
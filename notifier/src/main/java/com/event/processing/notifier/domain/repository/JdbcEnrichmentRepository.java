@@ -0,0 +1,148 @@
+package com.event.processing.notifier.domain.repository;
+
+import com.event.processing.notifier.domain.dto.ContentEncoding;
+import com.event.processing.notifier.domain.dto.SegmentDTO;
+import com.event.processing.notifier.domain.dto.SubscriberDTO;
+import com.event.processing.notifier.domain.dto.SubscriberEventDTO;
+import com.event.processing.notifier.domain.dto.WebhookPostUrlDTO;
+import com.event.processing.notifier.domain.dto.WebhookSecretDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Plain JDBC implementation of EnrichmentRepository for PostgreSQL.
+ * IDs are bound as a single text array and expanded with unnest, so every
+ * query has the same SQL text regardless of the batch size. This lets the
+ * PostgreSQL driver reuse its server-side prepared statements, where an
+ * expanded IN list produces a different statement per batch size. Rows are
+ * mapped straight into DTOs without a persistence context.
+ * <p>
+ * Key features:
+ * - Constant SQL text with array binding
+ * - Prepared statement reuse by the driver
+ * - Direct row to DTO mapping
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "enrichment.repository", havingValue = "jdbc")
+public class JdbcEnrichmentRepository implements EnrichmentRepository {
+
+  private static final String FETCH_EVENTS_SQL = """
+      SELECT s.id, s.event_name, s.event_time, s.webhook_id,
+             sub.id AS subscriber_id, sub.status, sub.email, sub.source, sub.first_name, sub.last_name,
+             sub.custom_fields, sub.optin_ip, sub.optin_timestamp, sub.created_at
+      FROM subscriber_created_event s
+      JOIN subscriber sub ON s.subscriber_id = sub.id
+      WHERE s.id IN (SELECT unnest(?::text[]))
+      """;
+
+  private static final String FETCH_SEGMENTS_SQL = """
+      SELECT seg.id, seg.name, sub_seg.subscriber_id
+      FROM subscriber_segment sub_seg
+      JOIN segment seg ON sub_seg.segment_id = seg.id
+      WHERE sub_seg.subscriber_id IN (SELECT unnest(?::text[]))
+      """;
+
+  private static final String FIND_POST_URLS_SQL = """
+      SELECT w.id, w.post_url, w.batching_enabled, w.compression
+      FROM webhook w
+      WHERE w.id IN (SELECT unnest(?::text[]))
+      """;
+
+  private static final String FIND_SIGNING_SECRETS_SQL = """
+      SELECT w.id, w.signing_secret
+      FROM webhook w
+      WHERE w.id IN (SELECT unnest(?::text[])) AND w.signing_secret IS NOT NULL
+      """;
+
+  private static final RowMapper<SubscriberEventDTO> EVENT_ROW_MAPPER = (rs, rowNum) -> new SubscriberEventDTO(
+      rs.getString("id"),
+      rs.getString("event_name"),
+      instant(rs, "event_time"),
+      new SubscriberDTO(
+          rs.getString("subscriber_id"),
+          rs.getString("status"),
+          rs.getString("email"),
+          rs.getString("source"),
+          rs.getString("first_name"),
+          rs.getString("last_name"),
+          rs.getString("custom_fields"),
+          rs.getString("optin_ip"),
+          instant(rs, "optin_timestamp"),
+          instant(rs, "created_at")),
+      rs.getString("webhook_id"));
+
+  private static final RowMapper<SegmentDTO> SEGMENT_ROW_MAPPER = (rs, rowNum) -> new SegmentDTO(
+      rs.getString("id"), rs.getString("name"), rs.getString("subscriber_id"));
+
+  private static final RowMapper<WebhookPostUrlDTO> POST_URL_ROW_MAPPER = (rs, rowNum) -> new WebhookPostUrlDTO(
+      rs.getString("id"), rs.getString("post_url"), rs.getBoolean("batching_enabled"),
+      contentEncoding(rs, "compression"));
+
+  private static final RowMapper<WebhookSecretDTO> SECRET_ROW_MAPPER = (rs, rowNum) -> new WebhookSecretDTO(
+      rs.getString("id"), rs.getString("signing_secret"));
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Override
+  public List<SubscriberEventDTO> fetchEventsWithoutSegments(Set<String> eventIds) {
+    return query(FETCH_EVENTS_SQL, eventIds, EVENT_ROW_MAPPER);
+  }
+
+  @Override
+  public List<SegmentDTO> fetchSegments(Set<String> subscriberIds) {
+    return query(FETCH_SEGMENTS_SQL, subscriberIds, SEGMENT_ROW_MAPPER);
+  }
+
+  @Override
+  public List<WebhookPostUrlDTO> findPostUrlsByIds(Collection<String> webhookIds) {
+    return query(FIND_POST_URLS_SQL, webhookIds, POST_URL_ROW_MAPPER);
+  }
+
+  @Override
+  public List<WebhookSecretDTO> findSigningSecretsByIds(Collection<String> webhookIds) {
+    return query(FIND_SIGNING_SECRETS_SQL, webhookIds, SECRET_ROW_MAPPER);
+  }
+
+  /**
+   * Runs a query with the given IDs bound as one text array parameter.
+   *
+   * @param sql       The SQL with a single array placeholder
+   * @param ids       The IDs to bind
+   * @param rowMapper The mapper from rows to DTOs
+   * @param <T>       The DTO type
+   * @return The mapped rows
+   */
+  private <T> List<T> query(String sql, Collection<String> ids, RowMapper<T> rowMapper) {
+    if (ids.isEmpty()) {
+      return List.of();
+    }
+    return jdbcTemplate.query(sql,
+        ps -> ps.setArray(1, ps.getConnection().createArrayOf("text", ids.toArray())),
+        rowMapper);
+  }
+
+  private static Instant instant(ResultSet rs, String column) throws SQLException {
+    Timestamp timestamp = rs.getTimestamp(column);
+    return timestamp != null ? timestamp.toInstant() : null;
+  }
+
+  private static ContentEncoding contentEncoding(ResultSet rs, String column) throws SQLException {
+    String value = rs.getString(column);
+    return value != null ? ContentEncoding.valueOf(value) : null;
+  }
+}
@@ -0,0 +1,51 @@
+package com.event.processing.notifier.domain.repository;
+
+import com.event.processing.notifier.domain.dto.SegmentDTO;
+import com.event.processing.notifier.domain.dto.SubscriberEventDTO;
+import com.event.processing.notifier.domain.dto.WebhookPostUrlDTO;
+import com.event.processing.notifier.domain.dto.WebhookSecretDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * JPA implementation of EnrichmentRepository.
+ * Delegates to the Spring Data repositories and their JPQL constructor
+ * expressions.
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "enrichment.repository", havingValue = "jpa", matchIfMissing = true)
+public class JpaEnrichmentRepository implements EnrichmentRepository {
+
+  private final SubscriberCreatedEventRepository subscriberCreatedEventRepository;
+  private final SegmentRepository segmentRepository;
+  private final WebhookRepository webhookRepository;
+
+  @Override
+  public List<SubscriberEventDTO> fetchEventsWithoutSegments(Set<String> eventIds) {
+    return subscriberCreatedEventRepository.fetchEventsWithoutSegments(eventIds);
+  }
+
+  @Override
+  public List<SegmentDTO> fetchSegments(Set<String> subscriberIds) {
+    return segmentRepository.fetchSegments(subscriberIds);
+  }
+
+  @Override
+  public List<WebhookPostUrlDTO> findPostUrlsByIds(Collection<String> webhookIds) {
+    return webhookRepository.findPostUrlsByIds(webhookIds);
+  }
+
+  @Override
+  public List<WebhookSecretDTO> findSigningSecretsByIds(Collection<String> webhookIds) {
+    return webhookRepository.findSigningSecretsByIds(webhookIds);
+  }
+}
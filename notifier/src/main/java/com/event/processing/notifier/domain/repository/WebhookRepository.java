@@ -1,9 +1,15 @@
 package com.event.processing.notifier.domain.repository;
 
+import com.event.processing.notifier.domain.dto.WebhookPostUrlDTO;
+import com.event.processing.notifier.domain.dto.WebhookSecretDTO;
 import com.event.processing.notifier.domain.entity.Webhook;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Repository interface for managing Webhook entities.
  * Provides database operations for webhook configurations and their
@@ -13,10 +19,41 @@ import org.springframework.stereotype.Repository;
  * - Basic CRUD operations inherited from JpaRepository
  * - Webhook configuration management
  * - Event notification endpoint management
+ * - Post URL lookup by webhook IDs
+ * - Signing secret lookup by webhook IDs
  *
  * @author LongLe
  * @version 1.0
  */
 @Repository
 public interface WebhookRepository extends JpaRepository<Webhook, String> {
+  /**
+   * Fetches post URLs and delivery settings for the given webhook IDs.
+   *
+   * @param webhookIds Webhook IDs to fetch post URLs for
+   * @return List of WebhookPostUrlDTO objects containing webhook IDs, post
+   * URLs, batching flags and compression settings
+   */
+  @Query("""
+        SELECT new com.event.processing.notifier.domain.dto.WebhookPostUrlDTO(
+            w.id, w.postUrl, w.batchingEnabled, w.compression)
+        FROM Webhook w
+        WHERE w.id IN :webhookIds
+      """)
+  List<WebhookPostUrlDTO> findPostUrlsByIds(Collection<String> webhookIds);
+
+  /**
+   * Fetches signing secrets for the given webhook IDs. Webhooks without a
+   * secret are not returned.
+   *
+   * @param webhookIds Webhook IDs to fetch signing secrets for
+   * @return List of WebhookSecretDTO objects containing webhook IDs and
+   * signing secrets
+   */
+  @Query("""
+        SELECT new com.event.processing.notifier.domain.dto.WebhookSecretDTO(w.id, w.signingSecret)
+        FROM Webhook w
+        WHERE w.id IN :webhookIds AND w.signingSecret IS NOT NULL
+      """)
+  List<WebhookSecretDTO> findSigningSecretsByIds(Collection<String> webhookIds);
 }
@@ -1,10 +1,16 @@
 package com.event.processing.notifier.domain.service;
 
-import com.event.processing.notifier.domain.dto.BaseEventDTO;
+import com.event.processing.notifier.domain.dto.EnrichedEventDTO;
+import com.event.processing.notifier.domain.dto.SerializedPayload;
 import com.event.processing.notifier.domain.service.provider.WebhookEventProvider;
+import com.event.processing.notifier.domain.service.signing.WebhookPayloadSigner;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -16,13 +22,15 @@ import java.util.Set;
  * <p>
  * Key features:
  * - Dynamic event provider selection
- * - Webhook URL retrieval
- * - Event payload retrieval
+ * - Combined URL and payload enrichment
+ * - One-time payload serialization for delivery
+ * - Optional payload signing
  * - Event type validation
  *
  * @author LongLe
  * @version 1.0
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class WebhookEventService {
@@ -34,38 +42,48 @@ public class WebhookEventService {
   private final List<WebhookEventProvider> providers;
 
   /**
-   * Retrieves webhook URLs for a set of events of a specific type.
-   * Delegates to the appropriate provider based on event type.
-   *
-   * @param eventType The type of events to get webhook URLs for
-   * @param eventIds  Set of event IDs to get webhook URLs for
-   * @return Map of event IDs to their corresponding webhook URLs
-   * @throws IllegalArgumentException if the event type is not supported by any
-   *                                  provider
+   * Mapper used to serialize enriched payloads once for delivery.
    */
-  public Map<String, String> getWebhookUrls(String eventType, Set<String> eventIds) {
-    return providers.stream()
-        .filter(provider -> provider.supports(eventType))
-        .findFirst()
-        .orElseThrow(() -> new IllegalArgumentException("Unsupported event type: " + eventType))
-        .getWebhookUrls(eventIds);
-  }
+  private final ObjectMapper objectMapper;
 
   /**
-   * Retrieves event payloads for a set of events of a specific type.
-   * Delegates to the appropriate provider based on event type.
+   * Signer adding signature headers to serialized payloads.
+   */
+  private final WebhookPayloadSigner payloadSigner;
+
+  /**
+   * Retrieves webhook URLs and event payloads for a set of events of a
+   * specific type in one pass.
+   * Delegates to the appropriate provider based on event type, then
+   * serializes each payload once so that delivery attempts and the dead
+   * letter queue reuse the same bytes. Events whose payload cannot be
+   * serialized are left out. Each serialized payload records the compression
+   * its webhook asks for. If signing is enabled, the serialized payloads are
+   * signed as well.
    *
-   * @param eventType The type of events to get payloads for
-   * @param eventIds  Set of event IDs to get payloads for
-   * @return Map of event IDs to their corresponding event payloads
+   * @param eventType The type of events to enrich
+   * @param eventIds  Set of event IDs to enrich
+   * @return Map of event IDs to their webhook URLs, payloads and serialized
+   * payloads
    * @throws IllegalArgumentException if the event type is not supported by any
    *                                  provider
    */
-  public Map<String, BaseEventDTO> getPayloads(String eventType, Set<String> eventIds) {
-    return providers.stream()
+  public Map<String, EnrichedEventDTO> enrich(String eventType, Set<String> eventIds) {
+    Map<String, EnrichedEventDTO> enrichedEvents = providers.stream()
         .filter(provider -> provider.supports(eventType))
         .findFirst()
         .orElseThrow(() -> new IllegalArgumentException("Unsupported event type: " + eventType))
-        .getPayloads(eventIds);
+        .enrich(eventIds);
+
+    Map<String, EnrichedEventDTO> serializedEvents = new HashMap<>(enrichedEvents.size());
+    enrichedEvents.forEach((eventId, enrichedEvent) -> {
+      try {
+        serializedEvents.put(eventId, enrichedEvent.withBody(SerializedPayload.of(objectMapper, enrichedEvent.payload())
+            .withContentEncoding(enrichedEvent.compression())));
+      } catch (JsonProcessingException e) {
+        log.error("Failed to serialize payload of event {}", eventId, e);
+      }
+    });
+    return payloadSigner.isEnabled() ? payloadSigner.signAll(serializedEvents) : serializedEvents;
   }
 }
@@ -0,0 +1,132 @@
+package com.event.processing.notifier.domain.service.cache;
+
+import com.event.processing.notifier.domain.dto.SegmentDTO;
+import com.event.processing.notifier.domain.dto.WebhookPostUrlDTO;
+import com.event.processing.notifier.domain.repository.EnrichmentRepository;
+import com.event.processing.notifier.util.EnrichmentCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through cache for the data used to enrich webhook events.
+ * Webhook post URLs and subscriber segment memberships almost never change,
+ * so they are kept in size-bounded caches with a time-to-live. Misses are
+ * loaded in bulk with a single query per batch.
+ * <p>
+ * Key features:
+ * - Webhook ID to post URL and delivery settings cache
+ * - Subscriber ID to segments cache, including subscribers without segments
+ * - Bulk loading of misses
+ * - Hit, miss, eviction and size metrics
+ * - Invalidation of single entries or whole caches
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class EnrichmentCache {
+
+  private static final String WEBHOOK_URL_CACHE = "enrichment.webhook.url";
+  private static final String SEGMENT_CACHE = "enrichment.subscriber.segments";
+
+  private final EnrichmentRepository enrichmentRepository;
+  private final Cache<String, WebhookPostUrlDTO> webhooks;
+  private final Cache<String, Set<SegmentDTO>> segments;
+
+  public EnrichmentCache(EnrichmentRepository enrichmentRepository, EnrichmentCacheProperties properties,
+                         MeterRegistry meterRegistry) {
+    this.enrichmentRepository = enrichmentRepository;
+    this.webhooks = Caffeine.newBuilder()
+        .maximumSize(properties.getWebhookUrlMaxSize())
+        .expireAfterWrite(properties.getWebhookUrlTtl())
+        .recordStats()
+        .build();
+    this.segments = Caffeine.newBuilder()
+        .maximumSize(properties.getSegmentMaxSize())
+        .expireAfterWrite(properties.getSegmentTtl())
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, webhooks, WEBHOOK_URL_CACHE);
+    CaffeineCacheMetrics.monitor(meterRegistry, segments, SEGMENT_CACHE);
+  }
+
+  /**
+   * Returns the post URLs and delivery settings of the given webhooks, loading
+   * misses with one query. Webhooks that do not exist are missing from the
+   * result.
+   *
+   * @param webhookIds Webhook IDs to look up
+   * @return Map of webhook IDs to their post URLs and delivery settings
+   */
+  public Map<String, WebhookPostUrlDTO> getWebhooks(Collection<String> webhookIds) {
+    return webhooks.getAll(webhookIds, this::loadWebhooks);
+  }
+
+  /**
+   * Returns the segments of the given subscribers, loading misses with one
+   * query. Subscribers without segments map to an empty set.
+   *
+   * @param subscriberIds Subscriber IDs to get segments for
+   * @return Map of subscriber IDs to their segments
+   */
+  public Map<String, Set<SegmentDTO>> getSegments(Collection<String> subscriberIds) {
+    return segments.getAll(subscriberIds, this::loadSegments);
+  }
+
+  /**
+   * Invalidates the cached post URL and delivery settings of a webhook, for
+   * example after its configuration changed.
+   *
+   * @param webhookId The webhook ID
+   */
+  public void evictWebhook(String webhookId) {
+    webhooks.invalidate(webhookId);
+  }
+
+  /**
+   * Invalidates the cached segments of a subscriber, for example after the
+   * subscriber joined or left a segment.
+   *
+   * @param subscriberId The subscriber ID
+   */
+  public void evictSubscriberSegments(String subscriberId) {
+    segments.invalidate(subscriberId);
+  }
+
+  /**
+   * Invalidates all cached entries.
+   */
+  public void evictAll() {
+    webhooks.invalidateAll();
+    segments.invalidateAll();
+    log.info("Enrichment cache cleared");
+  }
+
+  private Map<String, WebhookPostUrlDTO> loadWebhooks(Set<? extends String> webhookIds) {
+    return enrichmentRepository.findPostUrlsByIds(Set.copyOf(webhookIds)).stream()
+        .collect(Collectors.toMap(
+            WebhookPostUrlDTO::webhookId,
+            webhook -> webhook,
+            (existing, replacement) -> existing));
+  }
+
+  private Map<String, Set<SegmentDTO>> loadSegments(Set<? extends String> subscriberIds) {
+    Map<String, Set<SegmentDTO>> loaded = enrichmentRepository.fetchSegments(Set.copyOf(subscriberIds)).stream()
+        .collect(Collectors.groupingBy(SegmentDTO::getSubscriberId, Collectors.toUnmodifiableSet()));
+
+    Map<String, Set<SegmentDTO>> result = new HashMap<>(loaded);
+    subscriberIds.forEach(subscriberId -> result.putIfAbsent(subscriberId, Set.of()));
+    return result;
+  }
+}
@@ -1,17 +1,19 @@
 package com.event.processing.notifier.domain.service.provider;
 
-import com.event.processing.notifier.domain.dto.BaseEventDTO;
+import com.event.processing.notifier.domain.dto.EnrichedEventDTO;
 import com.event.processing.notifier.domain.dto.SegmentDTO;
 import com.event.processing.notifier.domain.dto.SubscriberEventDTO;
-import com.event.processing.notifier.domain.dto.SubscriberPostUrlDTO;
-import com.event.processing.notifier.domain.repository.SegmentRepository;
-import com.event.processing.notifier.domain.repository.SubscriberCreatedEventRepository;
+import com.event.processing.notifier.domain.dto.WebhookPostUrlDTO;
+import com.event.processing.notifier.domain.repository.EnrichmentRepository;
+import com.event.processing.notifier.domain.service.cache.EnrichmentCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -23,9 +25,11 @@ import java.util.stream.Collectors;
  * <p>
  * Key features:
  * - Subscriber creation event type support
- * - Webhook URL mapping for events
  * - Event payload enrichment with segment information
  * - Efficient batch processing of events
+ * - Cached post URLs and segments to avoid per-batch joins
+ * - Single-query enrichment of URLs and payloads
+ * - Per-webhook batching and compression settings carried with each event
  *
  * @author LongLe
  * @version 1.0
@@ -34,8 +38,8 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class SubscriberCreatedEventProviderImpl implements WebhookEventProvider {
   private static final String EVENT_TYPE = "subscriber.created";
-  private final SubscriberCreatedEventRepository subscriberCreatedEventRepository;
-  private final SegmentRepository segmentRepository;
+  private final EnrichmentRepository enrichmentRepository;
+  private final EnrichmentCache enrichmentCache;
 
   /**
    * Checks if this provider supports the given event type.
@@ -49,46 +53,51 @@ public class SubscriberCreatedEventProviderImpl implements WebhookEventProvider
   }
 
   /**
-   * Retrieves webhook URLs for the given event IDs.
-   * Maps event IDs to their corresponding webhook URLs using the repository.
+   * Retrieves webhook URLs and enriched payloads for the given event IDs.
+   * The event query already returns each event's webhook ID, so URLs and
+   * delivery settings are resolved through the enrichment cache and the whole batch needs a single
+   * database round trip; only cache misses add further queries.
    *
-   * @param eventIds Set of event IDs to get webhook URLs for
-   * @return Map of event IDs to their corresponding webhook URLs
+   * @param eventIds Set of event IDs to enrich
+   * @return Map of event IDs to their webhook URLs and payloads
    */
   @Override
-  public Map<String, String> getWebhookUrls(Set<String> eventIds) {
-    return subscriberCreatedEventRepository.findPostUrlsByEventIds(eventIds)
-        .stream()
-        .collect(Collectors.toMap(
-            SubscriberPostUrlDTO::eventId,
-            SubscriberPostUrlDTO::postUrl,
-            (existing, replacement) -> existing // Handles duplicate keys
-        ));
+  public Map<String, EnrichedEventDTO> enrich(Set<String> eventIds) {
+    List<SubscriberEventDTO> events = fetchEnrichedEvents(eventIds);
+    Map<String, WebhookPostUrlDTO> webhooks = enrichmentCache.getWebhooks(events.stream()
+        .map(SubscriberEventDTO::getWebhookId)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toSet()));
+
+    Map<String, EnrichedEventDTO> enrichedEvents = new HashMap<>();
+    events.forEach(event -> {
+      WebhookPostUrlDTO webhook = event.getWebhookId() != null ? webhooks.get(event.getWebhookId()) : null;
+      if (webhook != null && webhook.postUrl() != null) {
+        enrichedEvents.putIfAbsent(event.getId(), new EnrichedEventDTO(webhook.postUrl(), event.getWebhookId(), event,
+            webhook.batchingEnabled(), webhook.compression())); // Handles duplicate keys
+      }
+    });
+    return enrichedEvents;
   }
 
   /**
-   * Retrieves and enriches event payloads for the given event IDs.
-   * Fetches event data and enriches it with segment information.
+   * Fetches events with their subscribers and assigns their segments.
    *
-   * @param eventIds Set of event IDs to get payloads for
-   * @return Map of event IDs to their corresponding enriched event payloads
+   * @param eventIds Set of event IDs to fetch
+   * @return List of subscriber events including segments
    */
-  @Override
-  public Map<String, BaseEventDTO> getPayloads(Set<String> eventIds) {
-    List<SubscriberEventDTO> events = subscriberCreatedEventRepository.fetchEventsWithoutSegments(eventIds);
+  private List<SubscriberEventDTO> fetchEnrichedEvents(Set<String> eventIds) {
+    List<SubscriberEventDTO> events = enrichmentRepository.fetchEventsWithoutSegments(eventIds);
     Map<String, Set<SegmentDTO>> segmentMap = fetchSegmentsForSubscribers(events);
 
     // Assign segments
     events.forEach(event -> event.getSubscriber()
         .setSegments(segmentMap.getOrDefault(event.getSubscriber().getId(), Collections.emptySet())));
-
-    return events.stream()
-        .collect(Collectors.toMap(SubscriberEventDTO::getId, dto -> dto, (existing, replacement) -> existing));
+    return events;
   }
 
   /**
-   * Fetches segments for a list of subscribers.
-   * Groups segments by subscriber ID for efficient assignment.
+   * Fetches segments for a list of subscribers through the enrichment cache.
    *
    * @param events List of subscriber events to fetch segments for
    * @return Map of subscriber IDs to their corresponding sets of segments
@@ -102,7 +111,6 @@ public class SubscriberCreatedEventProviderImpl implements WebhookEventProvider
       return Collections.emptyMap();
     }
 
-    return segmentRepository.fetchSegments(subscriberIds).stream()
-        .collect(Collectors.groupingBy(SegmentDTO::getSubscriberId, Collectors.toSet()));
+    return enrichmentCache.getSegments(subscriberIds);
   }
 }
@@ -1,6 +1,6 @@
 package com.event.processing.notifier.domain.service.provider;
 
-import com.event.processing.notifier.domain.dto.BaseEventDTO;
+import com.event.processing.notifier.domain.dto.EnrichedEventDTO;
 
 import java.util.Map;
 import java.util.Set;
@@ -12,8 +12,7 @@ import java.util.Set;
  * <p>
  * Key features:
  * - Event type support checking
- * - Webhook URL mapping
- * - Event payload retrieval
+ * - Combined URL and payload enrichment
  *
  * @author LongLe
  * @version 1.0
@@ -28,18 +27,12 @@ public interface WebhookEventProvider {
   boolean supports(String eventType);
 
   /**
-   * Retrieves webhook URLs for the given event IDs.
+   * Retrieves webhook URLs and event payloads for the given event IDs in one
+   * pass, with as few database round trips as the provider allows.
+   * Events without a webhook URL or payload are missing from the result.
    *
-   * @param eventIds Set of event IDs to get webhook URLs for
-   * @return Map of event IDs to their corresponding webhook URLs
+   * @param eventIds Set of event IDs to enrich
+   * @return Map of event IDs to their webhook URLs and payloads
    */
-  Map<String, String> getWebhookUrls(Set<String> eventIds);
-
-  /**
-   * Retrieves event payloads for the given event IDs.
-   *
-   * @param eventIds Set of event IDs to get payloads for
-   * @return Map of event IDs to their corresponding event payloads
-   */
-  Map<String, BaseEventDTO> getPayloads(Set<String> eventIds);
+  Map<String, EnrichedEventDTO> enrich(Set<String> eventIds);
 }
@@ -0,0 +1,37 @@
+package com.event.processing.notifier.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint showing the autoscaling signal of this instance.
+ * The autoscaler reads the replica demand from the
+ * {@code autoscaling_replica_demand} series on /actuator/prometheus; this
+ * endpoint shows which of the signals behind it is driving the demand.
+ * <p>
+ * Usage:
+ * - GET /actuator/autoscaling returns the replica demand, consumer lag,
+ * pending deliveries and executor queue saturation
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "autoscaling")
+public class AutoscalingEndpoint {
+
+  private final AutoscalingSignal autoscalingSignal;
+
+  /**
+   * Reads the current autoscaling signal.
+   *
+   * @return The current signals and the replica demand they result in
+   */
+  @ReadOperation
+  public AutoscalingSignal.Snapshot signal() {
+    return autoscalingSignal.snapshot();
+  }
+}
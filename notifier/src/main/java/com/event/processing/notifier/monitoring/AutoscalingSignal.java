@@ -0,0 +1,125 @@
+package com.event.processing.notifier.monitoring;
+
+import com.event.processing.notifier.service.DeliveryScheduler;
+import com.event.processing.notifier.util.AutoscalingProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import static com.event.processing.notifier.util.PromeTheusMetricContants.AUTOSCALING_REPLICA_DEMAND;
+import static com.event.processing.notifier.util.PromeTheusMetricContants.KAFKA_CONSUMER_RECORDS_LAG;
+
+/**
+ * Combines the load of this instance into the number of replicas it would
+ * need, for use as the input of the notifier's autoscaler.
+ * <p>
+ * Three signals are compared with their per-replica targets:
+ * - Consumer lag of the partitions assigned to this instance
+ * - Deliveries queued or running in the delivery scheduler
+ * - Saturation of the kafkaConsumerExecutor queue
+ * <p>
+ * The replica demand is the largest of the three ratios, so whichever
+ * resource runs out first decides. Pending deliveries and the executor queue
+ * fill up as soon as deliveries slow down, which lets the autoscaler add
+ * replicas before the lag grows. Since every instance only reports its own
+ * share, the demand summed over all instances is the desired replica count.
+ * <p>
+ * Key features:
+ * - Replica demand gauge for an external metric autoscaler
+ * - Snapshot of the individual signals for the actuator endpoint
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Component
+public class AutoscalingSignal {
+
+  private final MeterRegistry meterRegistry;
+  private final DeliveryScheduler deliveryScheduler;
+  private final ThreadPoolTaskExecutor kafkaConsumerExecutor;
+  private final AutoscalingProperties properties;
+  private final String topic;
+
+  public AutoscalingSignal(MeterRegistry meterRegistry,
+                           DeliveryScheduler deliveryScheduler,
+                           @Qualifier("kafkaConsumerExecutor") ThreadPoolTaskExecutor kafkaConsumerExecutor,
+                           AutoscalingProperties properties,
+                           @Value("${spring.kafka.topic.webhook-event.name:webhook-events}") String topic) {
+    this.meterRegistry = meterRegistry;
+    this.deliveryScheduler = deliveryScheduler;
+    this.kafkaConsumerExecutor = kafkaConsumerExecutor;
+    this.properties = properties;
+    this.topic = topic;
+    Gauge.builder(AUTOSCALING_REPLICA_DEMAND, this, signal -> signal.snapshot().replicaDemand())
+        .description("Replicas the load of this instance would need")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Reads the current signals and computes the replica demand.
+   *
+   * @return The current signals and the replica demand they result in
+   */
+  public Snapshot snapshot() {
+    double consumerLag = consumerLag();
+    int pendingDeliveries = deliveryScheduler.pendingDeliveries();
+    double queueSaturation = executorQueueSaturation();
+
+    double lagDemand = consumerLag / Math.max(1, properties.getTargetLagPerReplica());
+    double deliveryDemand = (double) pendingDeliveries / Math.max(1, properties.getTargetPendingDeliveriesPerReplica());
+    double executorDemand = properties.getTargetExecutorQueueSaturation() > 0
+        ? queueSaturation / properties.getTargetExecutorQueueSaturation()
+        : 0;
+
+    return new Snapshot(Math.max(lagDemand, Math.max(deliveryDemand, executorDemand)),
+        (long) consumerLag, pendingDeliveries, queueSaturation);
+  }
+
+  /**
+   * Sums the lag the Kafka client reports for the partitions of the webhook
+   * event topic assigned to this instance. Partitions without a lag reading
+   * yet are skipped.
+   *
+   * @return The summed consumer lag in records
+   */
+  private double consumerLag() {
+    double lag = 0;
+    for (Gauge gauge : meterRegistry.find(KAFKA_CONSUMER_RECORDS_LAG).tag("topic", topic).gauges()) {
+      double value = gauge.value();
+      if (Double.isFinite(value) && value > 0) {
+        lag += value;
+      }
+    }
+    return lag;
+  }
+
+  /**
+   * Computes how full the kafkaConsumerExecutor queue is. Without a queue,
+   * tasks go straight to threads, so the share of busy threads is used.
+   *
+   * @return The saturation between 0 and 1
+   */
+  private double executorQueueSaturation() {
+    int queueCapacity = kafkaConsumerExecutor.getQueueCapacity();
+    if (queueCapacity > 0) {
+      return Math.min(1.0, (double) kafkaConsumerExecutor.getQueueSize() / queueCapacity);
+    }
+    return Math.min(1.0, (double) kafkaConsumerExecutor.getActiveCount()
+        / Math.max(1, kafkaConsumerExecutor.getMaxPoolSize()));
+  }
+
+  /**
+   * The signals of this instance at one point in time.
+   *
+   * @param replicaDemand           Replicas the load of this instance would need
+   * @param consumerLag             Summed lag of the assigned partitions
+   * @param pendingDeliveries       Deliveries queued or running
+   * @param executorQueueSaturation Share of the consumer executor queue in use
+   */
+  public record Snapshot(double replicaDemand, long consumerLag, int pendingDeliveries,
+                         double executorQueueSaturation) {
+  }
+}
@@ -0,0 +1,77 @@
+package com.event.processing.notifier.monitoring;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the one summary record logged for every event whose delivery has
+ * finished, whatever its outcome. The per-step logs of the delivery path are
+ * at DEBUG; this record is the INFO level view of a delivery.
+ * <p>
+ * The fields are passed as SLF4J key-value pairs instead of being formatted
+ * into the message, so a structured encoder writes them as separate fields
+ * and nothing is formatted on the delivery thread. Nothing is allocated
+ * when the logger is disabled.
+ * <p>
+ * Record fields:
+ * - eventId and accountId of the event
+ * - attempts: number of sends, 0 if the circuit was open
+ * - latencyMs: time from the first attempt to the outcome, including retries
+ * - outcome: delivered, dead_lettered or failed
+ * - mode: single or batch
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Slf4j
+public final class DeliverySummaryLogger {
+
+  /**
+   * How the delivery of an event ended.
+   */
+  public enum Outcome {
+    DELIVERED, DEAD_LETTERED, FAILED;
+
+    private final String tag = name().toLowerCase(Locale.ROOT);
+
+    /**
+     * Returns the lower case name used in log records and metric tags.
+     *
+     * @return The outcome's tag value
+     */
+    public String getTag() {
+      return tag;
+    }
+  }
+
+  private DeliverySummaryLogger() {
+    throw new IllegalStateException("Utility class");
+  }
+
+  /**
+   * Logs the summary record of one event.
+   *
+   * @param eventId      The unique identifier of the event
+   * @param accountId    The account the event belongs to
+   * @param attempts     The number of times the event was sent
+   * @param latencyNanos The time from the first attempt to the outcome
+   * @param outcome      How the delivery ended
+   * @param batched      Whether the event was sent as part of a batch
+   */
+  public static void record(String eventId, String accountId, int attempts, long latencyNanos, Outcome outcome,
+                            boolean batched) {
+    if (!log.isInfoEnabled()) {
+      return;
+    }
+    log.atInfo()
+        .addKeyValue("eventId", eventId)
+        .addKeyValue("accountId", accountId)
+        .addKeyValue("attempts", attempts)
+        .addKeyValue("latencyMs", TimeUnit.NANOSECONDS.toMillis(latencyNanos))
+        .addKeyValue("outcome", outcome.tag)
+        .addKeyValue("mode", batched ? "batch" : "single")
+        .log("Webhook delivery finished");
+  }
+}
@@ -0,0 +1,55 @@
+package com.event.processing.notifier.monitoring;
+
+import com.event.processing.notifier.domain.service.cache.EnrichmentCache;
+import com.event.processing.notifier.domain.service.signing.WebhookPayloadSigner;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint for invalidating the enrichment cache.
+ * Lets operators or the webhook management service drop stale entries right
+ * after a webhook or segment membership changes, instead of waiting for the
+ * time-to-live.
+ * <p>
+ * Usage:
+ * - DELETE /actuator/enrichmentcache?webhookId=... drops one post URL and signing key
+ * - DELETE /actuator/enrichmentcache?subscriberId=... drops one subscriber's segments
+ * - DELETE /actuator/enrichmentcache drops everything
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "enrichmentcache")
+public class EnrichmentCacheEndpoint {
+
+  private final EnrichmentCache enrichmentCache;
+  private final WebhookPayloadSigner payloadSigner;
+
+  /**
+   * Invalidates the given entries, or the whole cache if none are given.
+   *
+   * @param webhookId    The webhook whose post URL and signing key should be
+   *                     dropped
+   * @param subscriberId The subscriber whose segments should be dropped
+   */
+  @DeleteOperation
+  public void invalidate(@Nullable String webhookId, @Nullable String subscriberId) {
+    if (webhookId == null && subscriberId == null) {
+      enrichmentCache.evictAll();
+      payloadSigner.evictAllKeys();
+      return;
+    }
+    if (webhookId != null) {
+      enrichmentCache.evictWebhook(webhookId);
+      payloadSigner.evictKey(webhookId);
+    }
+    if (subscriberId != null) {
+      enrichmentCache.evictSubscriberSegments(subscriberId);
+    }
+  }
+}
@@ -0,0 +1,140 @@
+package com.event.processing.notifier.monitoring;
+
+import com.event.processing.notifier.domain.dto.WebhookEventDTO;
+import com.event.processing.notifier.monitoring.DeliverySummaryLogger.Outcome;
+import com.event.processing.notifier.util.EventLatencyProperties;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.event.processing.notifier.util.PromeTheusMetricContants.EVENT_END_TO_END_LATENCY;
+import static com.event.processing.notifier.util.PromeTheusMetricContants.EVENT_QUEUEING_DELAY;
+import static com.event.processing.notifier.util.PromeTheusMetricContants.WEBHOOK_DELIVERY_TIME;
+import static com.event.processing.notifier.util.PromeTheusMetricContants.WEBHOOK_ENRICHMENT_TIME;
+
+/**
+ * Records where the time of each event goes between the producer's publish
+ * and the outcome of its delivery, as percentile histograms:
+ * <p>
+ * - Queueing delay: from the produce timestamp header to the start of
+ * enrichment, covering the Kafka backlog and batch grouping
+ * - Enrichment time: loading and serializing a group of events, one sample
+ * per group and account tier in it, so that large groups are not counted
+ * once for every event they hold
+ * - Delivery time: from the first attempt to the outcome, including retries,
+ * one sample per event, tagged with the delivery mode and outcome
+ * - End-to-end latency: from the produce timestamp to a successful delivery
+ * <p>
+ * The enrichment and delivery timers are the webhook service's own timers;
+ * they are recorded here rather than through {@code @Timed} because their
+ * tags depend on the events. Every histogram is tagged with the event type
+ * and the account tier. The
+ * produce timestamp comes from another host's clock, so delays computed from
+ * it are only as accurate as the clock synchronization between hosts;
+ * negative values from clock skew are recorded as zero. Events without a
+ * produce timestamp are left out of the queueing and end-to-end histograms.
+ * <p>
+ * Key features:
+ * - One sample per event, or per group and tier for enrichment
+ * - Bounded tags: supported event types and configured tiers
+ * - Percentile histograms for SLO tracking
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Component
+public class EventLatencyRecorder {
+
+  private static final String EVENT_TYPE_TAG = "eventType";
+  private static final String TIER_TAG = "tier";
+  private static final String UNKNOWN_EVENT_TYPE = "unknown";
+
+  private final EventLatencyProperties properties;
+  private final Meter.MeterProvider<Timer> queueingDelay;
+  private final Meter.MeterProvider<Timer> enrichmentTime;
+  private final Meter.MeterProvider<Timer> deliveryTime;
+  private final Meter.MeterProvider<Timer> endToEndLatency;
+
+  public EventLatencyRecorder(MeterRegistry meterRegistry, EventLatencyProperties properties) {
+    this.properties = properties;
+    this.queueingDelay = Timer.builder(EVENT_QUEUEING_DELAY)
+        .description("Time from the producer's publish to the start of enrichment")
+        .publishPercentileHistogram()
+        .withRegistry(meterRegistry);
+    this.enrichmentTime = Timer.builder(WEBHOOK_ENRICHMENT_TIME)
+        .description("Time to load and serialize the webhook URLs and payloads of a group of events")
+        .publishPercentileHistogram()
+        .withRegistry(meterRegistry);
+    this.deliveryTime = Timer.builder(WEBHOOK_DELIVERY_TIME)
+        .description("Time until an event is delivered, sent to the DLQ or given up, including retries")
+        .publishPercentileHistogram()
+        .withRegistry(meterRegistry);
+    this.endToEndLatency = Timer.builder(EVENT_END_TO_END_LATENCY)
+        .description("Time from the producer's publish to the successful delivery of an event")
+        .publishPercentileHistogram()
+        .withRegistry(meterRegistry);
+  }
+
+  /**
+   * Records how long an event waited before its enrichment started.
+   *
+   * @param event           The event about to be enriched
+   * @param enrichmentStart Epoch milliseconds at which enrichment started
+   */
+  public void recordQueueing(WebhookEventDTO event, long enrichmentStart) {
+    if (event.getProducedAt() == null) {
+      return;
+    }
+    queueingDelay.withTags(EVENT_TYPE_TAG, eventType(event), TIER_TAG, properties.tierOf(event.getAccountId()))
+        .record(Math.max(0, enrichmentStart - event.getProducedAt()), TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Records the enrichment time of a group of events once for every account
+   * tier with events in the group.
+   *
+   * @param eventType      The event type of the group
+   * @param events         The events enriched together
+   * @param enrichmentTime The duration of the group's enrichment in nanoseconds
+   */
+  public void recordEnrichment(String eventType, Collection<WebhookEventDTO> events, long enrichmentTime) {
+    Set<String> tiers = events.stream()
+        .map(event -> properties.tierOf(event.getAccountId()))
+        .collect(Collectors.toSet());
+    String eventTypeTag = eventType != null ? eventType : UNKNOWN_EVENT_TYPE;
+    tiers.forEach(tier -> this.enrichmentTime.withTags(EVENT_TYPE_TAG, eventTypeTag, TIER_TAG, tier)
+        .record(enrichmentTime, TimeUnit.NANOSECONDS));
+  }
+
+  /**
+   * Records the delivery time of an event and, if it was delivered, its
+   * end-to-end latency.
+   *
+   * @param event        The event whose delivery has finished
+   * @param deliveryTime The time from the first attempt to the outcome in
+   *                     nanoseconds
+   * @param outcome      How the delivery ended
+   * @param batched      Whether the event was delivered as part of a batch
+   */
+  public void recordDelivery(WebhookEventDTO event, long deliveryTime, Outcome outcome, boolean batched) {
+    String tier = properties.tierOf(event.getAccountId());
+    this.deliveryTime.withTags("mode", batched ? "batch" : "single", EVENT_TYPE_TAG, eventType(event),
+            TIER_TAG, tier, "outcome", outcome.getTag())
+        .record(deliveryTime, TimeUnit.NANOSECONDS);
+
+    if (outcome == Outcome.DELIVERED && event.getProducedAt() != null) {
+      endToEndLatency.withTags(EVENT_TYPE_TAG, eventType(event), TIER_TAG, tier)
+          .record(Math.max(0, System.currentTimeMillis() - event.getProducedAt()), TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private static String eventType(WebhookEventDTO event) {
+    return event.getEventType() != null ? event.getEventType() : UNKNOWN_EVENT_TYPE;
+  }
+}
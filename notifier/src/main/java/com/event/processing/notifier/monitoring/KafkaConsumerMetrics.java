@@ -0,0 +1,162 @@
+package com.event.processing.notifier.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.MicrometerConsumerListener;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.event.processing.notifier.util.PromeTheusMetricContants.KAFKA_CONSUMER_ASSIGNED_PARTITIONS;
+import static com.event.processing.notifier.util.PromeTheusMetricContants.KAFKA_CONSUMER_PARTITION_RECORDS;
+import static com.event.processing.notifier.util.PromeTheusMetricContants.KAFKA_CONSUMER_POLL_TO_ACK;
+import static com.event.processing.notifier.util.PromeTheusMetricContants.KAFKA_CONSUMER_REBALANCE_COUNT;
+
+/**
+ * Metrics of the Kafka consumers behind the listener containers.
+ * <p>
+ * The Kafka client's own metrics, among them the lag of every assigned
+ * partition ({@code kafka.consumer.fetch.manager.records.lag}) and the
+ * consume rates, are bound to each consumer the consumer factory creates and
+ * removed when it is closed. On top of those, this class records what the
+ * client does not know about:
+ * <p>
+ * - Records received per partition, whose rate is the per-partition throughput
+ * - Time from a poll returning until its records are acknowledged, or ready
+ * to be committed in pipelined mode
+ * - Partition assignments, revocations and losses, and the number of
+ * partitions currently assigned
+ * <p>
+ * The summed lag is meant as the input of lag-based autoscaling.
+ * <p>
+ * Key features:
+ * - Per-partition lag from the Kafka client
+ * - Per-partition record counts
+ * - Poll-to-acknowledgment latency
+ * - Rebalance counts
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Component
+public class KafkaConsumerMetrics {
+
+  private final MeterRegistry meterRegistry;
+  private final Meter.MeterProvider<Counter> partitionRecords;
+  private final Meter.MeterProvider<Timer> pollToAck;
+  private final Meter.MeterProvider<Counter> rebalances;
+  private final AtomicInteger assignedPartitions = new AtomicInteger();
+
+  public KafkaConsumerMetrics(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+    this.partitionRecords = Counter.builder(KAFKA_CONSUMER_PARTITION_RECORDS)
+        .description("Records received from a partition")
+        .withRegistry(meterRegistry);
+    this.pollToAck = Timer.builder(KAFKA_CONSUMER_POLL_TO_ACK)
+        .description("Time from a poll returning until its records are acknowledged")
+        .publishPercentileHistogram()
+        .withRegistry(meterRegistry);
+    this.rebalances = Counter.builder(KAFKA_CONSUMER_REBALANCE_COUNT)
+        .description("Partition assignment changes seen by the listener containers")
+        .withRegistry(meterRegistry);
+    Gauge.builder(KAFKA_CONSUMER_ASSIGNED_PARTITIONS, assignedPartitions, AtomicInteger::get)
+        .description("Partitions currently assigned to the listener containers")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Binds the Kafka client metrics to every consumer the factory creates.
+   *
+   * @param consumerFactory The consumer factory of the listener containers
+   */
+  public void bind(DefaultKafkaConsumerFactory<?, ?> consumerFactory) {
+    consumerFactory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+  }
+
+  /**
+   * Counts the records of a poll per partition. Records of one partition are
+   * adjacent in a poll, so each partition's counter is updated once.
+   *
+   * @param records The records returned by the poll
+   */
+  public void recordPolled(List<? extends ConsumerRecord<?, ?>> records) {
+    int start = 0;
+    while (start < records.size()) {
+      ConsumerRecord<?, ?> first = records.get(start);
+      int end = start + 1;
+      while (end < records.size() && records.get(end).partition() == first.partition()
+          && records.get(end).topic().equals(first.topic())) {
+        end++;
+      }
+      partitionRecords.withTags("topic", first.topic(), "partition", String.valueOf(first.partition()))
+          .increment(end - start);
+      start = end;
+    }
+  }
+
+  /**
+   * Records the time from a poll returning until its records were
+   * acknowledged.
+   *
+   * @param polledAt The {@link System#nanoTime()} at which the poll returned
+   * @param mode     How the records are committed, batch or pipelined
+   */
+  public void recordAcknowledged(long polledAt, String mode) {
+    pollToAck.withTags("mode", mode).record(System.nanoTime() - polledAt, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Returns a rebalance listener that counts assignment changes and then
+   * hands every callback to the given listener.
+   *
+   * @param delegate The listener doing the container's own rebalance work
+   * @return The counting rebalance listener
+   */
+  public ConsumerAwareRebalanceListener rebalanceListener(ConsumerAwareRebalanceListener delegate) {
+    return new ConsumerAwareRebalanceListener() {
+      @Override
+      public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        delegate.onPartitionsRevokedBeforeCommit(consumer, partitions);
+      }
+
+      @Override
+      public void onPartitionsRevokedAfterCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        count("revoked", partitions);
+        assignedPartitions.addAndGet(-partitions.size());
+        delegate.onPartitionsRevokedAfterCommit(consumer, partitions);
+      }
+
+      @Override
+      public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        count("lost", partitions);
+        assignedPartitions.addAndGet(-partitions.size());
+        delegate.onPartitionsLost(consumer, partitions);
+      }
+
+      @Override
+      public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        count("assigned", partitions);
+        assignedPartitions.addAndGet(partitions.size());
+        delegate.onPartitionsAssigned(consumer, partitions);
+      }
+    };
+  }
+
+  private void count(String type, Collection<TopicPartition> partitions) {
+    // The client also calls the listener with no partitions, which is not a change
+    if (!partitions.isEmpty()) {
+      rebalances.withTags("type", type).increment();
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package com.event.processing.notifier.monitoring;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a bean method whose arguments are logged for a sample of calls.
+ * Only methods carrying this annotation are intercepted by
+ * {@link SampledArgumentLoggingAspect}; nothing else in the application pays
+ * for argument logging.
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LogArguments {
+}
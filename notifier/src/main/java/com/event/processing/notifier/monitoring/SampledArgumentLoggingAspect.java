@@ -0,0 +1,83 @@
+package com.event.processing.notifier.monitoring;
+
+import com.event.processing.notifier.util.ArgumentLoggingProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Aspect that logs the arguments of methods annotated with
+ * {@link LogArguments} for a sample of calls.
+ * <p>
+ * Sampling is head-based: the outermost annotated call on a thread decides
+ * whether it is sampled, and every annotated call it makes on the same thread
+ * follows that decision, so a sampled call is logged with all of its nested
+ * calls rather than as scattered fragments. Calls handed to other threads
+ * decide again.
+ * <p>
+ * When the aspect's logger is not at DEBUG, the advice only checks the level
+ * and proceeds: no arguments are turned into strings and no sampling state is
+ * touched. Timing is not logged here; methods that need it carry a Micrometer
+ * {@code @Timed} annotation instead.
+ * <p>
+ * Key features:
+ * - Only annotated methods are intercepted
+ * - Head-based sampling with a configurable rate
+ * - No argument stringification unless DEBUG is enabled and the call is sampled
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Slf4j
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class SampledArgumentLoggingAspect {
+
+  /**
+   * Sampling decision of the outermost annotated call running on this thread,
+   * or null outside of one.
+   */
+  private static final ThreadLocal<Boolean> SAMPLED = new ThreadLocal<>();
+
+  private final ArgumentLoggingProperties properties;
+
+  /**
+   * Logs the arguments of sampled calls to annotated methods.
+   *
+   * @param joinPoint The join point representing the method being executed
+   * @return The result of the method execution
+   * @throws Throwable Any exception thrown by the method
+   */
+  @Around("@annotation(com.event.processing.notifier.monitoring.LogArguments)")
+  public Object logArguments(ProceedingJoinPoint joinPoint) throws Throwable {
+    if (!log.isDebugEnabled()) {
+      return joinPoint.proceed();
+    }
+
+    Boolean inherited = SAMPLED.get();
+    if (inherited != null) {
+      return inherited ? proceedLogged(joinPoint) : joinPoint.proceed();
+    }
+
+    boolean sampled = ThreadLocalRandom.current().nextDouble() < properties.getSampleRate();
+    SAMPLED.set(sampled);
+    try {
+      return sampled ? proceedLogged(joinPoint) : joinPoint.proceed();
+    } finally {
+      SAMPLED.remove();
+    }
+  }
+
+  private Object proceedLogged(ProceedingJoinPoint joinPoint) throws Throwable {
+    log.debug("Executing: {} with args: {}", joinPoint.getSignature().toShortString(),
+        Arrays.toString(joinPoint.getArgs()));
+    return joinPoint.proceed();
+  }
+}
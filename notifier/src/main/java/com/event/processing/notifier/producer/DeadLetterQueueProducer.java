@@ -1,6 +1,7 @@
 package com.event.processing.notifier.producer;
 
 import com.event.processing.notifier.domain.dto.DeadLetterQueueEventDTO;
+import com.event.processing.notifier.domain.dto.SerializedPayload;
 import com.event.processing.notifier.domain.dto.WebhookEventDTO;
 
 /**
@@ -31,4 +32,18 @@ public interface DeadLetterQueueProducer {
    * @param failureReason The reason why the event processing failed
    */
   void publishWithFailureReason(String topic, String key, WebhookEventDTO payload, String failureReason);
+
+  /**
+   * Publishes a failed webhook event to the dead letter queue together with the
+   * serialized webhook payload that could not be delivered. The payload bytes
+   * are embedded as they were sent, without serializing the payload again.
+   *
+   * @param topic          The dead letter queue topic to publish the event to
+   * @param key            The key for the Kafka record
+   * @param payload        The webhook event payload that failed processing
+   * @param webhookPayload The serialized webhook payload that failed delivery
+   * @param failureReason  The reason why the event processing failed
+   */
+  void publishWithFailureReason(String topic, String key, WebhookEventDTO payload, SerializedPayload webhookPayload,
+                                String failureReason);
 }
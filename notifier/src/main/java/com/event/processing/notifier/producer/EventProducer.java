@@ -2,6 +2,8 @@ package com.event.processing.notifier.producer;
 
 import com.event.processing.notifier.domain.dto.WebhookEventDTO;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Interface defining the contract for publishing webhook events to a message
  * broker.
@@ -18,12 +20,23 @@ import com.event.processing.notifier.domain.dto.WebhookEventDTO;
  * @version 1.0
  */
 public interface EventProducer {
+  /**
+   * Record header holding the epoch milliseconds at which an event was first
+   * produced, as a decimal string. Set by the producer service and carried
+   * over when the notifier republishes an event.
+   */
+  String PRODUCED_AT_HEADER = "event_produced_at";
+
   /**
    * Publishes a webhook event to the specified topic.
+   * Callers that must not lose the event wait for the returned future; others
+   * may ignore it, as failures are logged and counted either way.
    *
    * @param topic   The topic to publish the event to
    * @param id      The unique identifier for the event
    * @param payload The webhook event payload to publish
+   * @return Future that completes once the broker has acknowledged the event,
+   * or exceptionally if it could not be published
    */
-  void publish(String topic, String id, WebhookEventDTO payload);
+  CompletableFuture<Void> publish(String topic, String id, WebhookEventDTO payload);
 }
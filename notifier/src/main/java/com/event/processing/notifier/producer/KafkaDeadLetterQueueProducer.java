@@ -2,6 +2,7 @@ package com.event.processing.notifier.producer;
 
 import com.event.processing.notifier.converter.WebhookToDLQEventConverter;
 import com.event.processing.notifier.domain.dto.DeadLetterQueueEventDTO;
+import com.event.processing.notifier.domain.dto.SerializedPayload;
 import com.event.processing.notifier.domain.dto.WebhookEventDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -40,7 +41,7 @@ public class KafkaDeadLetterQueueProducer implements DeadLetterQueueProducer {
 
   @Override
   public void publish(String topic, String key, DeadLetterQueueEventDTO payload) {
-    log.info("[DLQ] Publishing to topic: {}, key: {}", topic, key);
+    log.debug("[DLQ] Publishing to topic: {}, key: {}", topic, key);
 
     CompletableFuture<SendResult<String, DeadLetterQueueEventDTO>> future =
         dlqKafkaTemplate.send(topic, key, payload);
@@ -57,6 +58,17 @@ public class KafkaDeadLetterQueueProducer implements DeadLetterQueueProducer {
     publish(topic, key, dlqEvent);
   }
 
+  @Override
+  public void publishWithFailureReason(String topic, String key, WebhookEventDTO payload,
+                                       SerializedPayload webhookPayload, String failureReason) {
+    log.info("[With Reason] Publishing webhook event with payload to DLQ: Topic={}, Key={}, Reason={}",
+        topic, key, failureReason);
+
+    DeadLetterQueueEventDTO dlqEvent = converter.convert(payload, failureReason);
+    dlqEvent.setPayload(webhookPayload);
+    publish(topic, key, dlqEvent);
+  }
+
   /**
    * Handles the CompletableFuture returned by Kafka send operations.
    * This method provides consistent logging and error handling for all Kafka operations.
@@ -71,7 +83,7 @@ public class KafkaDeadLetterQueueProducer implements DeadLetterQueueProducer {
                                String topic, String key, String logPrefix) {
     future.thenAccept(result -> {
       var metadata = result.getRecordMetadata();
-      log.info("{}Message sent successfully: topic={}, partition={}, offset={}",
+      log.debug("{}Message sent successfully: topic={}, partition={}, offset={}",
           logPrefix, metadata.topic(), metadata.partition(), metadata.offset());
     }).exceptionally(ex -> {
       log.error("{}Failed to publish message: topic={}, key={}, error={}",
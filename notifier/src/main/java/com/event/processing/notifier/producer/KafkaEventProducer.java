@@ -4,11 +4,13 @@ import com.event.processing.notifier.domain.dto.WebhookEventDTO;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -23,6 +25,7 @@ import java.util.concurrent.CompletableFuture;
  * - Performance monitoring with metrics
  * - Detailed logging of publish operations
  * - Error handling and reporting
+ * - Original produce time carried over in a record header
  *
  * @author LongLe
  * @version 1.0
@@ -38,27 +41,37 @@ public class KafkaEventProducer implements EventProducer {
   /**
    * Publishes a webhook event to the specified Kafka topic asynchronously.
    * The method uses KafkaTemplate to send the event and provides monitoring
-   * through metrics and logging.
+   * through metrics and logging. If the event knows when it was first
+   * produced, that time goes along in the produce timestamp header, so that
+   * end-to-end latency still counts from the original publish.
    *
    * @param topic   The Kafka topic to publish the event to
    * @param key     The unique key for the event
    * @param payload The webhook event payload to publish
+   * @return Future that completes once the broker has acknowledged the event,
+   * or exceptionally if it could not be published
    */
   @Override
-  public void publish(String topic, String key, WebhookEventDTO payload) {
-    log.info("Publishing event to Kafka. Topic: {}, Key: {}", topic, key);
+  public CompletableFuture<Void> publish(String topic, String key, WebhookEventDTO payload) {
+    log.debug("Publishing event to Kafka. Topic: {}, Key: {}", topic, key);
 
-    CompletableFuture<SendResult<String, WebhookEventDTO>> future = kafkaTemplate.send(topic, key, payload);
+    ProducerRecord<String, WebhookEventDTO> record = new ProducerRecord<>(topic, key, payload);
+    if (payload.getProducedAt() != null) {
+      record.headers().add(PRODUCED_AT_HEADER,
+          String.valueOf(payload.getProducedAt()).getBytes(StandardCharsets.US_ASCII));
+    }
+    CompletableFuture<SendResult<String, WebhookEventDTO>> future = kafkaTemplate.send(record);
 
-    future.thenAccept(result -> {
+    return future.thenAccept(result -> {
       RecordMetadata metadata = result.getRecordMetadata();
-      log.info("Successfully published event. Topic: {}, Partition: {}, Offset: {}, Key: {}",
+      log.debug("Successfully published event. Topic: {}, Partition: {}, Offset: {}, Key: {}",
           topic, metadata.partition(), metadata.offset(), key);
       meterRegistry.counter("kafka.publish.success", "topic", topic).increment();
-    }).exceptionally(ex -> {
-      log.error("Failed to publish event. Topic: {}, Key: {}, Error: {}", topic, key, ex.getMessage(), ex);
-      meterRegistry.counter("kafka.publish.failure", "topic", topic).increment();
-      return null;
+    }).whenComplete((ignored, ex) -> {
+      if (ex != null) {
+        log.error("Failed to publish event. Topic: {}, Key: {}, Error: {}", topic, key, ex.getMessage(), ex);
+        meterRegistry.counter("kafka.publish.failure", "topic", topic).increment();
+      }
     });
   }
 }
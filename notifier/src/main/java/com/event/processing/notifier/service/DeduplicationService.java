@@ -1,5 +1,8 @@
 package com.event.processing.notifier.service;
 
+import java.util.Collection;
+import java.util.Set;
+
 /**
  * Interface defining the contract for event deduplication functionality.
  * This interface provides a standardized way to prevent duplicate event
@@ -11,11 +14,32 @@ package com.event.processing.notifier.service;
  * - Processed event tracking
  * - Event identification
  * - Duplicate prevention
+ * - Batch checking and marking
+ * - Atomic claims with a processing lease
  *
  * @author LongLe
  * @version 1.0
  */
 public interface DeduplicationService {
+
+  /**
+   * Outcome of an attempt to claim an event for processing.
+   */
+  enum ClaimResult {
+    /**
+     * The caller now holds the processing lease for the event.
+     */
+    CLAIMED,
+    /**
+     * The event has already been processed.
+     */
+    ALREADY_PROCESSED,
+    /**
+     * Another worker currently holds the processing lease for the event.
+     */
+    IN_PROGRESS
+  }
+
   /**
    * Checks if an event has already been processed.
    * This method determines whether the event is a duplicate and should be
@@ -35,4 +59,51 @@ public interface DeduplicationService {
    * @param eventId The unique identifier of the processed event
    */
   void markProcessed(String eventId);
+
+  /**
+   * Checks many events at once and returns the ones already processed.
+   * Implementations should answer the whole batch in a single round trip.
+   *
+   * @param eventIds The unique identifiers of the events to check
+   * @return The subset of event IDs that are duplicates and should be skipped
+   */
+  Set<String> findDuplicates(Collection<String> eventIds);
+
+  /**
+   * Marks many events as processed at once.
+   * Implementations should record the whole batch in a single round trip.
+   *
+   * @param eventIds The unique identifiers of the processed events
+   */
+  void markAllProcessed(Collection<String> eventIds);
+
+  /**
+   * Atomically claims an event for processing by taking a processing lease.
+   * On success the caller must either promote the claim with
+   * {@link #completeClaim(String)} or give it up with {@link #releaseClaim(String)}.
+   *
+   * @param eventId The unique identifier of the event to claim
+   * @return The outcome of the claim attempt
+   */
+  ClaimResult tryClaim(String eventId);
+
+  /**
+   * Promotes a processing lease held by this worker to a processed marker.
+   * If the lease has expired or been taken over by another worker in the
+   * meantime, nothing is changed, so the event is not marked by a worker that
+   * no longer owns it.
+   *
+   * @param eventId The unique identifier of the claimed event
+   * @return true if the event was marked as processed, false if the lease was
+   * no longer held by this worker
+   */
+  boolean completeClaim(String eventId);
+
+  /**
+   * Releases a processing lease held by this worker so the event can be
+   * processed again. Leases held by other workers are left untouched.
+   *
+   * @param eventId The unique identifier of the claimed event
+   */
+  void releaseClaim(String eventId);
 }
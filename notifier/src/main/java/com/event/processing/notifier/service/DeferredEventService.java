@@ -0,0 +1,47 @@
+package com.event.processing.notifier.service;
+
+import com.event.processing.notifier.domain.dto.WebhookEventDTO;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Interface defining the contract for deferring rate-limited events.
+ * Deferred events are parked until their account's rate limit budget reopens
+ * and are then re-admitted to the webhook event pipeline. Events that cannot
+ * be processed yet for other reasons can be parked for a given delay.
+ * <p>
+ * Key features:
+ * - Account-aware deferral delay
+ * - Deferral for a fixed delay
+ * - Re-admission of due events
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+public interface DeferredEventService {
+  /**
+   * Parks rate-limited events of an account until the account's budget
+   * reopens.
+   *
+   * @param accountId The account ID the events belong to
+   * @param events    The rate-limited events
+   */
+  void defer(String accountId, List<WebhookEventDTO> events);
+
+  /**
+   * Parks events for a fixed delay, for example until a processing lease
+   * held by another worker has expired.
+   *
+   * @param events The events to park
+   * @param delay  How long to park them
+   */
+  void defer(List<WebhookEventDTO> events, Duration delay);
+
+  /**
+   * Re-admits deferred events that are due to the webhook event pipeline.
+   *
+   * @return The number of events re-admitted
+   */
+  int readmitDueEvents();
+}
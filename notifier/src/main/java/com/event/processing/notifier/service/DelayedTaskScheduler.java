@@ -0,0 +1,69 @@
+package com.event.processing.notifier.service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interface defining the contract for running tasks after a delay.
+ * This interface provides one shared timer for all delayed work of the
+ * notifier, such as retry backoff, batch linger, deferral wake-ups and
+ * circuit breaker probes.
+ * <p>
+ * Tasks run on the timer's own thread and must only hand work over, for
+ * example to an executor; anything slow delays every other timer.
+ * <p>
+ * Key features:
+ * - Constant time scheduling and cancellation
+ * - Bounded number of pending timers
+ * - Cancellable timer handles
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+public interface DelayedTaskScheduler {
+  /**
+   * Schedules a task to run once after the given delay.
+   *
+   * @param task  The task to run; must return quickly
+   * @param delay The delay after which the task runs
+   * @param unit  The unit of the delay
+   * @return Handle to cancel the timer
+   * @throws java.util.concurrent.RejectedExecutionException if too many timers
+   *                                                         are pending or the
+   *                                                         scheduler is stopped
+   */
+  Timeout schedule(Runnable task, long delay, TimeUnit unit);
+
+  /**
+   * Returns the number of timers that have neither fired nor been cancelled.
+   *
+   * @return The number of pending timers
+   */
+  long getPendingTimers();
+
+  /**
+   * Handle of a scheduled task.
+   */
+  interface Timeout {
+    /**
+     * Cancels the timer if it has not fired yet.
+     *
+     * @return true if the timer was cancelled, false if it had already fired
+     * or been cancelled
+     */
+    boolean cancel();
+
+    /**
+     * Checks whether the timer has fired.
+     *
+     * @return true if the task has been run
+     */
+    boolean isExpired();
+
+    /**
+     * Checks whether the timer has been cancelled.
+     *
+     * @return true if the timer was cancelled before it fired
+     */
+    boolean isCancelled();
+  }
+}
@@ -0,0 +1,39 @@
+package com.event.processing.notifier.service;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Interface defining the contract for scheduling webhook deliveries.
+ * This interface provides a standardized way to queue delivery work per
+ * account and hand it to delivery workers in a fair order, so that a single
+ * noisy account cannot monopolise the delivery capacity.
+ * <p>
+ * Key features:
+ * - Per-account queuing
+ * - Fair dispatch across accounts
+ * - Completion tracking through futures
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+public interface DeliveryScheduler {
+  /**
+   * Queues a delivery task on behalf of the given account.
+   * The returned future completes once the task has run, or completes
+   * exceptionally with a {@link java.util.concurrent.RejectedExecutionException}
+   * if the account queue is full.
+   *
+   * @param accountId The account the task is charged to
+   * @param task      The delivery work to run
+   * @return Future that completes when the task has finished
+   */
+  CompletableFuture<Void> submit(String accountId, Runnable task);
+
+  /**
+   * Returns the number of deliveries that were submitted and have not finished
+   * yet, whether still queued or running.
+   *
+   * @return The number of queued and running deliveries
+   */
+  int pendingDeliveries();
+}
@@ -1,5 +1,7 @@
 package com.event.processing.notifier.service;
 
+import java.time.Duration;
+
 /**
  * Interface defining the contract for rate limiting functionality.
  * This interface provides a standardized way to control the frequency
@@ -10,6 +12,7 @@ package com.event.processing.notifier.service;
  * - Configurable rate limits
  * - Event identification
  * - Rate limit enforcement
+ * - Partial admission of batches
  *
  * @author LongLe
  * @version 1.0
@@ -36,4 +39,28 @@ public interface RateLimiterService {
    * @return true if the events are allowed to be processed, false if they would exceed the rate limit
    */
   boolean areEventsAllowed(String accountId, int count);
+
+  /**
+   * Counts how many of multiple events from the same account may be processed
+   * based on rate limiting rules.
+   * Unlike {@link #areEventsAllowed(String, int)}, the remaining budget is
+   * granted even when it does not cover all events, so the caller can process
+   * that many events and defer only the excess. The granted events are counted
+   * against the limit atomically.
+   *
+   * @param accountId The account ID to check
+   * @param count The number of events to check
+   * @return The number of events that may be processed, between 0 and count
+   */
+  int countAllowedEvents(String accountId, int count);
+
+  /**
+   * Estimates how long a rate-limited account has to wait before events are
+   * allowed again, so that deferred events can be re-admitted when the
+   * account's budget reopens rather than immediately.
+   *
+   * @param accountId The account ID to check
+   * @return The estimated time until the account is allowed again
+   */
+  Duration retryAfter(String accountId);
 }
@@ -0,0 +1,52 @@
+package com.event.processing.notifier.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * Interface defining the contract for retrying operations without blocking.
+ * Attempts are asynchronous: each one returns a stage that completes with its
+ * outcome, so no thread waits for a response. Failed attempts are not retried
+ * in a sleeping loop; the next attempt is scheduled on a timer and is queued
+ * for a delivery worker once its backoff has passed, so no thread is held
+ * while waiting either.
+ * <p>
+ * Key features:
+ * - Retry policies configured as Resilience4j retry instances
+ * - Asynchronous attempts that do not hold a thread
+ * - Backoff waits that do not hold a thread
+ * - Completion tracking through futures
+ * - Visibility of pending retries
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+public interface RetryScheduler {
+  /**
+   * Runs an operation with the retry policy of the named retry instance.
+   * The first attempt is started on the calling thread; later attempts are queued
+   * under the given account with the delivery scheduler once their backoff
+   * has passed, so they share the account's fair share of delivery capacity
+   * with its first attempts.
+   * An attempt fails if it throws or if its stage completes exceptionally.
+   * The returned future completes with the result of the first successful
+   * attempt, or exceptionally with the last failure once the policy gives up
+   * or the failure is not retryable.
+   *
+   * @param retryName The name of the Resilience4j retry instance
+   * @param accountId The account later attempts are charged to
+   * @param attempt   Starts one attempt of the operation
+   * @param <T>       The result type of the operation
+   * @return Future that completes with the outcome of the last attempt
+   */
+  <T> CompletableFuture<T> execute(String retryName, String accountId, Supplier<CompletionStage<T>> attempt);
+
+  /**
+   * Returns the number of operations currently waiting for their next
+   * attempt.
+   *
+   * @return The number of pending retries
+   */
+  int getPendingRetries();
+}
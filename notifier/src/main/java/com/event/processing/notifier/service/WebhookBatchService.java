@@ -0,0 +1,34 @@
+package com.event.processing.notifier.service;
+
+import com.event.processing.notifier.domain.dto.WebhookBatchItemDTO;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Interface defining the contract for batched webhook delivery.
+ * This interface provides a standardized way to coalesce events of the same
+ * webhook into one request while still reporting the outcome of every event
+ * on its own.
+ * <p>
+ * Key features:
+ * - Per-webhook batching
+ * - Bounded delay, item count and request size
+ * - Per-event completion tracking through futures
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+public interface WebhookBatchService {
+  /**
+   * Adds an event to the pending batch of its webhook.
+   * The returned future completes once the batch holding the event has been
+   * delivered, or completes exceptionally if the batch could not be sent or
+   * failed to be delivered.
+   *
+   * @param webhookId The webhook the event is sent to
+   * @param url       The destination URL of the webhook
+   * @param item      The event and its serialized payload
+   * @return Future that completes when the event's batch has been delivered
+   */
+  CompletableFuture<Void> add(String webhookId, String url, WebhookBatchItemDTO item);
+}
@@ -1,18 +1,26 @@
 package com.event.processing.notifier.service;
 
-import com.event.processing.notifier.domain.dto.BaseEventDTO;
+import com.event.processing.notifier.domain.dto.SerializedPayload;
+import com.event.processing.notifier.domain.dto.WebhookBatchItemDTO;
 import com.event.processing.notifier.domain.dto.WebhookEventDTO;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Interface defining the contract for webhook notification processing.
  * This interface provides a standardized way to process webhook notifications
  * with retry capabilities for improved reliability.
  * <p>
+ * Retries wait without holding the calling thread, so both methods return
+ * futures that complete once the last attempt has finished.
+ * <p>
  * Key features:
- * - Retry mechanism for failed webhook deliveries
+ * - Non-blocking retry mechanism for failed webhook deliveries
  * - Event payload processing
  * - Webhook URL handling
  * - Event identification
+ * - Delivery of several events in one request
  *
  * @author LongLe
  * @version 1.0
@@ -23,11 +31,34 @@ public interface WebhookService {
    * This method handles the delivery of webhook notifications to the specified
    * URL,
    * implementing retry logic for failed attempts.
+   * The first attempt runs on the calling thread. Events that still fail
+   * once all attempts are used up, or that hit an open circuit, are handled
+   * by the fallbacks first; the returned future then completes exceptionally,
+   * so that callers only record events as processed when they were delivered.
    *
    * @param eventId      The unique identifier of the event being processed
    * @param eventPayload The webhook event payload containing event details
    * @param url          The destination URL for the webhook notification
-   * @param payload      The base event payload to be sent in the webhook
+   * @param payload      The serialized payload to be sent in the webhook,
+   *                     reused unchanged by every attempt
+   * @return Future that completes when the webhook has been delivered, or
+   * exceptionally once its failure has been handled
+   */
+  CompletableFuture<Void> processWithRetry(String eventId, WebhookEventDTO eventPayload, String url, SerializedPayload payload);
+
+  /**
+   * Processes a batch of webhook notifications sent as one request, with the
+   * same retry capabilities as single notifications. The batch succeeds or
+   * fails as a whole; like a single notification, a failed batch is handled
+   * by the fallbacks first and the returned future then completes
+   * exceptionally.
+   *
+   * @param url   The destination URL for the webhook notifications
+   * @param items The events in the batch, in array order
+   * @param body  The JSON array of the events' payloads, reused unchanged by
+   *              every attempt
+   * @return Future that completes when the batch has been delivered, or
+   * exceptionally once its failure has been handled
    */
-  void processWithRetry(String eventId, WebhookEventDTO eventPayload, String url, BaseEventDTO payload);
+  CompletableFuture<Void> processBatchWithRetry(String url, List<WebhookBatchItemDTO> items, SerializedPayload body);
 }
@@ -4,6 +4,7 @@ import com.event.processing.notifier.service.RateLimiterService;
 import com.event.processing.notifier.util.RateLimitProperties;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.data.redis.core.script.RedisScript;
@@ -34,6 +35,7 @@ import java.util.concurrent.TimeUnit;
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@ConditionalOnProperty(name = "spring.data.redis.limit.engine", havingValue = "fixed-window", matchIfMissing = true)
 public class AccountRateLimiterServiceImpl implements RateLimiterService {
 
   /**
@@ -69,6 +71,26 @@ public class AccountRateLimiterServiceImpl implements RateLimiterService {
       "  end " +
       "end";
 
+  /**
+   * Lua script for atomically granting as much of a batch as the remaining
+   * budget of the current window allows. Returns the number of events granted.
+   */
+  private static final String PARTIAL_INCREMENT_SCRIPT =
+      "local key = KEYS[1] " +
+      "local count = tonumber(ARGV[1]) " +
+      "local limit = tonumber(ARGV[2]) " +
+      "local ttl = tonumber(ARGV[3]) " +
+      "local current = tonumber(redis.call('GET', key)) or 0 " +
+      "local granted = math.min(count, limit - current) " +
+      "if granted <= 0 then " +
+      "  return 0 " +
+      "end " +
+      "redis.call('INCRBY', key, granted) " +
+      "if redis.call('TTL', key) == -1 then " +
+      "  redis.call('EXPIRE', key, ttl) " +
+      "end " +
+      "return granted";
+
   private final StringRedisTemplate redisTemplate;
   private final RateLimitProperties rateLimitProperties;
 
@@ -125,4 +147,59 @@ public class AccountRateLimiterServiceImpl implements RateLimiterService {
       return true; // Fail-safe: Allow request in case of Redis failure
     }
   }
+
+  /**
+   * Counts how many events of a batch fit into the remaining budget of the
+   * current window, and counts those events against it in a single Redis
+   * operation.
+   *
+   * @param accountId The account ID to check
+   * @param count The number of events to check
+   * @return The number of events that may be processed, between 0 and count
+   */
+  @Override
+  public int countAllowedEvents(String accountId, int count) {
+    String key = RATE_LIMIT_KEY_PREFIX + accountId;
+    long expiryTime = TimeUnit.MINUTES.toSeconds(rateLimitProperties.getTime());
+    long eventLimit = rateLimitProperties.getEvent();
+
+    try {
+      Long granted = redisTemplate.execute(
+          RedisScript.of(PARTIAL_INCREMENT_SCRIPT, Long.class),
+          Collections.singletonList(key),
+          String.valueOf(count),
+          String.valueOf(eventLimit),
+          String.valueOf(expiryTime)
+      );
+
+      int allowed = granted == null ? count : granted.intValue();
+      if (allowed < count) {
+        log.warn("Rate limit exceeded for account: {}. Allowed {} of {} events", accountId, allowed, count);
+      }
+      return allowed;
+    } catch (Exception e) {
+      log.error("Error checking rate limit for account: {} with count {}", accountId, count, e);
+      return count; // Fail-safe: Allow request in case of Redis failure
+    }
+  }
+
+  /**
+   * Returns the time left in the account's current window, after which the
+   * counter expires and events are allowed again.
+   *
+   * @param accountId The account ID to check
+   * @return The remaining time of the current window, or the full window if it
+   * cannot be determined
+   */
+  @Override
+  public Duration retryAfter(String accountId) {
+    Duration window = Duration.ofMinutes(rateLimitProperties.getTime());
+    try {
+      Long ttl = redisTemplate.getExpire(RATE_LIMIT_KEY_PREFIX + accountId, TimeUnit.MILLISECONDS);
+      return ttl != null && ttl > 0 ? Duration.ofMillis(ttl) : window;
+    } catch (Exception e) {
+      log.error("Error reading rate limit window for account: {}", accountId, e);
+      return window;
+    }
+  }
 }
\ No newline at end of file
@@ -0,0 +1,316 @@
+package com.event.processing.notifier.service.impl;
+
+import com.event.processing.notifier.service.DeliveryScheduler;
+import com.event.processing.notifier.util.DeliveryExecutorProperties;
+import com.event.processing.notifier.util.EventLatencyProperties;
+import com.event.processing.notifier.util.FairSchedulerProperties;
+import com.event.processing.notifier.util.KafkaConsumerThreadPoolProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.event.processing.notifier.util.PromeTheusMetricContants.FAIR_SCHEDULER_QUEUE_DEPTH;
+import static com.event.processing.notifier.util.PromeTheusMetricContants.FAIR_SCHEDULER_REJECTED_COUNT;
+import static com.event.processing.notifier.util.PromeTheusMetricContants.FAIR_SCHEDULER_TOTAL_QUEUE_DEPTH;
+import static com.event.processing.notifier.util.PromeTheusMetricContants.FAIR_SCHEDULER_WAIT_TIME;
+
+/**
+ * Deficit round robin implementation of DeliveryScheduler.
+ * This class keeps a bounded queue per account and dispatches queued
+ * deliveries to the executor in round robin order, letting each account
+ * dispatch up to {@code quantum * weight} deliveries per round.
+ * <p>
+ * Key features:
+ * - Bounded FIFO queue per account, dropped once it drains
+ * - Weighted deficit round robin across active accounts
+ * - Bounded number of in-flight deliveries, by default as many as the
+ * delivery executor can run
+ * - Queue depth and wait time metrics per account tier
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Slf4j
+@Service
+public class DeficitRoundRobinDeliveryScheduler implements DeliveryScheduler {
+
+  private static final String TIER_TAG = "tier";
+
+  private final Executor executor;
+  private final MeterRegistry meterRegistry;
+  private final FairSchedulerProperties properties;
+  private final EventLatencyProperties tierProperties;
+  private final int workers;
+  private final Meter.MeterProvider<Timer> waitTime;
+
+  /**
+   * Guards the account queues, the active ring and the in-flight counter.
+   */
+  private final Object lock = new Object();
+  private final Map<String, AccountQueue> queues = new HashMap<>();
+  private final ArrayDeque<AccountQueue> activeRing = new ArrayDeque<>();
+  private final AtomicInteger totalQueued = new AtomicInteger();
+  private final Map<String, AtomicInteger> tierDepths = new ConcurrentHashMap<>();
+  private int inFlight;
+
+  public DeficitRoundRobinDeliveryScheduler(@Qualifier("webhookDeliveryExecutor") Executor webhookDeliveryExecutor,
+                                            MeterRegistry meterRegistry,
+                                            FairSchedulerProperties properties,
+                                            DeliveryExecutorProperties executorProperties,
+                                            KafkaConsumerThreadPoolProperties threadPoolProperties,
+                                            EventLatencyProperties tierProperties) {
+    this.executor = webhookDeliveryExecutor;
+    this.meterRegistry = meterRegistry;
+    this.properties = properties;
+    this.tierProperties = tierProperties;
+    this.workers = resolveWorkers(properties, executorProperties, threadPoolProperties);
+    this.waitTime = Timer.builder(FAIR_SCHEDULER_WAIT_TIME)
+        .publishPercentileHistogram()
+        .withRegistry(meterRegistry);
+    Gauge.builder(FAIR_SCHEDULER_TOTAL_QUEUE_DEPTH, totalQueued, AtomicInteger::get)
+        .register(meterRegistry);
+    log.info("Fair delivery scheduler allows {} deliveries in flight",
+        workers == Integer.MAX_VALUE ? "unbounded" : workers);
+  }
+
+  /**
+   * Resolves how many deliveries may be handed to the executor at once. An
+   * explicit setting wins. Otherwise the platform pool's maximum size is used,
+   * and virtual threads are left unbounded because the per-host limiter
+   * already bounds their concurrency.
+   *
+   * @param properties           Configuration of the fair scheduler
+   * @param executorProperties   Configuration of the delivery executor
+   * @param threadPoolProperties Configuration of the kafkaConsumerExecutor pool
+   * @return The maximum number of in-flight deliveries
+   */
+  static int resolveWorkers(FairSchedulerProperties properties, DeliveryExecutorProperties executorProperties,
+                            KafkaConsumerThreadPoolProperties threadPoolProperties) {
+    if (properties.getWorkers() > 0) {
+      return properties.getWorkers();
+    }
+    if (executorProperties.getMode() == DeliveryExecutorProperties.Mode.VIRTUAL) {
+      return Integer.MAX_VALUE;
+    }
+    return Math.max(1, threadPoolProperties.getMaxSize());
+  }
+
+  /**
+   * Queues a delivery task for the given account and triggers dispatching.
+   * Rejects the task when the account queue has reached its capacity.
+   *
+   * @param accountId The account the task is charged to
+   * @param task      The delivery work to run
+   * @return Future that completes when the task has finished
+   */
+  @Override
+  public CompletableFuture<Void> submit(String accountId, Runnable task) {
+    ScheduledTask scheduledTask = new ScheduledTask(task, System.nanoTime());
+
+    synchronized (lock) {
+      AccountQueue queue = queues.computeIfAbsent(accountId, this::createQueue);
+      if (queue.tasks.size() >= properties.getQueueCapacity()) {
+        if (queue.tasks.isEmpty()) {
+          queues.remove(accountId);
+        }
+        meterRegistry.counter(FAIR_SCHEDULER_REJECTED_COUNT).increment();
+        scheduledTask.future.completeExceptionally(
+            new RejectedExecutionException("Delivery queue full for account " + accountId));
+        return scheduledTask.future;
+      }
+      queue.enqueue(scheduledTask);
+      totalQueued.incrementAndGet();
+      if (!queue.active) {
+        queue.active = true;
+        queue.deficit = 0;
+        activeRing.addLast(queue);
+      }
+    }
+
+    dispatch();
+    return scheduledTask.future;
+  }
+
+  /**
+   * Counts the tasks still queued per account and those handed to the
+   * executor that have not finished.
+   *
+   * @return The number of queued and running deliveries
+   */
+  @Override
+  public int pendingDeliveries() {
+    synchronized (lock) {
+      return totalQueued.get() + inFlight;
+    }
+  }
+
+  /**
+   * Hands queued tasks to the executor while there is free delivery capacity.
+   * Tasks are selected under the lock and submitted outside of it.
+   */
+  private void dispatch() {
+    List<ScheduledTask> ready = new ArrayList<>();
+    synchronized (lock) {
+      ScheduledTask next;
+      while (inFlight < workers && (next = nextTask()) != null) {
+        inFlight++;
+        ready.add(next);
+      }
+    }
+
+    for (ScheduledTask task : ready) {
+      try {
+        executor.execute(() -> run(task));
+      } catch (RejectedExecutionException e) {
+        log.error("Executor rejected delivery task for account {}", task.queue.accountId, e);
+        release();
+        task.future.completeExceptionally(e);
+      }
+    }
+  }
+
+  /**
+   * Picks the next task in deficit round robin order.
+   * The account at the head of the ring is topped up with its quantum when its
+   * deficit is spent, serves one task, and moves to the tail once its deficit
+   * for this round is used up. Accounts leave the ring and are forgotten when
+   * their queue drains, so only accounts with queued work take up memory.
+   * Must be called while holding the lock.
+   *
+   * @return The next task to run, or null if no task is queued
+   */
+  private ScheduledTask nextTask() {
+    AccountQueue queue = activeRing.peekFirst();
+    if (queue == null) {
+      return null;
+    }
+
+    if (queue.deficit < 1) {
+      queue.deficit += (long) properties.getQuantum() * properties.weightOf(queue.accountId);
+    }
+
+    ScheduledTask task = queue.dequeue();
+    totalQueued.decrementAndGet();
+    queue.deficit--;
+
+    if (queue.tasks.isEmpty()) {
+      activeRing.pollFirst();
+      queue.active = false;
+      queue.deficit = 0;
+      queues.remove(queue.accountId);
+    } else if (queue.deficit < 1) {
+      activeRing.addLast(activeRing.pollFirst());
+    }
+    return task;
+  }
+
+  /**
+   * Runs a task on a delivery worker, records its queue wait time and frees its
+   * slot before completing the task's future, then dispatches the next task.
+   *
+   * @param task The task to run
+   */
+  private void run(ScheduledTask task) {
+    waitTime.withTag(TIER_TAG, task.queue.tier).record(System.nanoTime() - task.enqueuedAt, TimeUnit.NANOSECONDS);
+    Throwable failure = null;
+    try {
+      task.runnable.run();
+    } catch (Throwable ex) {
+      failure = ex;
+    }
+    // Free the slot before completing, so callers joining the future never see it counted as in flight
+    release();
+    if (failure == null) {
+      task.future.complete(null);
+    } else {
+      task.future.completeExceptionally(failure);
+    }
+    dispatch();
+  }
+
+  private void release() {
+    synchronized (lock) {
+      inFlight--;
+    }
+  }
+
+  /**
+   * Creates the queue of an account that has no queued work yet. Its depth is
+   * counted towards the account's tier, whose gauge is registered the first
+   * time the tier is seen. Must be called while holding the lock.
+   *
+   * @param accountId The account ID
+   * @return The new account queue
+   */
+  private AccountQueue createQueue(String accountId) {
+    String tier = tierProperties.tierOf(accountId);
+    AtomicInteger depth = tierDepths.computeIfAbsent(tier, key -> {
+      AtomicInteger tierDepth = new AtomicInteger();
+      Gauge.builder(FAIR_SCHEDULER_QUEUE_DEPTH, tierDepth, AtomicInteger::get)
+          .tag(TIER_TAG, key)
+          .register(meterRegistry);
+      return tierDepth;
+    });
+    return new AccountQueue(accountId, tier, depth);
+  }
+
+  /**
+   * Pending tasks and round robin state of a single account.
+   */
+  private static final class AccountQueue {
+    private final String accountId;
+    private final String tier;
+    private final AtomicInteger depth;
+    private final ArrayDeque<ScheduledTask> tasks = new ArrayDeque<>();
+    private long deficit;
+    private boolean active;
+
+    private AccountQueue(String accountId, String tier, AtomicInteger depth) {
+      this.accountId = accountId;
+      this.tier = tier;
+      this.depth = depth;
+    }
+
+    private void enqueue(ScheduledTask task) {
+      task.queue = this;
+      tasks.addLast(task);
+      depth.incrementAndGet();
+    }
+
+    private ScheduledTask dequeue() {
+      depth.decrementAndGet();
+      return tasks.pollFirst();
+    }
+  }
+
+  /**
+   * A queued task together with its enqueue time and completion future.
+   */
+  private static final class ScheduledTask {
+    private final Runnable runnable;
+    private final long enqueuedAt;
+    private final CompletableFuture<Void> future = new CompletableFuture<>();
+    private AccountQueue queue;
+
+    private ScheduledTask(Runnable runnable, long enqueuedAt) {
+      this.runnable = runnable;
+      this.enqueuedAt = enqueuedAt;
+    }
+  }
+}
@@ -0,0 +1,321 @@
+package com.event.processing.notifier.service.impl;
+
+import com.event.processing.notifier.service.DelayedTaskScheduler;
+import com.event.processing.notifier.util.TimingWheelProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.event.processing.notifier.util.PromeTheusMetricContants.TIMING_WHEEL_LAG;
+import static com.event.processing.notifier.util.PromeTheusMetricContants.TIMING_WHEEL_PENDING;
+import static com.event.processing.notifier.util.PromeTheusMetricContants.TIMING_WHEEL_REJECTED_COUNT;
+
+/**
+ * Hashed timing wheel implementation of DelayedTaskScheduler.
+ * The wheel is a fixed ring of buckets, each holding a linked list of timers.
+ * One worker thread advances the wheel by one bucket per tick and runs the
+ * timers of that bucket whose deadline has passed; timers further away than
+ * one revolution count down their remaining rounds instead.
+ * <p>
+ * Scheduling and cancelling only touch lock-free queues, so both take
+ * constant time on any thread. The worker moves new timers into their
+ * buckets and unlinks cancelled ones at the start of each tick, so bucket
+ * lists are only ever modified by the worker. Memory stays bounded: the ring
+ * has a fixed size and the number of pending timers is capped.
+ * <p>
+ * Key features:
+ * - Constant time schedule and cancel
+ * - Single worker thread for any number of timers
+ * - Cap on pending timers
+ * - Timer lag, pending timer and rejection metrics
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Slf4j
+@Service
+public class HashedWheelDelayedTaskScheduler implements DelayedTaskScheduler {
+
+  /**
+   * Maximum number of new timers moved into the wheel per tick, so that a
+   * burst of scheduling cannot stall expiry.
+   */
+  private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+  private static final int STATE_PENDING = 0;
+  private static final int STATE_CANCELLED = 1;
+  private static final int STATE_EXPIRED = 2;
+
+  private final long tickNanos;
+  private final Bucket[] wheel;
+  private final int mask;
+  private final long maxPendingTimers;
+  private final long startTime = System.nanoTime();
+  private final Queue<WheelTimeout> additions = new ConcurrentLinkedQueue<>();
+  private final Queue<WheelTimeout> cancellations = new ConcurrentLinkedQueue<>();
+  private final AtomicLong pendingTimers = new AtomicLong();
+  private final Timer lag;
+  private final Counter rejected;
+  private final Thread worker;
+  private volatile boolean running = true;
+
+  /**
+   * Number of ticks the worker has completed. Only accessed by the worker.
+   */
+  private long tick;
+
+  public HashedWheelDelayedTaskScheduler(TimingWheelProperties properties, MeterRegistry meterRegistry) {
+    this.tickNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(1), properties.getTickDuration().toNanos());
+    int ticksPerWheel = Integer.highestOneBit(Math.max(1, properties.getTicksPerWheel() - 1)) << 1;
+    this.wheel = new Bucket[ticksPerWheel];
+    for (int i = 0; i < ticksPerWheel; i++) {
+      wheel[i] = new Bucket();
+    }
+    this.mask = ticksPerWheel - 1;
+    this.maxPendingTimers = properties.getMaxPendingTimers();
+    this.lag = Timer.builder(TIMING_WHEEL_LAG)
+        .description("Time between a timer's deadline and the moment it fires")
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+    this.rejected = Counter.builder(TIMING_WHEEL_REJECTED_COUNT)
+        .description("Timers rejected because too many were pending")
+        .register(meterRegistry);
+    Gauge.builder(TIMING_WHEEL_PENDING, pendingTimers, AtomicLong::get)
+        .description("Number of timers that have neither fired nor been cancelled")
+        .register(meterRegistry);
+
+    this.worker = new Thread(this::runWorker, "TimingWheel");
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  /**
+   * Schedules a task to run on the wheel's worker thread after the delay,
+   * rounded up to the next tick.
+   *
+   * @param task  The task to run; must return quickly
+   * @param delay The delay after which the task runs
+   * @param unit  The unit of the delay
+   * @return Handle to cancel the timer
+   */
+  @Override
+  public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+    if (!running) {
+      throw new RejectedExecutionException("Timing wheel is stopped");
+    }
+    if (pendingTimers.incrementAndGet() > maxPendingTimers) {
+      pendingTimers.decrementAndGet();
+      rejected.increment();
+      throw new RejectedExecutionException("Too many pending timers (" + maxPendingTimers + ")");
+    }
+
+    long now = System.nanoTime() - startTime;
+    long delayNanos = Math.max(0, unit.toNanos(delay));
+    // Guard against overflow for very long delays
+    long deadline = delayNanos > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + delayNanos;
+    WheelTimeout timeout = new WheelTimeout(task, deadline);
+    additions.add(timeout);
+    return timeout;
+  }
+
+  @Override
+  public long getPendingTimers() {
+    return pendingTimers.get();
+  }
+
+  /**
+   * Stops the worker. Timers that have not fired yet are dropped; their
+   * owners are expected to have handled them in their own shutdown.
+   */
+  @PreDestroy
+  public void shutdown() {
+    running = false;
+    worker.interrupt();
+    try {
+      worker.join(TimeUnit.SECONDS.toMillis(1));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void runWorker() {
+    while (running) {
+      long deadline = waitForNextTick();
+      if (deadline < 0) {
+        break;
+      }
+      Bucket bucket = wheel[(int) (tick & mask)];
+      removeCancelled();
+      transferAdditions();
+      bucket.expire(deadline);
+      tick++;
+    }
+    log.debug("Timing wheel stopped with {} pending timers", pendingTimers.get());
+  }
+
+  /**
+   * Sleeps until the end of the current tick.
+   *
+   * @return The time since start in nanos, or -1 if the wheel was stopped
+   */
+  private long waitForNextTick() {
+    long deadline = tickNanos * (tick + 1);
+    while (true) {
+      long current = System.nanoTime() - startTime;
+      long sleepMillis = (deadline - current + 999_999) / 1_000_000;
+      if (sleepMillis <= 0) {
+        return current;
+      }
+      try {
+        Thread.sleep(sleepMillis);
+      } catch (InterruptedException e) {
+        if (!running) {
+          return -1;
+        }
+      }
+    }
+  }
+
+  private void transferAdditions() {
+    for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+      WheelTimeout timeout = additions.poll();
+      if (timeout == null) {
+        return;
+      }
+      if (timeout.state.get() != STATE_PENDING) {
+        continue;
+      }
+      long calculated = timeout.deadline / tickNanos;
+      timeout.remainingRounds = (calculated - tick) / wheel.length;
+      // A timer whose deadline has already passed goes into the current bucket
+      long ticks = Math.max(calculated, tick);
+      wheel[(int) (ticks & mask)].add(timeout);
+    }
+  }
+
+  private void removeCancelled() {
+    WheelTimeout timeout;
+    while ((timeout = cancellations.poll()) != null) {
+      if (timeout.bucket != null) {
+        timeout.bucket.remove(timeout);
+      }
+    }
+  }
+
+  /**
+   * A scheduled task and its position in the wheel.
+   */
+  private final class WheelTimeout implements Timeout {
+    private final Runnable task;
+    private final long deadline;
+    private final AtomicInteger state = new AtomicInteger(STATE_PENDING);
+    private long remainingRounds;
+    private Bucket bucket;
+    private WheelTimeout next;
+    private WheelTimeout prev;
+
+    private WheelTimeout(Runnable task, long deadline) {
+      this.task = task;
+      this.deadline = deadline;
+    }
+
+    @Override
+    public boolean cancel() {
+      if (!state.compareAndSet(STATE_PENDING, STATE_CANCELLED)) {
+        return false;
+      }
+      pendingTimers.decrementAndGet();
+      cancellations.add(this);
+      return true;
+    }
+
+    @Override
+    public boolean isExpired() {
+      return state.get() == STATE_EXPIRED;
+    }
+
+    @Override
+    public boolean isCancelled() {
+      return state.get() == STATE_CANCELLED;
+    }
+
+    private void expire(long now) {
+      if (!state.compareAndSet(STATE_PENDING, STATE_EXPIRED)) {
+        return;
+      }
+      pendingTimers.decrementAndGet();
+      lag.record(Math.max(0, now - deadline), TimeUnit.NANOSECONDS);
+      try {
+        task.run();
+      } catch (Throwable t) {
+        log.warn("Timer task {} failed", task, t);
+      }
+    }
+  }
+
+  /**
+   * Doubly linked list of the timers that map to one slot of the wheel. Only
+   * modified by the worker thread.
+   */
+  private static final class Bucket {
+    private WheelTimeout head;
+    private WheelTimeout tail;
+
+    private void add(WheelTimeout timeout) {
+      timeout.bucket = this;
+      if (head == null) {
+        head = tail = timeout;
+      } else {
+        tail.next = timeout;
+        timeout.prev = tail;
+        tail = timeout;
+      }
+    }
+
+    private void expire(long now) {
+      WheelTimeout timeout = head;
+      while (timeout != null) {
+        WheelTimeout next = timeout.next;
+        if (timeout.remainingRounds <= 0) {
+          remove(timeout);
+          timeout.expire(now);
+        } else if (timeout.isCancelled()) {
+          remove(timeout);
+        } else {
+          timeout.remainingRounds--;
+        }
+        timeout = next;
+      }
+    }
+
+    private void remove(WheelTimeout timeout) {
+      if (timeout.bucket != this) {
+        return;
+      }
+      if (timeout.prev != null) {
+        timeout.prev.next = timeout.next;
+      } else {
+        head = timeout.next;
+      }
+      if (timeout.next != null) {
+        timeout.next.prev = timeout.prev;
+      } else {
+        tail = timeout.prev;
+      }
+      timeout.next = null;
+      timeout.prev = null;
+      timeout.bucket = null;
+    }
+  }
+}
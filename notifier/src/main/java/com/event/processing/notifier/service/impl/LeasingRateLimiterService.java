@@ -0,0 +1,228 @@
+package com.event.processing.notifier.service.impl;
+
+import com.event.processing.notifier.service.RateLimiterService;
+import com.event.processing.notifier.util.RateLimitProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.event.processing.notifier.util.PromeTheusMetricContants.RATE_LIMITER_LEASE_COUNT;
+
+/**
+ * Base class for Redis rate limiter engines that lease blocks of tokens.
+ * Instead of asking Redis for every batch, each instance takes a block of
+ * tokens from the account's shared Redis budget and spends it locally until
+ * it runs out or expires. Tokens are only ever spent after Redis granted
+ * them, so the limit still holds across all instances.
+ * <p>
+ * Unspent tokens of an expired lease are discarded, and every discarded
+ * token is quota the account never gets to use. Blocks are therefore sized
+ * to the account's recent demand: besides the tokens needed right away, a
+ * lease only takes as many tokens as the account spent on this instance in
+ * the last lease lifetime, up to leaseSize and never more than the account's
+ * limit. An account sending a few events per lease lifetime leases what it
+ * sends; only busy accounts lease full blocks, and they spend them before
+ * they expire.
+ * <p>
+ * Leases live in a bounded cache and are forgotten once unused for two lease
+ * lifetimes, by which time both their tokens and their demand are stale.
+ * <p>
+ * Key features:
+ * - Local spending of leased tokens
+ * - Lease blocks sized to recent demand
+ * - Partial blocks when a full block is not available
+ * - All-or-nothing and partial admission of batches
+ * - Bounded lifetime of unspent tokens
+ * - Bounded, expiring lease cache
+ * - Fail-safe behavior on Redis failures
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Slf4j
+public abstract class LeasingRateLimiterService implements RateLimiterService {
+
+  protected final RateLimitProperties rateLimitProperties;
+  private final MeterRegistry meterRegistry;
+  private final String engine;
+  private final Cache<String, TokenLease> leases;
+
+  protected LeasingRateLimiterService(RateLimitProperties rateLimitProperties, MeterRegistry meterRegistry,
+                                      String engine) {
+    this.rateLimitProperties = rateLimitProperties;
+    this.meterRegistry = meterRegistry;
+    this.engine = engine;
+    this.leases = Caffeine.newBuilder()
+        .maximumSize(rateLimitProperties.getLeaseCacheMaxSize())
+        .expireAfterAccess(rateLimitProperties.getLeaseTtl().multipliedBy(2))
+        .build();
+  }
+
+  /**
+   * Atomically takes between minimum and permits tokens from the account's
+   * shared budget in Redis, as many as the budget allows.
+   *
+   * @param accountId The account ID
+   * @param permits   The maximum number of tokens to take
+   * @param minimum   The minimum number of tokens worth taking
+   * @return The number of tokens taken, or 0 if fewer than minimum were
+   * available, in which case none are taken
+   */
+  protected abstract int acquire(String accountId, int permits, int minimum);
+
+  @Override
+  public boolean isAllow(String accountId) {
+    return areEventsAllowed(accountId, 1);
+  }
+
+  /**
+   * Checks if multiple events for an account can be processed without
+   * exceeding rate limits, spending leased tokens first and leasing a new
+   * block from Redis only when they run out.
+   *
+   * @param accountId The account ID to check
+   * @param count     The number of events to check
+   * @return true if the events can be processed without exceeding rate limits,
+   * false otherwise
+   */
+  @Override
+  public boolean areEventsAllowed(String accountId, int count) {
+    return take(accountId, count, count) == count;
+  }
+
+  /**
+   * Counts how many events of a batch may be processed, spending leased tokens
+   * first and leasing what is left of a new block from Redis when they run
+   * out.
+   *
+   * @param accountId The account ID to check
+   * @param count     The number of events to check
+   * @return The number of events that may be processed, between 0 and count
+   */
+  @Override
+  public int countAllowedEvents(String accountId, int count) {
+    return take(accountId, count, 1);
+  }
+
+  /**
+   * Takes up to count tokens, leased ones first. A new block is leased from
+   * Redis when the leased tokens do not cover count, sized by
+   * {@link #blockSize(int, int)}; Redis may grant less than the block, but at
+   * least what is needed to reach required.
+   *
+   * @param accountId The account ID
+   * @param count     The number of tokens wanted
+   * @param required  The number of tokens below which nothing is taken
+   * @return The number of tokens taken, either 0 or between required and count
+   */
+  private int take(String accountId, int count, int required) {
+    TokenLease lease = leases.get(accountId, key -> new TokenLease());
+    lease.lock.lock();
+    try {
+      long now = System.nanoTime();
+      long ttlNanos = rateLimitProperties.getLeaseTtl().toNanos();
+      int available = lease.available(now);
+      if (available >= count) {
+        lease.remaining -= count;
+        lease.recordTaken(count, now, ttlNanos);
+        count("local");
+        return count;
+      }
+
+      int block = blockSize(count - available, lease.recentDemand(now, ttlNanos));
+      int granted = acquire(accountId, block, Math.max(1, required - available));
+      int total = available + granted;
+      if (total < required) {
+        count("denied");
+        log.warn("Rate limit exceeded for account: {}. Attempted to process {} events", accountId, count);
+        return 0;
+      }
+
+      int taken = Math.min(count, total);
+      if (granted > 0) {
+        lease.refill(total - taken, now + ttlNanos);
+        count("redis");
+      } else {
+        lease.remaining -= taken;
+        count("local");
+      }
+      lease.recordTaken(taken, now, ttlNanos);
+      if (taken < count) {
+        log.warn("Rate limit exceeded for account: {}. Allowed {} of {} events", accountId, taken, count);
+      }
+      return taken;
+    } catch (Exception e) {
+      log.error("Error checking rate limit for account: {} with count {}", accountId, count, e);
+      return count; // Fail-safe: Allow request in case of Redis failure
+    } finally {
+      lease.lock.unlock();
+    }
+  }
+
+  /**
+   * Sizes a new lease: the tokens needed now plus the account's recent
+   * demand, capped at leaseSize and at the account's limit per window, but
+   * never less than what is needed now.
+   *
+   * @param needed       The number of tokens needed right away
+   * @param recentDemand The number of tokens taken in the last lease lifetime
+   * @return The number of tokens to ask Redis for
+   */
+  private int blockSize(int needed, int recentDemand) {
+    int cap = Math.min(rateLimitProperties.getLeaseSize(), rateLimitProperties.getEvent());
+    return Math.max(needed, (int) Math.min((long) needed + recentDemand, cap));
+  }
+
+  private void count(String result) {
+    meterRegistry.counter(RATE_LIMITER_LEASE_COUNT, "engine", engine, "result", result).increment();
+  }
+
+  /**
+   * Tokens of one account leased by this instance, and the tokens it took in
+   * the current and the previous lease lifetime. A lock rather than
+   * synchronized guards it, so virtual threads waiting on a Redis call do not
+   * pin their carrier thread.
+   */
+  private static final class TokenLease {
+    private final ReentrantLock lock = new ReentrantLock();
+    private int remaining;
+    private long expiresAtNanos;
+    private long windowStartNanos = System.nanoTime();
+    private int windowTaken;
+    private int previousWindowTaken;
+
+    private int available(long now) {
+      if (remaining > 0 && now - expiresAtNanos >= 0) {
+        remaining = 0;
+      }
+      return remaining;
+    }
+
+    private void refill(int tokens, long expiresAt) {
+      this.remaining = tokens;
+      this.expiresAtNanos = expiresAt;
+    }
+
+    private void recordTaken(int tokens, long now, long windowNanos) {
+      roll(now, windowNanos);
+      windowTaken += tokens;
+    }
+
+    private int recentDemand(long now, long windowNanos) {
+      roll(now, windowNanos);
+      return Math.max(windowTaken, previousWindowTaken);
+    }
+
+    private void roll(long now, long windowNanos) {
+      long elapsed = now - windowStartNanos;
+      if (elapsed >= windowNanos) {
+        previousWindowTaken = elapsed >= 2 * windowNanos ? 0 : windowTaken;
+        windowTaken = 0;
+        windowStartNanos = now;
+      }
+    }
+  }
+}
@@ -0,0 +1,190 @@
+package com.event.processing.notifier.service.impl;
+
+import com.event.processing.notifier.service.DeduplicationService;
+import com.event.processing.notifier.util.DeduplicationProperties;
+import com.event.processing.notifier.util.RecentIdCache;
+import com.event.processing.notifier.util.RotatingBloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.event.processing.notifier.util.PromeTheusMetricContants.DEDUPLICATION_NEAR_CACHE_COUNT;
+
+/**
+ * Two-tier implementation of DeduplicationService with a local near-cache in
+ * front of Redis.
+ * The first tier is an exact cache of recently processed event IDs plus a
+ * rotating Bloom filter of every event this instance marked as processed within
+ * the expiry time. Exact hits are answered locally and possible hits are
+ * checked against the Redis tier. Bloom filter negatives only mean this
+ * instance has not seen the event, so they are checked against Redis too,
+ * unless trusting local negatives was explicitly enabled.
+ * <p>
+ * Key features:
+ * - Local exact hits for events replayed after rebalances
+ * - Optional local Bloom filter negatives without a Redis round trip
+ * - Redis fallback for possible hits
+ * - Hit, negative and false-positive metrics
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Slf4j
+@Primary
+@Service
+@ConditionalOnProperty(name = "deduplication.near-cache.enabled", havingValue = "true")
+public class NearCacheDeduplicationServiceImpl implements DeduplicationService {
+
+  private final RedisDeduplicationServiceImpl redisDeduplicationService;
+  private final DeduplicationProperties.NearCache properties;
+  private final RecentIdCache recentIds;
+  private final RotatingBloomFilter bloomFilter;
+  private final Counter localHits;
+  private final Counter localNegatives;
+  private final Counter redisHits;
+  private final Counter falsePositives;
+
+  public NearCacheDeduplicationServiceImpl(RedisDeduplicationServiceImpl redisDeduplicationService,
+                                           DeduplicationProperties deduplicationProperties,
+                                           MeterRegistry meterRegistry) {
+    this.redisDeduplicationService = redisDeduplicationService;
+    this.properties = deduplicationProperties.getNearCache();
+    this.recentIds = new RecentIdCache(properties.getRecentCapacity(), RedisDeduplicationServiceImpl.EXPIRY_TIME);
+    this.bloomFilter = new RotatingBloomFilter(properties.getExpectedInsertions(),
+        properties.getFalsePositiveProbability(), RedisDeduplicationServiceImpl.EXPIRY_TIME);
+    this.localHits = meterRegistry.counter(DEDUPLICATION_NEAR_CACHE_COUNT, "result", "local_hit");
+    this.localNegatives = meterRegistry.counter(DEDUPLICATION_NEAR_CACHE_COUNT, "result", "local_negative");
+    this.redisHits = meterRegistry.counter(DEDUPLICATION_NEAR_CACHE_COUNT, "result", "redis_hit");
+    this.falsePositives = meterRegistry.counter(DEDUPLICATION_NEAR_CACHE_COUNT, "result", "false_positive");
+  }
+
+  /**
+   * Checks an event against the local tier and, only for possible hits, Redis.
+   *
+   * @param eventId The unique identifier of the event to check
+   * @return true if the event is a duplicate and should be skipped, false
+   * otherwise
+   */
+  @Override
+  public boolean isDuplicate(String eventId) {
+    if (recentIds.contains(eventId)) {
+      localHits.increment();
+      return true;
+    }
+    if (!bloomFilter.mightContain(eventId)) {
+      localNegatives.increment();
+      if (properties.isTrustLocalNegatives()) {
+        return false;
+      }
+    }
+
+    boolean duplicate = redisDeduplicationService.isDuplicate(eventId);
+    recordRedisAnswer(eventId, duplicate);
+    return duplicate;
+  }
+
+  /**
+   * Checks a batch of events, sending only the events the local tier cannot
+   * answer to Redis in one MGET.
+   *
+   * @param eventIds The unique identifiers of the events to check
+   * @return The subset of event IDs that are duplicates and should be skipped
+   */
+  @Override
+  public Set<String> findDuplicates(Collection<String> eventIds) {
+    Set<String> duplicates = new HashSet<>();
+    List<String> unresolved = new ArrayList<>();
+
+    for (String eventId : eventIds) {
+      if (recentIds.contains(eventId)) {
+        localHits.increment();
+        duplicates.add(eventId);
+      } else if (!bloomFilter.mightContain(eventId)) {
+        localNegatives.increment();
+        if (!properties.isTrustLocalNegatives()) {
+          unresolved.add(eventId);
+        }
+      } else {
+        unresolved.add(eventId);
+      }
+    }
+
+    if (!unresolved.isEmpty()) {
+      Set<String> redisDuplicates = redisDeduplicationService.findDuplicates(unresolved);
+      unresolved.forEach(eventId -> recordRedisAnswer(eventId, redisDuplicates.contains(eventId)));
+      duplicates.addAll(redisDuplicates);
+    }
+    log.debug("Checked {} events, {} sent to Redis, {} duplicates", eventIds.size(), unresolved.size(),
+        duplicates.size());
+    return duplicates;
+  }
+
+  @Override
+  public void markProcessed(String eventId) {
+    redisDeduplicationService.markProcessed(eventId);
+    remember(eventId);
+  }
+
+  @Override
+  public void markAllProcessed(Collection<String> eventIds) {
+    redisDeduplicationService.markAllProcessed(eventIds);
+    eventIds.forEach(this::remember);
+  }
+
+  /**
+   * Claims always go to Redis, since only Redis can arbitrate between
+   * instances. Events Redis reports as processed are remembered locally.
+   *
+   * @param eventId The unique identifier of the event to claim
+   * @return The outcome of the claim attempt
+   */
+  @Override
+  public ClaimResult tryClaim(String eventId) {
+    ClaimResult result = redisDeduplicationService.tryClaim(eventId);
+    if (result == ClaimResult.ALREADY_PROCESSED) {
+      remember(eventId);
+    }
+    return result;
+  }
+
+  @Override
+  public boolean completeClaim(String eventId) {
+    boolean completed = redisDeduplicationService.completeClaim(eventId);
+    if (completed) {
+      remember(eventId);
+    }
+    return completed;
+  }
+
+  @Override
+  public void releaseClaim(String eventId) {
+    redisDeduplicationService.releaseClaim(eventId);
+  }
+
+  private void remember(String eventId) {
+    recentIds.put(eventId);
+    bloomFilter.put(eventId);
+  }
+
+  /**
+   * Records the outcome of a Redis lookup the local tier could not answer.
+   * A Redis hit is remembered locally so the next replay is answered locally.
+   */
+  private void recordRedisAnswer(String eventId, boolean duplicate) {
+    if (duplicate) {
+      redisHits.increment();
+      remember(eventId);
+    } else if (bloomFilter.mightContain(eventId)) {
+      falsePositives.increment();
+    }
+  }
+}
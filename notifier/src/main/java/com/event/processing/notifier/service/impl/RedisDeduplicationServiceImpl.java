@@ -1,12 +1,27 @@
 package com.event.processing.notifier.service.impl;
 
 import com.event.processing.notifier.service.DeduplicationService;
+import com.event.processing.notifier.util.DeduplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.event.processing.notifier.util.PromeTheusMetricContants.DEDUPLICATION_CLAIM_CONFLICT_COUNT;
 
 /**
  * Redis-based implementation of DeduplicationService for event deduplication.
@@ -20,6 +35,8 @@ import java.time.Duration;
  * - Configurable event expiry time
  * - Automatic cleanup of old events
  * - Detailed logging of deduplication checks
+ * - Batch checks with MGET and pipelined batch marking
+ * - Atomic SET NX PX claims with a processing lease
  *
  * @author LongLe
  * @version 1.0
@@ -38,16 +55,58 @@ public class RedisDeduplicationServiceImpl implements DeduplicationService {
    * Duration after which deduplication entries expire from Redis.
    * This ensures automatic cleanup of old event records.
    */
-  private static final Duration EXPIRY_TIME = Duration.ofMinutes(30); // Configurable
+  static final Duration EXPIRY_TIME = Duration.ofMinutes(30); // Configurable
+
+  /**
+   * Value stored for events that have been processed successfully.
+   */
+  private static final String PROCESSED_VALUE = "1";
+
+  /**
+   * Prefix of the value stored while an event is claimed for processing.
+   */
+  private static final String LEASE_VALUE_PREFIX = "processing:";
+
+  /**
+   * Lua script deleting a lease only if it is still held by the caller.
+   */
+  private static final String RELEASE_CLAIM_SCRIPT =
+      "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+      "  return redis.call('DEL', KEYS[1]) " +
+      "else " +
+      "  return 0 " +
+      "end";
+
+  /**
+   * Lua script replacing a lease with the processed marker, expiring after
+   * ARGV[3] milliseconds, only if it is still held by the caller.
+   */
+  private static final String COMPLETE_CLAIM_SCRIPT =
+      "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+      "  redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3]) " +
+      "  return 1 " +
+      "else " +
+      "  return 0 " +
+      "end";
 
   private final StringRedisTemplate redisTemplate;
+  private final DeduplicationProperties deduplicationProperties;
+  private final MeterRegistry meterRegistry;
+
+  /**
+   * Lease value identifying claims taken by this instance.
+   */
+  private final String leaseValue = LEASE_VALUE_PREFIX + UUID.randomUUID();
 
   /**
    * Checks if an event has already been processed.
-   * This method uses Redis to check for the existence of an event record:
+   * This method uses Redis to check the event record:
    * - Constructs a unique key for the event
-   * - Checks if the key exists in Redis
+   * - Reads the value stored under the key
    * - Logs the result of the check
+   * <p>
+   * As in {@link #findDuplicates}, only events marked as processed count as
+   * duplicates; an event under a processing lease is left to the claim step.
    *
    * @param eventId The unique identifier of the event to check
    * @return true if the event is a duplicate and should be skipped, false
@@ -56,9 +115,9 @@ public class RedisDeduplicationServiceImpl implements DeduplicationService {
   @Override
   public boolean isDuplicate(String eventId) {
     String key = KEY_PREFIX + eventId;
-    Boolean exists = redisTemplate.hasKey(key);
-    log.debug("Checking duplicate for eventId {}: {}", eventId, exists);
-    return Boolean.TRUE.equals(exists);
+    boolean processed = PROCESSED_VALUE.equals(redisTemplate.opsForValue().get(key));
+    log.debug("Checking duplicate for eventId {}: {}", eventId, processed);
+    return processed;
   }
 
   /**
@@ -73,7 +132,134 @@ public class RedisDeduplicationServiceImpl implements DeduplicationService {
   @Override
   public void markProcessed(String eventId) {
     String key = KEY_PREFIX + eventId;
-    redisTemplate.opsForValue().set(key, "1", EXPIRY_TIME);
-    log.info("Marked event {} as processed in Redis", eventId);
+    redisTemplate.opsForValue().set(key, PROCESSED_VALUE, EXPIRY_TIME);
+    log.debug("Marked event {} as processed in Redis", eventId);
+  }
+
+  /**
+   * Checks a batch of events with a single MGET round trip.
+   * Only events marked as processed count as duplicates; events under a
+   * processing lease are left to the claim step.
+   *
+   * @param eventIds The unique identifiers of the events to check
+   * @return The subset of event IDs that are marked as processed in Redis
+   */
+  @Override
+  public Set<String> findDuplicates(Collection<String> eventIds) {
+    if (eventIds.isEmpty()) {
+      return Set.of();
+    }
+
+    List<String> ids = List.copyOf(eventIds);
+    List<String> values = redisTemplate.opsForValue().multiGet(ids.stream().map(id -> KEY_PREFIX + id).toList());
+    if (values == null) {
+      return Set.of();
+    }
+
+    Set<String> duplicates = new HashSet<>();
+    for (int i = 0; i < ids.size(); i++) {
+      if (PROCESSED_VALUE.equals(values.get(i))) {
+        duplicates.add(ids.get(i));
+      }
+    }
+    log.debug("Checked {} events for duplicates, found {}", ids.size(), duplicates.size());
+    return duplicates;
+  }
+
+  /**
+   * Marks a batch of events as processed with one pipelined round trip of
+   * SET commands carrying the expiry time.
+   *
+   * @param eventIds The unique identifiers of the processed events
+   */
+  @Override
+  public void markAllProcessed(Collection<String> eventIds) {
+    if (eventIds.isEmpty()) {
+      return;
+    }
+
+    byte[] value = PROCESSED_VALUE.getBytes(StandardCharsets.UTF_8);
+    Expiration expiration = Expiration.from(EXPIRY_TIME);
+    redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+      eventIds.forEach(eventId -> connection.stringCommands().set(
+          (KEY_PREFIX + eventId).getBytes(StandardCharsets.UTF_8), value, expiration,
+          RedisStringCommands.SetOption.upsert()));
+      return null;
+    });
+    log.debug("Marked {} events as processed in Redis", eventIds.size());
+  }
+
+  /**
+   * Claims an event with SET NX PX, storing this instance's lease value for the
+   * configured lease duration. When the key already exists a GET tells a
+   * processed event apart from one claimed by another worker.
+   *
+   * @param eventId The unique identifier of the event to claim
+   * @return The outcome of the claim attempt
+   */
+  @Override
+  public ClaimResult tryClaim(String eventId) {
+    String key = KEY_PREFIX + eventId;
+    Boolean claimed = redisTemplate.opsForValue()
+        .setIfAbsent(key, leaseValue, deduplicationProperties.getLeaseDuration());
+    if (Boolean.TRUE.equals(claimed)) {
+      log.debug("Claimed event {}", eventId);
+      return ClaimResult.CLAIMED;
+    }
+
+    String current = redisTemplate.opsForValue().get(key);
+    if (current == null) {
+      // The marker expired between SET NX and GET; claim again on the next delivery
+      meterRegistry.counter(DEDUPLICATION_CLAIM_CONFLICT_COUNT, "state", "expired").increment();
+      return ClaimResult.IN_PROGRESS;
+    }
+    if (PROCESSED_VALUE.equals(current)) {
+      meterRegistry.counter(DEDUPLICATION_CLAIM_CONFLICT_COUNT, "state", "processed").increment();
+      return ClaimResult.ALREADY_PROCESSED;
+    }
+    meterRegistry.counter(DEDUPLICATION_CLAIM_CONFLICT_COUNT, "state", "in_progress").increment();
+    log.debug("Event {} is claimed by {}", eventId, current);
+    return ClaimResult.IN_PROGRESS;
+  }
+
+  /**
+   * Promotes this instance's lease on an event to the processed marker with a
+   * compare-and-set script, so an event whose lease expired and was taken
+   * over by another worker is left to that worker.
+   *
+   * @param eventId The unique identifier of the claimed event
+   * @return true if the event was marked as processed, false if the lease was
+   * no longer held by this instance
+   */
+  @Override
+  public boolean completeClaim(String eventId) {
+    Long completed = redisTemplate.execute(
+        RedisScript.of(COMPLETE_CLAIM_SCRIPT, Long.class),
+        Collections.singletonList(KEY_PREFIX + eventId),
+        leaseValue,
+        PROCESSED_VALUE,
+        String.valueOf(EXPIRY_TIME.toMillis()));
+    if (completed == null || completed == 0) {
+      meterRegistry.counter(DEDUPLICATION_CLAIM_CONFLICT_COUNT, "state", "lease_lost").increment();
+      log.warn("Lease on event {} was lost before it could be marked as processed", eventId);
+      return false;
+    }
+    log.debug("Completed claim on event {}", eventId);
+    return true;
+  }
+
+  /**
+   * Releases this instance's lease on an event with a compare-and-delete
+   * script, so a lease taken over by another worker is never removed.
+   *
+   * @param eventId The unique identifier of the claimed event
+   */
+  @Override
+  public void releaseClaim(String eventId) {
+    redisTemplate.execute(
+        RedisScript.of(RELEASE_CLAIM_SCRIPT, Long.class),
+        Collections.singletonList(KEY_PREFIX + eventId),
+        leaseValue);
+    log.debug("Released claim on event {}", eventId);
   }
 }
@@ -0,0 +1,351 @@
+package com.event.processing.notifier.service.impl;
+
+import com.event.processing.notifier.domain.dto.DeferredEventDTO;
+import com.event.processing.notifier.domain.dto.WebhookEventDTO;
+import com.event.processing.notifier.producer.EventProducer;
+import com.event.processing.notifier.service.DeferredEventService;
+import com.event.processing.notifier.service.DelayedTaskScheduler;
+import com.event.processing.notifier.service.RateLimiterService;
+import com.event.processing.notifier.util.DeferralProperties;
+import com.event.processing.notifier.util.EventLatencyProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.event.processing.notifier.util.PromeTheusMetricContants.RATE_LIMIT_DEFERRED_COUNT;
+import static com.event.processing.notifier.util.PromeTheusMetricContants.RATE_LIMIT_READMISSION_DELAY;
+
+/**
+ * Redis-based implementation of DeferredEventService.
+ * Rate-limited events are stored in a sorted set scored by the time they are
+ * due, which is when the account's rate limit budget reopens. A poller claims
+ * due events, republishes them to the webhook event topic and removes them.
+ * <p>
+ * Claiming moves an event's score into the future by the claim timeout
+ * instead of removing it, so an event claimed by an instance that dies before
+ * republishing it becomes due again rather than being lost.
+ * <p>
+ * The sorted set stays the durable, shared record of deferred events; only
+ * the decision when to look at it is local. Polls are timers on the shared
+ * timing wheel: one re-arms itself at the poll interval to pick up events
+ * deferred by any instance, and each deferral adds a wake-up at its earliest
+ * due time so that this instance's own events return without waiting for the
+ * next poll. The polls themselves run on the consumer thread pool.
+ * <p>
+ * Key features:
+ * - Redis sorted set as a shared timer across instances
+ * - Poll and due-time wake-ups on the shared timing wheel
+ * - Account-aware due times with jitter
+ * - Atomic claiming of due events
+ * - Metrics for deferred events by account tier and time to re-admission
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Slf4j
+@Service
+public class RedisDeferredEventServiceImpl implements DeferredEventService {
+
+  /**
+   * Key of the sorted set holding deferred events.
+   */
+  private static final String DEFERRED_EVENTS_KEY = "deferred-events";
+
+  /**
+   * Lua script claiming up to ARGV[2] events due at ARGV[1] by moving their
+   * score to ARGV[3]. Returns the claimed members.
+   */
+  private static final String CLAIM_DUE_SCRIPT =
+      "local due = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2]) " +
+      "for _, member in ipairs(due) do " +
+      "  redis.call('ZADD', KEYS[1], ARGV[3], member) " +
+      "end " +
+      "return due";
+
+  @SuppressWarnings("rawtypes")
+  private static final RedisScript<List> CLAIM_DUE = RedisScript.of(CLAIM_DUE_SCRIPT, List.class);
+
+  private final StringRedisTemplate redisTemplate;
+  private final RateLimiterService rateLimiterService;
+  private final EventProducer eventProducer;
+  private final ObjectMapper objectMapper;
+  private final DeferralProperties properties;
+  private final EventLatencyProperties tierProperties;
+  private final MeterRegistry meterRegistry;
+  private final DelayedTaskScheduler delayedTaskScheduler;
+  private final Executor pollExecutor;
+  private final Timer readmissionDelay;
+  private final AtomicBoolean polling = new AtomicBoolean();
+  private volatile boolean running = true;
+
+  @Value("${spring.kafka.topic.webhook-event.name:webhook-events}")
+  private String topic;
+
+  public RedisDeferredEventServiceImpl(StringRedisTemplate redisTemplate, RateLimiterService rateLimiterService,
+                                       EventProducer eventProducer, ObjectMapper objectMapper,
+                                       DeferralProperties properties, EventLatencyProperties tierProperties,
+                                       MeterRegistry meterRegistry,
+                                       DelayedTaskScheduler delayedTaskScheduler,
+                                       @Qualifier("kafkaConsumerExecutor") Executor pollExecutor) {
+    this.redisTemplate = redisTemplate;
+    this.rateLimiterService = rateLimiterService;
+    this.eventProducer = eventProducer;
+    this.objectMapper = objectMapper;
+    this.properties = properties;
+    this.tierProperties = tierProperties;
+    this.meterRegistry = meterRegistry;
+    this.delayedTaskScheduler = delayedTaskScheduler;
+    this.pollExecutor = pollExecutor;
+    this.readmissionDelay = Timer.builder(RATE_LIMIT_READMISSION_DELAY)
+        .description("Time from deferring a rate-limited event to re-admitting it")
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+  /**
+   * Starts the periodic poll for due events.
+   */
+  @PostConstruct
+  public void start() {
+    schedulePoll(properties.getPollInterval().toMillis(), true);
+  }
+
+  /**
+   * Stops scheduling further polls.
+   */
+  @PreDestroy
+  public void stop() {
+    running = false;
+  }
+
+  /**
+   * Parks events until the account's budget reopens, plus a random jitter per
+   * event.
+   *
+   * @param accountId The account ID the events belong to
+   * @param events    The rate-limited events
+   */
+  @Override
+  public void defer(String accountId, List<WebhookEventDTO> events) {
+    long delayMillis = rateLimiterService.retryAfter(accountId).toMillis();
+    park(events, delayMillis);
+    meterRegistry.counter(RATE_LIMIT_DEFERRED_COUNT, "tier", tierProperties.tierOf(accountId))
+        .increment(events.size());
+    log.info("Deferred {} events for account {} by {} ms", events.size(), accountId, delayMillis);
+  }
+
+  /**
+   * Parks events for the given delay, plus a random jitter per event.
+   *
+   * @param events The events to park
+   * @param delay  How long to park them
+   */
+  @Override
+  public void defer(List<WebhookEventDTO> events, Duration delay) {
+    park(events, delay.toMillis());
+    log.info("Deferred {} events by {} ms", events.size(), delay.toMillis());
+  }
+
+  /**
+   * Adds events to the sorted set in a single ZADD and schedules a poll for
+   * when the first of them is due.
+   *
+   * @param events      The events to park
+   * @param delayMillis How long to park them before the jitter
+   */
+  private void park(List<WebhookEventDTO> events, long delayMillis) {
+    long now = System.currentTimeMillis();
+    long dueAt = now + delayMillis;
+    long maxJitter = properties.getMaxJitter().toMillis();
+
+    Set<ZSetOperations.TypedTuple<String>> entries = new HashSet<>();
+    long firstDueAt = Long.MAX_VALUE;
+    for (WebhookEventDTO event : events) {
+      long jitter = maxJitter > 0 ? ThreadLocalRandom.current().nextLong(maxJitter) : 0;
+      entries.add(new DefaultTypedTuple<>(serialize(new DeferredEventDTO(event, now)), (double) (dueAt + jitter)));
+      firstDueAt = Math.min(firstDueAt, dueAt + jitter);
+    }
+
+    redisTemplate.opsForZSet().add(DEFERRED_EVENTS_KEY, entries);
+    schedulePoll(firstDueAt - now, false);
+  }
+
+  /**
+   * Re-admits due events until fewer than a full batch are due. Does nothing
+   * while another poll is running, since that poll keeps going as long as it
+   * finds full batches.
+   */
+  public void pollDueEvents() {
+    if (!properties.isEnabled() || !polling.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      int readmitted;
+      do {
+        readmitted = readmitDueEvents();
+      } while (readmitted == properties.getBatchSize());
+    } catch (Exception e) {
+      log.error("Failed to re-admit deferred events", e);
+    } finally {
+      polling.set(false);
+    }
+  }
+
+  /**
+   * Schedules a poll on the timing wheel.
+   *
+   * @param delayMillis How long to wait before polling
+   * @param periodic    Whether the poll re-arms itself at the poll interval
+   */
+  private void schedulePoll(long delayMillis, boolean periodic) {
+    if (!running) {
+      return;
+    }
+    try {
+      delayedTaskScheduler.schedule(() -> runPoll(periodic), delayMillis, TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      log.error("Could not schedule a poll for deferred events: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Hands a due poll over to the poll executor, so that the Redis and Kafka
+   * calls do not run on the timing wheel's thread.
+   *
+   * @param periodic Whether the poll re-arms itself at the poll interval
+   */
+  private void runPoll(boolean periodic) {
+    try {
+      pollExecutor.execute(() -> {
+        try {
+          pollDueEvents();
+        } finally {
+          if (periodic) {
+            schedulePoll(properties.getPollInterval().toMillis(), true);
+          }
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      log.warn("Poll for deferred events was rejected by the executor: {}", e.getMessage());
+      if (periodic) {
+        schedulePoll(properties.getPollInterval().toMillis(), true);
+      }
+    }
+  }
+
+  /**
+   * Claims up to one batch of due events, republishes them to the webhook
+   * event topic under their account ID and removes them from the sorted set.
+   * An event is only removed once the broker has acknowledged its
+   * republication; events whose send failed or was not acknowledged before
+   * the claim expires stay in the set and become due again after the claim
+   * timeout.
+   *
+   * @return The number of events re-admitted
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public int readmitDueEvents() {
+    long now = System.currentTimeMillis();
+    List<String> due = redisTemplate.execute(
+        CLAIM_DUE,
+        Collections.singletonList(DEFERRED_EVENTS_KEY),
+        String.valueOf(now),
+        String.valueOf(properties.getBatchSize()),
+        String.valueOf(now + properties.getClaimTimeout().toMillis())
+    );
+    if (due == null || due.isEmpty()) {
+      return 0;
+    }
+
+    List<String> handled = new ArrayList<>(due.size());
+    Map<String, CompletableFuture<Void>> sends = new LinkedHashMap<>();
+    for (String member : due) {
+      try {
+        DeferredEventDTO deferred = objectMapper.readValue(member, DeferredEventDTO.class);
+        WebhookEventDTO event = deferred.getEvent();
+        event.setProducedAt(deferred.getProducedAt());
+        sends.put(member, eventProducer.publish(topic, event.getAccountId(), event)
+            .thenRun(() -> readmissionDelay.record(now - deferred.getDeferredAt(), TimeUnit.MILLISECONDS)));
+      } catch (JsonProcessingException e) {
+        log.error("Dropping unreadable deferred event: {}", member, e);
+        handled.add(member);
+      } catch (Exception e) {
+        log.error("Failed to re-admit deferred event, it will be retried after the claim timeout", e);
+      }
+    }
+    awaitSends(sends, now + properties.getClaimTimeout().toMillis());
+    sends.forEach((member, send) -> {
+      if (send.isDone() && !send.isCompletedExceptionally()) {
+        handled.add(member);
+      }
+    });
+
+    if (!handled.isEmpty()) {
+      redisTemplate.opsForZSet().remove(DEFERRED_EVENTS_KEY, handled.toArray());
+    }
+    log.info("Re-admitted {} deferred events", handled.size());
+    return due.size();
+  }
+
+  /**
+   * Waits until every republication has been acknowledged or has failed, but
+   * no longer than until the claim on the events expires. Events still
+   * unacknowledged by then are claimable again, so they are left in place.
+   *
+   * @param sends      The pending sends by sorted set member
+   * @param deadlineMs The epoch milliseconds at which the claim expires
+   */
+  private void awaitSends(Map<String, CompletableFuture<Void>> sends, long deadlineMs) {
+    if (sends.isEmpty()) {
+      return;
+    }
+    try {
+      CompletableFuture.allOf(sends.values().toArray(CompletableFuture[]::new))
+          .get(Math.max(0, deadlineMs - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+    } catch (ExecutionException e) {
+      log.error("Failed to re-admit deferred events, they will be retried after the claim timeout: {}",
+          e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+    } catch (TimeoutException e) {
+      log.warn("Re-admitted events were not acknowledged before their claim expired, they will be retried");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private String serialize(DeferredEventDTO deferred) {
+    try {
+      return objectMapper.writeValueAsString(deferred);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Deferred event could not be serialized", e);
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package com.event.processing.notifier.service.impl;
+
+import com.event.processing.notifier.util.RateLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sliding window counter implementation of RateLimiterService.
+ * Redis keeps the counts of the current and previous fixed windows of an
+ * account in one hash. The number of events in the sliding window is
+ * estimated as the current count plus the previous count weighted by how much
+ * of the previous window still overlaps the sliding window, which removes the
+ * 2x burst of a plain fixed window at constant memory per account.
+ * <p>
+ * Key features:
+ * - One Redis hash per account
+ * - Constant memory, unlike a sliding log
+ * - Redis server time, so instances need no clock synchronization
+ * - Local token leases to reduce Redis calls
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Service
+@ConditionalOnProperty(name = "spring.data.redis.limit.engine", havingValue = "sliding-window")
+public class SlidingWindowRateLimiterServiceImpl extends LeasingRateLimiterService {
+
+  /**
+   * Prefix used for Redis keys holding the window counters.
+   */
+  private static final String RATE_LIMIT_KEY_PREFIX = "rate-limit:sliding:";
+
+  /**
+   * Lua script taking between ARGV[4] and ARGV[1] events, as many as fit, from
+   * a limit of ARGV[2] events per sliding window of ARGV[3] milliseconds.
+   * Returns the number of events taken, or 0 if fewer than ARGV[4] fit.
+   */
+  private static final String SLIDING_WINDOW_SCRIPT =
+      "redis.replicate_commands() " +
+      "local key = KEYS[1] " +
+      "local permits = tonumber(ARGV[1]) " +
+      "local minimum = tonumber(ARGV[4]) " +
+      "local limit = tonumber(ARGV[2]) " +
+      "local window = tonumber(ARGV[3]) " +
+      "local time = redis.call('TIME') " +
+      "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) " +
+      "local index = math.floor(now / window) " +
+      "local data = redis.call('HMGET', key, 'window', 'current', 'previous') " +
+      "local stored = tonumber(data[1]) " +
+      "local current = tonumber(data[2]) or 0 " +
+      "local previous = tonumber(data[3]) or 0 " +
+      "if stored ~= index then " +
+      "  if stored == index - 1 then " +
+      "    previous = current " +
+      "  else " +
+      "    previous = 0 " +
+      "  end " +
+      "  current = 0 " +
+      "end " +
+      "local overlap = 1 - (now % window) / window " +
+      "local capacity = math.floor(limit - previous * overlap - current) " +
+      "local granted = math.min(permits, capacity) " +
+      "if granted < minimum then " +
+      "  return 0 " +
+      "end " +
+      "redis.call('HSET', key, 'window', index, 'current', current + granted, 'previous', previous) " +
+      "redis.call('PEXPIRE', key, window * 2) " +
+      "return granted";
+
+  private static final RedisScript<Long> SLIDING_WINDOW = RedisScript.of(SLIDING_WINDOW_SCRIPT, Long.class);
+
+  private final StringRedisTemplate redisTemplate;
+
+  public SlidingWindowRateLimiterServiceImpl(StringRedisTemplate redisTemplate,
+                                             RateLimitProperties rateLimitProperties,
+                                             MeterRegistry meterRegistry) {
+    super(rateLimitProperties, meterRegistry, "sliding-window");
+    this.redisTemplate = redisTemplate;
+  }
+
+  @Override
+  protected int acquire(String accountId, int permits, int minimum) {
+    long window = TimeUnit.MINUTES.toMillis(rateLimitProperties.getTime());
+    Long granted = redisTemplate.execute(
+        SLIDING_WINDOW,
+        Collections.singletonList(RATE_LIMIT_KEY_PREFIX + accountId),
+        String.valueOf(permits),
+        String.valueOf(rateLimitProperties.getEvent()),
+        String.valueOf(window),
+        String.valueOf(minimum)
+    );
+    return granted == null ? 0 : granted.intValue();
+  }
+
+  /**
+   * Returns the time left in the current fixed window. The previous window's
+   * weight keeps shrinking until then, and at the latest after the next
+   * window boundary the budget is freed. Uses the local clock.
+   *
+   * @param accountId The account ID to check
+   * @return The remaining time of the current fixed window
+   */
+  @Override
+  public Duration retryAfter(String accountId) {
+    long window = TimeUnit.MINUTES.toMillis(rateLimitProperties.getTime());
+    return Duration.ofMillis(window - System.currentTimeMillis() % window);
+  }
+}
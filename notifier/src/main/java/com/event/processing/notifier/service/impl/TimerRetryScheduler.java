@@ -0,0 +1,187 @@
+package com.event.processing.notifier.service.impl;
+
+import com.event.processing.notifier.service.DelayedTaskScheduler;
+import com.event.processing.notifier.service.DeliveryScheduler;
+import com.event.processing.notifier.service.RetryScheduler;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static com.event.processing.notifier.util.PromeTheusMetricContants.WEBHOOK_RETRY_PENDING;
+
+/**
+ * Timer-based implementation of RetryScheduler.
+ * The attempt count and backoff come from the Resilience4j retry instance,
+ * so the policy stays configured under resilience4j.retry and its retry
+ * metrics keep working. Attempts are asynchronous and report their outcome
+ * through a stage, so no thread waits for an attempt to finish. Waiting
+ * between attempts is left to the shared timing wheel, whose thread only
+ * queues due attempts with the delivery scheduler under the operation's
+ * account. Retries therefore take part in fair dispatch across accounts, like
+ * first attempts. An attempt that cannot be queued counts as failed and is
+ * rescheduled under the same policy.
+ * <p>
+ * Key features:
+ * - Resilience4j retry policies without blocking waits
+ * - Asynchronous attempts completing a future
+ * - Backoff timers on the shared timing wheel
+ * - Attempts re-queued with the fair delivery scheduler
+ * - Pending retry gauge
+ * - Pending retries failed on shutdown instead of being lost silently
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Slf4j
+@Service
+public class TimerRetryScheduler implements RetryScheduler {
+
+  private final RetryRegistry retryRegistry;
+  private final DeliveryScheduler deliveryScheduler;
+  private final DelayedTaskScheduler timer;
+  private final Set<RetryExecution<?>> pending = ConcurrentHashMap.newKeySet();
+  private volatile boolean running = true;
+
+  public TimerRetryScheduler(RetryRegistry retryRegistry, DeliveryScheduler deliveryScheduler,
+                             DelayedTaskScheduler delayedTaskScheduler, MeterRegistry meterRegistry) {
+    this.retryRegistry = retryRegistry;
+    this.deliveryScheduler = deliveryScheduler;
+    this.timer = delayedTaskScheduler;
+    Gauge.builder(WEBHOOK_RETRY_PENDING, pending, Set::size)
+        .description("Number of operations waiting for their next attempt")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Starts the first attempt on the calling thread and schedules further
+   * attempts according to the named retry instance once an attempt's stage
+   * has failed.
+   *
+   * @param retryName The name of the Resilience4j retry instance
+   * @param accountId The account later attempts are charged to
+   * @param attempt   Starts one attempt of the operation
+   * @param <T>       The result type of the operation
+   * @return Future that completes with the outcome of the last attempt
+   */
+  @Override
+  public <T> CompletableFuture<T> execute(String retryName, String accountId,
+                                          Supplier<CompletionStage<T>> attempt) {
+    RetryExecution<T> execution = new RetryExecution<>(retryRegistry.retry(retryName), accountId, attempt);
+    execution.run();
+    return execution.result;
+  }
+
+  @Override
+  public int getPendingRetries() {
+    return pending.size();
+  }
+
+  /**
+   * Stops scheduling retries and fails every operation still waiting for an
+   * attempt, so that callers waiting on them are released.
+   */
+  @PreDestroy
+  public void shutdown() {
+    running = false;
+    pending.forEach(execution -> {
+      if (pending.remove(execution)) {
+        DelayedTaskScheduler.Timeout timeout = execution.timeout;
+        if (timeout != null) {
+          timeout.cancel();
+        }
+        execution.result.completeExceptionally(new RejectedExecutionException("Retry scheduler is shut down"));
+      }
+    });
+  }
+
+  /**
+   * One operation and the state of its retries.
+   */
+  private final class RetryExecution<T> {
+    private final Retry retry;
+    private final String accountId;
+    private final Retry.AsyncContext<T> context;
+    private final Supplier<CompletionStage<T>> attempt;
+    private final CompletableFuture<T> result = new CompletableFuture<>();
+    private volatile DelayedTaskScheduler.Timeout timeout;
+
+    private RetryExecution(Retry retry, String accountId, Supplier<CompletionStage<T>> attempt) {
+      this.retry = retry;
+      this.accountId = accountId;
+      this.context = retry.asyncContext();
+      this.attempt = attempt;
+    }
+
+    private void run() {
+      complete(start());
+    }
+
+    private CompletionStage<T> start() {
+      try {
+        return attempt.get();
+      } catch (Exception e) {
+        return CompletableFuture.failedFuture(e);
+      }
+    }
+
+    private void complete(CompletionStage<T> stage) {
+      stage.whenComplete((value, e) -> {
+        if (e != null) {
+          onFailure(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+          return;
+        }
+        context.onComplete();
+        result.complete(value);
+      });
+    }
+
+    private void onFailure(Throwable failure) {
+      long delayMillis = context.onError(failure);
+      if (delayMillis < 0 || !running) {
+        result.completeExceptionally(failure);
+        return;
+      }
+
+      log.debug("Retrying {} in {} ms after: {}", retry.getName(), delayMillis, failure.getMessage());
+      pending.add(this);
+      try {
+        timeout = timer.schedule(this::dispatch, delayMillis, TimeUnit.MILLISECONDS);
+      } catch (RejectedExecutionException e) {
+        log.warn("Could not schedule retry of {}: {}", retry.getName(), e.getMessage());
+        pending.remove(this);
+        result.completeExceptionally(failure);
+      }
+    }
+
+    private void dispatch() {
+      if (!pending.remove(this)) {
+        return;
+      }
+      // The outcome is only handled once the task is done, so a finished operation no longer counts as pending
+      AtomicReference<CompletionStage<T>> started = new AtomicReference<>();
+      deliveryScheduler.submit(accountId, () -> started.set(start())).whenComplete((ignored, e) -> {
+        CompletionStage<T> stage = started.get();
+        if (stage == null) {
+          // The queued task only fails without an attempt if it never ran
+          onFailure(e);
+        } else {
+          complete(stage);
+        }
+      });
+    }
+  }
+}
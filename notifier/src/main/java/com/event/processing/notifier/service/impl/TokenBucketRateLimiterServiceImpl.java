@@ -0,0 +1,123 @@
+package com.event.processing.notifier.service.impl;
+
+import com.event.processing.notifier.util.RateLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket implementation of RateLimiterService based on the generic cell
+ * rate algorithm (GCRA).
+ * Redis stores a single theoretical arrival time per account. Tokens refill
+ * continuously at event / time, and at most event tokens can be spent in a
+ * burst, so there is no 2x burst at window boundaries.
+ * <p>
+ * Key features:
+ * - One Redis key per account holding a single timestamp
+ * - Continuous refill instead of window resets
+ * - Redis server time, so instances need no clock synchronization
+ * - Local token leases to reduce Redis calls
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "spring.data.redis.limit.engine", havingValue = "token-bucket")
+public class TokenBucketRateLimiterServiceImpl extends LeasingRateLimiterService {
+
+  /**
+   * Prefix used for Redis keys holding the theoretical arrival times.
+   */
+  private static final String RATE_LIMIT_KEY_PREFIX = "rate-limit:gcra:";
+
+  /**
+   * Lua script taking between ARGV[4] and ARGV[1] tokens, as many as available,
+   * from a bucket of ARGV[2] tokens refilled over ARGV[3] microseconds. Returns
+   * the number of tokens taken, or 0 if fewer than ARGV[4] were available.
+   * Times are kept in microseconds and formatted with %.0f so that they are
+   * stored without precision loss.
+   */
+  private static final String GCRA_SCRIPT =
+      "redis.replicate_commands() " +
+      "local key = KEYS[1] " +
+      "local permits = tonumber(ARGV[1]) " +
+      "local minimum = tonumber(ARGV[4]) " +
+      "local limit = tonumber(ARGV[2]) " +
+      "local period = tonumber(ARGV[3]) " +
+      "local time = redis.call('TIME') " +
+      "local now = tonumber(time[1]) * 1000000 + tonumber(time[2]) " +
+      "local interval = period / limit " +
+      "local tat = tonumber(redis.call('GET', key)) or now " +
+      "if tat < now then " +
+      "  tat = now " +
+      "end " +
+      "local capacity = math.floor((period - (tat - now)) / interval + 0.000001) " +
+      "local granted = math.min(permits, capacity) " +
+      "if granted < minimum then " +
+      "  return 0 " +
+      "end " +
+      "local newTat = tat + granted * interval " +
+      "redis.call('SET', key, string.format('%.0f', newTat), " +
+      "  'PX', string.format('%.0f', math.ceil((newTat - now) / 1000))) " +
+      "return granted";
+
+  private static final RedisScript<Long> GCRA = RedisScript.of(GCRA_SCRIPT, Long.class);
+
+  private final StringRedisTemplate redisTemplate;
+
+  public TokenBucketRateLimiterServiceImpl(StringRedisTemplate redisTemplate,
+                                           RateLimitProperties rateLimitProperties,
+                                           MeterRegistry meterRegistry) {
+    super(rateLimitProperties, meterRegistry, "token-bucket");
+    this.redisTemplate = redisTemplate;
+  }
+
+  @Override
+  protected int acquire(String accountId, int permits, int minimum) {
+    long period = TimeUnit.MINUTES.toMicros(rateLimitProperties.getTime());
+    Long granted = redisTemplate.execute(
+        GCRA,
+        Collections.singletonList(RATE_LIMIT_KEY_PREFIX + accountId),
+        String.valueOf(permits),
+        String.valueOf(rateLimitProperties.getEvent()),
+        String.valueOf(period),
+        String.valueOf(minimum)
+    );
+    return granted == null ? 0 : granted.intValue();
+  }
+
+  /**
+   * Computes when the next token becomes available from the stored
+   * theoretical arrival time. Uses the local clock, so the estimate is off by
+   * the clock skew between this instance and Redis.
+   *
+   * @param accountId The account ID to check
+   * @return The time until the next token is available
+   */
+  @Override
+  public Duration retryAfter(String accountId) {
+    long period = TimeUnit.MINUTES.toMicros(rateLimitProperties.getTime());
+    long interval = period / rateLimitProperties.getEvent();
+    try {
+      String tat = redisTemplate.opsForValue().get(RATE_LIMIT_KEY_PREFIX + accountId);
+      if (tat == null) {
+        return Duration.ZERO;
+      }
+      long now = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+      long wait = Long.parseLong(tat) - now - period + interval;
+      return Duration.of(Math.max(interval, wait), ChronoUnit.MICROS);
+    } catch (Exception e) {
+      log.error("Error reading token bucket for account: {}", accountId, e);
+      return Duration.of(interval, ChronoUnit.MICROS);
+    }
+  }
+}
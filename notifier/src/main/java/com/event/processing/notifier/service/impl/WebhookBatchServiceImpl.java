@@ -0,0 +1,262 @@
+package com.event.processing.notifier.service.impl;
+
+import com.event.processing.notifier.domain.dto.SerializedPayload;
+import com.event.processing.notifier.domain.dto.WebhookBatchItemDTO;
+import com.event.processing.notifier.domain.service.signing.WebhookPayloadSigner;
+import com.event.processing.notifier.service.DeduplicationService;
+import com.event.processing.notifier.service.DelayedTaskScheduler;
+import com.event.processing.notifier.service.WebhookBatchService;
+import com.event.processing.notifier.service.WebhookService;
+import com.event.processing.notifier.util.WebhookBatchingProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.event.processing.notifier.util.PromeTheusMetricContants.WEBHOOK_BATCH_FLUSH_COUNT;
+import static com.event.processing.notifier.util.PromeTheusMetricContants.WEBHOOK_BATCH_SIZE;
+
+/**
+ * Linger-based implementation of WebhookBatchService.
+ * Events are collected in one pending batch per webhook. A batch is sent when
+ * it reaches the configured number of events, when the next event would push
+ * it over the configured size, or when the linger time of its first event has
+ * passed, whichever comes first. Batches are keyed by webhook rather than by
+ * URL because each webhook signs its requests with its own secret.
+ * <p>
+ * The request body is the JSON array of the events' pre-serialized payloads,
+ * so batching never serializes an event again. Sending happens on the
+ * webhook delivery executor; linger timers run on the shared timing wheel,
+ * whose thread only hands batches over.
+ * <p>
+ * Once a batch has been delivered, all of its events are marked as processed
+ * with one deduplication call before their futures complete. A batch that
+ * failed or was moved to the dead letter queue fails its events' futures
+ * instead and leaves them unmarked. Retries of a
+ * batch are scheduled by the webhook service and do not hold the thread the
+ * batch was handed to.
+ * <p>
+ * Key features:
+ * - One pending batch per webhook
+ * - Flush on item count, byte size or linger time
+ * - Linger timers on the shared timing wheel
+ * - Batch body signed with the webhook's secret
+ * - Per-event futures completed from the batch outcome
+ * - Deduplication marks written once per delivered batch
+ * - Batch size and flush reason metrics
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Slf4j
+@Service
+public class WebhookBatchServiceImpl implements WebhookBatchService {
+
+  /**
+   * Why a batch was sent.
+   */
+  private enum FlushReason {
+    ITEMS, BYTES, LINGER, SHUTDOWN;
+
+    private final String tag = name().toLowerCase(Locale.ROOT);
+  }
+
+  private final WebhookService webhookService;
+  private final WebhookPayloadSigner payloadSigner;
+  private final DeduplicationService deduplicationService;
+  private final WebhookBatchingProperties properties;
+  private final Executor executor;
+  private final MeterRegistry meterRegistry;
+  private final DistributionSummary batchSize;
+  private final DelayedTaskScheduler lingerTimer;
+  private final Map<String, PendingBatch> batches = new ConcurrentHashMap<>();
+
+  public WebhookBatchServiceImpl(WebhookService webhookService, WebhookPayloadSigner payloadSigner,
+                                 DeduplicationService deduplicationService, WebhookBatchingProperties properties,
+                                 @Qualifier("webhookDeliveryExecutor") Executor webhookDeliveryExecutor,
+                                 DelayedTaskScheduler delayedTaskScheduler, MeterRegistry meterRegistry) {
+    this.webhookService = webhookService;
+    this.payloadSigner = payloadSigner;
+    this.deduplicationService = deduplicationService;
+    this.properties = properties;
+    this.executor = webhookDeliveryExecutor;
+    this.meterRegistry = meterRegistry;
+    this.batchSize = DistributionSummary.builder(WEBHOOK_BATCH_SIZE)
+        .description("Number of events per batched webhook request")
+        .register(meterRegistry);
+    this.lingerTimer = delayedTaskScheduler;
+  }
+
+  /**
+   * Adds an event to the pending batch of its webhook, starting a new batch
+   * and its linger timer if there is none, and sends the batch right away if
+   * it is full.
+   *
+   * @param webhookId The webhook the event is sent to
+   * @param url       The destination URL of the webhook
+   * @param item      The event and its serialized payload
+   * @return Future that completes when the event's batch has been delivered
+   */
+  @Override
+  public CompletableFuture<Void> add(String webhookId, String url, WebhookBatchItemDTO item) {
+    CompletableFuture<Void> delivered = new CompletableFuture<>();
+    List<PendingBatch> full = new ArrayList<>(2);
+
+    batches.compute(webhookId, (id, batch) -> {
+      if (batch != null && !batch.fits(item.payload())) {
+        batch.reason = FlushReason.BYTES;
+        full.add(batch);
+        batch = null;
+      }
+      if (batch == null) {
+        batch = new PendingBatch(id, url);
+        PendingBatch started = batch;
+        try {
+          batch.lingerTask = lingerTimer.schedule(() -> onLingerExpired(started),
+              properties.getLinger().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+          // Without a linger timer the batch might never be sent, so it goes out right away
+          log.warn("Could not start linger timer for webhook {}: {}", id, e.getMessage());
+        }
+      }
+      batch.add(item, delivered);
+      if (batch.items.size() >= properties.getMaxItems() || batch.lingerTask == null) {
+        batch.reason = batch.lingerTask == null ? FlushReason.LINGER : FlushReason.ITEMS;
+        full.add(batch);
+        return null;
+      }
+      return batch;
+    });
+
+    full.forEach(batch -> {
+      batch.cancelLinger();
+      flush(batch);
+    });
+    return delivered;
+  }
+
+  /**
+   * Sends every pending batch on shutdown so that no event waits for a linger
+   * timer that will not fire anymore.
+   */
+  @PreDestroy
+  public void shutdown() {
+    batches.keySet().forEach(webhookId -> {
+      PendingBatch batch = batches.remove(webhookId);
+      if (batch != null) {
+        batch.cancelLinger();
+        batch.reason = FlushReason.SHUTDOWN;
+        flush(batch);
+      }
+    });
+  }
+
+  private void onLingerExpired(PendingBatch batch) {
+    // Only the batch that started the timer is sent; it may have been sent already
+    if (batches.remove(batch.webhookId, batch)) {
+      batch.reason = FlushReason.LINGER;
+      flush(batch);
+    }
+  }
+
+  private void flush(PendingBatch batch) {
+    meterRegistry.counter(WEBHOOK_BATCH_FLUSH_COUNT, "reason", batch.reason.tag).increment();
+    batchSize.record(batch.items.size());
+    try {
+      executor.execute(() -> deliver(batch));
+    } catch (Exception e) {
+      log.error("Failed to hand over webhook batch of {} events for webhook {}", batch.items.size(),
+          batch.webhookId, e);
+      batch.completeExceptionally(e);
+    }
+  }
+
+  private void deliver(PendingBatch batch) {
+    CompletableFuture<Void> delivery;
+    try {
+      SerializedPayload body = SerializedPayload.arrayOf(batch.items.stream()
+          .map(WebhookBatchItemDTO::payload)
+          .toList());
+      if (payloadSigner.isEnabled()) {
+        body = payloadSigner.sign(batch.webhookId, body);
+      }
+      delivery = webhookService.processBatchWithRetry(batch.url, batch.items, body);
+    } catch (Exception e) {
+      batch.completeExceptionally(e);
+      return;
+    }
+
+    delivery.whenComplete((ignored, ex) -> {
+      if (ex != null) {
+        batch.completeExceptionally(ex);
+        return;
+      }
+      markProcessed(batch);
+      batch.futures.forEach(future -> future.complete(null));
+    });
+  }
+
+  private void markProcessed(PendingBatch batch) {
+    try {
+      deduplicationService.markAllProcessed(batch.items.stream()
+          .map(WebhookBatchItemDTO::eventId)
+          .toList());
+    } catch (Exception e) {
+      log.error("Failed to mark {} delivered events of webhook {} as processed", batch.items.size(),
+          batch.webhookId, e);
+    }
+  }
+
+  /**
+   * Events collected for one webhook. Only modified while it is mapped in the
+   * pending batches, under the map's per-key lock, and only read after it was
+   * removed from the map.
+   */
+  private final class PendingBatch {
+    private final String webhookId;
+    private final String url;
+    private final List<WebhookBatchItemDTO> items = new ArrayList<>();
+    private final List<CompletableFuture<Void>> futures = new ArrayList<>();
+    private long contentSize;
+    private DelayedTaskScheduler.Timeout lingerTask;
+    private FlushReason reason;
+
+    private PendingBatch(String webhookId, String url) {
+      this.webhookId = webhookId;
+      this.url = url;
+    }
+
+    private boolean fits(SerializedPayload payload) {
+      return SerializedPayload.arraySize(items.size() + 1, contentSize + payload.size())
+          <= properties.getMaxBytes().toBytes();
+    }
+
+    private void add(WebhookBatchItemDTO item, CompletableFuture<Void> delivered) {
+      items.add(item);
+      futures.add(delivered);
+      contentSize += item.payload().size();
+    }
+
+    private void cancelLinger() {
+      if (lingerTask != null) {
+        lingerTask.cancel();
+      }
+    }
+
+    private void completeExceptionally(Throwable failure) {
+      futures.forEach(future -> future.completeExceptionally(failure));
+    }
+  }
+}
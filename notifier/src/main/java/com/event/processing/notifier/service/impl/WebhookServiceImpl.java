@@ -1,18 +1,34 @@
 package com.event.processing.notifier.service.impl;
 
+import com.event.processing.notifier.client.AsyncWebhookClient;
+import com.event.processing.notifier.client.PayloadCompressor;
 import com.event.processing.notifier.client.WebhookClient;
-import com.event.processing.notifier.domain.dto.BaseEventDTO;
+import com.event.processing.notifier.domain.dto.SerializedPayload;
+import com.event.processing.notifier.domain.dto.WebhookBatchItemDTO;
 import com.event.processing.notifier.domain.dto.WebhookEventDTO;
 import com.event.processing.notifier.producer.DeadLetterQueueProducer;
+import com.event.processing.notifier.service.RetryScheduler;
 import com.event.processing.notifier.service.WebhookService;
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
-import io.github.resilience4j.retry.annotation.Retry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import com.event.processing.notifier.monitoring.DeliverySummaryLogger;
+import com.event.processing.notifier.monitoring.DeliverySummaryLogger.Outcome;
+import com.event.processing.notifier.monitoring.EventLatencyRecorder;
+import com.event.processing.notifier.monitoring.LogArguments;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
 import static com.event.processing.notifier.util.PromeTheusMetricContants.*;
 
 /**
@@ -20,12 +36,29 @@ import static com.event.processing.notifier.util.PromeTheusMetricContants.*;
  * retry,
  * circuit breaker, and monitoring capabilities.
  * <p>
+ * Every attempt runs through the circuit breaker of its destination URL.
+ * With a non-blocking client, an attempt completes a future when the
+ * receiver answers instead of holding a delivery thread while waiting for
+ * the response. Failed attempts are retried by the retry scheduler, which
+ * waits out the backoff of the webhookRetry instance on a timer instead of in
+ * the calling thread, so a failing receiver does not hold delivery threads
+ * between attempts either.
+ * <p>
+ * Each event is logged once at INFO when its delivery has finished, with its
+ * attempt count, latency and outcome; the logs of the individual attempts are
+ * at DEBUG. Its delivery time and end-to-end latency go into the event
+ * latency histograms.
+ * <p>
  * Key features:
- * - Retry mechanism for failed webhook deliveries
+ * - Non-blocking attempts with an asynchronous webhook client
+ * - Non-blocking retry mechanism for failed webhook deliveries
  * - Circuit breaker for fault tolerance
  * - Performance monitoring with metrics
  * - Dead letter queue for failed events
- * - Detailed logging
+ * - Payload serialized once and reused by every attempt and the DLQ
+ * - Request body compressed once and reused by every attempt
+ * - Batched delivery sharing the circuit breaker of the destination URL
+ * - One summary log record per event, per-attempt logs at DEBUG
  *
  * @author LongLe
  * @version 1.0
@@ -35,42 +68,122 @@ import static com.event.processing.notifier.util.PromeTheusMetricContants.*;
 @RequiredArgsConstructor
 public class WebhookServiceImpl implements WebhookService {
 
+  /**
+   * Name of the Resilience4j retry instance that configures attempts and
+   * backoff.
+   */
+  static final String WEBHOOK_RETRY = "webhookRetry";
+
   private final WebhookClient webhookClient;
+  private final PayloadCompressor payloadCompressor;
   private final DeadLetterQueueProducer deadLetterQueueProducer;
   private final MeterRegistry meterRegistry;
+  private final CircuitBreakerRegistry circuitBreakerRegistry;
+  private final RetryScheduler retryScheduler;
+  private final EventLatencyRecorder eventLatencyRecorder;
   @Value("${spring.kafka.topic.dead-letter-queue-topic.name:webhook-event-dead-letter-queue}")
   private String deadLetterQueueTopic;
 
   /**
    * Processes a webhook notification with retry and circuit breaker mechanisms.
    * This method implements a robust webhook delivery system with:
-   * - Automatic retries for transient failures
+   * - Automatic retries for transient failures, scheduled without blocking
    * - Circuit breaker for fault tolerance
    * - Performance monitoring
    * - Detailed logging
+   * <p>
+   * Every attempt sends the same pre-serialized bytes, compressed once before
+   * the first attempt if the webhook asks for it. An open circuit moves
+   * the event to the dead letter queue right away instead of retrying.
+   *
+   * @param eventId        The unique identifier of the event
+   * @param eventPayload   The webhook event payload
+   * @param webhookUrl     The destination URL for the webhook
+   * @param webhookPayload The serialized payload to be sent in the webhook
+   * @return Future that completes when the webhook has been delivered, or
+   * exceptionally once its failure has been handled
+   */
+  @Override
+  @LogArguments
+  public CompletableFuture<Void> processWithRetry(String eventId, WebhookEventDTO eventPayload, String webhookUrl,
+                                                  SerializedPayload webhookPayload) {
+    long start = System.nanoTime();
+    SerializedPayload requestBody = payloadCompressor.encode(webhookPayload);
+    AtomicInteger attempts = new AtomicInteger();
+    Supplier<CompletionStage<Void>> attempt = () -> {
+      attempts.incrementAndGet();
+      return send(eventId, eventPayload, webhookUrl, requestBody);
+    };
+    return retryScheduler.execute(WEBHOOK_RETRY, eventPayload.getAccountId(),
+            circuitBreaker(webhookUrl).decorateCompletionStage(attempt))
+        .handle((ignored, e) -> {
+          Outcome outcome = Outcome.DELIVERED;
+          if (e instanceof CallNotPermittedException) {
+            handleCircuitBreak(eventId, eventPayload, webhookUrl, webhookPayload, e);
+            outcome = Outcome.DEAD_LETTERED;
+          } else if (e != null) {
+            handleFailure(eventId, eventPayload, webhookUrl, webhookPayload, e);
+            outcome = Outcome.FAILED;
+          }
+          long latencyNanos = System.nanoTime() - start;
+          DeliverySummaryLogger.record(eventId, eventPayload.getAccountId(), attempts.get(), latencyNanos, outcome,
+              false);
+          eventLatencyRecorder.recordDelivery(eventPayload, latencyNanos, outcome, false);
+          if (e != null) {
+            throw e instanceof CompletionException completion ? completion : new CompletionException(e);
+          }
+          return null;
+        });
+  }
+
+  /**
+   * Sends a webhook notification once.
    *
    * @param eventId        The unique identifier of the event
    * @param eventPayload   The webhook event payload
    * @param webhookUrl     The destination URL for the webhook
-   * @param webhookPayload The payload to be sent in the webhook
+   * @param webhookPayload The serialized payload to be sent in the webhook
+   * @return Future that completes when the receiver has accepted the webhook,
+   * or exceptionally if the attempt failed
    */
-  @Retry(name = "webhookRetry", fallbackMethod = "handleFailure")
-  @CircuitBreaker(name = "#root.args[2]", fallbackMethod = "handleCircuitBreak")
-  public void processWithRetry(String eventId, WebhookEventDTO eventPayload, String webhookUrl,
-                               BaseEventDTO webhookPayload) {
+  private CompletableFuture<Void> send(String eventId, WebhookEventDTO eventPayload, String webhookUrl,
+                                       SerializedPayload webhookPayload) {
+    log.debug("Sending webhook for event_id: {}, account_id: {}", eventId, eventPayload.getAccountId());
+    return sendWebhook(webhookUrl, webhookPayload)
+        .thenAccept(success -> {
+          if (!success) {
+            throw new RuntimeException("Webhook response failed for event: " + eventId);
+          }
+          log.debug("Webhook successfully processed for event: {}", eventId);
+          meterRegistry.counter(WEBHOOK_SUCCESS_COUNT).increment();
+        })
+        .whenComplete((ignored, e) -> {
+          if (e != null) {
+            // The event's outcome is logged once it is final; a failed attempt may still be retried
+            Throwable cause = unwrap(e);
+            log.debug("Error processing webhook for event {}: {}", eventId, cause.getMessage(), cause);
+            meterRegistry.counter(WEBHOOK_FAILURE_COUNT).increment();
+          }
+        });
+  }
+
+  /**
+   * Sends a serialized payload once without blocking if the client is
+   * asynchronous. Blocking clients are called on the current thread and their
+   * result or failure is returned as a completed future.
+   *
+   * @param webhookUrl The destination URL for the webhook
+   * @param payload    The serialized payload to be sent in the webhook
+   * @return Future completing with true for a 2xx response, false otherwise
+   */
+  private CompletableFuture<Boolean> sendWebhook(String webhookUrl, SerializedPayload payload) {
+    if (webhookClient instanceof AsyncWebhookClient asyncClient) {
+      return asyncClient.sendWebhookAsync(webhookUrl, payload);
+    }
     try {
-      log.info("Sending webhook for event_id: {}, account_id: {}", eventId, eventPayload.getAccountId());
-      boolean success = webhookClient.sendWebhook(webhookUrl, webhookPayload);
-
-      if (!success) {
-        throw new RuntimeException("Webhook response failed for event: " + eventId);
-      }
-      log.info("Webhook successfully processed for event: {}", eventId);
-      meterRegistry.counter(WEBHOOK_SUCCESS_COUNT).increment();
-    } catch (Exception e) {
-      log.error("Error processing webhook for event {}: {}", eventId, e.getMessage(), e);
-      meterRegistry.counter(WEBHOOK_FAILURE_COUNT).increment();
-      throw e;
+      return CompletableFuture.completedFuture(webhookClient.sendWebhook(webhookUrl, payload));
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
     }
   }
 
@@ -86,14 +199,15 @@ public class WebhookServiceImpl implements WebhookService {
    * @param e              The exception that caused the failure
    */
   private void handleFailure(String eventId, WebhookEventDTO eventPayload, String webhookUrl,
-                             BaseEventDTO webhookPayload, Exception e) {
+                             SerializedPayload webhookPayload, Throwable e) {
     log.warn("All retries exhausted. Webhook failed for event: {}, url: {}", eventId, webhookUrl, e);
   }
 
   /**
    * Fallback method when the circuit breaker is triggered.
-   * Moves the failed event to the dead letter queue for later processing
-   * and increments the circuit breaker failure counter.
+   * Moves the failed event to the dead letter queue for later processing,
+   * together with the payload that could not be delivered, and increments the
+   * circuit breaker failure counter.
    *
    * @param eventId        The unique identifier of the event
    * @param eventPayload   The webhook event payload
@@ -102,7 +216,7 @@ public class WebhookServiceImpl implements WebhookService {
    * @param e              The exception that triggered the circuit breaker
    */
   private void handleCircuitBreak(String eventId, WebhookEventDTO eventPayload, String webhookUrl,
-                                  BaseEventDTO webhookPayload, Exception e) {
+                                  SerializedPayload webhookPayload, Throwable e) {
     log.error("Circuit breaker open. Moving event {} to DLQ.", eventId, e);
     meterRegistry.counter(CIRCUIT_BREAKER_OPEN_COUNT).increment();
 
@@ -111,7 +225,142 @@ public class WebhookServiceImpl implements WebhookService {
         deadLetterQueueTopic,
         eventPayload.getAccountId(),
         eventPayload,
+        webhookPayload,
         e.getMessage() != null ? e.getMessage() : "Circuit breaker open"
     );
   }
+
+  /**
+   * Processes a batch of webhook notifications with retry and circuit breaker
+   * mechanisms. The circuit breaker is the one of the destination URL, shared
+   * with single deliveries to the same URL. Batches hold the events of one
+   * webhook, so retries are charged to the account of the first event.
+   *
+   * @param webhookUrl The destination URL for the webhook
+   * @param items      The events in the batch
+   * @param body       The serialized JSON array to be sent in the webhook
+   * @return Future that completes when the batch has been delivered, or
+   * exceptionally once its failure has been handled
+   */
+  @Override
+  public CompletableFuture<Void> processBatchWithRetry(String webhookUrl, List<WebhookBatchItemDTO> items,
+                                                       SerializedPayload body) {
+    long start = System.nanoTime();
+    SerializedPayload requestBody = payloadCompressor.encode(body);
+    AtomicInteger attempts = new AtomicInteger();
+    Supplier<CompletionStage<Void>> attempt = () -> {
+      attempts.incrementAndGet();
+      return sendBatch(webhookUrl, items, requestBody);
+    };
+    return retryScheduler.execute(WEBHOOK_RETRY, items.get(0).event().getAccountId(),
+            circuitBreaker(webhookUrl).decorateCompletionStage(attempt))
+        .handle((ignored, e) -> {
+          Outcome outcome = Outcome.DELIVERED;
+          if (e instanceof CallNotPermittedException) {
+            handleBatchCircuitBreak(webhookUrl, items, body, e);
+            outcome = Outcome.DEAD_LETTERED;
+          } else if (e != null) {
+            handleBatchFailure(webhookUrl, items, body, e);
+            outcome = Outcome.FAILED;
+          }
+          long latencyNanos = System.nanoTime() - start;
+          for (WebhookBatchItemDTO item : items) {
+            DeliverySummaryLogger.record(item.eventId(), item.event().getAccountId(), attempts.get(), latencyNanos,
+                outcome, true);
+            eventLatencyRecorder.recordDelivery(item.event(), latencyNanos, outcome, true);
+          }
+          if (e != null) {
+            throw e instanceof CompletionException completion ? completion : new CompletionException(e);
+          }
+          return null;
+        });
+  }
+
+  /**
+   * Sends a batch of webhook notifications once.
+   *
+   * @param webhookUrl The destination URL for the webhook
+   * @param items      The events in the batch
+   * @param body       The serialized JSON array to be sent in the webhook
+   * @return Future that completes when the receiver has accepted the batch,
+   * or exceptionally if the attempt failed
+   */
+  private CompletableFuture<Void> sendBatch(String webhookUrl, List<WebhookBatchItemDTO> items,
+                                            SerializedPayload body) {
+    log.debug("Sending webhook batch of {} events ({} bytes) to {}", items.size(), body.size(), webhookUrl);
+    return sendWebhook(webhookUrl, body)
+        .thenAccept(success -> {
+          if (!success) {
+            throw new RuntimeException("Webhook response failed for batch of " + items.size() + " events");
+          }
+          log.debug("Webhook batch of {} events successfully processed", items.size());
+          meterRegistry.counter(WEBHOOK_SUCCESS_COUNT).increment(items.size());
+        })
+        .whenComplete((ignored, e) -> {
+          if (e != null) {
+            Throwable cause = unwrap(e);
+            log.debug("Error processing webhook batch of {} events: {}", items.size(), cause.getMessage(), cause);
+            meterRegistry.counter(WEBHOOK_FAILURE_COUNT).increment(items.size());
+          }
+        });
+  }
+
+  /**
+   * Fallback method when all retry attempts of a batch are exhausted.
+   *
+   * @param webhookUrl The destination URL that failed
+   * @param items      The events in the batch
+   * @param body       The batch that failed to send
+   * @param e          The exception that caused the failure
+   */
+  private void handleBatchFailure(String webhookUrl, List<WebhookBatchItemDTO> items, SerializedPayload body,
+                                  Throwable e) {
+    log.warn("All retries exhausted. Webhook batch of {} events failed, url: {}", items.size(), webhookUrl, e);
+  }
+
+  /**
+   * Fallback method when the circuit breaker is triggered for a batch.
+   * Moves every event of the batch to the dead letter queue individually,
+   * each with its own payload.
+   *
+   * @param webhookUrl The destination URL that failed
+   * @param items      The events in the batch
+   * @param body       The batch that failed to send
+   * @param e          The exception that triggered the circuit breaker
+   */
+  private void handleBatchCircuitBreak(String webhookUrl, List<WebhookBatchItemDTO> items, SerializedPayload body,
+                                       Throwable e) {
+    log.error("Circuit breaker open. Moving batch of {} events to DLQ.", items.size(), e);
+    meterRegistry.counter(CIRCUIT_BREAKER_OPEN_COUNT).increment();
+
+    String failureReason = e.getMessage() != null ? e.getMessage() : "Circuit breaker open";
+    items.forEach(item -> deadLetterQueueProducer.publishWithFailureReason(
+        deadLetterQueueTopic,
+        item.event().getAccountId(),
+        item.event(),
+        item.payload(),
+        failureReason
+    ));
+  }
+
+  /**
+   * Returns the cause of a failure wrapped by a dependent stage.
+   *
+   * @param e The failure of a stage
+   * @return The original failure
+   */
+  private static Throwable unwrap(Throwable e) {
+    return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+  }
+
+  /**
+   * Returns the circuit breaker of a destination URL, created with the
+   * default configuration on first use.
+   *
+   * @param webhookUrl The destination URL
+   * @return The circuit breaker guarding the URL
+   */
+  private CircuitBreaker circuitBreaker(String webhookUrl) {
+    return circuitBreakerRegistry.circuitBreaker(webhookUrl);
+  }
 }
@@ -0,0 +1,30 @@
+package com.event.processing.notifier.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for sampled argument logging.
+ * Arguments of methods annotated with LogArguments are only logged when the
+ * aspect's logger is at DEBUG, and then only for a sample of calls.
+ * <p>
+ * Key features:
+ * - Configurable sample rate
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Component
+@ConfigurationProperties(prefix = "monitoring.argument-logging")
+@Getter
+@Setter
+public class ArgumentLoggingProperties {
+  /**
+   * Fraction of outermost annotated calls whose arguments are logged, between
+   * 0 and 1. Nested annotated calls on the same thread follow the decision of
+   * the outermost one. Defaults to 1%.
+   */
+  private double sampleRate = 0.01;
+}
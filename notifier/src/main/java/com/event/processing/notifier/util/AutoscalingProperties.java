@@ -0,0 +1,42 @@
+package com.event.processing.notifier.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for the autoscaling signal.
+ * Each target is the load one replica should carry; the signal reports how
+ * many replicas the load of this instance would need at those targets.
+ * <p>
+ * Key features:
+ * - Consumer lag per replica
+ * - Pending deliveries per replica
+ * - Consumer executor queue saturation per replica
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Component
+@ConfigurationProperties(prefix = "autoscaling.signal")
+@Getter
+@Setter
+public class AutoscalingProperties {
+  /**
+   * Records behind on the webhook event topic that one replica may carry.
+   */
+  private long targetLagPerReplica = 1000;
+
+  /**
+   * Deliveries queued or running in the delivery scheduler that one replica
+   * may carry. These rise as soon as deliveries slow down, before the lag does.
+   */
+  private int targetPendingDeliveriesPerReplica = 200;
+
+  /**
+   * Share of the kafkaConsumerExecutor queue that may be in use on one
+   * replica, between 0 and 1.
+   */
+  private double targetExecutorQueueSaturation = 0.5;
+}
@@ -0,0 +1,47 @@
+package com.event.processing.notifier.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the pipelined Kafka consumer mode.
+ * In pipelined mode the poll thread keeps fetching and dispatching batches
+ * instead of waiting for every webhook of a batch to finish, and offsets are
+ * committed up to the highest contiguous completed offset per partition.
+ * <p>
+ * Key features:
+ * - Switch between batch and pipelined consumption
+ * - Bound on records dispatched but not yet completed
+ * - Interval for committing completed offsets while the topic is idle
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Component
+@ConfigurationProperties(prefix = "consumer.pipeline")
+@Getter
+@Setter
+public class ConsumerPipelineProperties {
+  /**
+   * Whether the pipelined consumption mode is enabled.
+   * Defaults to false, which keeps the join-per-batch behaviour.
+   */
+  private boolean enabled = false;
+
+  /**
+   * Maximum number of records dispatched but not yet completed.
+   * Once it is reached the assigned partitions are paused, so at most one
+   * more poll's worth of records is dispatched. They are resumed when the
+   * pending records drop to half of it.
+   */
+  private int maxPendingRecords = 1000;
+
+  /**
+   * Interval at which completed offsets are committed when no records arrive.
+   */
+  private Duration idleCommitInterval = Duration.ofSeconds(5);
+}
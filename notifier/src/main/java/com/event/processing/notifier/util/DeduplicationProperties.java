@@ -0,0 +1,103 @@
+package com.event.processing.notifier.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for event deduplication.
+ * This class selects how duplicate deliveries are prevented and configures the
+ * processing lease used by the claim mode.
+ * <p>
+ * Key features:
+ * - Check-then-mark or atomic claim mode
+ * - Configurable processing lease duration
+ * - Optional local near-cache tier in front of Redis
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Component
+@ConfigurationProperties(prefix = "deduplication")
+@Getter
+@Setter
+public class DeduplicationProperties {
+
+  /**
+   * Strategy used to prevent duplicate deliveries.
+   */
+  public enum Mode {
+    /**
+     * Check for a processed marker before delivery and set it afterwards.
+     */
+    CHECK,
+    /**
+     * Atomically claim the event with a processing lease before delivery,
+     * promote the lease on success and release it on failure.
+     */
+    CLAIM
+  }
+
+  /**
+   * Deduplication mode.
+   * Defaults to CHECK.
+   */
+  private Mode mode = Mode.CHECK;
+
+  /**
+   * How long a processing claim is held before it expires on its own.
+   * Must exceed the longest delivery including all retries, so that a live
+   * claim is never taken over while its owner is still delivering.
+   */
+  private Duration leaseDuration = Duration.ofMinutes(2);
+
+  /**
+   * Configuration of the local near-cache tier.
+   */
+  private NearCache nearCache = new NearCache();
+
+  /**
+   * Configuration properties for the local near-cache tier that answers
+   * duplicate checks in-process before falling back to Redis.
+   */
+  @Getter
+  @Setter
+  public static class NearCache {
+    /**
+     * Whether the near-cache tier is enabled.
+     * Defaults to false.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Expected number of events marked as processed by this instance per
+     * deduplication expiry period. Sizes the Bloom filter.
+     */
+    private long expectedInsertions = 1_000_000;
+
+    /**
+     * Target false-positive probability of the Bloom filter.
+     */
+    private double falsePositiveProbability = 0.01;
+
+    /**
+     * Maximum number of recently processed event IDs kept exactly.
+     */
+    private int recentCapacity = 50_000;
+
+    /**
+     * Whether a local "definitely not seen" answer is final, skipping Redis.
+     * The local tier only knows events processed by this instance since it
+     * started. Trusting its negatives means an event processed by another
+     * instance, or by this one before a restart, is delivered again when it
+     * is redelivered after a rebalance or restart. Only enable this with a
+     * single long-lived instance, or together with the claim mode, whose claim
+     * step always goes to Redis.
+     * Defaults to false.
+     */
+    private boolean trustLocalNegatives = false;
+  }
+}
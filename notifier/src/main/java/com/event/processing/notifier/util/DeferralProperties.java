@@ -0,0 +1,60 @@
+package com.event.processing.notifier.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for deferring rate-limited events.
+ * Rate-limited events are parked in a Redis sorted set until their account's
+ * budget reopens, instead of being republished to the webhook event topic
+ * immediately and rate-limited again.
+ * <p>
+ * Key features:
+ * - Switch between deferral and immediate republish
+ * - Configurable poll interval and batch size
+ * - Claim timeout for events being re-admitted
+ * - Jitter to spread re-admissions of one account
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Component
+@ConfigurationProperties(prefix = "deferral")
+@Getter
+@Setter
+public class DeferralProperties {
+  /**
+   * Whether rate-limited events are deferred.
+   * When false they are republished to the webhook event topic immediately.
+   * Defaults to true.
+   */
+  private boolean enabled = true;
+
+  /**
+   * How often due events are polled for re-admission. Events deferred by this
+   * instance additionally trigger a poll at their due time.
+   */
+  private Duration pollInterval = Duration.ofMillis(500);
+
+  /**
+   * Maximum number of due events re-admitted per poll.
+   */
+  private int batchSize = 500;
+
+  /**
+   * How long a claimed event stays hidden from other instances. If the
+   * claiming instance dies before republishing it, the event becomes due again
+   * after this timeout.
+   */
+  private Duration claimTimeout = Duration.ofSeconds(30);
+
+  /**
+   * Maximum random delay added to the wait of each deferred event, so that the
+   * events of an account do not all return at the instant its window reopens.
+   */
+  private Duration maxJitter = Duration.ofSeconds(1);
+}
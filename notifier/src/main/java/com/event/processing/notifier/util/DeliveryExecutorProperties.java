@@ -0,0 +1,127 @@
+package com.event.processing.notifier.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the webhook delivery executor.
+ * This class selects the threads webhook deliveries run on and bounds how many
+ * deliveries may be in flight towards a single destination host.
+ * <p>
+ * Key features:
+ * - Platform thread pool or virtual thread per delivery
+ * - Per-host concurrency cap
+ * - Latency-based adaptive per-host limit
+ * - Bounded wait for a per-host permit
+ * - Bounded number of tracked hosts
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Component
+@ConfigurationProperties(prefix = "delivery.executor")
+@Getter
+@Setter
+public class DeliveryExecutorProperties {
+
+  /**
+   * Threads that webhook deliveries run on.
+   */
+  public enum Mode {
+    /**
+     * Deliveries run on the shared kafkaConsumerExecutor thread pool.
+     */
+    PLATFORM,
+    /**
+     * Each delivery runs on its own virtual thread. Requires a Java 21 runtime.
+     */
+    VIRTUAL
+  }
+
+  /**
+   * Executor mode for webhook deliveries.
+   * Defaults to PLATFORM.
+   */
+  private Mode mode = Mode.PLATFORM;
+
+  /**
+   * Maximum number of concurrent deliveries to a single destination host.
+   * The adaptive limit never exceeds it; with adaptive limiting disabled it is
+   * the fixed limit.
+   */
+  private int maxConcurrencyPerHost = 200;
+
+  /**
+   * Maximum time a delivery waits for a per-host permit before failing.
+   */
+  private Duration acquireTimeout = Duration.ofSeconds(1);
+
+  /**
+   * Maximum number of deliveries per host that wait for a permit at once.
+   * Further deliveries to the host are shed immediately, so a slow receiver
+   * cannot hold more than its limit plus this many threads.
+   */
+  private int maxQueuedPerHost = 5;
+
+  /**
+   * Maximum number of destination hosts whose limits and metrics are kept at
+   * once. Hosts are chosen by customers, so the least used ones are forgotten
+   * beyond this number.
+   */
+  private int maxTrackedHosts = 1000;
+
+  /**
+   * Time after which the limit and metrics of a host without deliveries are
+   * forgotten. A forgotten host starts over from the initial limit.
+   */
+  private Duration hostIdleTimeout = Duration.ofMinutes(10);
+
+  /**
+   * Configuration of the adaptive per-host limit.
+   */
+  private AdaptiveLimit adaptive = new AdaptiveLimit();
+
+  /**
+   * Configuration of the per-host limit that adapts to receiver latency.
+   */
+  @Getter
+  @Setter
+  public static class AdaptiveLimit {
+    /**
+     * Whether the per-host limit adapts to latency. If disabled, every host
+     * gets maxConcurrencyPerHost permits.
+     * Defaults to true.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Limit a host starts with before any latency was observed.
+     */
+    private int initialLimit = 20;
+
+    /**
+     * Lowest limit a host can be reduced to.
+     */
+    private int minLimit = 2;
+
+    /**
+     * How much slower than its long-term average a host may answer before
+     * its limit is reduced.
+     */
+    private double rttTolerance = 1.5;
+
+    /**
+     * Weight of a single sample when moving the limit, between 0 and 1.
+     */
+    private double smoothing = 0.2;
+
+    /**
+     * Factor applied to the limit when a delivery times out or fails on I/O.
+     */
+    private double backoffRatio = 0.9;
+  }
+}
@@ -0,0 +1,49 @@
+package com.event.processing.notifier.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the enrichment cache.
+ * The cache keeps webhook post URLs and subscriber segments, which rarely
+ * change, so that event enrichment does not join the webhook and
+ * subscriber_segment tables for every batch.
+ * <p>
+ * Key features:
+ * - Size bound per cache
+ * - Time-to-live per cache
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Component
+@ConfigurationProperties(prefix = "enrichment.cache")
+@Getter
+@Setter
+public class EnrichmentCacheProperties {
+  /**
+   * Maximum number of webhook post URLs kept in the cache.
+   */
+  private long webhookUrlMaxSize = 10_000;
+
+  /**
+   * How long a cached webhook post URL is used before it is reloaded.
+   * Bounds how long a changed post URL can still receive events.
+   */
+  private Duration webhookUrlTtl = Duration.ofMinutes(5);
+
+  /**
+   * Maximum number of subscribers whose segments are kept in the cache.
+   */
+  private long segmentMaxSize = 100_000;
+
+  /**
+   * How long cached subscriber segments are used before they are reloaded.
+   * Bounds how stale the segments in a payload can be.
+   */
+  private Duration segmentTtl = Duration.ofMinutes(1);
+}
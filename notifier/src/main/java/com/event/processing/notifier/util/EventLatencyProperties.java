@@ -0,0 +1,48 @@
+package com.event.processing.notifier.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for the per-event latency histograms.
+ * Latencies are tagged with the account's tier instead of its ID, so the
+ * number of time series depends on the configured tiers and not on the number
+ * of accounts.
+ * <p>
+ * Key features:
+ * - Account to tier mapping
+ * - Default tier for unlisted accounts
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Component
+@ConfigurationProperties(prefix = "metrics.event-latency")
+@Getter
+@Setter
+public class EventLatencyProperties {
+  /**
+   * Tier of an account that has no explicit mapping.
+   */
+  private String defaultTier = "standard";
+
+  /**
+   * Tier per account ID, for example the accounts with a premium plan.
+   */
+  private Map<String, String> accountTiers = new HashMap<>();
+
+  /**
+   * Resolves the tier of the given account.
+   *
+   * @param accountId The account ID to resolve the tier for
+   * @return The configured tier, or the default tier if none is set
+   */
+  public String tierOf(String accountId) {
+    return accountId == null ? defaultTier : accountTiers.getOrDefault(accountId, defaultTier);
+  }
+}
@@ -0,0 +1,68 @@
+package com.event.processing.notifier.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for the per-account fair delivery scheduler.
+ * This class defines how many deliveries may run at once and how the
+ * scheduler shares those slots between accounts.
+ * <p>
+ * Key features:
+ * - Configurable number of concurrent delivery workers
+ * - Bounded queue per account
+ * - Deficit round robin quantum
+ * - Per-account weight overrides
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Component
+@ConfigurationProperties(prefix = "scheduler.fair")
+@Getter
+@Setter
+public class FairSchedulerProperties {
+  /**
+   * Maximum number of deliveries handed to the executor at the same time.
+   * 0 derives it from the delivery executor: the kafkaConsumerExecutor
+   * maximum pool size with platform threads, and no limit with virtual
+   * threads, whose concurrency the per-host limiter bounds.
+   */
+  private int workers = 0;
+
+  /**
+   * Maximum number of pending deliveries kept per account.
+   * Submissions beyond this bound are rejected.
+   */
+  private int queueCapacity = 1000;
+
+  /**
+   * Number of deliveries an account with weight 1 may dispatch per round.
+   */
+  private int quantum = 1;
+
+  /**
+   * Weight of an account that has no explicit override.
+   */
+  private int defaultWeight = 1;
+
+  /**
+   * Per-account weight overrides, keyed by account ID.
+   */
+  private Map<String, Integer> weights = new HashMap<>();
+
+  /**
+   * Resolves the weight of the given account.
+   *
+   * @param accountId The account ID to resolve the weight for
+   * @return The configured weight, or the default weight if none is set
+   */
+  public int weightOf(String accountId) {
+    return Math.max(1, weights.getOrDefault(accountId, defaultWeight));
+  }
+}
@@ -7,6 +7,39 @@ public class PromeTheusMetricContants {
   public static final String KAFKA_EVENT_COUNT = "kafka.event.count";
   public static final String WEBHOOK_FAILURE_COUNT = "webhook.failure";
   public static final String CIRCUIT_BREAKER_OPEN_COUNT = "webhook.circuit.open";
+  public static final String FAIR_SCHEDULER_QUEUE_DEPTH = "fair.scheduler.queue.depth";
+  public static final String FAIR_SCHEDULER_TOTAL_QUEUE_DEPTH = "fair.scheduler.queue.depth.total";
+  public static final String FAIR_SCHEDULER_WAIT_TIME = "fair.scheduler.wait.time";
+  public static final String FAIR_SCHEDULER_REJECTED_COUNT = "fair.scheduler.rejected";
+  public static final String KAFKA_PIPELINE_PENDING_RECORDS = "kafka.pipeline.pending.records";
+  public static final String KAFKA_PIPELINE_COMMIT_COUNT = "kafka.pipeline.commit.count";
+  public static final String WEBHOOK_HOST_CONCURRENCY_REJECTED_COUNT = "webhook.host.concurrency.rejected";
+  public static final String WEBHOOK_HOST_CONCURRENCY_LIMIT = "webhook.host.concurrency.limit";
+  public static final String WEBHOOK_HOST_CONCURRENCY_IN_FLIGHT = "webhook.host.concurrency.in.flight";
+  public static final String DEDUPLICATION_CLAIM_CONFLICT_COUNT = "deduplication.claim.conflict";
+  public static final String DEDUPLICATION_NEAR_CACHE_COUNT = "deduplication.near.cache";
+  public static final String RATE_LIMITER_LEASE_COUNT = "rate.limiter.lease";
+  public static final String RATE_LIMIT_DEFERRED_COUNT = "rate.limit.deferred.count";
+  public static final String RATE_LIMIT_READMISSION_DELAY = "rate.limit.readmission.delay";
+  public static final String WEBHOOK_SIGNING_TIME = "webhook.signing.time";
+  public static final String WEBHOOK_BATCH_SIZE = "webhook.batch.size";
+  public static final String WEBHOOK_BATCH_FLUSH_COUNT = "webhook.batch.flush";
+  public static final String WEBHOOK_COMPRESSION_RATIO = "webhook.compression.ratio";
+  public static final String WEBHOOK_RETRY_PENDING = "webhook.retry.pending";
+  public static final String TIMING_WHEEL_LAG = "timing.wheel.lag";
+  public static final String TIMING_WHEEL_PENDING = "timing.wheel.pending";
+  public static final String TIMING_WHEEL_REJECTED_COUNT = "timing.wheel.rejected";
+  public static final String KAFKA_BATCH_IN_FLIGHT = "kafka.batch.in.flight";
+  public static final String WEBHOOK_ENRICHMENT_TIME = "webhook.enrichment.time";
+  public static final String WEBHOOK_DELIVERY_TIME = "webhook.delivery.time";
+  public static final String EVENT_QUEUEING_DELAY = "event.queueing.delay";
+  public static final String EVENT_END_TO_END_LATENCY = "event.end.to.end.latency";
+  public static final String KAFKA_CONSUMER_PARTITION_RECORDS = "kafka.consumer.partition.records";
+  public static final String KAFKA_CONSUMER_POLL_TO_ACK = "kafka.consumer.poll.to.ack";
+  public static final String KAFKA_CONSUMER_REBALANCE_COUNT = "kafka.consumer.rebalance";
+  public static final String KAFKA_CONSUMER_ASSIGNED_PARTITIONS = "kafka.consumer.assigned.partitions";
+  public static final String KAFKA_CONSUMER_RECORDS_LAG = "kafka.consumer.fetch.manager.records.lag";
+  public static final String AUTOSCALING_REPLICA_DEMAND = "autoscaling.replica.demand";
 
   private PromeTheusMetricContants() {
     throw new IllegalStateException("Utility class");
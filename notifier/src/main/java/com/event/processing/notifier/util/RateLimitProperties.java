@@ -5,6 +5,8 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 /**
  * Configuration properties for rate limiting functionality.
  * This class defines the rate limiting parameters used to control the frequency
@@ -14,6 +16,8 @@ import org.springframework.context.annotation.Configuration;
  * - Configurable event rate limit
  * - Configurable time window
  * - Default values for both parameters
+ * - Pluggable limiter engine
+ * - Local token leases to reduce Redis calls
  *
  * @author LongLe
  * @version 1.0
@@ -34,4 +38,55 @@ public class RateLimitProperties {
    * Default value is 1 minute.
    */
   private int time = 1; // Default duration in minutes
+
+  /**
+   * Algorithm used to enforce the rate limit.
+   * Values: fixed-window, token-bucket, sliding-window.
+   * Default value is fixed-window.
+   */
+  private Engine engine = Engine.FIXED_WINDOW;
+
+  /**
+   * Maximum number of tokens leased from Redis at once by the token-bucket and
+   * sliding-window engines. Leased tokens are spent locally, so a busy account
+   * needs a Redis call only once every leaseSize events; quieter accounts
+   * lease fewer tokens, in line with their recent demand. A value of 1
+   * disables leasing.
+   * Default value is 10 tokens.
+   */
+  private int leaseSize = 10;
+
+  /**
+   * How long unspent leased tokens stay valid before they are discarded.
+   * Default value is 1 second.
+   */
+  private Duration leaseTtl = Duration.ofSeconds(1);
+
+  /**
+   * Maximum number of accounts whose leases are kept at once. Leases unused
+   * for two lease lifetimes are dropped regardless.
+   * Default value is 10000 accounts.
+   */
+  private int leaseCacheMaxSize = 10_000;
+
+  /**
+   * Rate limiter algorithms.
+   */
+  public enum Engine {
+    /**
+     * Counter per fixed time window. Allows up to twice the limit around
+     * window boundaries.
+     */
+    FIXED_WINDOW,
+    /**
+     * Generic cell rate algorithm, equivalent to a token bucket refilled at
+     * event / time with a capacity of event tokens.
+     */
+    TOKEN_BUCKET,
+    /**
+     * Sliding window counter weighting the previous window by its overlap
+     * with the sliding window.
+     */
+    SLIDING_WINDOW
+  }
 }
\ No newline at end of file
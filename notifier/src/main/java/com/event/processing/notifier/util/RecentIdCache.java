@@ -0,0 +1,66 @@
+package com.event.processing.notifier.util;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Small bounded LRU set of recently seen IDs with a time-to-live.
+ * Used as an exact, local record of recently processed events.
+ * <p>
+ * Key features:
+ * - Fixed maximum number of entries with least-recently-used eviction
+ * - Per-entry expiry
+ * - Thread-safe through a single monitor
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+public class RecentIdCache {
+
+  private final long ttlNanos;
+  private final Map<String, Long> expiries;
+
+  /**
+   * Creates a recent-ID cache.
+   *
+   * @param maxSize Maximum number of IDs kept
+   * @param ttl     How long an ID is remembered
+   */
+  public RecentIdCache(int maxSize, Duration ttl) {
+    this.ttlNanos = ttl.toNanos();
+    this.expiries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  /**
+   * Remembers an ID for the configured time-to-live.
+   *
+   * @param id The ID to remember
+   */
+  public synchronized void put(String id) {
+    expiries.put(id, System.nanoTime() + ttlNanos);
+  }
+
+  /**
+   * Checks whether an ID is remembered and not yet expired.
+   *
+   * @param id The ID to check
+   * @return true if the ID was put within the time-to-live and not evicted
+   */
+  public synchronized boolean contains(String id) {
+    Long expiry = expiries.get(id);
+    if (expiry == null) {
+      return false;
+    }
+    if (expiry - System.nanoTime() <= 0) {
+      expiries.remove(id);
+      return false;
+    }
+    return true;
+  }
+}
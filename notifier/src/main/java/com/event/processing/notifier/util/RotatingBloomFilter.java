@@ -0,0 +1,142 @@
+package com.event.processing.notifier.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Time-bounded Bloom filter made of two generations.
+ * Elements are added to the current generation and looked up in both. Every
+ * rotation period the previous generation is dropped and the current one takes
+ * its place, so an element stays visible for at least one and at most two
+ * rotation periods while memory stays fixed.
+ * <p>
+ * Key features:
+ * - Lock-free concurrent adds and lookups
+ * - Sized from the expected number of insertions per period and a target
+ * false-positive probability
+ * - No false negatives for elements added within the last rotation period
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+public class RotatingBloomFilter {
+
+  private final int bitCount;
+  private final int hashCount;
+  private final long rotationNanos;
+  private volatile Generation current;
+  private volatile Generation previous;
+
+  /**
+   * Creates a rotating Bloom filter.
+   *
+   * @param expectedInsertions       Expected number of insertions per rotation period
+   * @param falsePositiveProbability Target false-positive probability
+   * @param rotationPeriod           How long a generation receives insertions
+   */
+  public RotatingBloomFilter(long expectedInsertions, double falsePositiveProbability, Duration rotationPeriod) {
+    long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+    this.bitCount = (int) Math.max(64, Math.min(bits, Integer.MAX_VALUE - 63L));
+    this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    this.rotationNanos = rotationPeriod.toNanos();
+    this.current = new Generation(bitCount, System.nanoTime());
+    this.previous = new Generation(bitCount, System.nanoTime());
+  }
+
+  /**
+   * Adds an element to the current generation.
+   *
+   * @param value The element to add
+   */
+  public void put(String value) {
+    long hash = hash(value);
+    Generation generation = currentGeneration();
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 1; i <= hashCount; i++) {
+      generation.set(Math.floorMod(h1 + i * h2, bitCount));
+    }
+  }
+
+  /**
+   * Checks whether an element may have been added.
+   *
+   * @param value The element to check
+   * @return false if the element was definitely not added within the last
+   * rotation period, true if it possibly was
+   */
+  public boolean mightContain(String value) {
+    long hash = hash(value);
+    Generation generation = currentGeneration();
+    return generation.contains(hash, hashCount, bitCount) || previous.contains(hash, hashCount, bitCount);
+  }
+
+  private Generation currentGeneration() {
+    Generation generation = current;
+    if (System.nanoTime() - generation.createdAt < rotationNanos) {
+      return generation;
+    }
+    synchronized (this) {
+      if (current == generation) {
+        previous = generation;
+        current = new Generation(bitCount, System.nanoTime());
+      }
+      return current;
+    }
+  }
+
+  /**
+   * 64-bit FNV-1a hash of the UTF-8 bytes, finished with a murmur3 mix step.
+   */
+  private static long hash(String value) {
+    long hash = 0xcbf29ce484222325L;
+    for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+      hash ^= b;
+      hash *= 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+
+  /**
+   * Bit set of a single generation.
+   */
+  private static final class Generation {
+    private final AtomicLongArray words;
+    private final long createdAt;
+
+    private Generation(int bitCount, long createdAt) {
+      this.words = new AtomicLongArray((bitCount + 63) / 64);
+      this.createdAt = createdAt;
+    }
+
+    private void set(int bit) {
+      int index = bit >>> 6;
+      long mask = 1L << bit;
+      long word;
+      do {
+        word = words.get(index);
+        if ((word & mask) != 0) {
+          return;
+        }
+      } while (!words.compareAndSet(index, word, word | mask));
+    }
+
+    private boolean contains(long hash, int hashCount, int bitCount) {
+      int h1 = (int) hash;
+      int h2 = (int) (hash >>> 32);
+      for (int i = 1; i <= hashCount; i++) {
+        int bit = Math.floorMod(h1 + i * h2, bitCount);
+        if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
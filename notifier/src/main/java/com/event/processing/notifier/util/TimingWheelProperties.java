@@ -0,0 +1,44 @@
+package com.event.processing.notifier.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the shared timing wheel.
+ * All delayed work of the notifier, such as retry backoff, batch linger,
+ * deferral wake-ups and circuit breaker probes, is scheduled on one hashed
+ * timing wheel. Timers fire with a precision of one tick.
+ * <p>
+ * Key features:
+ * - Configurable tick duration and wheel size
+ * - Upper bound on pending timers
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Component
+@ConfigurationProperties(prefix = "timing-wheel")
+@Getter
+@Setter
+public class TimingWheelProperties {
+  /**
+   * Duration of one tick. Timers fire up to one tick after their deadline.
+   */
+  private Duration tickDuration = Duration.ofMillis(10);
+
+  /**
+   * Number of buckets in the wheel, rounded up to a power of two. Timers more
+   * than one revolution away wait in their bucket for further revolutions.
+   */
+  private int ticksPerWheel = 512;
+
+  /**
+   * Maximum number of pending timers. Scheduling beyond it is rejected, which
+   * bounds the memory the wheel can hold on to.
+   */
+  private long maxPendingTimers = 1_000_000;
+}
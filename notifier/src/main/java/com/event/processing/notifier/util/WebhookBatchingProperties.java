@@ -0,0 +1,53 @@
+package com.event.processing.notifier.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for batched webhook delivery.
+ * Events of webhooks that opted into batching are collected per webhook and
+ * sent as one JSON array request once the batch is full or its linger time
+ * has passed.
+ * <p>
+ * Key features:
+ * - Global switch on top of the per-webhook opt-in
+ * - Linger time bounding the added delivery delay
+ * - Item count and byte size bounds per request
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Component
+@ConfigurationProperties(prefix = "webhook.batching")
+@Getter
+@Setter
+public class WebhookBatchingProperties {
+  /**
+   * Whether events of webhooks with batching enabled are batched. When false,
+   * every event is delivered in its own request.
+   * Defaults to true.
+   */
+  private boolean enabled = true;
+
+  /**
+   * How long the first event of a batch waits for more events before the
+   * batch is sent.
+   */
+  private Duration linger = Duration.ofMillis(50);
+
+  /**
+   * Maximum number of events per request.
+   */
+  private int maxItems = 100;
+
+  /**
+   * Maximum size of the JSON array sent in one request. A single event larger
+   * than this is sent alone.
+   */
+  private DataSize maxBytes = DataSize.ofKilobytes(256);
+}
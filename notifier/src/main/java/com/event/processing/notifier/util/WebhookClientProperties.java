@@ -0,0 +1,50 @@
+package com.event.processing.notifier.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the outbound webhook HTTP client.
+ * This class selects the webhook client implementation and configures the
+ * shared JDK HttpClient used for webhook delivery.
+ * <p>
+ * Key features:
+ * - Blocking RestClient or non-blocking HttpClient implementation
+ * - Configurable connect and read timeouts
+ * - HTTP/2 negotiation with HTTP/1.1 fallback
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Component
+@ConfigurationProperties(prefix = "webhook.client")
+@Getter
+@Setter
+public class WebhookClientProperties {
+  /**
+   * Webhook client implementation: "rest" for the blocking RestClient,
+   * "http" for the non-blocking JDK HttpClient.
+   * Defaults to "rest".
+   */
+  private String type = "rest";
+
+  /**
+   * Maximum time to establish a connection to a receiver.
+   */
+  private Duration connectTimeout = Duration.ofSeconds(2);
+
+  /**
+   * Maximum time to wait for a receiver's response once the request is sent.
+   */
+  private Duration readTimeout = Duration.ofSeconds(10);
+
+  /**
+   * Whether to negotiate HTTP/2 with receivers that support it.
+   * Receivers without HTTP/2 support are served over HTTP/1.1.
+   */
+  private boolean http2Enabled = true;
+}
@@ -0,0 +1,56 @@
+package com.event.processing.notifier.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuration properties for webhook request body compression.
+ * Bodies sent to webhooks with a compression setting are compressed with
+ * that encoding once they reach the configured size.
+ * <p>
+ * Key features:
+ * - Global switch on top of the per-webhook setting
+ * - Size threshold below which bodies are sent as they are
+ * - Compression levels per encoding
+ * - Bound on the compression contexts kept for reuse
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Component
+@ConfigurationProperties(prefix = "webhook.compression")
+@Getter
+@Setter
+public class WebhookCompressionProperties {
+  /**
+   * Whether bodies of webhooks with a compression setting are compressed.
+   * When false, every body is sent uncompressed.
+   * Defaults to true.
+   */
+  private boolean enabled = true;
+
+  /**
+   * Bodies smaller than this are sent uncompressed, since compressing them
+   * saves too little to pay for the CPU time.
+   */
+  private DataSize minSize = DataSize.ofKilobytes(1);
+
+  /**
+   * Deflate level used for gzip, from 1 (fastest) to 9 (smallest).
+   */
+  private int gzipLevel = 6;
+
+  /**
+   * Zstandard level, from 1 (fastest) to 22 (smallest).
+   */
+  private int zstdLevel = 3;
+
+  /**
+   * Maximum number of compression contexts per encoding kept for reuse.
+   * Should be at least the number of deliveries compressing at the same time.
+   */
+  private int maxPooledContexts = 64;
+}
@@ -0,0 +1,57 @@
+package com.event.processing.notifier.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for webhook payload signing.
+ * Payloads of webhooks with a signing secret are signed with HMAC-SHA256 over
+ * the timestamp and the serialized body, and the signature and timestamp are
+ * sent as request headers.
+ * <p>
+ * Key features:
+ * - Global switch for signing
+ * - Configurable header names
+ * - Size bound and time-to-live of the signing key cache
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@Component
+@ConfigurationProperties(prefix = "webhook.signing")
+@Getter
+@Setter
+public class WebhookSigningProperties {
+  /**
+   * Whether payloads of webhooks with a signing secret are signed.
+   * Defaults to false.
+   */
+  private boolean enabled = false;
+
+  /**
+   * Header carrying the signature, formatted as "sha256=" followed by the
+   * hex-encoded HMAC.
+   */
+  private String signatureHeader = "X-Webhook-Signature";
+
+  /**
+   * Header carrying the signing time in epoch seconds. The timestamp is part
+   * of the signed content so receivers can reject replayed requests.
+   */
+  private String timestampHeader = "X-Webhook-Timestamp";
+
+  /**
+   * Maximum number of webhooks whose signing keys are kept in memory.
+   */
+  private long keyCacheMaxSize = 10_000;
+
+  /**
+   * How long a cached signing key is used before it is reloaded.
+   * Bounds how long a rotated secret can still be used for signing.
+   */
+  private Duration keyCacheTtl = Duration.ofMinutes(5);
+}
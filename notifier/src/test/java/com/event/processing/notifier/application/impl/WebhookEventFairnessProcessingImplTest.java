@@ -1,10 +1,16 @@
 package com.event.processing.notifier.application.impl;
 
-import com.event.processing.notifier.domain.dto.BaseEventDTO;
+import com.event.processing.notifier.domain.dto.SerializedPayload;
 import com.event.processing.notifier.domain.dto.WebhookEventDTO;
 import com.event.processing.notifier.producer.EventProducer;
 import com.event.processing.notifier.service.DeduplicationService;
+import com.event.processing.notifier.service.DeduplicationService.ClaimResult;
+import com.event.processing.notifier.service.DeferredEventService;
+import com.event.processing.notifier.service.WebhookBatchService;
 import com.event.processing.notifier.service.WebhookService;
+import com.event.processing.notifier.util.DeduplicationProperties;
+import com.event.processing.notifier.util.DeferralProperties;
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,6 +19,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,12 +37,23 @@ class WebhookEventFairnessProcessingImplTest {
     @Mock
     private WebhookService webhookService;
 
+    @Mock
+    private WebhookBatchService webhookBatchService;
+
     @Mock
     private EventProducer eventProducer;
 
     @Mock
     private MeterRegistry meterRegistry;
 
+    @Mock
+    private Counter counter;
+
+    @Mock
+    private DeferredEventService deferredEventService;
+
+    private DeduplicationProperties deduplicationProperties;
+    private DeferralProperties deferralProperties;
     private WebhookEventFairnessProcessingImpl webhookEventProcessing;
 
     private static final String EVENT_ID = "test-event-id";
@@ -38,60 +62,157 @@ class WebhookEventFairnessProcessingImplTest {
 
     @BeforeEach
     void setUp() {
-        webhookEventProcessing = new WebhookEventFairnessProcessingImpl(meterRegistry, deduplicationService, webhookService, eventProducer);
+        deduplicationProperties = new DeduplicationProperties();
+        deferralProperties = new DeferralProperties();
+        webhookEventProcessing = new WebhookEventFairnessProcessingImpl(meterRegistry, deduplicationService, webhookService,
+            webhookBatchService, eventProducer, deduplicationProperties, deferredEventService, deferralProperties);
         ReflectionTestUtils.setField(webhookEventProcessing, "webhookEventTopic", WEBHOOK_EVENT_TOPIC);
     }
 
     @Test
-    void process_SuccessfulProcessing() {
+    void processChecked_SkipsDuplicateCheckAndLeavesMarkToCaller() {
+        // Arrange
+        WebhookEventDTO eventPayload = new WebhookEventDTO(EVENT_ID, "test-event-type", "test-account-id");
+        SerializedPayload webhookPayload = SerializedPayload.copyOf("{}".getBytes(StandardCharsets.UTF_8));
+        when(meterRegistry.counter(any())).thenReturn(counter);
+        when(webhookService.processWithRetry(EVENT_ID, eventPayload, WEBHOOK_URL, webhookPayload))
+            .thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        boolean markAsProcessed = webhookEventProcessing.processChecked(EVENT_ID, eventPayload, WEBHOOK_URL,
+            webhookPayload).join();
+
+        // Assert
+        assertTrue(markAsProcessed);
+        verifyNoInteractions(deduplicationService);
+    }
+
+    @Test
+    void processChecked_ProcessingFailure() {
+        // Arrange
+        WebhookEventDTO eventPayload = new WebhookEventDTO(EVENT_ID, "test-event-type", "test-account-id");
+        SerializedPayload webhookPayload = SerializedPayload.copyOf("{}".getBytes(StandardCharsets.UTF_8));
+        when(meterRegistry.counter(any())).thenReturn(counter);
+        when(webhookService.processWithRetry(EVENT_ID, eventPayload, WEBHOOK_URL, webhookPayload))
+            .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Test exception")));
+
+        // Act
+        boolean markAsProcessed = webhookEventProcessing.processChecked(EVENT_ID, eventPayload, WEBHOOK_URL,
+            webhookPayload).join();
+
+        // Assert
+        assertFalse(markAsProcessed);
+        verifyNoInteractions(deduplicationService);
+    }
+
+    @Test
+    void processBatched_SkipsDuplicateCheck() {
+        // Arrange
+        WebhookEventDTO eventPayload = new WebhookEventDTO(EVENT_ID, "test-event-type", "test-account-id");
+        SerializedPayload webhookPayload = SerializedPayload.copyOf("{}".getBytes(StandardCharsets.UTF_8));
+        when(meterRegistry.counter(any())).thenReturn(counter);
+        when(webhookBatchService.add(eq("test-webhook-id"), eq(WEBHOOK_URL), any()))
+            .thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        webhookEventProcessing.processBatched(EVENT_ID, eventPayload, "test-webhook-id", WEBHOOK_URL,
+            webhookPayload).join();
+
+        // Assert
+        verify(webhookBatchService).add(eq("test-webhook-id"), eq(WEBHOOK_URL), any());
+        verifyNoInteractions(deduplicationService);
+    }
+
+    @Test
+    void processChecked_ClaimMode_SuccessfulProcessing() {
         // Arrange
+        deduplicationProperties.setMode(DeduplicationProperties.Mode.CLAIM);
         WebhookEventDTO eventPayload = new WebhookEventDTO(EVENT_ID, "test-event-type", "test-account-id");
-        BaseEventDTO webhookPayload = new BaseEventDTO();
-        when(deduplicationService.isDuplicate(EVENT_ID)).thenReturn(false);
-        doNothing().when(webhookService).processWithRetry(EVENT_ID, eventPayload, WEBHOOK_URL, webhookPayload);
+        SerializedPayload webhookPayload = SerializedPayload.copyOf("{}".getBytes(StandardCharsets.UTF_8));
+        when(meterRegistry.counter(any())).thenReturn(counter);
+        when(deduplicationService.tryClaim(EVENT_ID)).thenReturn(ClaimResult.CLAIMED);
+        when(deduplicationService.completeClaim(EVENT_ID)).thenReturn(true);
+        when(webhookService.processWithRetry(EVENT_ID, eventPayload, WEBHOOK_URL, webhookPayload))
+            .thenReturn(CompletableFuture.completedFuture(null));
 
         // Act
-        webhookEventProcessing.process(EVENT_ID, eventPayload, WEBHOOK_URL, webhookPayload);
+        boolean markAsProcessed = webhookEventProcessing.processChecked(EVENT_ID, eventPayload, WEBHOOK_URL,
+            webhookPayload).join();
 
         // Assert
-        verify(deduplicationService).isDuplicate(EVENT_ID);
+        assertFalse(markAsProcessed); // The completed claim already marks the event
         verify(webhookService).processWithRetry(EVENT_ID, eventPayload, WEBHOOK_URL, webhookPayload);
-        verify(deduplicationService).markProcessed(EVENT_ID);
-        verifyNoMoreInteractions(eventProducer); // EventProducer should not be used in successful case
+        verify(deduplicationService).completeClaim(EVENT_ID);
+        verify(deduplicationService, never()).markProcessed(any());
+        verify(deduplicationService, never()).isDuplicate(any());
+        verify(deduplicationService, never()).releaseClaim(any());
+    }
+
+    @Test
+    void processChecked_ClaimMode_ReleasesClaimOnFailure() {
+        // Arrange
+        deduplicationProperties.setMode(DeduplicationProperties.Mode.CLAIM);
+        WebhookEventDTO eventPayload = new WebhookEventDTO(EVENT_ID, "test-event-type", "test-account-id");
+        SerializedPayload webhookPayload = SerializedPayload.copyOf("{}".getBytes(StandardCharsets.UTF_8));
+        when(meterRegistry.counter(any())).thenReturn(counter);
+        when(deduplicationService.tryClaim(EVENT_ID)).thenReturn(ClaimResult.CLAIMED);
+        when(webhookService.processWithRetry(EVENT_ID, eventPayload, WEBHOOK_URL, webhookPayload))
+            .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Test exception")));
+
+        // Act
+        webhookEventProcessing.processChecked(EVENT_ID, eventPayload, WEBHOOK_URL, webhookPayload).join();
+
+        // Assert
+        verify(deduplicationService).releaseClaim(EVENT_ID);
+        verify(deduplicationService, never()).completeClaim(any());
+        verify(deduplicationService, never()).markProcessed(any());
     }
 
     @Test
-    void process_DuplicateEvent() {
+    void processChecked_ClaimMode_AlreadyProcessed() {
         // Arrange
+        deduplicationProperties.setMode(DeduplicationProperties.Mode.CLAIM);
         WebhookEventDTO eventPayload = new WebhookEventDTO(EVENT_ID, "test-event-type", "test-account-id");
-        BaseEventDTO webhookPayload = new BaseEventDTO();
-        when(deduplicationService.isDuplicate(EVENT_ID)).thenReturn(true);
+        when(deduplicationService.tryClaim(EVENT_ID)).thenReturn(ClaimResult.ALREADY_PROCESSED);
 
         // Act
-        webhookEventProcessing.process(EVENT_ID, eventPayload, WEBHOOK_URL, webhookPayload);
+        webhookEventProcessing.processChecked(EVENT_ID, eventPayload, WEBHOOK_URL, SerializedPayload.copyOf("{}".getBytes(StandardCharsets.UTF_8))).join();
 
         // Assert
-        verify(deduplicationService).isDuplicate(EVENT_ID);
         verifyNoInteractions(webhookService);
-        verifyNoMoreInteractions(deduplicationService);
         verifyNoInteractions(eventProducer);
     }
 
     @Test
-    void process_ProcessingFailure() {
+    void processChecked_ClaimMode_DefersUntilLeaseExpiresWhenClaimedElsewhere() {
         // Arrange
+        deduplicationProperties.setMode(DeduplicationProperties.Mode.CLAIM);
+        deduplicationProperties.setLeaseDuration(Duration.ofMinutes(2));
         WebhookEventDTO eventPayload = new WebhookEventDTO(EVENT_ID, "test-event-type", "test-account-id");
-        BaseEventDTO webhookPayload = new BaseEventDTO();
-        when(deduplicationService.isDuplicate(EVENT_ID)).thenReturn(false);
-        doThrow(new RuntimeException("Test exception")).when(webhookService).processWithRetry(EVENT_ID, eventPayload, WEBHOOK_URL, webhookPayload);
+        when(deduplicationService.tryClaim(EVENT_ID)).thenReturn(ClaimResult.IN_PROGRESS);
 
         // Act
-        webhookEventProcessing.process(EVENT_ID, eventPayload, WEBHOOK_URL, webhookPayload);
+        webhookEventProcessing.processChecked(EVENT_ID, eventPayload, WEBHOOK_URL, SerializedPayload.copyOf("{}".getBytes(StandardCharsets.UTF_8))).join();
 
         // Assert
-        verify(deduplicationService).isDuplicate(EVENT_ID);
-        verify(webhookService).processWithRetry(EVENT_ID, eventPayload, WEBHOOK_URL, webhookPayload);
-        verifyNoMoreInteractions(deduplicationService); // markProcessed should not be called on failure
-        verifyNoMoreInteractions(eventProducer); // EventProducer is not used in the current implementation on failure
+        verifyNoInteractions(webhookService);
+        verify(deferredEventService).defer(List.of(eventPayload), Duration.ofMinutes(2));
+        verifyNoInteractions(eventProducer);
+    }
+
+    @Test
+    void processChecked_ClaimMode_RepublishesWhenClaimedElsewhereAndDeferralDisabled() {
+        // Arrange
+        deduplicationProperties.setMode(DeduplicationProperties.Mode.CLAIM);
+        deferralProperties.setEnabled(false);
+        WebhookEventDTO eventPayload = new WebhookEventDTO(EVENT_ID, "test-event-type", "test-account-id");
+        when(deduplicationService.tryClaim(EVENT_ID)).thenReturn(ClaimResult.IN_PROGRESS);
+
+        // Act
+        webhookEventProcessing.processChecked(EVENT_ID, eventPayload, WEBHOOK_URL, SerializedPayload.copyOf("{}".getBytes(StandardCharsets.UTF_8))).join();
+
+        // Assert
+        verifyNoInteractions(webhookService);
+        verify(eventProducer).publish(WEBHOOK_EVENT_TOPIC, "test-account-id", eventPayload);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,108 @@
+package com.event.processing.notifier.benchmark;
+
+import com.event.processing.notifier.NotiferApplication;
+import com.event.processing.notifier.domain.repository.EnrichmentRepository;
+import com.event.processing.notifier.domain.repository.JdbcEnrichmentRepository;
+import com.event.processing.notifier.domain.repository.JpaEnrichmentRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the JPA and plain JDBC enrichment repositories on the same batches
+ * of event IDs.
+ * <p>
+ * Requires a PostgreSQL database seeded with at least batchSize subscriber
+ * created events, configured through the usual DB_HOST, DB_USER and
+ * DB_PASSWORD variables. Kafka listeners and the deferral poller are not
+ * started. Run with -prof gc to compare allocations as well as latency:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=com.event.processing.notifier.benchmark.EnrichmentRepositoryBenchmark
+ * </pre>
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(1)
+public class EnrichmentRepositoryBenchmark {
+
+  @Param({"100", "500"})
+  private int batchSize;
+
+  private ConfigurableApplicationContext context;
+  private EnrichmentRepository jpaRepository;
+  private EnrichmentRepository jdbcRepository;
+  private Set<String> eventIds;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = new SpringApplicationBuilder(NotiferApplication.class)
+        .web(WebApplicationType.NONE)
+        .properties(
+            "spring.kafka.listener.auto-startup=false",
+            "deferral.enabled=false",
+            "enrichment.repository=jpa",
+            "spring.jpa.show-sql=false")
+        .run();
+
+    JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+    jpaRepository = context.getBean(JpaEnrichmentRepository.class);
+    jdbcRepository = new JdbcEnrichmentRepository(jdbcTemplate);
+    eventIds = new HashSet<>(jdbcTemplate.queryForList(
+        "SELECT id FROM subscriber_created_event LIMIT ?", String.class, batchSize));
+    if (eventIds.size() < batchSize) {
+      throw new IllegalStateException("Benchmark database holds only " + eventIds.size() + " events");
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public void jpaFetchEvents(Blackhole blackhole) {
+    blackhole.consume(jpaRepository.fetchEventsWithoutSegments(eventIds));
+  }
+
+  @Benchmark
+  public void jdbcFetchEvents(Blackhole blackhole) {
+    blackhole.consume(jdbcRepository.fetchEventsWithoutSegments(eventIds));
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options options = new OptionsBuilder()
+        .include(EnrichmentRepositoryBenchmark.class.getSimpleName())
+        .build();
+    new Runner(options).run();
+  }
+}
@@ -0,0 +1,223 @@
+package com.event.processing.notifier.benchmark;
+
+import ch.qos.logback.classic.Logger;
+import com.event.processing.notifier.domain.dto.SerializedPayload;
+import com.event.processing.notifier.domain.dto.WebhookEventDTO;
+import com.event.processing.notifier.monitoring.LogArguments;
+import com.event.processing.notifier.monitoring.SampledArgumentLoggingAspect;
+import com.event.processing.notifier.util.ArgumentLoggingProperties;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-event overhead of method instrumentation on the delivery
+ * path. One event passes through three beans, modelled on the processing
+ * service, the webhook service and the webhook client, with a serialized
+ * payload as argument.
+ * <ul>
+ *   <li>noInstrumentation calls the beans directly.</li>
+ *   <li>globalLoggingAspect wraps every bean method in the former
+ *   application-wide logging aspect, which turns all arguments into strings at
+ *   INFO on each call.</li>
+ *   <li>timedAndSampled applies the annotation-targeted instrumentation:
+ *   Micrometer's TimedAspect on the timed method and the sampled argument
+ *   logging aspect on the annotated ones. With argumentLogging=off the aspect's
+ *   logger is at INFO, with sampled it is at DEBUG and 1% of events are
+ *   logged.</li>
+ * </ul>
+ * Log events are dropped without being written, so the figures leave out
+ * appender I/O and understate the cost of logging every call.
+ * <p>
+ * Needs no external services. Run with -prof gc to compare allocations:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=com.event.processing.notifier.benchmark.InstrumentationOverheadBenchmark
+ * </pre>
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class InstrumentationOverheadBenchmark {
+
+  @Param({"off", "sampled"})
+  private String argumentLogging;
+
+  @Param({"1024"})
+  private int payloadSize;
+
+  private WebhookEventDTO event;
+  private SerializedPayload payload;
+  private Processor plain;
+  private Processor globallyLogged;
+  private Processor timedAndSampled;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    event = new WebhookEventDTO("event-1", "SUBSCRIBER_CREATED", "account-1");
+    byte[] content = new byte[payloadSize];
+    Arrays.fill(content, (byte) 'a');
+    content[0] = '"';
+    content[payloadSize - 1] = '"';
+    payload = SerializedPayload.copyOf(content);
+
+    silence(GlobalLoggingAspect.class, ch.qos.logback.classic.Level.INFO);
+    silence(SampledArgumentLoggingAspect.class, "sampled".equals(argumentLogging)
+        ? ch.qos.logback.classic.Level.DEBUG : ch.qos.logback.classic.Level.INFO);
+
+    plain = new Processor(new Deliverer(new Sender()));
+
+    GlobalLoggingAspect globalAspect = new GlobalLoggingAspect();
+    globallyLogged = proxy(new Processor(proxy(new Deliverer(proxy(new Sender(), globalAspect)), globalAspect)),
+        globalAspect);
+
+    ArgumentLoggingProperties properties = new ArgumentLoggingProperties();
+    properties.setSampleRate(0.01);
+    TimedAspect timedAspect = new TimedAspect(new SimpleMeterRegistry());
+    SampledArgumentLoggingAspect argumentAspect = new SampledArgumentLoggingAspect(properties);
+    timedAndSampled = proxy(new Processor(proxy(new Deliverer(new Sender()), timedAspect, argumentAspect)),
+        timedAspect, argumentAspect);
+  }
+
+  @Benchmark
+  public int noInstrumentation() {
+    return plain.process(event.getEventId(), event, "https://example.com/hook", payload);
+  }
+
+  @Benchmark
+  public int globalLoggingAspect() {
+    return globallyLogged.process(event.getEventId(), event, "https://example.com/hook", payload);
+  }
+
+  @Benchmark
+  public int timedAndSampled() {
+    return timedAndSampled.process(event.getEventId(), event, "https://example.com/hook", payload);
+  }
+
+  /**
+   * Keeps the logger at the given level but drops its events, so that only the
+   * cost of producing them is measured.
+   */
+  private static void silence(Class<?> loggerClass, ch.qos.logback.classic.Level level) {
+    Logger logger = (Logger) LoggerFactory.getLogger(loggerClass);
+    logger.setLevel(level);
+    logger.setAdditive(false);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T proxy(T target, Object... aspects) {
+    AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+    proxyFactory.setProxyTargetClass(true);
+    for (Object aspect : aspects) {
+      proxyFactory.addAspect(aspect);
+    }
+    return (T) proxyFactory.getProxy();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options options = new OptionsBuilder()
+        .include(InstrumentationOverheadBenchmark.class.getSimpleName())
+        .build();
+    new Runner(options).run();
+  }
+
+  /**
+   * Entry point of an event, like the processing service.
+   */
+  public static class Processor {
+    private final Deliverer deliverer;
+
+    public Processor(Deliverer deliverer) {
+      this.deliverer = deliverer;
+    }
+
+    @LogArguments
+    public int process(String eventId, WebhookEventDTO event, String url, SerializedPayload payload) {
+      return deliverer.deliver(eventId, event, url, payload);
+    }
+  }
+
+  /**
+   * Delivery with retries, like the webhook service.
+   */
+  public static class Deliverer {
+    private final Sender sender;
+
+    public Deliverer(Sender sender) {
+      this.sender = sender;
+    }
+
+    @LogArguments
+    @Timed("benchmark.delivery.time")
+    public int deliver(String eventId, WebhookEventDTO event, String url, SerializedPayload payload) {
+      return sender.send(url, payload);
+    }
+  }
+
+  /**
+   * Stands in for the HTTP call, like the webhook client.
+   */
+  public static class Sender {
+    public int send(String url, SerializedPayload payload) {
+      return url.length() + payload.getContent()[payload.size() / 2];
+    }
+  }
+
+  /**
+   * Copy of the logging aspect that used to wrap every method of the
+   * application, kept here as the baseline.
+   */
+  @Aspect
+  public static class GlobalLoggingAspect {
+    private static final org.slf4j.Logger log = LoggerFactory.getLogger(GlobalLoggingAspect.class);
+
+    @Around("execution(* com.event.processing.notifier..*(..))")
+    public Object logExecutionTime(ProceedingJoinPoint joinPoint) throws Throwable {
+      long start = System.currentTimeMillis();
+      MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+      String methodName = signature.getDeclaringTypeName() + "." + signature.getName();
+      Object[] args = joinPoint.getArgs();
+
+      log.info("Executing: {} with args: {}", methodName, Arrays.toString(args));
+      try {
+        Object result = joinPoint.proceed();
+        log.info("Completed: {} in {} ms", methodName, System.currentTimeMillis() - start);
+        return result;
+      } catch (Exception ex) {
+        log.error("Error in {}: {}", methodName, ex.getMessage(), ex);
+        throw ex;
+      }
+    }
+  }
+}
@@ -0,0 +1,99 @@
+package com.event.processing.notifier.benchmark;
+
+import com.event.processing.notifier.domain.dto.SerializedPayload;
+import com.event.processing.notifier.domain.repository.EnrichmentRepository;
+import com.event.processing.notifier.domain.service.signing.WebhookPayloadSigner;
+import com.event.processing.notifier.util.WebhookSigningProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of signing one serialized payload with HMAC-SHA256.
+ * signWithThreadMac is the production path: a cached key and the thread's
+ * reused Mac. signWithNewMac creates and initializes a Mac per payload, which
+ * is what signing at send time without reuse would cost.
+ * <p>
+ * Needs no external services. Run with -prof gc to compare allocations:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=com.event.processing.notifier.benchmark.PayloadSigningBenchmark
+ * </pre>
+ *
+ * @author LongLe
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class PayloadSigningBenchmark {
+
+  @Param({"512", "4096", "16384"})
+  private int payloadSize;
+
+  private WebhookPayloadSigner signer;
+  private SecretKeySpec key;
+  private SerializedPayload payload;
+  private String timestamp;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    signer = new WebhookPayloadSigner(Mockito.mock(EnrichmentRepository.class), new WebhookSigningProperties(),
+        new SimpleMeterRegistry());
+    key = WebhookPayloadSigner.signingKey("whsec_benchmark-secret");
+    timestamp = String.valueOf(System.currentTimeMillis() / 1000);
+
+    byte[] content = new byte[payloadSize];
+    Arrays.fill(content, (byte) 'a');
+    content[0] = '"';
+    content[payloadSize - 1] = '"';
+    payload = SerializedPayload.copyOf(content);
+  }
+
+  @Benchmark
+  public SerializedPayload signWithThreadMac() {
+    return signer.sign(payload, key, timestamp);
+  }
+
+  @Benchmark
+  public String signWithNewMac() throws Exception {
+    Mac mac = Mac.getInstance("HmacSHA256");
+    mac.init(key);
+    mac.update(timestamp.getBytes(StandardCharsets.US_ASCII));
+    mac.update((byte) '.');
+    mac.update(payload.getContent());
+    return HexFormat.of().formatHex(mac.doFinal());
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options options = new OptionsBuilder()
+        .include(PayloadSigningBenchmark.class.getSimpleName())
+        .build();
+    new Runner(options).run();
+  }
+}
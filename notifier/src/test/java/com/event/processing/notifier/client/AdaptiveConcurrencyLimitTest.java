@@ -0,0 +1,148 @@
+package com.event.processing.notifier.client;
+
+import com.event.processing.notifier.util.DeliveryExecutorProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long NO_WAIT = 0;
+
+    private DeliveryExecutorProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new DeliveryExecutorProperties();
+    }
+
+    @Test
+    @DisplayName("The limit should grow while a fully used host keeps its latency")
+    void limit_ShouldGrowUnderLoadAtSteadyLatency() throws InterruptedException {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(properties);
+        int initial = limit.getLimit();
+
+        // Act
+        runAtFullLoad(limit, FAST, 200);
+
+        // Assert
+        assertTrue(limit.getLimit() > initial, "limit " + limit.getLimit() + " should exceed " + initial);
+        assertTrue(limit.getLimit() <= properties.getMaxConcurrencyPerHost());
+    }
+
+    @Test
+    @DisplayName("The limit should shrink when the host becomes slower than its baseline")
+    void limit_ShouldShrinkWhenLatencyRises() throws InterruptedException {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(properties);
+        runAtFullLoad(limit, FAST, 100);
+        int beforeSlowdown = limit.getLimit();
+
+        // Act
+        runAtFullLoad(limit, SLOW, 100);
+
+        // Assert
+        assertTrue(limit.getLimit() < beforeSlowdown,
+            "limit " + limit.getLimit() + " should be below " + beforeSlowdown);
+        assertTrue(limit.getLimit() >= properties.getAdaptive().getMinLimit());
+    }
+
+    @Test
+    @DisplayName("The limit should not grow while the host is not using it")
+    void limit_ShouldNotGrowWhenUnderused() throws InterruptedException {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(properties);
+        int initial = limit.getLimit();
+
+        // Act
+        for (int i = 0; i < 200; i++) {
+            assertEquals(AdaptiveConcurrencyLimit.Acquisition.ACQUIRED, limit.acquire(NO_WAIT, 0));
+            limit.release(FAST, false);
+        }
+
+        // Assert
+        assertEquals(initial, limit.getLimit());
+    }
+
+    @Test
+    @DisplayName("A dropped request should cut the limit by the backoff ratio")
+    void limit_ShouldBackOffOnDrop() throws InterruptedException {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(properties);
+
+        // Act
+        limit.acquire(NO_WAIT, 0);
+        limit.release(SLOW, true);
+
+        // Assert
+        assertEquals(18, limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Callers over the limit should be shed when too many are parked and time out otherwise")
+    void acquire_ShouldShedOrTimeOutOverTheLimit() throws InterruptedException {
+        // Arrange
+        properties.setMaxConcurrencyPerHost(1);
+        properties.getAdaptive().setEnabled(false);
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(properties);
+        assertEquals(AdaptiveConcurrencyLimit.Acquisition.ACQUIRED, limit.acquire(NO_WAIT, 0));
+
+        // Act & Assert
+        assertEquals(AdaptiveConcurrencyLimit.Acquisition.QUEUE_FULL, limit.acquire(FAST, 0));
+        assertEquals(AdaptiveConcurrencyLimit.Acquisition.TIMEOUT, limit.acquire(FAST, 1));
+
+        limit.release(FAST, false);
+        assertEquals(AdaptiveConcurrencyLimit.Acquisition.ACQUIRED, limit.acquire(NO_WAIT, 0));
+    }
+
+    @Test
+    @DisplayName("Asynchronous callers that timed out should not keep the permit released for them")
+    void acquireAsync_ShouldPassPermitOn_WhenWaiterTimedOut() {
+        // Arrange
+        properties.setMaxConcurrencyPerHost(1);
+        properties.getAdaptive().setEnabled(false);
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(properties);
+        assertEquals(AdaptiveConcurrencyLimit.Acquisition.ACQUIRED, limit.acquireAsync(NO_WAIT, 0).join());
+
+        // Act
+        CompletableFuture<AdaptiveConcurrencyLimit.Acquisition> timedOut = limit.acquireAsync(FAST, 2);
+        AdaptiveConcurrencyLimit.Acquisition timedOutResult = timedOut.join();
+        CompletableFuture<AdaptiveConcurrencyLimit.Acquisition> waiting =
+            limit.acquireAsync(TimeUnit.SECONDS.toNanos(5), 2);
+        limit.release(FAST, false);
+
+        // Assert
+        assertEquals(AdaptiveConcurrencyLimit.Acquisition.TIMEOUT, timedOutResult);
+        assertEquals(AdaptiveConcurrencyLimit.Acquisition.ACQUIRED, waiting.join());
+        assertEquals(1, limit.getInFlight());
+    }
+
+    /**
+     * Keeps every permit of the limit in use and completes requests one at a
+     * time with the given latency.
+     */
+    private static void runAtFullLoad(AdaptiveConcurrencyLimit limit, long rttNanos, int requests)
+        throws InterruptedException {
+        while (limit.acquire(NO_WAIT, 0) == AdaptiveConcurrencyLimit.Acquisition.ACQUIRED) {
+            // Fill up to the current limit
+        }
+        for (int i = 0; i < requests; i++) {
+            limit.release(rttNanos, false);
+            while (limit.acquire(NO_WAIT, 0) == AdaptiveConcurrencyLimit.Acquisition.ACQUIRED) {
+                // Refill permits freed or added by the release
+            }
+        }
+        while (limit.getInFlight() > 0) {
+            limit.release(rttNanos, false);
+        }
+    }
+}
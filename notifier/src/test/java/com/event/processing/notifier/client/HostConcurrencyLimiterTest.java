@@ -0,0 +1,124 @@
+package com.event.processing.notifier.client;
+
+import com.event.processing.notifier.util.DeliveryExecutorProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HostConcurrencyLimiterTest {
+
+    private static final String HOST_A_URL = "https://a.example.com/hook";
+    private static final String HOST_B_URL = "https://b.example.com/hook";
+
+    private DeliveryExecutorProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private HostConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new DeliveryExecutorProperties();
+        properties.getAdaptive().setEnabled(false);
+        properties.setMaxConcurrencyPerHost(1);
+        properties.setMaxQueuedPerHost(0);
+        properties.setAcquireTimeout(Duration.ofMillis(10));
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new HostConcurrencyLimiter(properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("execute should reject a delivery once its host has no free permit")
+    void execute_ShouldReject_WhenHostAtLimit() {
+        // Act
+        RejectedExecutionException ex = limiter.execute(HOST_A_URL, () ->
+            assertThrows(RejectedExecutionException.class, () -> limiter.execute(HOST_A_URL, () -> "second")));
+
+        // Assert
+        assertNotNull(ex);
+        assertEquals(1.0, meterRegistry.get("webhook.host.concurrency.rejected").tag("host", "a.example.com")
+            .counter().count());
+    }
+
+    @Test
+    @DisplayName("execute should not let a busy host take the permits of another host")
+    void execute_ShouldAllowOtherHost_WhenOneHostAtLimit() {
+        // Act
+        String result = limiter.execute(HOST_A_URL, () -> limiter.execute(HOST_B_URL, () -> "delivered"));
+
+        // Assert
+        assertEquals("delivered", result);
+        assertEquals(0.0, meterRegistry.get("webhook.host.concurrency.in.flight").tag("host", "a.example.com")
+            .gauge().value());
+    }
+
+    @Test
+    @DisplayName("execute should forget the least used hosts and their metrics beyond the tracked host limit")
+    void execute_ShouldRemoveMetricsOfEvictedHosts() {
+        // Arrange
+        properties.setMaxTrackedHosts(1);
+        limiter = new HostConcurrencyLimiter(properties, meterRegistry);
+
+        // Act
+        for (String host : new String[]{"a", "b", "c"}) {
+            limiter.execute("https://" + host + ".example.com/hook", () -> "delivered");
+        }
+
+        // Assert
+        assertEquals(1, meterRegistry.find("webhook.host.concurrency.limit").gauges().size());
+        assertEquals(1, meterRegistry.find("webhook.host.concurrency.in.flight").gauges().size());
+    }
+
+    @Test
+    @DisplayName("executeAsync should start a queued call once the permit it waits for is released")
+    void executeAsync_ShouldStartQueuedCall_WhenPermitReleased() {
+        // Arrange
+        properties.setMaxQueuedPerHost(1);
+        properties.setAcquireTimeout(Duration.ofSeconds(5));
+        CompletableFuture<String> first = new CompletableFuture<>();
+        AtomicBoolean secondStarted = new AtomicBoolean();
+        limiter.executeAsync(HOST_A_URL, () -> first);
+
+        // Act
+        CompletableFuture<String> second = limiter.executeAsync(HOST_A_URL, () -> {
+            secondStarted.set(true);
+            return CompletableFuture.completedFuture("second");
+        });
+        boolean startedWhileHeld = secondStarted.get();
+        first.complete("first");
+
+        // Assert
+        assertFalse(startedWhileHeld);
+        assertEquals("second", second.join());
+        assertEquals(0.0, meterRegistry.get("webhook.host.concurrency.in.flight").tag("host", "a.example.com")
+            .gauge().value());
+    }
+
+    @Test
+    @DisplayName("executeAsync should fail the call without blocking when no permit can be queued for")
+    void executeAsync_ShouldFailFast_WhenQueueFull() {
+        // Arrange
+        properties.setAcquireTimeout(Duration.ofSeconds(5));
+        AtomicBoolean secondStarted = new AtomicBoolean();
+        limiter.executeAsync(HOST_A_URL, CompletableFuture::new);
+
+        // Act
+        CompletableFuture<String> second = limiter.executeAsync(HOST_A_URL, () -> {
+            secondStarted.set(true);
+            return CompletableFuture.completedFuture("second");
+        });
+
+        // Assert
+        assertTrue(second.isCompletedExceptionally());
+        CompletionException ex = assertThrows(CompletionException.class, second::join);
+        assertInstanceOf(RejectedExecutionException.class, ex.getCause());
+        assertFalse(secondStarted.get());
+    }
+}
@@ -0,0 +1,115 @@
+package com.event.processing.notifier.client;
+
+import com.event.processing.notifier.domain.dto.ContentEncoding;
+import com.event.processing.notifier.domain.dto.SerializedPayload;
+import com.event.processing.notifier.util.WebhookCompressionProperties;
+import com.github.luben.zstd.Zstd;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PayloadCompressorTest {
+
+    private static final byte[] LARGE_BODY = ("[" + "{\"event_name\":\"subscriber.created\",\"segments\":[]},".repeat(200)
+        + "{}]").getBytes(StandardCharsets.UTF_8);
+
+    private WebhookCompressionProperties properties;
+    private PayloadCompressor payloadCompressor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new WebhookCompressionProperties();
+        properties.setMaxPooledContexts(1);
+        payloadCompressor = new PayloadCompressor(properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Gzip bodies should be valid gzip streams, also when the pooled context is reused")
+    void encode_ShouldProduceReadableGzip() throws IOException {
+        // Arrange
+        SerializedPayload payload = SerializedPayload.copyOf(LARGE_BODY).withContentEncoding(ContentEncoding.GZIP);
+
+        // Act
+        SerializedPayload first = payloadCompressor.encode(payload);
+        SerializedPayload second = payloadCompressor.encode(payload);
+
+        // Assert
+        assertEquals(ContentEncoding.GZIP, first.getBodyEncoding());
+        assertTrue(first.getBody().length < LARGE_BODY.length);
+        assertArrayEquals(first.getBody(), second.getBody());
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(second.getBody()))) {
+            assertArrayEquals(LARGE_BODY, gzip.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Payloads that already carry an encoded body should not be compressed again")
+    void encode_ShouldNotCompressEncodedPayloadAgain() {
+        // Arrange
+        SerializedPayload payload = SerializedPayload.copyOf(LARGE_BODY).withContentEncoding(ContentEncoding.GZIP);
+        SerializedPayload encoded = payloadCompressor.encode(payload);
+
+        // Act
+        SerializedPayload encodedAgain = payloadCompressor.encode(encoded);
+
+        // Assert
+        assertSame(encoded, encodedAgain);
+        assertArrayEquals(LARGE_BODY, encoded.getContent());
+    }
+
+    @Test
+    @DisplayName("Zstandard bodies should decompress to the original payload")
+    void encode_ShouldProduceReadableZstd() {
+        // Arrange
+        SerializedPayload payload = SerializedPayload.copyOf(LARGE_BODY).withContentEncoding(ContentEncoding.ZSTD);
+
+        // Act
+        SerializedPayload body = payloadCompressor.encode(payload);
+
+        // Assert
+        assertEquals(ContentEncoding.ZSTD, body.getBodyEncoding());
+        assertArrayEquals(LARGE_BODY, Zstd.decompress(body.getBody(), LARGE_BODY.length));
+    }
+
+    @Test
+    @DisplayName("Bodies below the size threshold should be sent as they are")
+    void encode_ShouldSkipSmallBodies() {
+        // Arrange
+        SerializedPayload payload = SerializedPayload.copyOf("{\"id\":\"event-1\"}".getBytes(StandardCharsets.UTF_8))
+            .withContentEncoding(ContentEncoding.GZIP);
+
+        // Act
+        SerializedPayload body = payloadCompressor.encode(payload);
+
+        // Assert
+        assertNull(body.getBodyEncoding());
+        assertSame(payload.getContent(), body.getBody());
+    }
+
+    @Test
+    @DisplayName("Bodies should be sent as they are when compression is disabled or not requested")
+    void encode_ShouldSkipWhenNotRequested() {
+        // Arrange
+        SerializedPayload unrequested = SerializedPayload.copyOf(LARGE_BODY);
+        SerializedPayload requested = SerializedPayload.copyOf(LARGE_BODY).withContentEncoding(ContentEncoding.GZIP);
+
+        // Act
+        SerializedPayload unrequestedBody = payloadCompressor.encode(unrequested);
+        properties.setEnabled(false);
+        SerializedPayload disabledBody = payloadCompressor.encode(requested);
+
+        // Assert
+        assertNull(unrequestedBody.getBodyEncoding());
+        assertNull(disabledBody.getBodyEncoding());
+        assertSame(requested.getContent(), disabledBody.getBody());
+    }
+}
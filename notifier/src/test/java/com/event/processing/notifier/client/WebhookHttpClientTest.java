@@ -0,0 +1,120 @@
+package com.event.processing.notifier.client;
+
+import com.event.processing.notifier.domain.dto.ContentEncoding;
+import com.event.processing.notifier.domain.dto.SerializedPayload;
+import com.event.processing.notifier.util.DeliveryExecutorProperties;
+import com.event.processing.notifier.util.WebhookClientProperties;
+import com.event.processing.notifier.util.WebhookCompressionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WebhookHttpClientTest {
+
+  private static final String WEBHOOK_URL = "http://test-url.com/hook";
+
+  @Mock
+  private HttpClient httpClient;
+  @Mock
+  private HttpResponse<String> response;
+  private WebhookHttpClient webhookClient;
+  private PayloadCompressor payloadCompressor;
+  private final SerializedPayload payload = SerializedPayload.copyOf(
+      "{\"event_name\":\"subscriber.created\"}".getBytes(StandardCharsets.UTF_8));
+
+  @BeforeEach
+  void setUp() {
+    HostConcurrencyLimiter hostConcurrencyLimiter =
+        new HostConcurrencyLimiter(new DeliveryExecutorProperties(), new SimpleMeterRegistry());
+    payloadCompressor = new PayloadCompressor(new WebhookCompressionProperties(), new SimpleMeterRegistry());
+    webhookClient = new WebhookHttpClient(httpClient, new WebhookClientProperties(), hostConcurrencyLimiter);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void sendWebhookAsync_WhenSuccessful_ShouldCompleteWithTrue() {
+    // Arrange
+    when(response.statusCode()).thenReturn(200);
+    when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+        .thenReturn(CompletableFuture.completedFuture(response));
+
+    // Act
+    boolean result = webhookClient.sendWebhookAsync(WEBHOOK_URL, payload).join();
+
+    // Assert
+    assertTrue(result);
+    ArgumentCaptor<HttpRequest> requestCaptor = ArgumentCaptor.forClass(HttpRequest.class);
+    verify(httpClient).sendAsync(requestCaptor.capture(), any(HttpResponse.BodyHandler.class));
+    assertEquals(URI.create(WEBHOOK_URL), requestCaptor.getValue().uri());
+    assertEquals("POST", requestCaptor.getValue().method());
+    assertEquals("application/json", requestCaptor.getValue().headers().firstValue("Content-Type").orElse(null));
+    assertEquals(payload.size(), requestCaptor.getValue().bodyPublisher().orElseThrow().contentLength());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void sendWebhookAsync_WhenPayloadIsCompressed_ShouldSendCompressedBody() {
+    // Arrange
+    SerializedPayload largePayload = payloadCompressor.encode(SerializedPayload.copyOf(
+            ("[" + "{\"event_name\":\"subscriber.created\"},".repeat(100) + "{}]").getBytes(StandardCharsets.UTF_8))
+        .withContentEncoding(ContentEncoding.GZIP));
+    when(response.statusCode()).thenReturn(200);
+    when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+        .thenReturn(CompletableFuture.completedFuture(response));
+
+    // Act
+    boolean result = webhookClient.sendWebhookAsync(WEBHOOK_URL, largePayload).join();
+
+    // Assert
+    assertTrue(result);
+    ArgumentCaptor<HttpRequest> requestCaptor = ArgumentCaptor.forClass(HttpRequest.class);
+    verify(httpClient).sendAsync(requestCaptor.capture(), any(HttpResponse.BodyHandler.class));
+    assertEquals("gzip", requestCaptor.getValue().headers().firstValue("Content-Encoding").orElse(null));
+    assertTrue(requestCaptor.getValue().bodyPublisher().orElseThrow().contentLength() < largePayload.size());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void sendWebhookAsync_WhenReceiverRejects_ShouldCompleteWithFalse() {
+    // Arrange
+    when(response.statusCode()).thenReturn(500);
+    when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+        .thenReturn(CompletableFuture.completedFuture(response));
+
+    // Act
+    boolean result = webhookClient.sendWebhookAsync(WEBHOOK_URL, payload).join();
+
+    // Assert
+    assertFalse(result);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void sendWebhook_WhenConnectionFails_ShouldThrowException() {
+    // Arrange
+    when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+        .thenReturn(CompletableFuture.failedFuture(new ConnectException("Connection refused")));
+
+    // Act & Assert
+    assertThrows(CompletionException.class, () -> webhookClient.sendWebhook(WEBHOOK_URL, payload));
+  }
+}
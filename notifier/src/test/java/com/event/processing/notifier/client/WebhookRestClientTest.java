@@ -1,16 +1,21 @@
 package com.event.processing.notifier.client;
 
-import com.event.processing.notifier.domain.dto.BaseEventDTO;
+import com.event.processing.notifier.domain.dto.SerializedPayload;
+import com.event.processing.notifier.util.DeliveryExecutorProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestClient;
 
 import static org.junit.jupiter.api.Assertions.*;
+import java.nio.charset.StandardCharsets;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.verify;
@@ -22,6 +27,7 @@ class WebhookRestClientTest {
   private static final String WEBHOOK_URL = "http://test-url.com";
   private static final String SUCCESS_RESPONSE = "Success";
   private static final String ERROR_MESSAGE = "Connection refused";
+  private static final byte[] PAYLOAD = "{\"event_name\":\"subscriber.created\"}".getBytes(StandardCharsets.UTF_8);
   @Mock
   private RestClient restClient;
   @Mock
@@ -34,18 +40,21 @@ class WebhookRestClientTest {
 
   @BeforeEach
   void setUp() {
-    webhookClient = new WebhookRestClient(restClient);
+    HostConcurrencyLimiter hostConcurrencyLimiter =
+        new HostConcurrencyLimiter(new DeliveryExecutorProperties(), new SimpleMeterRegistry());
+    webhookClient = new WebhookRestClient(restClient, hostConcurrencyLimiter);
   }
 
   @Test
   void sendWebhook_WhenSuccessful_ShouldReturnTrue() {
     // Arrange
-    BaseEventDTO payload = new BaseEventDTO();
+    SerializedPayload payload = SerializedPayload.copyOf(PAYLOAD);
     ResponseEntity<String> response = new ResponseEntity<>(SUCCESS_RESPONSE, HttpStatus.OK);
 
     when(restClient.post()).thenReturn(requestBodyUriSpec);
     when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
-    when(requestBodySpec.body(any(BaseEventDTO.class))).thenReturn(requestBodySpec);
+    when(requestBodySpec.contentType(MediaType.APPLICATION_JSON)).thenReturn(requestBodySpec);
+    when(requestBodySpec.body(any(byte[].class))).thenReturn(requestBodySpec);
     when(requestBodySpec.retrieve()).thenReturn(responseSpec);
     when(responseSpec.toEntity(String.class)).thenReturn(response);
 
@@ -56,18 +65,19 @@ class WebhookRestClientTest {
     assertTrue(result);
     verify(restClient).post();
     verify(requestBodyUriSpec).uri(WEBHOOK_URL);
-    verify(requestBodySpec).body(payload);
+    verify(requestBodySpec).body(payload.getContent());
   }
 
   @Test
   void sendWebhook_WhenServerError_ShouldReturnFalse() {
     // Arrange
-    BaseEventDTO payload = new BaseEventDTO();
+    SerializedPayload payload = SerializedPayload.copyOf(PAYLOAD);
     ResponseEntity<String> response = new ResponseEntity<>(SUCCESS_RESPONSE, HttpStatus.INTERNAL_SERVER_ERROR);
 
     when(restClient.post()).thenReturn(requestBodyUriSpec);
     when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
-    when(requestBodySpec.body(any(BaseEventDTO.class))).thenReturn(requestBodySpec);
+    when(requestBodySpec.contentType(MediaType.APPLICATION_JSON)).thenReturn(requestBodySpec);
+    when(requestBodySpec.body(any(byte[].class))).thenReturn(requestBodySpec);
     when(requestBodySpec.retrieve()).thenReturn(responseSpec);
     when(responseSpec.toEntity(String.class)).thenReturn(response);
 
@@ -78,17 +88,18 @@ class WebhookRestClientTest {
     assertFalse(result);
     verify(restClient).post();
     verify(requestBodyUriSpec).uri(WEBHOOK_URL);
-    verify(requestBodySpec).body(payload);
+    verify(requestBodySpec).body(payload.getContent());
   }
 
   @Test
   void sendWebhook_WhenExceptionOccurs_ShouldThrowException() {
     // Arrange
-    BaseEventDTO payload = new BaseEventDTO();
+    SerializedPayload payload = SerializedPayload.copyOf(PAYLOAD);
 
     when(restClient.post()).thenReturn(requestBodyUriSpec);
     when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
-    when(requestBodySpec.body(any(BaseEventDTO.class))).thenReturn(requestBodySpec);
+    when(requestBodySpec.contentType(MediaType.APPLICATION_JSON)).thenReturn(requestBodySpec);
+    when(requestBodySpec.body(any(byte[].class))).thenReturn(requestBodySpec);
     when(requestBodySpec.retrieve()).thenReturn(responseSpec);
     when(responseSpec.toEntity(String.class)).thenThrow(new RuntimeException(ERROR_MESSAGE));
 
@@ -98,18 +109,19 @@ class WebhookRestClientTest {
     assertEquals(ERROR_MESSAGE, exception.getMessage());
     verify(restClient).post();
     verify(requestBodyUriSpec).uri(WEBHOOK_URL);
-    verify(requestBodySpec).body(payload);
+    verify(requestBodySpec).body(payload.getContent());
   }
 
   @Test
   void sendWebhook_WhenAcceptedStatus_ShouldReturnTrue() {
     // Arrange
-    BaseEventDTO payload = new BaseEventDTO();
+    SerializedPayload payload = SerializedPayload.copyOf(PAYLOAD);
     ResponseEntity<String> response = new ResponseEntity<>(SUCCESS_RESPONSE, HttpStatus.ACCEPTED);
 
     when(restClient.post()).thenReturn(requestBodyUriSpec);
     when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
-    when(requestBodySpec.body(any(BaseEventDTO.class))).thenReturn(requestBodySpec);
+    when(requestBodySpec.contentType(MediaType.APPLICATION_JSON)).thenReturn(requestBodySpec);
+    when(requestBodySpec.body(any(byte[].class))).thenReturn(requestBodySpec);
     when(requestBodySpec.retrieve()).thenReturn(responseSpec);
     when(responseSpec.toEntity(String.class)).thenReturn(response);
 
@@ -120,6 +132,6 @@ class WebhookRestClientTest {
     assertTrue(result);
     verify(restClient).post();
     verify(requestBodyUriSpec).uri(WEBHOOK_URL);
-    verify(requestBodySpec).body(payload);
+    verify(requestBodySpec).body(payload.getContent());
   }
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.event.processing.notifier.config;
+
+import com.event.processing.notifier.util.DeliveryExecutorProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class ThreadPoolConfigTest {
+
+    @Mock
+    private ThreadPoolTaskExecutor kafkaConsumerExecutor;
+
+    private DeliveryExecutorProperties properties;
+    private ThreadPoolConfig threadPoolConfig;
+
+    @BeforeEach
+    void setUp() {
+        properties = new DeliveryExecutorProperties();
+        threadPoolConfig = new ThreadPoolConfig();
+    }
+
+    @Test
+    @DisplayName("webhookDeliveryExecutor should run deliveries on the consumer pool in PLATFORM mode")
+    void webhookDeliveryExecutor_ShouldUseConsumerPool_WhenPlatformMode() {
+        // Arrange
+        Runnable delivery = () -> { };
+
+        // Act
+        Executor executor = threadPoolConfig.webhookDeliveryExecutor(properties, kafkaConsumerExecutor);
+        executor.execute(delivery);
+
+        // Assert
+        verify(kafkaConsumerExecutor).execute(delivery);
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @DisplayName("webhookDeliveryExecutor should run each delivery on its own virtual thread in VIRTUAL mode")
+    void webhookDeliveryExecutor_ShouldUseVirtualThreads_WhenVirtualMode() throws Exception {
+        // Arrange
+        properties.setMode(DeliveryExecutorProperties.Mode.VIRTUAL);
+        CompletableFuture<Thread> deliveryThread = new CompletableFuture<>();
+
+        // Act
+        Executor executor = threadPoolConfig.webhookDeliveryExecutor(properties, kafkaConsumerExecutor);
+        executor.execute(() -> deliveryThread.complete(Thread.currentThread()));
+
+        // Assert
+        assertInstanceOf(SimpleAsyncTaskExecutor.class, executor);
+        assertTrue(deliveryThread.get(5, TimeUnit.SECONDS).getName().startsWith("WebhookDelivery-"));
+        verifyNoInteractions(kafkaConsumerExecutor);
+    }
+}
@@ -0,0 +1,169 @@
+package com.event.processing.notifier.consumer;
+
+import com.event.processing.notifier.util.ConsumerPipelineProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OffsetCommitTrackerTest {
+
+    private static final TopicPartition PARTITION = new TopicPartition("webhook-events", 0);
+
+    @Mock
+    private Consumer<String, String> consumer;
+
+    @Mock
+    private KafkaListenerEndpointRegistry listenerRegistry;
+
+    @Mock
+    private MessageListenerContainer container;
+
+    private ConsumerPipelineProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private OffsetCommitTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ConsumerPipelineProperties();
+        properties.setMaxPendingRecords(3);
+        meterRegistry = new SimpleMeterRegistry();
+        tracker = new OffsetCommitTracker(properties, meterRegistry, listenerRegistry);
+        lenient().when(consumer.assignment()).thenReturn(Set.of(PARTITION));
+        lenient().when(listenerRegistry.getAllListenerContainers()).thenReturn(List.of(container));
+        lenient().when(container.getAssignedPartitions()).thenReturn(List.of(PARTITION));
+    }
+
+    @Test
+    @DisplayName("commitReady should stop at the lowest offset still in progress")
+    void commitReady_ShouldCommitUpToLowestIncompleteOffset() {
+        // Arrange
+        registerAll(10, 11, 12);
+        tracker.complete(PARTITION, 10);
+        tracker.complete(PARTITION, 12);
+
+        // Act
+        tracker.commitReady(consumer);
+
+        // Assert
+        verify(consumer).commitSync(Map.of(PARTITION, new OffsetAndMetadata(11)));
+    }
+
+    @Test
+    @DisplayName("commitReady should commit past the highest offset once everything completed")
+    void commitReady_ShouldCommitPastHighestOffset_WhenAllCompleted() {
+        // Arrange
+        registerAll(10, 11, 12);
+        tracker.complete(PARTITION, 12);
+        tracker.complete(PARTITION, 11);
+        tracker.complete(PARTITION, 10);
+
+        // Act
+        tracker.commitReady(consumer);
+
+        // Assert
+        verify(consumer).commitSync(Map.of(PARTITION, new OffsetAndMetadata(13)));
+        assertEquals(0.0, meterRegistry.get("kafka.pipeline.pending.records").gauge().value());
+    }
+
+    @Test
+    @DisplayName("commitReady should not commit again when nothing advanced")
+    void commitReady_ShouldSkipCommit_WhenOffsetDidNotAdvance() {
+        // Arrange
+        registerAll(10, 11);
+        tracker.complete(PARTITION, 10);
+        tracker.commitReady(consumer);
+
+        // Act
+        tracker.commitReady(consumer);
+
+        // Assert
+        verify(consumer, times(1)).commitSync(anyMap());
+    }
+
+    @Test
+    @DisplayName("complete should ignore records that were already completed")
+    void complete_ShouldBeIdempotent() {
+        // Arrange
+        registerAll(10, 11);
+
+        // Act
+        tracker.complete(PARTITION, 10);
+        tracker.complete(PARTITION, 10);
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("kafka.pipeline.pending.records").gauge().value());
+    }
+
+    @Test
+    @DisplayName("revoke should drop pending records of revoked partitions")
+    void revoke_ShouldDropPendingRecords() {
+        // Arrange
+        registerAll(10, 11, 12);
+
+        // Act
+        tracker.revoke(List.of(PARTITION));
+        tracker.commitReady(consumer);
+
+        // Assert
+        assertEquals(0.0, meterRegistry.get("kafka.pipeline.pending.records").gauge().value());
+        verify(consumer, never()).commitSync(anyMap());
+    }
+
+    @Test
+    @DisplayName("pauseIfOverCapacity should pause the assigned partitions once the bound is reached")
+    void pauseIfOverCapacity_ShouldPauseAssignedPartitions_WhenFull() {
+        // Arrange
+        registerAll(10, 11);
+        tracker.pauseIfOverCapacity();
+        registerAll(12);
+
+        // Act
+        tracker.pauseIfOverCapacity();
+        tracker.pauseIfOverCapacity();
+
+        // Assert
+        verify(container, times(1)).pausePartition(PARTITION);
+        verify(container, never()).resumePartition(any());
+    }
+
+    @Test
+    @DisplayName("complete should resume paused partitions once half of the bound is free")
+    void complete_ShouldResumePartitions_WhenPendingDropsToHalf() {
+        // Arrange
+        registerAll(10, 11, 12);
+        tracker.pauseIfOverCapacity();
+
+        // Act
+        tracker.complete(PARTITION, 10);
+        verify(container, never()).resumePartition(any());
+        tracker.complete(PARTITION, 11);
+
+        // Assert
+        verify(container).resumePartition(PARTITION);
+    }
+
+    private void registerAll(long... offsets) {
+        for (long offset : offsets) {
+            tracker.register(PARTITION, offset);
+        }
+    }
+}
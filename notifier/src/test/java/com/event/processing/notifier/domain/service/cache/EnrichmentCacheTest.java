@@ -0,0 +1,87 @@
+package com.event.processing.notifier.domain.service.cache;
+
+import com.event.processing.notifier.domain.dto.SegmentDTO;
+import com.event.processing.notifier.domain.dto.WebhookPostUrlDTO;
+import com.event.processing.notifier.domain.repository.EnrichmentRepository;
+import com.event.processing.notifier.util.EnrichmentCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EnrichmentCacheTest {
+
+    @Mock
+    private EnrichmentRepository enrichmentRepository;
+
+    private EnrichmentCache enrichmentCache;
+
+    @BeforeEach
+    void setUp() {
+        enrichmentCache = new EnrichmentCache(enrichmentRepository, new EnrichmentCacheProperties(),
+            new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("getWebhooks should load misses once and serve later lookups from the cache")
+    void getWebhooks_ShouldLoadMissesOnce() {
+        // Arrange
+        when(enrichmentRepository.findPostUrlsByIds(anyCollection()))
+            .thenReturn(List.of(new WebhookPostUrlDTO("webhook-1", "http://test-url.com/hook", false, null)));
+
+        // Act
+        enrichmentCache.getWebhooks(Set.of("webhook-1"));
+        Map<String, WebhookPostUrlDTO> result = enrichmentCache.getWebhooks(Set.of("webhook-1"));
+
+        // Assert
+        assertEquals("http://test-url.com/hook", result.get("webhook-1").postUrl());
+        verify(enrichmentRepository, times(1)).findPostUrlsByIds(anyCollection());
+    }
+
+    @Test
+    @DisplayName("evictWebhook should force the post URL to be reloaded")
+    void evictWebhook_ShouldForceReload() {
+        // Arrange
+        when(enrichmentRepository.findPostUrlsByIds(anyCollection()))
+            .thenReturn(List.of(new WebhookPostUrlDTO("webhook-1", "http://old-url.com/hook", false, null)))
+            .thenReturn(List.of(new WebhookPostUrlDTO("webhook-1", "http://new-url.com/hook", false, null)));
+        enrichmentCache.getWebhooks(Set.of("webhook-1"));
+
+        // Act
+        enrichmentCache.evictWebhook("webhook-1");
+        Map<String, WebhookPostUrlDTO> result = enrichmentCache.getWebhooks(Set.of("webhook-1"));
+
+        // Assert
+        assertEquals("http://new-url.com/hook", result.get("webhook-1").postUrl());
+    }
+
+    @Test
+    @DisplayName("getSegments should cache subscribers without segments as empty sets")
+    void getSegments_ShouldCacheSubscribersWithoutSegments() {
+        // Arrange
+        SegmentDTO segment = new SegmentDTO("segment-1", "VIP", "subscriber-1");
+        when(enrichmentRepository.fetchSegments(anySet())).thenReturn(List.of(segment));
+
+        // Act
+        enrichmentCache.getSegments(Set.of("subscriber-1", "subscriber-2"));
+        Map<String, Set<SegmentDTO>> result = enrichmentCache.getSegments(Set.of("subscriber-1", "subscriber-2"));
+
+        // Assert
+        assertEquals(Set.of(segment), result.get("subscriber-1"));
+        assertEquals(Set.of(), result.get("subscriber-2"));
+        verify(enrichmentRepository, times(1)).fetchSegments(anySet());
+    }
+}
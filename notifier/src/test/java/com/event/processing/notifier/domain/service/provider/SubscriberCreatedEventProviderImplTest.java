@@ -0,0 +1,79 @@
+package com.event.processing.notifier.domain.service.provider;
+
+import com.event.processing.notifier.domain.dto.ContentEncoding;
+import com.event.processing.notifier.domain.dto.EnrichedEventDTO;
+import com.event.processing.notifier.domain.dto.SegmentDTO;
+import com.event.processing.notifier.domain.dto.SubscriberDTO;
+import com.event.processing.notifier.domain.dto.SubscriberEventDTO;
+import com.event.processing.notifier.domain.dto.WebhookPostUrlDTO;
+import com.event.processing.notifier.domain.repository.EnrichmentRepository;
+import com.event.processing.notifier.domain.service.cache.EnrichmentCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SubscriberCreatedEventProviderImplTest {
+
+    private static final Set<String> EVENT_IDS = Set.of("event-1", "event-2");
+
+    @Mock
+    private EnrichmentRepository enrichmentRepository;
+
+    @Mock
+    private EnrichmentCache enrichmentCache;
+
+    private SubscriberCreatedEventProviderImpl provider;
+
+    @BeforeEach
+    void setUp() {
+        provider = new SubscriberCreatedEventProviderImpl(enrichmentRepository, enrichmentCache);
+    }
+
+    @Test
+    @DisplayName("enrich should return URL and payload per event from a single event query")
+    void enrich_ShouldCombineUrlAndPayload() {
+        // Arrange
+        SegmentDTO segment = new SegmentDTO("segment-1", "VIP", "subscriber-1");
+        SubscriberEventDTO first = event("event-1", "subscriber-1", "webhook-1");
+        SubscriberEventDTO second = event("event-2", "subscriber-2", "webhook-unknown");
+        when(enrichmentRepository.fetchEventsWithoutSegments(EVENT_IDS)).thenReturn(List.of(first, second));
+        when(enrichmentCache.getSegments(Set.of("subscriber-1", "subscriber-2")))
+            .thenReturn(Map.of("subscriber-1", Set.of(segment), "subscriber-2", Set.of()));
+        when(enrichmentCache.getWebhooks(Set.of("webhook-1", "webhook-unknown")))
+            .thenReturn(Map.of("webhook-1",
+                new WebhookPostUrlDTO("webhook-1", "http://test-url.com/hook", true, ContentEncoding.GZIP)));
+
+        // Act
+        Map<String, EnrichedEventDTO> result = provider.enrich(EVENT_IDS);
+
+        // Assert
+        assertEquals(Set.of("event-1"), result.keySet());
+        assertEquals("http://test-url.com/hook", result.get("event-1").webhookUrl());
+        assertSame(first, result.get("event-1").payload());
+        assertTrue(result.get("event-1").batchingEnabled());
+        assertEquals(ContentEncoding.GZIP, result.get("event-1").compression());
+        assertEquals(Set.of(segment), first.getSubscriber().getSegments());
+        verify(enrichmentRepository, times(1)).fetchEventsWithoutSegments(EVENT_IDS);
+        verifyNoMoreInteractions(enrichmentRepository);
+    }
+
+    private SubscriberEventDTO event(String eventId, String subscriberId, String webhookId) {
+        return SubscriberEventDTO.builder()
+            .id(eventId)
+            .eventName("subscriber.created")
+            .subscriber(SubscriberDTO.builder().id(subscriberId).build())
+            .webhookId(webhookId)
+            .build();
+    }
+}
@@ -0,0 +1,132 @@
+package com.event.processing.notifier.domain.service.signing;
+
+import com.event.processing.notifier.domain.dto.EnrichedEventDTO;
+import com.event.processing.notifier.domain.dto.SerializedPayload;
+import com.event.processing.notifier.domain.dto.SubscriberEventDTO;
+import com.event.processing.notifier.domain.dto.WebhookSecretDTO;
+import com.event.processing.notifier.domain.repository.EnrichmentRepository;
+import com.event.processing.notifier.util.WebhookSigningProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WebhookPayloadSignerTest {
+
+    private static final String SIGNATURE_HEADER = "X-Webhook-Signature";
+    private static final String TIMESTAMP_HEADER = "X-Webhook-Timestamp";
+
+    @Mock
+    private EnrichmentRepository enrichmentRepository;
+
+    private WebhookPayloadSigner signer;
+
+    @BeforeEach
+    void setUp() {
+        signer = new WebhookPayloadSigner(enrichmentRepository, new WebhookSigningProperties(),
+            new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("sign should attach an HMAC-SHA256 over timestamp and body")
+    void sign_ShouldAttachSignatureAndTimestamp() throws Exception {
+        // Arrange
+        SerializedPayload body = payload("{\"id\":\"event-1\"}");
+
+        // Act
+        SerializedPayload signed = signer.sign(body, WebhookPayloadSigner.signingKey("secret-1"), "1700000000");
+
+        // Assert
+        assertEquals(expectedSignature("secret-1", "1700000000", body), signed.getHeaders().get(SIGNATURE_HEADER));
+        assertEquals("1700000000", signed.getHeaders().get(TIMESTAMP_HEADER));
+        assertSame(body.getContent(), signed.getContent());
+    }
+
+    @Test
+    @DisplayName("sign should re-initialize the thread's Mac when the key changes")
+    void sign_ShouldSwitchKeys() throws Exception {
+        // Arrange
+        SerializedPayload body = payload("{\"id\":\"event-1\"}");
+        SecretKeySpec first = WebhookPayloadSigner.signingKey("secret-1");
+        SecretKeySpec second = WebhookPayloadSigner.signingKey("secret-2");
+
+        // Act
+        String firstSignature = signer.sign(body, first, "1").getHeaders().get(SIGNATURE_HEADER);
+        String secondSignature = signer.sign(body, second, "1").getHeaders().get(SIGNATURE_HEADER);
+        String firstAgain = signer.sign(body, first, "1").getHeaders().get(SIGNATURE_HEADER);
+
+        // Assert
+        assertEquals(expectedSignature("secret-2", "1", body), secondSignature);
+        assertEquals(firstSignature, firstAgain);
+    }
+
+    @Test
+    @DisplayName("signAll should sign only webhooks with a secret and cache keys")
+    void signAll_ShouldSignOnlyWebhooksWithSecret() throws Exception {
+        // Arrange
+        when(enrichmentRepository.findSigningSecretsByIds(anyCollection()))
+            .thenReturn(List.of(new WebhookSecretDTO("webhook-1", "secret-1")));
+        SerializedPayload body = payload("{\"id\":\"event-1\"}");
+        Map<String, EnrichedEventDTO> events = Map.of(
+            "event-1", enriched("webhook-1", body),
+            "event-2", enriched("webhook-2", body));
+
+        // Act
+        Map<String, EnrichedEventDTO> signed = signer.signAll(events);
+        signer.signAll(events);
+
+        // Assert
+        SerializedPayload signedBody = signed.get("event-1").body();
+        String timestamp = signedBody.getHeaders().get(TIMESTAMP_HEADER);
+        assertEquals(expectedSignature("secret-1", timestamp, body), signedBody.getHeaders().get(SIGNATURE_HEADER));
+        assertTrue(signed.get("event-2").body().getHeaders().isEmpty());
+        verify(enrichmentRepository, times(1)).findSigningSecretsByIds(anyCollection());
+    }
+
+    @Test
+    @DisplayName("evictKey should force the signing key to be reloaded")
+    void evictKey_ShouldForceReload() {
+        // Arrange
+        when(enrichmentRepository.findSigningSecretsByIds(anyCollection()))
+            .thenReturn(List.of(new WebhookSecretDTO("webhook-1", "secret-1")));
+
+        // Act
+        signer.getKeys(Set.of("webhook-1"));
+        signer.evictKey("webhook-1");
+        signer.getKeys(Set.of("webhook-1"));
+
+        // Assert
+        verify(enrichmentRepository, times(2)).findSigningSecretsByIds(anyCollection());
+    }
+
+    private static SerializedPayload payload(String json) {
+        return SerializedPayload.copyOf(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static EnrichedEventDTO enriched(String webhookId, SerializedPayload body) {
+        return new EnrichedEventDTO("http://test-url.com/hook", webhookId, new SubscriberEventDTO(), body);
+    }
+
+    private static String expectedSignature(String secret, String timestamp, SerializedPayload body) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        mac.update((timestamp + ".").getBytes(StandardCharsets.UTF_8));
+        return "sha256=" + HexFormat.of().formatHex(mac.doFinal(body.getContent()));
+    }
+}
@@ -0,0 +1,88 @@
+package com.event.processing.notifier.monitoring;
+
+import com.event.processing.notifier.service.DeliveryScheduler;
+import com.event.processing.notifier.util.AutoscalingProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import static com.event.processing.notifier.util.PromeTheusMetricContants.AUTOSCALING_REPLICA_DEMAND;
+import static com.event.processing.notifier.util.PromeTheusMetricContants.KAFKA_CONSUMER_RECORDS_LAG;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AutoscalingSignalTest {
+
+    private static final String TOPIC = "webhook-events";
+
+    @Mock
+    private DeliveryScheduler deliveryScheduler;
+
+    @Mock
+    private ThreadPoolTaskExecutor kafkaConsumerExecutor;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AutoscalingSignal signal;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AutoscalingProperties properties = new AutoscalingProperties();
+        properties.setTargetLagPerReplica(1000);
+        properties.setTargetPendingDeliveriesPerReplica(100);
+        properties.setTargetExecutorQueueSaturation(0.5);
+        signal = new AutoscalingSignal(meterRegistry, deliveryScheduler, kafkaConsumerExecutor, properties, TOPIC);
+
+        when(kafkaConsumerExecutor.getQueueCapacity()).thenReturn(100);
+    }
+
+    @Test
+    @DisplayName("snapshot should sum the lag of the webhook event topic's partitions only")
+    void snapshot_ShouldSumLagOfWebhookEventTopic() {
+        // Arrange
+        registerLag(TOPIC, "0", 1500);
+        registerLag(TOPIC, "1", 1500);
+        registerLag("other-topic", "0", 50_000);
+        registerLag(TOPIC, "2", Double.NaN);
+        when(deliveryScheduler.pendingDeliveries()).thenReturn(50);
+        when(kafkaConsumerExecutor.getQueueSize()).thenReturn(10);
+
+        // Act
+        AutoscalingSignal.Snapshot snapshot = signal.snapshot();
+
+        // Assert
+        assertEquals(3000, snapshot.consumerLag());
+        assertEquals(3.0, snapshot.replicaDemand(), 1e-9);
+        assertEquals(3.0, meterRegistry.get(AUTOSCALING_REPLICA_DEMAND).gauge().value(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("snapshot should follow the executor queue when it fills up before the lag grows")
+    void snapshot_ShouldFollowExecutorQueue_WhenLagIsLow() {
+        // Arrange
+        registerLag(TOPIC, "0", 100);
+        when(deliveryScheduler.pendingDeliveries()).thenReturn(120);
+        when(kafkaConsumerExecutor.getQueueSize()).thenReturn(80);
+
+        // Act
+        AutoscalingSignal.Snapshot snapshot = signal.snapshot();
+
+        // Assert
+        assertEquals(0.8, snapshot.executorQueueSaturation(), 1e-9);
+        assertEquals(120, snapshot.pendingDeliveries());
+        assertEquals(1.6, snapshot.replicaDemand(), 1e-9);
+    }
+
+    private void registerLag(String topic, String partition, double lag) {
+        Gauge.builder(KAFKA_CONSUMER_RECORDS_LAG, () -> lag)
+            .tags("topic", topic, "partition", partition)
+            .register(meterRegistry);
+    }
+}
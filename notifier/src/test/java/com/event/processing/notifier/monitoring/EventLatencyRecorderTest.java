@@ -0,0 +1,100 @@
+package com.event.processing.notifier.monitoring;
+
+import com.event.processing.notifier.domain.dto.WebhookEventDTO;
+import com.event.processing.notifier.monitoring.DeliverySummaryLogger.Outcome;
+import com.event.processing.notifier.util.EventLatencyProperties;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventLatencyRecorderTest {
+
+    private static final String EVENT_TYPE = "subscriber.created";
+
+    private SimpleMeterRegistry meterRegistry;
+    private EventLatencyRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        EventLatencyProperties properties = new EventLatencyProperties();
+        properties.getAccountTiers().put("account-premium", "premium");
+        meterRegistry = new SimpleMeterRegistry();
+        recorder = new EventLatencyRecorder(meterRegistry, properties);
+    }
+
+    @Test
+    @DisplayName("recordEnrichment should record a group once per tier, not once per event")
+    void recordEnrichment_ShouldRecordGroupOncePerTier() {
+        // Arrange
+        List<WebhookEventDTO> group = List.of(
+            event("event-1", "account-premium"),
+            event("event-2", "account-premium"),
+            event("event-3", "account-1"),
+            event("event-4", "account-2"));
+
+        // Act
+        recorder.recordEnrichment(EVENT_TYPE, group, TimeUnit.MILLISECONDS.toNanos(40));
+
+        // Assert
+        Timer premium = meterRegistry.get("webhook.enrichment.time")
+            .tags("eventType", EVENT_TYPE, "tier", "premium").timer();
+        Timer standard = meterRegistry.get("webhook.enrichment.time")
+            .tags("eventType", EVENT_TYPE, "tier", "standard").timer();
+        assertEquals(1, premium.count());
+        assertEquals(1, standard.count());
+        assertEquals(40, standard.totalTime(TimeUnit.MILLISECONDS), 0.001);
+    }
+
+    @Test
+    @DisplayName("recordDelivery should tag the delivery mode and outcome and skip end-to-end latency on failure")
+    void recordDelivery_ShouldTagModeAndOutcome() {
+        // Arrange
+        WebhookEventDTO delivered = event("event-1", "account-premium");
+        delivered.setProducedAt(System.currentTimeMillis() - 1000);
+        WebhookEventDTO failed = event("event-2", "account-premium");
+        failed.setProducedAt(System.currentTimeMillis() - 1000);
+
+        // Act
+        recorder.recordDelivery(delivered, TimeUnit.MILLISECONDS.toNanos(5), Outcome.DELIVERED, true);
+        recorder.recordDelivery(failed, TimeUnit.MILLISECONDS.toNanos(5), Outcome.FAILED, false);
+
+        // Assert
+        assertEquals(1, meterRegistry.get("webhook.delivery.time")
+            .tags("mode", "batch", "eventType", EVENT_TYPE, "tier", "premium", "outcome", "delivered")
+            .timer().count());
+        assertEquals(1, meterRegistry.get("webhook.delivery.time")
+            .tags("mode", "single", "eventType", EVENT_TYPE, "tier", "premium", "outcome", "failed")
+            .timer().count());
+        assertEquals(1, meterRegistry.get("event.end.to.end.latency").timer().count());
+    }
+
+    @Test
+    @DisplayName("recordQueueing should skip events without a produce timestamp and clamp clock skew to zero")
+    void recordQueueing_ShouldSkipMissingTimestampAndClampSkew() {
+        // Arrange
+        long enrichmentStart = System.currentTimeMillis();
+        WebhookEventDTO withoutTimestamp = event("event-1", "account-1");
+        WebhookEventDTO fromTheFuture = event("event-2", "account-1");
+        fromTheFuture.setProducedAt(enrichmentStart + 5000);
+
+        // Act
+        recorder.recordQueueing(withoutTimestamp, enrichmentStart);
+        recorder.recordQueueing(fromTheFuture, enrichmentStart);
+
+        // Assert
+        Timer queueing = meterRegistry.get("event.queueing.delay").timer();
+        assertEquals(1, queueing.count());
+        assertEquals(0, queueing.totalTime(TimeUnit.MILLISECONDS), 0.001);
+    }
+
+    private static WebhookEventDTO event(String eventId, String accountId) {
+        return new WebhookEventDTO(eventId, EVENT_TYPE, accountId);
+    }
+}
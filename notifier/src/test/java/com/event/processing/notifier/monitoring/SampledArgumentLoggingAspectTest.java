@@ -0,0 +1,115 @@
+package com.event.processing.notifier.monitoring;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.event.processing.notifier.util.ArgumentLoggingProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SampledArgumentLoggingAspectTest {
+
+    private final Logger aspectLogger = (Logger) LoggerFactory.getLogger(SampledArgumentLoggingAspect.class);
+    private Level previousLevel;
+    private ArgumentLoggingProperties properties;
+    private Handler target;
+    private Handler handler;
+
+    @BeforeEach
+    void setUp() {
+        previousLevel = aspectLogger.getLevel();
+        properties = new ArgumentLoggingProperties();
+
+        target = new Handler();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new SampledArgumentLoggingAspect(properties));
+        handler = proxyFactory.getProxy();
+        target.self = handler;
+        target.beforeInner = () -> { };
+    }
+
+    @AfterEach
+    void tearDown() {
+        aspectLogger.setLevel(previousLevel);
+    }
+
+    @Test
+    @DisplayName("Arguments should not be turned into strings when DEBUG is disabled")
+    void logArguments_ShouldNotStringify_WhenDebugDisabled() {
+        // Arrange
+        aspectLogger.setLevel(Level.INFO);
+        properties.setSampleRate(1.0);
+        CountingArgument argument = new CountingArgument();
+
+        // Act
+        handler.outer(argument);
+
+        // Assert
+        assertEquals(0, argument.toStringCalls.get());
+    }
+
+    @Test
+    @DisplayName("Arguments of unsampled calls should not be turned into strings")
+    void logArguments_ShouldNotStringify_WhenNotSampled() {
+        // Arrange
+        aspectLogger.setLevel(Level.DEBUG);
+        properties.setSampleRate(0.0);
+        CountingArgument argument = new CountingArgument();
+
+        // Act
+        handler.outer(argument);
+
+        // Assert
+        assertEquals(0, argument.toStringCalls.get());
+    }
+
+    @Test
+    @DisplayName("Nested calls should follow the sampling decision of the outermost call")
+    void logArguments_ShouldLogNestedCalls_WhenOutermostCallIsSampled() {
+        // Arrange
+        aspectLogger.setLevel(Level.DEBUG);
+        properties.setSampleRate(1.0);
+        CountingArgument argument = new CountingArgument();
+        // The nested call would not be sampled if it decided on its own
+        target.beforeInner = () -> properties.setSampleRate(0.0);
+
+        // Act
+        handler.outer(argument);
+
+        // Assert
+        assertEquals(2, argument.toStringCalls.get());
+    }
+
+    static class Handler {
+        Handler self;
+        Runnable beforeInner;
+
+        @LogArguments
+        public void outer(CountingArgument argument) {
+            beforeInner.run();
+            self.inner(argument);
+        }
+
+        @LogArguments
+        public void inner(CountingArgument argument) {
+        }
+    }
+
+    static class CountingArgument {
+        private final AtomicInteger toStringCalls = new AtomicInteger();
+
+        @Override
+        public String toString() {
+            toStringCalls.incrementAndGet();
+            return "argument";
+        }
+    }
+}
@@ -60,7 +60,7 @@ class AccountRateLimiterServiceImplTest {
         when(redisTemplate.execute(
             any(RedisScript.class),
             anyList(),
-            any(String[].class)
+            any(Object[].class)
         )).thenReturn(true);
 
         // Act
@@ -83,7 +83,7 @@ class AccountRateLimiterServiceImplTest {
         when(redisTemplate.execute(
             any(RedisScript.class),
             anyList(),
-            any(String[].class)
+            any(Object[].class)
         )).thenReturn(true);
 
         // Act
@@ -131,7 +131,7 @@ class AccountRateLimiterServiceImplTest {
         when(redisTemplate.execute(
             any(RedisScript.class),
             anyList(),
-            any(String[].class)
+            any(Object[].class)
         )).thenThrow(new RuntimeException("Redis connection error"));
 
         // Act
@@ -160,7 +160,7 @@ class AccountRateLimiterServiceImplTest {
         when(redisTemplate.execute(
             any(RedisScript.class),
             anyList(),
-            any(String[].class)
+            any(Object[].class)
         )).thenReturn(true);
 
         // Act
@@ -174,4 +174,45 @@ class AccountRateLimiterServiceImplTest {
             eq(new String[]{String.valueOf(count), String.valueOf(customEventLimit), String.valueOf(customTimeMinutes * 60)})
         );
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("countAllowedEvents should return the number of events Redis granted")
+    void countAllowedEvents_ShouldReturnGrantedCount() {
+        // Arrange
+        int count = 120;
+        when(redisTemplate.execute(
+            any(RedisScript.class),
+            anyList(),
+            any(Object[].class)
+        )).thenReturn(100L);
+
+        // Act
+        int result = rateLimiterService.countAllowedEvents(ACCOUNT_ID, count);
+
+        // Assert
+        assertEquals(100, result);
+        verify(redisTemplate).execute(
+            any(RedisScript.class),
+            eq(Collections.singletonList(EXPECTED_REDIS_KEY)),
+            eq((Object[]) new String[]{String.valueOf(count), "100", "60"})
+        );
+    }
+
+    @Test
+    @DisplayName("countAllowedEvents should allow all events when Redis throws an exception (fail-safe behavior)")
+    void countAllowedEvents_ShouldReturnCount_WhenRedisThrowsException() {
+        // Arrange
+        int count = 5;
+        when(redisTemplate.execute(
+            any(RedisScript.class),
+            anyList(),
+            any(Object[].class)
+        )).thenThrow(new RuntimeException("Redis connection error"));
+
+        // Act
+        int result = rateLimiterService.countAllowedEvents(ACCOUNT_ID, count);
+
+        // Assert
+        assertEquals(count, result);
+    }
+}
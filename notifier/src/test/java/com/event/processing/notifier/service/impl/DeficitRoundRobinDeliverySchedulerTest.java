@@ -0,0 +1,180 @@
+package com.event.processing.notifier.service.impl;
+
+import com.event.processing.notifier.util.DeliveryExecutorProperties;
+import com.event.processing.notifier.util.EventLatencyProperties;
+import com.event.processing.notifier.util.FairSchedulerProperties;
+import com.event.processing.notifier.util.KafkaConsumerThreadPoolProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class DeficitRoundRobinDeliverySchedulerTest {
+
+    @Mock
+    private ThreadPoolTaskExecutor executor;
+
+    private final List<Runnable> pending = new ArrayList<>();
+    private final List<String> executed = new ArrayList<>();
+    private FairSchedulerProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private DeficitRoundRobinDeliveryScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        // Capture tasks so the test decides when each delivery finishes
+        lenient().doAnswer(invocation -> pending.add(invocation.getArgument(0))).when(executor).execute(any(Runnable.class));
+
+        properties = new FairSchedulerProperties();
+        properties.setWorkers(1);
+        properties.setQueueCapacity(10);
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = new DeficitRoundRobinDeliveryScheduler(executor, meterRegistry, properties,
+            new DeliveryExecutorProperties(), new KafkaConsumerThreadPoolProperties(), new EventLatencyProperties());
+    }
+
+    @Test
+    @DisplayName("submit should interleave accounts instead of draining the noisy account first")
+    void submit_ShouldInterleaveAccounts() {
+        // Arrange
+        submitAll("A", 5);
+        submitAll("B", 2);
+
+        // Act
+        runAll();
+
+        // Assert
+        assertEquals(List.of("A1", "A2", "B1", "A3", "B2", "A4", "A5"), executed);
+    }
+
+    @Test
+    @DisplayName("submit should give weighted accounts a proportionally larger share")
+    void submit_ShouldHonourWeights() {
+        // Arrange
+        properties.getWeights().put("B", 2);
+        submitAll("A", 4);
+        submitAll("B", 4);
+
+        // Act
+        runAll();
+
+        // Assert
+        assertEquals(List.of("A1", "A2", "B1", "B2", "A3", "B3", "B4", "A4"), executed);
+    }
+
+    @Test
+    @DisplayName("submit should reject tasks once the account queue is full")
+    void submit_ShouldReject_WhenQueueFull() {
+        // Arrange
+        properties.setQueueCapacity(1);
+        scheduler.submit("A", () -> executed.add("A1"));
+        scheduler.submit("A", () -> executed.add("A2"));
+
+        // Act
+        CompletableFuture<Void> rejected = scheduler.submit("A", () -> executed.add("A3"));
+
+        // Assert
+        ExecutionException ex = assertThrows(ExecutionException.class, rejected::get);
+        assertInstanceOf(RejectedExecutionException.class, ex.getCause());
+        assertEquals(1.0, meterRegistry.get("fair.scheduler.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("submit should complete the future exceptionally when the task fails")
+    void submit_ShouldCompleteExceptionally_WhenTaskFails() {
+        // Arrange
+        CompletableFuture<Void> future = scheduler.submit("A", () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        // Act
+        runAll();
+
+        // Assert
+        assertTrue(future.isCompletedExceptionally());
+        assertEquals(0.0, meterRegistry.get("fair.scheduler.queue.depth.total").gauge().value());
+    }
+
+    @Test
+    @DisplayName("pendingDeliveries should count queued and running tasks until they finish")
+    void pendingDeliveries_ShouldCountQueuedAndRunningTasks() {
+        // Arrange
+        submitAll("A", 3);
+
+        // Act
+        int pendingBefore = scheduler.pendingDeliveries();
+        runAll();
+        int pendingAfter = scheduler.pendingDeliveries();
+
+        // Assert
+        assertEquals(3, pendingBefore);
+        assertEquals(0, pendingAfter);
+    }
+
+    @Test
+    @DisplayName("submit should forget drained account queues and tag metrics by tier")
+    void submit_ShouldForgetDrainedAccounts_AndTagMetricsByTier() {
+        // Arrange
+        submitAll("A", 2);
+        submitAll("B", 1);
+
+        // Act
+        runAll();
+
+        // Assert
+        assertEquals(0.0, meterRegistry.get("fair.scheduler.queue.depth").tag("tier", "standard").gauge().value());
+        assertEquals(3, meterRegistry.get("fair.scheduler.wait.time").tag("tier", "standard").timer().count());
+        assertTrue(meterRegistry.find("fair.scheduler.wait.time").tagKeys("account_id").meters().isEmpty());
+        assertEquals(0, scheduler.pendingDeliveries());
+    }
+
+    @Test
+    @DisplayName("resolveWorkers should follow the delivery executor when no worker count is set")
+    void resolveWorkers_ShouldFollowDeliveryExecutor_WhenNotSet() {
+        // Arrange
+        FairSchedulerProperties unset = new FairSchedulerProperties();
+        DeliveryExecutorProperties executorProperties = new DeliveryExecutorProperties();
+        KafkaConsumerThreadPoolProperties poolProperties = new KafkaConsumerThreadPoolProperties();
+        poolProperties.setMaxSize(50);
+
+        // Act
+        int platformWorkers = DeficitRoundRobinDeliveryScheduler.resolveWorkers(unset, executorProperties, poolProperties);
+        executorProperties.setMode(DeliveryExecutorProperties.Mode.VIRTUAL);
+        int virtualWorkers = DeficitRoundRobinDeliveryScheduler.resolveWorkers(unset, executorProperties, poolProperties);
+        int explicitWorkers = DeficitRoundRobinDeliveryScheduler.resolveWorkers(properties, executorProperties,
+            poolProperties);
+
+        // Assert
+        assertEquals(50, platformWorkers);
+        assertEquals(Integer.MAX_VALUE, virtualWorkers);
+        assertEquals(1, explicitWorkers);
+    }
+
+    private void submitAll(String accountId, int count) {
+        for (int i = 1; i <= count; i++) {
+            String name = accountId + i;
+            scheduler.submit(accountId, () -> executed.add(name));
+        }
+    }
+
+    private void runAll() {
+        while (!pending.isEmpty()) {
+            pending.remove(0).run();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.event.processing.notifier.service.impl;
+
+import com.event.processing.notifier.service.DelayedTaskScheduler;
+import com.event.processing.notifier.util.TimingWheelProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedWheelDelayedTaskSchedulerTest {
+
+    private TimingWheelProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private HashedWheelDelayedTaskScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TimingWheelProperties();
+        properties.setTickDuration(Duration.ofMillis(1));
+        // A small wheel, so that the tests also cover timers more than one revolution away
+        properties.setTicksPerWheel(8);
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = new HashedWheelDelayedTaskScheduler(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    @DisplayName("Timers should fire after their delay, in deadline order")
+    void schedule_ShouldFireInDeadlineOrder() throws Exception {
+        // Arrange
+        List<String> fired = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+        long start = System.nanoTime();
+
+        // Act
+        scheduler.schedule(() -> { fired.add("late"); done.countDown(); }, 60, TimeUnit.MILLISECONDS);
+        scheduler.schedule(() -> { fired.add("early"); done.countDown(); }, 5, TimeUnit.MILLISECONDS);
+        scheduler.schedule(() -> { fired.add("middle"); done.countDown(); }, 30, TimeUnit.MILLISECONDS);
+
+        // Assert
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(60));
+        assertEquals(List.of("early", "middle", "late"), fired);
+        assertEquals(0, scheduler.getPendingTimers());
+        assertEquals(3, meterRegistry.get("timing.wheel.lag").timer().count());
+    }
+
+    @Test
+    @DisplayName("A cancelled timer should never fire")
+    void cancel_ShouldPreventFiring() throws Exception {
+        // Arrange
+        CountDownLatch cancelledFired = new CountDownLatch(1);
+        CountDownLatch laterFired = new CountDownLatch(1);
+        DelayedTaskScheduler.Timeout timeout = scheduler.schedule(cancelledFired::countDown, 10, TimeUnit.MILLISECONDS);
+
+        // Act
+        boolean cancelled = timeout.cancel();
+        scheduler.schedule(laterFired::countDown, 30, TimeUnit.MILLISECONDS);
+
+        // Assert
+        assertTrue(cancelled);
+        assertTrue(timeout.isCancelled());
+        assertTrue(laterFired.await(5, TimeUnit.SECONDS));
+        assertEquals(1, cancelledFired.getCount());
+        assertFalse(timeout.isExpired());
+        assertFalse(timeout.cancel());
+    }
+
+    @Test
+    @DisplayName("Scheduling beyond the pending timer limit should be rejected")
+    void schedule_ShouldReject_WhenTooManyTimersPending() {
+        // Arrange
+        scheduler.shutdown();
+        properties.setMaxPendingTimers(2);
+        scheduler = new HashedWheelDelayedTaskScheduler(properties, meterRegistry);
+        scheduler.schedule(() -> { }, 1, TimeUnit.MINUTES);
+        DelayedTaskScheduler.Timeout second = scheduler.schedule(() -> { }, 1, TimeUnit.MINUTES);
+
+        // Act & Assert
+        assertThrows(RejectedExecutionException.class, () -> scheduler.schedule(() -> { }, 1, TimeUnit.MINUTES));
+        second.cancel();
+        assertDoesNotThrow(() -> scheduler.schedule(() -> { }, 1, TimeUnit.MINUTES));
+        assertEquals(1, meterRegistry.get("timing.wheel.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("A failing task should not stop the wheel")
+    void schedule_ShouldKeepRunning_WhenTaskFails() throws Exception {
+        // Arrange
+        CountDownLatch fired = new CountDownLatch(1);
+
+        // Act
+        scheduler.schedule(() -> { throw new IllegalStateException("Test failure"); }, 1, TimeUnit.MILLISECONDS);
+        scheduler.schedule(fired::countDown, 20, TimeUnit.MILLISECONDS);
+
+        // Assert
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+    }
+}
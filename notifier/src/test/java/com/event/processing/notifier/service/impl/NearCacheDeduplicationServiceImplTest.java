@@ -0,0 +1,128 @@
+package com.event.processing.notifier.service.impl;
+
+import com.event.processing.notifier.service.DeduplicationService.ClaimResult;
+import com.event.processing.notifier.util.DeduplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NearCacheDeduplicationServiceImplTest {
+
+    private static final String EVENT_ID = "test-event-123";
+
+    @Mock
+    private RedisDeduplicationServiceImpl redisDeduplicationService;
+
+    private DeduplicationProperties properties;
+    private NearCacheDeduplicationServiceImpl deduplicationService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new DeduplicationProperties();
+        properties.getNearCache().setEnabled(true);
+        properties.getNearCache().setExpectedInsertions(10_000);
+        deduplicationService = new NearCacheDeduplicationServiceImpl(redisDeduplicationService, properties,
+            new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("isDuplicate should answer locally for an unseen event when local negatives are trusted")
+    void isDuplicate_ShouldSkipRedis_WhenLocalTierHasNotSeenEvent() {
+        // Arrange
+        properties.getNearCache().setTrustLocalNegatives(true);
+
+        // Act
+        boolean result = deduplicationService.isDuplicate(EVENT_ID);
+
+        // Assert
+        assertFalse(result);
+        verifyNoInteractions(redisDeduplicationService);
+    }
+
+    @Test
+    @DisplayName("isDuplicate should ask Redis for an unseen event by default")
+    void isDuplicate_ShouldAskRedis_WhenLocalNegativesAreNotTrusted() {
+        // Arrange
+        when(redisDeduplicationService.isDuplicate(EVENT_ID)).thenReturn(true);
+
+        // Act
+        boolean result = deduplicationService.isDuplicate(EVENT_ID);
+
+        // Assert
+        assertTrue(result);
+        verify(redisDeduplicationService).isDuplicate(EVENT_ID);
+    }
+
+    @Test
+    @DisplayName("isDuplicate should answer locally for an event processed by this instance")
+    void isDuplicate_ShouldAnswerLocally_AfterMarkProcessed() {
+        // Arrange
+        deduplicationService.markProcessed(EVENT_ID);
+
+        // Act
+        boolean result = deduplicationService.isDuplicate(EVENT_ID);
+
+        // Assert
+        assertTrue(result);
+        verify(redisDeduplicationService).markProcessed(EVENT_ID);
+        verify(redisDeduplicationService, never()).isDuplicate(EVENT_ID);
+    }
+
+    @Test
+    @DisplayName("findDuplicates should combine local hits and skip Redis for local negatives")
+    void findDuplicates_ShouldSkipRedis_WhenLocalTierAnswersAllEvents() {
+        // Arrange
+        properties.getNearCache().setTrustLocalNegatives(true);
+        deduplicationService.markAllProcessed(List.of("event-1"));
+
+        // Act
+        Set<String> duplicates = deduplicationService.findDuplicates(List.of("event-1", "event-2"));
+
+        // Assert
+        assertEquals(Set.of("event-1"), duplicates);
+        verify(redisDeduplicationService, never()).findDuplicates(anyCollection());
+    }
+
+    @Test
+    @DisplayName("findDuplicates should send only unresolved events to Redis")
+    void findDuplicates_ShouldSendOnlyUnresolvedEventsToRedis() {
+        // Arrange
+        properties.getNearCache().setTrustLocalNegatives(false);
+        deduplicationService.markAllProcessed(List.of("event-1"));
+        when(redisDeduplicationService.findDuplicates(List.of("event-2", "event-3"))).thenReturn(Set.of("event-3"));
+
+        // Act
+        Set<String> duplicates = deduplicationService.findDuplicates(List.of("event-1", "event-2", "event-3"));
+
+        // Assert
+        assertEquals(Set.of("event-1", "event-3"), duplicates);
+        verify(redisDeduplicationService).findDuplicates(List.of("event-2", "event-3"));
+    }
+
+    @Test
+    @DisplayName("tryClaim should always go to Redis and remember processed events")
+    void tryClaim_ShouldRememberEvent_WhenAlreadyProcessed() {
+        // Arrange
+        when(redisDeduplicationService.tryClaim(EVENT_ID)).thenReturn(ClaimResult.ALREADY_PROCESSED);
+
+        // Act
+        ClaimResult result = deduplicationService.tryClaim(EVENT_ID);
+
+        // Assert
+        assertEquals(ClaimResult.ALREADY_PROCESSED, result);
+        assertTrue(deduplicationService.isDuplicate(EVENT_ID));
+        verify(redisDeduplicationService, never()).isDuplicate(EVENT_ID);
+    }
+}
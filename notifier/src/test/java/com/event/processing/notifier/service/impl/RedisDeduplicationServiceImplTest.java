@@ -1,5 +1,8 @@
 package com.event.processing.notifier.service.impl;
 
+import com.event.processing.notifier.service.DeduplicationService.ClaimResult;
+import com.event.processing.notifier.util.DeduplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -8,10 +11,15 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.data.redis.core.ValueOperations;
 
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -43,49 +51,50 @@ class RedisDeduplicationServiceImplTest {
     @BeforeEach
     void setUp() {
         lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        deduplicationService = new RedisDeduplicationServiceImpl(redisTemplate);
+        deduplicationService = new RedisDeduplicationServiceImpl(redisTemplate, new DeduplicationProperties(),
+            new SimpleMeterRegistry());
     }
 
     @Test
-    @DisplayName("isDuplicate should return true when event exists in Redis")
+    @DisplayName("isDuplicate should return true when event is marked as processed in Redis")
     void isDuplicate_ShouldReturnTrue_WhenEventExistsInRedis() {
         // Arrange
-        when(redisTemplate.hasKey(any())).thenReturn(true);
+        when(valueOperations.get(any())).thenReturn("1");
 
         // Act
         boolean result = deduplicationService.isDuplicate(EVENT_ID);
 
         // Assert
         assertTrue(result);
-        verify(redisTemplate).hasKey(eq(EXPECTED_REDIS_KEY));
+        verify(valueOperations).get(eq(EXPECTED_REDIS_KEY));
     }
 
     @Test
     @DisplayName("isDuplicate should return false when event doesn't exist in Redis")
     void isDuplicate_ShouldReturnFalse_WhenEventDoesNotExistInRedis() {
         // Arrange
-        when(redisTemplate.hasKey(any())).thenReturn(false);
+        when(valueOperations.get(any())).thenReturn(null);
 
         // Act
         boolean result = deduplicationService.isDuplicate(EVENT_ID);
 
         // Assert
         assertFalse(result);
-        verify(redisTemplate).hasKey(eq(EXPECTED_REDIS_KEY));
+        verify(valueOperations).get(eq(EXPECTED_REDIS_KEY));
     }
 
     @Test
-    @DisplayName("isDuplicate should return false when Redis returns null")
-    void isDuplicate_ShouldReturnFalse_WhenRedisReturnsNull() {
+    @DisplayName("isDuplicate should return false when event is only under a processing lease")
+    void isDuplicate_ShouldReturnFalse_WhenEventIsClaimed() {
         // Arrange
-        when(redisTemplate.hasKey(any())).thenReturn(null);
+        when(valueOperations.get(any())).thenReturn("processing:other-instance");
 
         // Act
         boolean result = deduplicationService.isDuplicate(EVENT_ID);
 
         // Assert
         assertFalse(result);
-        verify(redisTemplate).hasKey(any());
+        verify(redisTemplate, never()).hasKey(any());
     }
 
     @Test
@@ -123,4 +132,124 @@ class RedisDeduplicationServiceImplTest {
         // Assert
         assertEquals(EXPIRY_TIME, durationCaptor.getValue());
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("findDuplicates should return only events that exist in Redis using one MGET")
+    void findDuplicates_ShouldReturnExistingEvents() {
+        // Arrange
+        when(valueOperations.multiGet(List.of(KEY_PREFIX + "e1", KEY_PREFIX + "e2", KEY_PREFIX + "e3")))
+            .thenReturn(Arrays.asList("1", null, "1"));
+
+        // Act
+        Set<String> result = deduplicationService.findDuplicates(List.of("e1", "e2", "e3"));
+
+        // Assert
+        assertEquals(Set.of("e1", "e3"), result);
+        verify(valueOperations).multiGet(any());
+        verify(redisTemplate, never()).hasKey(any());
+    }
+
+    @Test
+    @DisplayName("findDuplicates should not call Redis for an empty batch")
+    void findDuplicates_ShouldSkipRedis_WhenBatchEmpty() {
+        // Act
+        Set<String> result = deduplicationService.findDuplicates(List.of());
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(valueOperations);
+    }
+
+    @Test
+    @DisplayName("markAllProcessed should write the whole batch in one pipeline")
+    void markAllProcessed_ShouldUsePipeline() {
+        // Act
+        deduplicationService.markAllProcessed(List.of("e1", "e2"));
+
+        // Assert
+        verify(redisTemplate).executePipelined(any(RedisCallback.class));
+        verify(valueOperations, never()).set(any(), any(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("tryClaim should claim the event when SET NX succeeds")
+    void tryClaim_ShouldClaim_WhenKeyAbsent() {
+        // Arrange
+        when(valueOperations.setIfAbsent(eq(EXPECTED_REDIS_KEY), startsWith("processing:"), eq(Duration.ofMinutes(2))))
+            .thenReturn(true);
+
+        // Act
+        ClaimResult result = deduplicationService.tryClaim(EVENT_ID);
+
+        // Assert
+        assertEquals(ClaimResult.CLAIMED, result);
+        verify(valueOperations, never()).get(any());
+    }
+
+    @Test
+    @DisplayName("tryClaim should report processed events as already processed")
+    void tryClaim_ShouldReturnAlreadyProcessed_WhenMarkerIsDone() {
+        // Arrange
+        when(valueOperations.setIfAbsent(any(), any(), any(Duration.class))).thenReturn(false);
+        when(valueOperations.get(EXPECTED_REDIS_KEY)).thenReturn("1");
+
+        // Act
+        ClaimResult result = deduplicationService.tryClaim(EVENT_ID);
+
+        // Assert
+        assertEquals(ClaimResult.ALREADY_PROCESSED, result);
+    }
+
+    @Test
+    @DisplayName("tryClaim should report events leased by another worker as in progress")
+    void tryClaim_ShouldReturnInProgress_WhenLeasedElsewhere() {
+        // Arrange
+        when(valueOperations.setIfAbsent(any(), any(), any(Duration.class))).thenReturn(false);
+        when(valueOperations.get(EXPECTED_REDIS_KEY)).thenReturn("processing:other-worker");
+
+        // Act
+        ClaimResult result = deduplicationService.tryClaim(EVENT_ID);
+
+        // Assert
+        assertEquals(ClaimResult.IN_PROGRESS, result);
+    }
+
+    @Test
+    @DisplayName("completeClaim should mark the event while this worker still holds the lease")
+    void completeClaim_ShouldMarkProcessed_WhenLeaseHeld() {
+        // Arrange
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(EXPECTED_REDIS_KEY)), startsWith("processing:"),
+            eq("1"), eq(String.valueOf(EXPIRY_TIME.toMillis())))).thenReturn(1L);
+
+        // Act
+        boolean completed = deduplicationService.completeClaim(EVENT_ID);
+
+        // Assert
+        assertTrue(completed);
+        verify(valueOperations, never()).set(any(), any(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("completeClaim should leave the event alone once the lease is lost")
+    void completeClaim_ShouldNotMarkProcessed_WhenLeaseLost() {
+        // Arrange
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(EXPECTED_REDIS_KEY)), startsWith("processing:"),
+            eq("1"), any())).thenReturn(0L);
+
+        // Act
+        boolean completed = deduplicationService.completeClaim(EVENT_ID);
+
+        // Assert
+        assertFalse(completed);
+    }
+
+    @Test
+    @DisplayName("releaseClaim should compare-and-delete the lease")
+    void releaseClaim_ShouldRunCompareAndDeleteScript() {
+        // Act
+        deduplicationService.releaseClaim(EVENT_ID);
+
+        // Assert
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(EXPECTED_REDIS_KEY)), startsWith("processing:"));
+    }
+}
@@ -0,0 +1,175 @@
+package com.event.processing.notifier.service.impl;
+
+import com.event.processing.notifier.domain.dto.DeferredEventDTO;
+import com.event.processing.notifier.domain.dto.WebhookEventDTO;
+import com.event.processing.notifier.producer.EventProducer;
+import com.event.processing.notifier.service.DelayedTaskScheduler;
+import com.event.processing.notifier.service.RateLimiterService;
+import com.event.processing.notifier.util.DeferralProperties;
+import com.event.processing.notifier.util.EventLatencyProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.longThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RedisDeferredEventServiceImplTest {
+
+    private static final String ACCOUNT_ID = "test-account-123";
+    private static final String TOPIC = "webhook-events";
+    private static final String DEFERRED_EVENTS_KEY = "deferred-events";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private RateLimiterService rateLimiterService;
+
+    @Mock
+    private EventProducer eventProducer;
+
+    @Mock
+    private DelayedTaskScheduler delayedTaskScheduler;
+
+    @Captor
+    private ArgumentCaptor<Set<ZSetOperations.TypedTuple<String>>> entriesCaptor;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private DeferralProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private RedisDeferredEventServiceImpl deferredEventService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        properties = new DeferralProperties();
+        properties.setMaxJitter(Duration.ZERO);
+        EventLatencyProperties tierProperties = new EventLatencyProperties();
+        tierProperties.setAccountTiers(Map.of(ACCOUNT_ID, "premium"));
+        meterRegistry = new SimpleMeterRegistry();
+        deferredEventService = new RedisDeferredEventServiceImpl(redisTemplate, rateLimiterService, eventProducer,
+            objectMapper, properties, tierProperties, meterRegistry, delayedTaskScheduler, Runnable::run);
+        ReflectionTestUtils.setField(deferredEventService, "topic", TOPIC);
+    }
+
+    @Test
+    @DisplayName("defer should park events until the account's budget reopens")
+    void defer_ShouldScoreEventsByRetryAfter() throws Exception {
+        // Arrange
+        WebhookEventDTO event = new WebhookEventDTO("event-1", "subscriber.created", ACCOUNT_ID);
+        when(rateLimiterService.retryAfter(ACCOUNT_ID)).thenReturn(Duration.ofSeconds(30));
+        long before = System.currentTimeMillis();
+
+        // Act
+        deferredEventService.defer(ACCOUNT_ID, List.of(event));
+
+        // Assert
+        verify(zSetOperations).add(eq(DEFERRED_EVENTS_KEY), entriesCaptor.capture());
+        ZSetOperations.TypedTuple<String> entry = entriesCaptor.getValue().iterator().next();
+        assertTrue(entry.getScore() >= before + 30_000);
+        assertEquals(event, objectMapper.readValue(entry.getValue(), DeferredEventDTO.class).getEvent());
+        verify(delayedTaskScheduler).schedule(any(Runnable.class), longThat(delay -> delay > 29_000 && delay <= 30_000),
+            eq(TimeUnit.MILLISECONDS));
+        assertEquals(1.0, meterRegistry.get("rate.limit.deferred.count").tag("tier", "premium").counter().count());
+    }
+
+    @Test
+    @DisplayName("defer should park events for a given delay without asking the rate limiter")
+    void defer_ShouldScoreEventsByGivenDelay() {
+        // Arrange
+        WebhookEventDTO event = new WebhookEventDTO("event-1", "subscriber.created", ACCOUNT_ID);
+        long before = System.currentTimeMillis();
+
+        // Act
+        deferredEventService.defer(List.of(event), Duration.ofMinutes(2));
+
+        // Assert
+        verify(zSetOperations).add(eq(DEFERRED_EVENTS_KEY), entriesCaptor.capture());
+        assertTrue(entriesCaptor.getValue().iterator().next().getScore() >= before + 120_000);
+        verifyNoInteractions(rateLimiterService);
+    }
+
+    @Test
+    @DisplayName("readmitDueEvents should republish claimed events and remove them")
+    void readmitDueEvents_ShouldRepublishAndRemoveClaimedEvents() throws Exception {
+        // Arrange
+        WebhookEventDTO event = new WebhookEventDTO("event-1", "subscriber.created", ACCOUNT_ID);
+        String member = objectMapper.writeValueAsString(new DeferredEventDTO(event, System.currentTimeMillis()));
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(List.of(member));
+        when(eventProducer.publish(TOPIC, ACCOUNT_ID, event)).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        int result = deferredEventService.readmitDueEvents();
+
+        // Assert
+        assertEquals(1, result);
+        verify(eventProducer).publish(TOPIC, ACCOUNT_ID, event);
+        verify(zSetOperations).remove(DEFERRED_EVENTS_KEY, member);
+    }
+
+    @Test
+    @DisplayName("readmitDueEvents should keep events that could not be republished")
+    void readmitDueEvents_ShouldKeepEvent_WhenPublishFails() throws Exception {
+        // Arrange
+        WebhookEventDTO event = new WebhookEventDTO("event-1", "subscriber.created", ACCOUNT_ID);
+        String member = objectMapper.writeValueAsString(new DeferredEventDTO(event, System.currentTimeMillis()));
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(List.of(member));
+        doThrow(new RuntimeException("Kafka unavailable")).when(eventProducer).publish(TOPIC, ACCOUNT_ID, event);
+
+        // Act
+        deferredEventService.readmitDueEvents();
+
+        // Assert
+        verify(zSetOperations, never()).remove(any(), any());
+    }
+
+    @Test
+    @DisplayName("readmitDueEvents should only remove events whose send was acknowledged")
+    void readmitDueEvents_ShouldKeepEvent_WhenSendFails() throws Exception {
+        // Arrange
+        WebhookEventDTO delivered = new WebhookEventDTO("event-1", "subscriber.created", ACCOUNT_ID);
+        WebhookEventDTO failed = new WebhookEventDTO("event-2", "subscriber.created", "other-account");
+        String deliveredMember = objectMapper.writeValueAsString(
+            new DeferredEventDTO(delivered, System.currentTimeMillis()));
+        String failedMember = objectMapper.writeValueAsString(new DeferredEventDTO(failed, System.currentTimeMillis()));
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+            .thenReturn(List.of(deliveredMember, failedMember));
+        when(eventProducer.publish(TOPIC, ACCOUNT_ID, delivered)).thenReturn(CompletableFuture.completedFuture(null));
+        when(eventProducer.publish(TOPIC, "other-account", failed))
+            .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Broker unavailable")));
+
+        // Act
+        deferredEventService.readmitDueEvents();
+
+        // Assert
+        verify(zSetOperations).remove(DEFERRED_EVENTS_KEY, deliveredMember);
+        assertEquals(1, meterRegistry.get("rate.limit.readmission.delay").timer().count());
+    }
+}
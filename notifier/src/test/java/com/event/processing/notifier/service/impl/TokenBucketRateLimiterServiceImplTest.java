@@ -0,0 +1,153 @@
+package com.event.processing.notifier.service.impl;
+
+import com.event.processing.notifier.util.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenBucketRateLimiterServiceImplTest {
+
+    private static final String ACCOUNT_ID = "test-account-123";
+    private static final String EXPECTED_REDIS_KEY = "rate-limit:gcra:" + ACCOUNT_ID;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private RateLimitProperties rateLimitProperties;
+    private TokenBucketRateLimiterServiceImpl rateLimiterService;
+
+    @BeforeEach
+    void setUp() {
+        rateLimitProperties = new RateLimitProperties();
+        rateLimitProperties.setEvent(100);
+        rateLimitProperties.setTime(1);
+        rateLimitProperties.setLeaseSize(10);
+        rateLimitProperties.setLeaseTtl(Duration.ofMinutes(1));
+        rateLimiterService = new TokenBucketRateLimiterServiceImpl(redisTemplate, rateLimitProperties,
+            new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("areEventsAllowed should lease a block sized to recent demand and spend it locally")
+    void areEventsAllowed_ShouldSpendLeasedTokensLocally() {
+        // Arrange
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(4L, 10L);
+
+        // Act
+        boolean first = rateLimiterService.areEventsAllowed(ACCOUNT_ID, 4);
+        boolean second = rateLimiterService.areEventsAllowed(ACCOUNT_ID, 6);
+        boolean third = rateLimiterService.areEventsAllowed(ACCOUNT_ID, 4);
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        assertTrue(third);
+        verify(redisTemplate).execute(
+            any(RedisScript.class),
+            eq(Collections.singletonList(EXPECTED_REDIS_KEY)),
+            eq((Object[]) new String[]{"4", "100", "60000000", "4"})
+        );
+        verify(redisTemplate).execute(
+            any(RedisScript.class),
+            eq(Collections.singletonList(EXPECTED_REDIS_KEY)),
+            eq((Object[]) new String[]{"10", "100", "60000000", "6"})
+        );
+        verifyNoMoreInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("areEventsAllowed should not lease spare tokens for a low-rate account")
+    void areEventsAllowed_ShouldTakeOnlyWhatLowRateAccountSends() throws Exception {
+        // Arrange
+        rateLimitProperties.setLeaseTtl(Duration.ofMillis(10));
+        rateLimiterService = new TokenBucketRateLimiterServiceImpl(redisTemplate, rateLimitProperties,
+            new SimpleMeterRegistry());
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(1L);
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            assertTrue(rateLimiterService.isAllow(ACCOUNT_ID));
+            Thread.sleep(30); // Longer than two lease lifetimes
+        }
+
+        // Assert
+        // Every event takes exactly one token from the shared budget, none expire unspent
+        verify(redisTemplate, times(3)).execute(any(RedisScript.class), anyList(),
+            eq((Object[]) new String[]{"1", "100", "60000000", "1"}));
+        verifyNoMoreInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("areEventsAllowed should accept a partial block that covers the events")
+    void areEventsAllowed_ShouldAcceptPartialBlock_WhenFullBlockIsNotAvailable() {
+        // Arrange
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(5L, 3L);
+        rateLimiterService.areEventsAllowed(ACCOUNT_ID, 5);
+
+        // Act
+        boolean result = rateLimiterService.areEventsAllowed(ACCOUNT_ID, 3);
+
+        // Assert
+        assertTrue(result);
+        verify(redisTemplate).execute(any(RedisScript.class), anyList(), eq((Object[]) new String[]{"8", "100", "60000000", "3"}));
+    }
+
+    @Test
+    @DisplayName("areEventsAllowed should deny when Redis grants no tokens")
+    void areEventsAllowed_ShouldReturnFalse_WhenRedisDenies() {
+        // Arrange
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(0L);
+
+        // Act
+        boolean result = rateLimiterService.areEventsAllowed(ACCOUNT_ID, 20);
+
+        // Assert
+        assertFalse(result);
+    }
+
+    @Test
+    @DisplayName("countAllowedEvents should admit leased tokens plus what Redis grants")
+    void countAllowedEvents_ShouldAdmitPartialBatch() {
+        // Arrange
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(10L, 5L);
+        rateLimiterService.areEventsAllowed(ACCOUNT_ID, 8);
+
+        // Act
+        int result = rateLimiterService.countAllowedEvents(ACCOUNT_ID, 20);
+
+        // Assert
+        assertEquals(7, result);
+        verify(redisTemplate).execute(any(RedisScript.class), anyList(), eq((Object[]) new String[]{"18", "100", "60000000", "1"}));
+    }
+
+    @Test
+    @DisplayName("areEventsAllowed should allow events when Redis fails")
+    void areEventsAllowed_ShouldReturnTrue_WhenRedisFails() {
+        // Arrange
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+            .thenThrow(new RedisConnectionFailureException("Connection failed"));
+
+        // Act
+        boolean result = rateLimiterService.areEventsAllowed(ACCOUNT_ID, 5);
+
+        // Assert
+        assertTrue(result);
+    }
+}
@@ -0,0 +1,192 @@
+package com.event.processing.notifier.service.impl;
+
+import com.event.processing.notifier.client.PayloadCompressor;
+import com.event.processing.notifier.client.WebhookClient;
+import com.event.processing.notifier.domain.dto.SerializedPayload;
+import com.event.processing.notifier.domain.dto.WebhookBatchItemDTO;
+import com.event.processing.notifier.domain.dto.WebhookEventDTO;
+import com.event.processing.notifier.domain.service.signing.WebhookPayloadSigner;
+import com.event.processing.notifier.monitoring.EventLatencyRecorder;
+import com.event.processing.notifier.producer.DeadLetterQueueProducer;
+import com.event.processing.notifier.service.DeduplicationService;
+import com.event.processing.notifier.service.WebhookService;
+import com.event.processing.notifier.util.DeliveryExecutorProperties;
+import com.event.processing.notifier.util.EventLatencyProperties;
+import com.event.processing.notifier.util.FairSchedulerProperties;
+import com.event.processing.notifier.util.KafkaConsumerThreadPoolProperties;
+import com.event.processing.notifier.util.TimingWheelProperties;
+import com.event.processing.notifier.util.WebhookBatchingProperties;
+import com.event.processing.notifier.util.WebhookCompressionProperties;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WebhookBatchServiceImplTest {
+
+    private static final String WEBHOOK_ID = "webhook-1";
+    private static final String WEBHOOK_URL = "http://test-url.com/hook";
+
+    @Mock
+    private WebhookService webhookService;
+
+    @Mock
+    private WebhookPayloadSigner payloadSigner;
+
+    @Mock
+    private DeduplicationService deduplicationService;
+
+    private WebhookBatchingProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private HashedWheelDelayedTaskScheduler timingWheel;
+    private WebhookBatchServiceImpl batchService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new WebhookBatchingProperties();
+        properties.setLinger(Duration.ofMinutes(1));
+        properties.setMaxItems(3);
+        meterRegistry = new SimpleMeterRegistry();
+        TimingWheelProperties timingWheelProperties = new TimingWheelProperties();
+        timingWheelProperties.setTickDuration(Duration.ofMillis(1));
+        timingWheel = new HashedWheelDelayedTaskScheduler(timingWheelProperties, meterRegistry);
+        batchService = new WebhookBatchServiceImpl(webhookService, payloadSigner, deduplicationService, properties,
+            Runnable::run, timingWheel, meterRegistry);
+        lenient().when(webhookService.processBatchWithRetry(eq(WEBHOOK_URL), anyList(), any(SerializedPayload.class)))
+            .thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchService.shutdown();
+        timingWheel.shutdown();
+    }
+
+    @Test
+    @DisplayName("A full batch should be sent as one JSON array and mark all its events as processed")
+    void add_ShouldSendFullBatchAsJsonArray() {
+        // Act
+        CompletableFuture<Void> first = batchService.add(WEBHOOK_ID, WEBHOOK_URL, item("event-1"));
+        CompletableFuture<Void> second = batchService.add(WEBHOOK_ID, WEBHOOK_URL, item("event-2"));
+        assertFalse(first.isDone());
+        CompletableFuture<Void> third = batchService.add(WEBHOOK_ID, WEBHOOK_URL, item("event-3"));
+
+        // Assert
+        ArgumentCaptor<SerializedPayload> body = ArgumentCaptor.forClass(SerializedPayload.class);
+        verify(webhookService).processBatchWithRetry(eq(WEBHOOK_URL), anyList(), body.capture());
+        assertEquals("[{\"id\":\"event-1\"},{\"id\":\"event-2\"},{\"id\":\"event-3\"}]", body.getValue().toString());
+        verify(deduplicationService).markAllProcessed(List.of("event-1", "event-2", "event-3"));
+        assertTrue(first.isDone() && second.isDone() && third.isDone());
+        assertEquals(1, meterRegistry.get("webhook.batch.flush").tag("reason", "items").counter().count());
+    }
+
+    @Test
+    @DisplayName("An event that would exceed the byte limit should send the pending batch first")
+    void add_ShouldFlushWhenByteLimitWouldBeExceeded() {
+        // Arrange
+        properties.setMaxBytes(DataSize.ofBytes(30));
+
+        // Act
+        CompletableFuture<Void> first = batchService.add(WEBHOOK_ID, WEBHOOK_URL, item("event-1"));
+        CompletableFuture<Void> second = batchService.add(WEBHOOK_ID, WEBHOOK_URL, item("event-2"));
+
+        // Assert
+        ArgumentCaptor<SerializedPayload> body = ArgumentCaptor.forClass(SerializedPayload.class);
+        verify(webhookService).processBatchWithRetry(eq(WEBHOOK_URL), anyList(), body.capture());
+        assertEquals("[{\"id\":\"event-1\"}]", body.getValue().toString());
+        assertTrue(first.isDone());
+        assertFalse(second.isDone());
+    }
+
+    @Test
+    @DisplayName("A batch that is not full should be sent once its linger time has passed")
+    void add_ShouldFlushAfterLinger() throws Exception {
+        // Arrange
+        properties.setLinger(Duration.ofMillis(10));
+
+        // Act
+        CompletableFuture<Void> delivered = batchService.add(WEBHOOK_ID, WEBHOOK_URL, item("event-1"));
+
+        // Assert
+        delivered.get(5, TimeUnit.SECONDS);
+        verify(webhookService).processBatchWithRetry(eq(WEBHOOK_URL), anyList(), any(SerializedPayload.class));
+        verify(deduplicationService).markAllProcessed(List.of("event-1"));
+    }
+
+    @Test
+    @DisplayName("A failed batch should fail every event and mark none as processed")
+    void add_ShouldFailAllEventsWhenBatchFails() {
+        // Arrange
+        when(webhookService.processBatchWithRetry(eq(WEBHOOK_URL), anyList(), any(SerializedPayload.class)))
+            .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Webhook response failed")));
+
+        // Act
+        List<CompletableFuture<Void>> futures = List.of(
+            batchService.add(WEBHOOK_ID, WEBHOOK_URL, item("event-1")),
+            batchService.add(WEBHOOK_ID, WEBHOOK_URL, item("event-2")),
+            batchService.add(WEBHOOK_ID, WEBHOOK_URL, item("event-3")));
+
+        // Assert
+        futures.forEach(future -> assertTrue(future.isCompletedExceptionally()));
+        verifyNoInteractions(deduplicationService);
+    }
+
+    @Test
+    @DisplayName("A batch the webhook service gives up on should fail every event and mark none as processed")
+    void add_ShouldFailAllEventsWhenDeliveryIsGivenUp() {
+        // Arrange
+        WebhookClient webhookClient = mock(WebhookClient.class);
+        when(webhookClient.sendWebhook(eq(WEBHOOK_URL), any(SerializedPayload.class))).thenReturn(false);
+        RetryRegistry retryRegistry = RetryRegistry.of(RetryConfig.custom().maxAttempts(1).build());
+        DeficitRoundRobinDeliveryScheduler deliveryScheduler = new DeficitRoundRobinDeliveryScheduler(Runnable::run,
+            meterRegistry, new FairSchedulerProperties(), new DeliveryExecutorProperties(),
+            new KafkaConsumerThreadPoolProperties(), new EventLatencyProperties());
+        TimerRetryScheduler retryScheduler = new TimerRetryScheduler(retryRegistry, deliveryScheduler, timingWheel,
+            meterRegistry);
+        WebhookServiceImpl failingService = new WebhookServiceImpl(webhookClient,
+            new PayloadCompressor(new WebhookCompressionProperties(), meterRegistry), mock(DeadLetterQueueProducer.class),
+            meterRegistry, CircuitBreakerRegistry.ofDefaults(), retryScheduler,
+            new EventLatencyRecorder(meterRegistry, new EventLatencyProperties()));
+        WebhookBatchServiceImpl failingBatchService = new WebhookBatchServiceImpl(failingService, payloadSigner,
+            deduplicationService, properties, Runnable::run, timingWheel, meterRegistry);
+
+        // Act
+        List<CompletableFuture<Void>> futures = List.of(
+            failingBatchService.add(WEBHOOK_ID, WEBHOOK_URL, item("event-1")),
+            failingBatchService.add(WEBHOOK_ID, WEBHOOK_URL, item("event-2")),
+            failingBatchService.add(WEBHOOK_ID, WEBHOOK_URL, item("event-3")));
+
+        // Assert
+        futures.forEach(future -> assertTrue(future.isCompletedExceptionally()));
+        verify(webhookClient).sendWebhook(eq(WEBHOOK_URL), any(SerializedPayload.class));
+        verifyNoInteractions(deduplicationService);
+        retryScheduler.shutdown();
+    }
+
+    private static WebhookBatchItemDTO item(String eventId) {
+        return new WebhookBatchItemDTO(eventId, new WebhookEventDTO(eventId, "subscriber.created", "account-1"),
+            SerializedPayload.copyOf(("{\"id\":\"" + eventId + "\"}").getBytes(StandardCharsets.UTF_8)));
+    }
+}
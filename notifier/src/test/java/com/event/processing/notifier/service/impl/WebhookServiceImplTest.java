@@ -1,26 +1,51 @@
 package com.event.processing.notifier.service.impl;
 
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.event.processing.notifier.client.AsyncWebhookClient;
+import com.event.processing.notifier.client.PayloadCompressor;
 import com.event.processing.notifier.client.WebhookClient;
-import com.event.processing.notifier.domain.dto.BaseEventDTO;
+import com.event.processing.notifier.domain.dto.ContentEncoding;
+import com.event.processing.notifier.domain.dto.SerializedPayload;
 import com.event.processing.notifier.domain.dto.WebhookEventDTO;
+import com.event.processing.notifier.monitoring.DeliverySummaryLogger;
+import com.event.processing.notifier.monitoring.EventLatencyRecorder;
 import com.event.processing.notifier.producer.DeadLetterQueueProducer;
-import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import com.event.processing.notifier.util.DeliveryExecutorProperties;
+import com.event.processing.notifier.util.EventLatencyProperties;
+import com.event.processing.notifier.util.FairSchedulerProperties;
+import com.event.processing.notifier.util.KafkaConsumerThreadPoolProperties;
+import com.event.processing.notifier.util.TimingWheelProperties;
+import com.event.processing.notifier.util.WebhookCompressionProperties;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
-import io.github.resilience4j.retry.Retry;
 import io.github.resilience4j.retry.RetryConfig;
 import io.github.resilience4j.retry.RetryRegistry;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.LoggerFactory;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -43,6 +68,12 @@ class WebhookServiceImplTest {
     private WebhookServiceImpl webhookService;
     private RetryRegistry retryRegistry;
     private CircuitBreakerRegistry circuitBreakerRegistry;
+    private HashedWheelDelayedTaskScheduler timingWheel;
+    private DeficitRoundRobinDeliveryScheduler deliveryScheduler;
+    private TimerRetryScheduler retryScheduler;
+    private EventLatencyProperties latencyProperties;
+    private SimpleMeterRegistry latencyRegistry;
+    private SimpleMeterRegistry compressionRegistry;
 
     private static final String EVENT_ID = "test-event-id";
     private static final String WEBHOOK_URL = "http://test-webhook-url";
@@ -55,6 +86,7 @@ class WebhookServiceImplTest {
                 .maxAttempts(3)
                 .waitDuration(Duration.ofMillis(100))
                 .retryExceptions(RuntimeException.class)
+                .ignoreExceptions(CallNotPermittedException.class)
                 .build();
         retryRegistry = RetryRegistry.of(retryConfig);
 
@@ -64,104 +96,202 @@ class WebhookServiceImplTest {
                 .failureRateThreshold(50)
                 .waitDurationInOpenState(Duration.ofMillis(5000))
                 .permittedNumberOfCallsInHalfOpenState(3)
+                .minimumNumberOfCalls(5)
                 .build();
         circuitBreakerRegistry = CircuitBreakerRegistry.of(circuitBreakerConfig);
 
         // Create service with mocked dependencies
-        webhookService = new WebhookServiceImpl(webhookClient, deadLetterQueueProducer, meterRegistry);
+        timingWheel = new HashedWheelDelayedTaskScheduler(timingWheelProperties(), new SimpleMeterRegistry());
+        deliveryScheduler = spy(new DeficitRoundRobinDeliveryScheduler(Runnable::run, new SimpleMeterRegistry(),
+            new FairSchedulerProperties(), new DeliveryExecutorProperties(), new KafkaConsumerThreadPoolProperties(),
+            new EventLatencyProperties()));
+        retryScheduler = new TimerRetryScheduler(retryRegistry, deliveryScheduler, timingWheel, new SimpleMeterRegistry());
+        latencyProperties = new EventLatencyProperties();
+        latencyRegistry = new SimpleMeterRegistry();
+        compressionRegistry = new SimpleMeterRegistry();
+        PayloadCompressor payloadCompressor = new PayloadCompressor(new WebhookCompressionProperties(),
+            compressionRegistry);
+        webhookService = new WebhookServiceImpl(webhookClient, payloadCompressor, deadLetterQueueProducer, meterRegistry,
+            circuitBreakerRegistry, retryScheduler, new EventLatencyRecorder(latencyRegistry, latencyProperties));
         ReflectionTestUtils.setField(webhookService, "deadLetterQueueTopic", DEAD_LETTER_QUEUE_TOPIC);
         
         // Setup meter registry mock
         when(meterRegistry.counter(any())).thenReturn(counter);
     }
 
+    @AfterEach
+    void tearDown() {
+        retryScheduler.shutdown();
+        timingWheel.shutdown();
+    }
+
+    private static TimingWheelProperties timingWheelProperties() {
+        TimingWheelProperties properties = new TimingWheelProperties();
+        properties.setTickDuration(Duration.ofMillis(1));
+        return properties;
+    }
+
     @Test
     void processWithRetry_Success() {
         // Arrange
         WebhookEventDTO eventPayload = new WebhookEventDTO();
-        BaseEventDTO webhookPayload = new BaseEventDTO();
+        SerializedPayload webhookPayload = SerializedPayload.copyOf("{}".getBytes(StandardCharsets.UTF_8));
         when(webhookClient.sendWebhook(WEBHOOK_URL, webhookPayload)).thenReturn(true);
 
         // Act
-        webhookService.processWithRetry(EVENT_ID, eventPayload, WEBHOOK_URL, webhookPayload);
+        CompletableFuture<Void> result = webhookService.processWithRetry(EVENT_ID, eventPayload, WEBHOOK_URL, webhookPayload);
 
         // Assert
+        assertTrue(result.isDone());
         verify(webhookClient).sendWebhook(WEBHOOK_URL, webhookPayload);
-        verify(meterRegistry, times(2)).counter(any());
-        verify(counter, times(2)).increment(); // WEBHOOK_SUCCESS_COUNT
-        verify(counter, times(2)).increment(); // WEBHOOK_EXECUTION_COUNT
+        verify(meterRegistry).counter(any()); // WEBHOOK_SUCCESS_COUNT
+        verify(counter).increment();
     }
 
     @Test
-    void processWithRetry_Failure() {
+    void processWithRetry_Failure() throws Exception {
         // Arrange
         WebhookEventDTO eventPayload = new WebhookEventDTO();
-        BaseEventDTO webhookPayload = new BaseEventDTO();
+        SerializedPayload webhookPayload = SerializedPayload.copyOf("{}".getBytes(StandardCharsets.UTF_8));
         when(webhookClient.sendWebhook(WEBHOOK_URL, webhookPayload)).thenReturn(false);
 
-        // Act & Assert
-        try {
-            webhookService.processWithRetry(EVENT_ID, eventPayload, WEBHOOK_URL, webhookPayload);
-        } catch (RuntimeException e) {
-            // Expected exception
-        }
+        // Act
+        CompletableFuture<Void> result = webhookService.processWithRetry(EVENT_ID, eventPayload, WEBHOOK_URL,
+            webhookPayload);
 
         // Assert
-        verify(webhookClient).sendWebhook(WEBHOOK_URL, webhookPayload);
-        verify(meterRegistry, times(2)).counter(any());
-        verify(counter, times(2)).increment(); // WEBHOOK_FAILURE_COUNT
-        verify(counter, times(2)).increment(); // WEBHOOK_EXECUTION_COUNT
+        assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        verify(webhookClient, times(3)).sendWebhook(WEBHOOK_URL, webhookPayload);
+        verify(counter, times(3)).increment(); // WEBHOOK_FAILURE_COUNT
+        verifyNoInteractions(deadLetterQueueProducer);
     }
 
     @Test
-    void processWithRetry_Exception() {
+    void processWithRetry_CompressesOnceForAllAttempts() {
         // Arrange
         WebhookEventDTO eventPayload = new WebhookEventDTO();
-        BaseEventDTO webhookPayload = new BaseEventDTO();
+        SerializedPayload webhookPayload = SerializedPayload.copyOf(
+                ("[" + "{\"event_name\":\"subscriber.created\"},".repeat(100) + "{}]").getBytes(StandardCharsets.UTF_8))
+            .withContentEncoding(ContentEncoding.GZIP);
+        when(webhookClient.sendWebhook(eq(WEBHOOK_URL), any(SerializedPayload.class))).thenReturn(false);
+
+        // Act
+        CompletableFuture<Void> result = webhookService.processWithRetry(EVENT_ID, eventPayload, WEBHOOK_URL,
+            webhookPayload);
+
+        // Assert
+        assertThrows(CompletionException.class, result::join);
+        ArgumentCaptor<SerializedPayload> sent = ArgumentCaptor.forClass(SerializedPayload.class);
+        verify(webhookClient, times(3)).sendWebhook(eq(WEBHOOK_URL), sent.capture());
+        assertEquals(ContentEncoding.GZIP, sent.getValue().getBodyEncoding());
+        sent.getAllValues().forEach(payload -> assertSame(sent.getValue(), payload));
+        assertEquals(1, compressionRegistry.get("webhook.compression.ratio").tag("encoding", "gzip").summary().count());
+    }
+
+    @Test
+    void processWithRetry_QueuesRetriesWithDeliveryScheduler() {
+        // Arrange
+        WebhookEventDTO eventPayload = new WebhookEventDTO(EVENT_ID, "subscriber.created", "account-1");
+        SerializedPayload webhookPayload = SerializedPayload.copyOf("{}".getBytes(StandardCharsets.UTF_8));
+        when(webhookClient.sendWebhook(WEBHOOK_URL, webhookPayload)).thenReturn(false);
+
+        // Act
+        CompletableFuture<Void> result = webhookService.processWithRetry(EVENT_ID, eventPayload, WEBHOOK_URL,
+            webhookPayload);
+
+        // Assert
+        assertThrows(CompletionException.class, result::join);
+        verify(webhookClient, times(3)).sendWebhook(WEBHOOK_URL, webhookPayload);
+        verify(deliveryScheduler, times(2)).submit(eq("account-1"), any(Runnable.class));
+        assertEquals(0, deliveryScheduler.pendingDeliveries());
+    }
+
+    @Test
+    void processWithRetry_Exception() throws Exception {
+        // Arrange
+        WebhookEventDTO eventPayload = new WebhookEventDTO();
+        SerializedPayload webhookPayload = SerializedPayload.copyOf("{}".getBytes(StandardCharsets.UTF_8));
         when(webhookClient.sendWebhook(WEBHOOK_URL, webhookPayload))
-            .thenThrow(new RuntimeException("Test exception"));
+            .thenThrow(new RuntimeException("Test exception"))
+            .thenReturn(true);
 
-        // Act & Assert
-        try {
-            webhookService.processWithRetry(EVENT_ID, eventPayload, WEBHOOK_URL, webhookPayload);
-        } catch (RuntimeException e) {
-            // Expected exception
-        }
+        // Act
+        webhookService.processWithRetry(EVENT_ID, eventPayload, WEBHOOK_URL, webhookPayload)
+            .get(5, TimeUnit.SECONDS);
 
         // Assert
-        verify(webhookClient).sendWebhook(WEBHOOK_URL, webhookPayload);
-        verify(meterRegistry, times(2)).counter(any());
-        verify(counter, times(2)).increment(); // WEBHOOK_FAILURE_COUNT
-        verify(counter, times(2)).increment(); // WEBHOOK_EXECUTION_COUNT
+        verify(webhookClient, times(2)).sendWebhook(WEBHOOK_URL, webhookPayload);
+        verify(counter, times(2)).increment(); // WEBHOOK_FAILURE_COUNT, then WEBHOOK_SUCCESS_COUNT
+        verifyNoInteractions(deadLetterQueueProducer);
+    }
+
+    @Test
+    void processWithRetry_DoesNotHoldCallerWhileWaitingForRetry() {
+        // Arrange
+        WebhookEventDTO eventPayload = new WebhookEventDTO();
+        SerializedPayload webhookPayload = SerializedPayload.copyOf("{}".getBytes(StandardCharsets.UTF_8));
+        when(webhookClient.sendWebhook(WEBHOOK_URL, webhookPayload)).thenReturn(false).thenReturn(true);
+
+        // Act
+        CompletableFuture<Void> result = webhookService.processWithRetry(EVENT_ID, eventPayload, WEBHOOK_URL, webhookPayload);
+
+        // Assert
+        assertFalse(result.isDone());
+        assertEquals(1, retryScheduler.getPendingRetries());
+        result.join();
+        assertEquals(0, retryScheduler.getPendingRetries());
+        verify(webhookClient, times(2)).sendWebhook(WEBHOOK_URL, webhookPayload);
+    }
+
+    @Test
+    void processWithRetry_DoesNotBlockOnAsyncClient() {
+        // Arrange
+        AsyncWebhookClient asyncClient = mock(AsyncWebhookClient.class);
+        WebhookServiceImpl asyncService = new WebhookServiceImpl(asyncClient,
+            new PayloadCompressor(new WebhookCompressionProperties(), compressionRegistry), deadLetterQueueProducer,
+            meterRegistry, circuitBreakerRegistry, retryScheduler,
+            new EventLatencyRecorder(latencyRegistry, latencyProperties));
+        WebhookEventDTO eventPayload = new WebhookEventDTO();
+        SerializedPayload webhookPayload = SerializedPayload.copyOf("{}".getBytes(StandardCharsets.UTF_8));
+        CompletableFuture<Boolean> response = new CompletableFuture<>();
+        when(asyncClient.sendWebhookAsync(WEBHOOK_URL, webhookPayload)).thenReturn(response);
+
+        // Act
+        CompletableFuture<Void> result = asyncService.processWithRetry(EVENT_ID, eventPayload, WEBHOOK_URL,
+            webhookPayload);
+
+        // Assert
+        assertFalse(result.isDone());
+        response.complete(true);
+        assertTrue(result.isDone());
+        assertFalse(result.isCompletedExceptionally());
+        verify(asyncClient, never()).sendWebhook(any(), any());
+        verify(counter).increment(); // WEBHOOK_SUCCESS_COUNT
     }
 
     @Test
     void processWithRetry_CircuitBreakerTriggered() {
         // Arrange
         WebhookEventDTO eventPayload = new WebhookEventDTO();
-        BaseEventDTO webhookPayload = new BaseEventDTO();
+        SerializedPayload webhookPayload = SerializedPayload.copyOf("{}".getBytes(StandardCharsets.UTF_8));
         
         // Simulate circuit breaker being triggered by throwing multiple exceptions
         when(webhookClient.sendWebhook(WEBHOOK_URL, webhookPayload))
             .thenThrow(new RuntimeException("Test circuit break"));
 
         // Act
-        try {
-            // Call multiple times to trigger circuit breaker (more than failureRateThreshold)
-            for (int i = 0; i < 6; i++) {
-                try {
-                    webhookService.processWithRetry(EVENT_ID, eventPayload, WEBHOOK_URL, webhookPayload);
-                } catch (RuntimeException e) {
-                    // Expected exception
-                }
-            }
-        } catch (Exception e) {
-            // Expected exception from circuit breaker
+        // Call multiple times to trigger circuit breaker (more than failureRateThreshold)
+        for (int i = 0; i < 3; i++) {
+            CompletableFuture<Void> result = webhookService.processWithRetry(EVENT_ID, eventPayload, WEBHOOK_URL,
+                webhookPayload);
+            assertThrows(CompletionException.class, result::join);
         }
 
         // Assert
-        verify(webhookClient, atLeast(3)).sendWebhook(WEBHOOK_URL, webhookPayload);
-        verify(meterRegistry, atLeast(3)).counter(any());
+        // The circuit opens after 5 failed calls, so the second event's last attempt and the third event go to the DLQ
+        verify(webhookClient, times(5)).sendWebhook(WEBHOOK_URL, webhookPayload);
+        verify(deadLetterQueueProducer, times(2)).publishWithFailureReason(eq(DEAD_LETTER_QUEUE_TOPIC), any(), eq(eventPayload),
+            eq(webhookPayload), any());
         verify(counter, atLeast(1)).increment(); // CIRCUIT_BREAKER_OPEN_COUNT
     }
 
@@ -169,24 +299,74 @@ class WebhookServiceImplTest {
     void processWithRetry_RetryExhausted() {
         // Arrange
         WebhookEventDTO eventPayload = new WebhookEventDTO();
-        BaseEventDTO webhookPayload = new BaseEventDTO();
+        SerializedPayload webhookPayload = SerializedPayload.copyOf("{}".getBytes(StandardCharsets.UTF_8));
         
         // Simulate retry exhaustion by throwing exceptions
         when(webhookClient.sendWebhook(WEBHOOK_URL, webhookPayload))
             .thenThrow(new RuntimeException("Test retry exhaustion"));
 
         // Act
+        CompletableFuture<Void> result = webhookService.processWithRetry(EVENT_ID, eventPayload, WEBHOOK_URL, webhookPayload);
+
+        // Assert
+        // With maxAttempts=3 in configuration, we expect exactly 3 attempts
+        assertThrows(CompletionException.class, result::join);
+        assertTrue(result.isCompletedExceptionally());
+        verify(webhookClient, times(3)).sendWebhook(WEBHOOK_URL, webhookPayload);
+        verify(counter, times(3)).increment(); // WEBHOOK_FAILURE_COUNT
+        verifyNoInteractions(deadLetterQueueProducer);
+    }
+
+    @Test
+    void processWithRetry_ShouldLogOneSummaryRecord_WhenRetriesExhausted() throws Exception {
+        // Arrange
+        Logger summaryLogger = (Logger) LoggerFactory.getLogger(DeliverySummaryLogger.class);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        summaryLogger.addAppender(appender);
+        WebhookEventDTO eventPayload = new WebhookEventDTO(EVENT_ID, "SUBSCRIBER_CREATED", "account-1");
+        SerializedPayload webhookPayload = SerializedPayload.copyOf("{}".getBytes(StandardCharsets.UTF_8));
+        when(webhookClient.sendWebhook(WEBHOOK_URL, webhookPayload)).thenReturn(false);
+
         try {
-            webhookService.processWithRetry(EVENT_ID, eventPayload, WEBHOOK_URL, webhookPayload);
-        } catch (RuntimeException e) {
-            // Expected exception
+            // Act
+            CompletableFuture<Void> result = webhookService.processWithRetry(EVENT_ID, eventPayload, WEBHOOK_URL,
+                webhookPayload);
+
+            // Assert
+            assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertEquals(1, appender.list.size());
+            Map<String, String> fields = appender.list.get(0).getKeyValuePairs().stream()
+                .collect(Collectors.toMap(pair -> pair.key, pair -> String.valueOf(pair.value)));
+            assertEquals(EVENT_ID, fields.get("eventId"));
+            assertEquals("account-1", fields.get("accountId"));
+            assertEquals("3", fields.get("attempts"));
+            assertEquals("failed", fields.get("outcome"));
+            assertEquals("single", fields.get("mode"));
+        } finally {
+            summaryLogger.detachAppender(appender);
         }
+    }
+
+    @Test
+    void processWithRetry_ShouldRecordLatencyByEventTypeAndTier_WhenDelivered() {
+        // Arrange
+        latencyProperties.setAccountTiers(Map.of("account-1", "premium"));
+        WebhookEventDTO eventPayload = new WebhookEventDTO(EVENT_ID, "SUBSCRIBER_CREATED", "account-1");
+        eventPayload.setProducedAt(System.currentTimeMillis() - 1000);
+        SerializedPayload webhookPayload = SerializedPayload.copyOf("{}".getBytes(StandardCharsets.UTF_8));
+        when(webhookClient.sendWebhook(WEBHOOK_URL, webhookPayload)).thenReturn(true);
+
+        // Act
+        webhookService.processWithRetry(EVENT_ID, eventPayload, WEBHOOK_URL, webhookPayload);
 
         // Assert
-        // With maxAttempts=3 in configuration, we expect exactly 3 attempts
-        verify(webhookClient, times(1)).sendWebhook(WEBHOOK_URL, webhookPayload);
-        verify(meterRegistry, times(2)).counter(any());
-        verify(counter, times(2)).increment(); // WEBHOOK_FAILURE_COUNT
-        verify(counter, times(2)).increment(); // WEBHOOK_EXECUTION_COUNT
+        assertEquals(1, latencyRegistry.get("webhook.delivery.time")
+            .tags("mode", "single", "eventType", "SUBSCRIBER_CREATED", "tier", "premium", "outcome", "delivered")
+            .timer().count());
+        io.micrometer.core.instrument.Timer endToEnd = latencyRegistry.get("event.end.to.end.latency")
+            .tags("eventType", "SUBSCRIBER_CREATED", "tier", "premium").timer();
+        assertEquals(1, endToEnd.count());
+        assertTrue(endToEnd.totalTime(TimeUnit.MILLISECONDS) >= 1000);
     }
-} 
\ No newline at end of file
+}
@@ -1,14 +1,23 @@
 package com.event.processing.producer.producer;
 
 import com.event.processing.producer.event.WebhookEventDTO;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+
 @Service
 public class EventProducer{
 
+  /**
+   * Epoch milliseconds at which the event was published, as a decimal string.
+   * The notifier measures queueing delay and end-to-end latency from it.
+   */
+  public static final String PRODUCED_AT_HEADER = "event_produced_at";
+
   @Value("${spring.kafka.webhook-event-topic:webhook-events}")
   private String topic;
 
@@ -16,6 +25,9 @@ public class EventProducer{
   private KafkaTemplate<String, WebhookEventDTO> kafkaTemplate;
 
   public void publishEvent(WebhookEventDTO event) {
-    kafkaTemplate.send(topic, event.getAccountId(), event);
+    ProducerRecord<String, WebhookEventDTO> record = new ProducerRecord<>(topic, event.getAccountId(), event);
+    record.headers().add(PRODUCED_AT_HEADER,
+        String.valueOf(System.currentTimeMillis()).getBytes(StandardCharsets.US_ASCII));
+    kafkaTemplate.send(record);
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,58 @@
+package com.event.processing.producer.producer;
+
+import com.event.processing.producer.event.WebhookEventDTO;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class EventProducerTest {
+
+	@Mock
+	private KafkaTemplate<String, WebhookEventDTO> kafkaTemplate;
+
+	@InjectMocks
+	private EventProducer eventProducer;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(eventProducer, "topic", "webhook-events");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void publishEvent_ShouldStampProduceTimestampHeader() {
+		// Arrange
+		WebhookEventDTO event = new WebhookEventDTO("event-1", "subscriber.created", "account-1");
+		long before = System.currentTimeMillis();
+
+		// Act
+		eventProducer.publishEvent(event);
+
+		// Assert
+		long after = System.currentTimeMillis();
+		ArgumentCaptor<ProducerRecord<String, WebhookEventDTO>> record = ArgumentCaptor.forClass(ProducerRecord.class);
+		verify(kafkaTemplate).send(record.capture());
+		assertEquals("webhook-events", record.getValue().topic());
+		assertEquals("account-1", record.getValue().key());
+		assertSame(event, record.getValue().value());
+
+		Header header = record.getValue().headers().lastHeader(EventProducer.PRODUCED_AT_HEADER);
+		assertNotNull(header);
+		long producedAt = Long.parseLong(new String(header.value(), StandardCharsets.US_ASCII));
+		assertTrue(producedAt >= before && producedAt <= after);
+	}
+}
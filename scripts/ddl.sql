@@ -97,6 +97,9 @@ CREATE TABLE public.webhook (
 	created_by varchar(255) NULL,
 	"name" varchar(255) NULL,
 	post_url varchar(255) NULL,
+	signing_secret varchar(255) NULL,
+	batching_enabled bool DEFAULT false NOT NULL,
+	compression varchar(16) NULL,
 	CONSTRAINT webhook_pkey PRIMARY KEY (id)
 );
 